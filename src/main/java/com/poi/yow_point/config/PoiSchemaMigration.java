@@ -0,0 +1,128 @@
+package com.poi.yow_point.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Évolutions de point_of_interest qui dépendent de l'état de la base :
+ * conversion en text[] des colonnes de listes encore stockées en texte
+ * séparé par des virgules (bases créées avant le passage aux tableaux),
+ * puis création des objets qui supposent ces tableaux (index GIN, colonne
+ * générée search_vector de la recherche plein texte et son index).
+ *
+ * Exécuté au démarrage, après schema.sql et avant le chargement des POIs :
+ * la conversion dépend du type actuel de chaque colonne, ce que le script
+ * SQL d'initialisation ne peut pas exprimer sans bloc DO.
+ *
+ * L'étape s'exécute une fois le contexte démarré (ApplicationRunner, avant
+ * ApplicationReadyEvent), pas à la construction des beans. Toute la
+ * migration se fait dans une seule transaction (le DDL de PostgreSQL est
+ * transactionnel), sous un verrou consultatif : plusieurs instances qui
+ * démarrent ensemble l'exécutent l'une après l'autre, et les suivantes n'ont
+ * plus rien à convertir. L'attente d'un verrou (consultatif ou sur la table)
+ * et la durée totale sont bornées par poi.schema-migration.timeout ; au-delà,
+ * la transaction est annulée et le démarrage échoue.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PoiSchemaMigration implements ApplicationRunner {
+
+    /**
+     * Clé du verrou consultatif de la migration (pg_advisory_xact_lock)
+     */
+    private static final long ADVISORY_LOCK_KEY = 0x504f495f534348L;
+
+    private static final List<String> ARRAY_COLUMNS = List.of("poi_amenities", "poi_keywords", "poi_type_tags");
+
+    /**
+     * Instructions idempotentes exécutées après la conversion, dans l'ordre.
+     *
+     * array_to_string n'est pas IMMUTABLE et ne peut pas figurer dans une
+     * colonne générée : poi_keywords_text l'enveloppe (le séparateur est
+     * constant). La colonne générée est STORED : son ajout réécrit la table une
+     * fois, puis elle est maintenue par PostgreSQL à chaque écriture.
+     */
+    private static final List<String> DEPENDENT_STATEMENTS = List.of(
+            // poi_keywords est filtré via poi_keywords_normalized (idx_poi_keywords_normalized)
+            "CREATE INDEX IF NOT EXISTS idx_poi_amenities ON point_of_interest USING GIN (poi_amenities)",
+            "CREATE INDEX IF NOT EXISTS idx_poi_type_tags ON point_of_interest USING GIN (poi_type_tags)",
+            """
+                    CREATE OR REPLACE FUNCTION poi_keywords_text(keywords TEXT[]) RETURNS TEXT
+                    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+                    AS 'SELECT array_to_string(keywords, '' '')'
+                    """,
+            """
+                    ALTER TABLE point_of_interest ADD COLUMN IF NOT EXISTS search_vector TSVECTOR
+                    GENERATED ALWAYS AS (
+                        setweight(to_tsvector('french', coalesce(poi_name, '')), 'A')
+                        || setweight(to_tsvector('french', coalesce(poi_keywords_text(poi_keywords), '')), 'B')
+                        || setweight(to_tsvector('french', coalesce(poi_description, '')), 'C')
+                    ) STORED
+                    """,
+            "CREATE INDEX IF NOT EXISTS idx_poi_search_vector ON point_of_interest USING GIN (search_vector)");
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final Duration timeout;
+
+    public PoiSchemaMigration(DatabaseClient databaseClient, ReactiveTransactionManager transactionManager,
+            @Value("${poi.schema-migration.timeout:5m}") Duration timeout) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrate().block();
+    }
+
+    Mono<Void> migrate() {
+        // SET n'accepte pas de paramètre lié : valeur numérique calculée ici
+        return databaseClient.sql("SET LOCAL lock_timeout = " + timeout.toMillis())
+                .then()
+                .then(databaseClient.sql("SELECT pg_advisory_xact_lock(:key)")
+                        .bind("key", ADVISORY_LOCK_KEY)
+                        .then())
+                .thenMany(Flux.fromIterable(ARRAY_COLUMNS).concatMap(this::convertIfText))
+                .thenMany(Flux.fromIterable(DEPENDENT_STATEMENTS)
+                        .concatMap(statement -> databaseClient.sql(statement).then()))
+                .then()
+                .as(transactionalOperator::transactional)
+                .timeout(timeout)
+                .doOnSuccess(ignored -> log.debug("point_of_interest schema is up to date"));
+    }
+
+    private Mono<Void> convertIfText(String column) {
+        return databaseClient.sql("""
+                SELECT data_type FROM information_schema.columns
+                WHERE table_schema = current_schema() AND table_name = 'point_of_interest' AND column_name = :column
+                """)
+                .bind("column", column)
+                .map(row -> row.get("data_type", String.class))
+                .one()
+                .filter("text"::equals)
+                .flatMap(type -> {
+                    log.info("Converting point_of_interest.{} from comma-separated text to text[]", column);
+                    // Valeurs découpées sur les virgules, sans espaces autour ni éléments vides
+                    return databaseClient.sql("ALTER TABLE point_of_interest ALTER COLUMN " + column
+                            + " TYPE TEXT[] USING CASE WHEN btrim(" + column + ") = '' THEN NULL"
+                            + " ELSE array_remove(regexp_split_to_array(btrim(" + column + "), '\\s*,\\s*'), '') END")
+                            .then();
+                });
+    }
+}
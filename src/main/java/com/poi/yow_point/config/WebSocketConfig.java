@@ -0,0 +1,42 @@
+package com.poi.yow_point.config;
+
+import com.poi.yow_point.websocket.GeofenceWebSocketHandler;
+import com.poi.yow_point.websocket.PoiSearchWebSocketHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final GeofenceWebSocketHandler geofenceWebSocketHandler;
+    private final PoiSearchWebSocketHandler poiSearchWebSocketHandler;
+
+    /**
+     * Origines autorisées (motifs acceptés, ex. https://*.example.com) ; sans
+     * valeur, seule l'origine du serveur est acceptée
+     */
+    private final String[] allowedOrigins;
+
+    public WebSocketConfig(GeofenceWebSocketHandler geofenceWebSocketHandler,
+            PoiSearchWebSocketHandler poiSearchWebSocketHandler,
+            @Value("${poi.websocket.allowed-origins:}") String[] allowedOrigins) {
+        this.geofenceWebSocketHandler = geofenceWebSocketHandler;
+        this.poiSearchWebSocketHandler = poiSearchWebSocketHandler;
+        this.allowedOrigins = allowedOrigins;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // Flux de positions d'appareils -> transitions d'entrée / sortie des zones des POIs
+        registry.addHandler(geofenceWebSocketHandler, "/ws/geofence")
+                .setAllowedOriginPatterns(allowedOrigins);
+
+        // Saisies successives -> résultats de la dernière saisie (autocomplétion ou recherche)
+        registry.addHandler(poiSearchWebSocketHandler, "/ws/search")
+                .setAllowedOriginPatterns(allowedOrigins);
+    }
+}
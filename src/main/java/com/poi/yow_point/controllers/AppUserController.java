@@ -13,10 +13,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import com.poi.yow_point.dto.AppUserDTO;
+import com.poi.yow_point.dto.CursorPageDTO;
 import com.poi.yow_point.services.AppUserService;
 
 import java.util.UUID;
@@ -107,13 +107,20 @@ public class AppUserController {
         }
 
         @GetMapping
-        @Operation(summary = "Get all users")
-        @ApiResponse(responseCode = "200", description = "Successfully retrieved list of users", content = @Content(schema = @Schema(implementation = AppUserDTO.class)))
-        public Flux<AppUserDTO> getAllUsers() {
-                log.info("Received request to get all users");
-
-                return appUserService.getAllUsers()
-                                .doOnComplete(() -> log.info("Completed fetching all users"));
+        @Operation(summary = "Get all users", description = "Returns users one page at a time, newest first. Pass the next_cursor of a page to get the following one")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved a page of users", content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+                        @ApiResponse(responseCode = "400", description = "Invalid page cursor")
+        })
+        public Mono<ResponseEntity<CursorPageDTO<AppUserDTO>>> getAllUsers(
+                        @Parameter(description = "Cursor of the next page (next_cursor of the previous page), omitted for the first page") @RequestParam(required = false) String cursor,
+                        @Parameter(description = "Page size (default 50, at most 200)", example = "50") @RequestParam(required = false) Integer limit) {
+                log.info("Received request to get users page");
+
+                return appUserService.getAllUsers(cursor, limit)
+                                .doOnSuccess(page -> log.info("Completed fetching users page"))
+                                .map(page -> ResponseEntity.ok(page))
+                                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest().build());
         }
 
         @PutMapping("/{id}")
@@ -0,0 +1,56 @@
+package com.poi.yow_point.controllers;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * Réponses NDJSON des exports (/export) : un objet JSON par ligne, écrit dès
+ * sa lecture en base.
+ *
+ * Un export complet peut durer bien plus longtemps que le délai par défaut
+ * des réponses asynchrones de Spring MVC : chaque export a son propre délai
+ * (poi.export.timeout), sans modifier celui des autres points d'accès.
+ * Les éléments sont écrits un par un sur boundedElastic (l'écriture peut
+ * bloquer sur un client lent), et le suivant n'est demandé qu'une fois le
+ * précédent écrit.
+ */
+@Component
+class NdjsonExport {
+
+    private final long timeoutMillis;
+
+    NdjsonExport(@Value("${poi.export.timeout:30m}") Duration timeout) {
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    ResponseEntity<ResponseBodyEmitter> stream(Flux<?> items) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMillis);
+        Disposable subscription = items
+                .publishOn(Schedulers.boundedElastic(), 1)
+                .subscribe(item -> write(emitter, item), emitter::completeWithError, emitter::complete);
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(error -> subscription.dispose());
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+
+    private static void write(ResponseBodyEmitter emitter, Object item) {
+        try {
+            emitter.send(item, MediaType.APPLICATION_JSON);
+            emitter.send("\n", MediaType.TEXT_PLAIN);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
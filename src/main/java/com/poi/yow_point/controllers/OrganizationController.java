@@ -13,9 +13,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import com.poi.yow_point.dto.CursorPageDTO;
 import com.poi.yow_point.dto.OrganizationDTO;
 import com.poi.yow_point.services.OrganizationService;
 
@@ -71,12 +71,18 @@ public class OrganizationController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all organizations")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved list of organizations", content = @Content(schema = @Schema(implementation = OrganizationDTO.class)))
-    public Flux<OrganizationDTO> getAllOrganizations() {
-        log.info("Received request to get all organizations");
-        return organizationService.getAllOrganizations()
-                .doOnComplete(() -> log.info("Completed streaming all organizations"));
+    @Operation(summary = "Get all organizations", description = "Returns organizations one page at a time, newest first. Pass the next_cursor of a page to get the following one")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved a page of organizations", content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor")
+    })
+    public Mono<ResponseEntity<CursorPageDTO<OrganizationDTO>>> getAllOrganizations(
+            @Parameter(description = "Cursor of the next page (next_cursor of the previous page), omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 50, at most 200)", example = "50") @RequestParam(required = false) Integer limit) {
+        log.info("Received request to get organizations page");
+        return organizationService.getAllOrganizations(cursor, limit)
+                .map(page -> ResponseEntity.ok(page))
+                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest().build());
     }
 
     @PutMapping("/{id}")
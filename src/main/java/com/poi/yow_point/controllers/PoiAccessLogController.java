@@ -1,5 +1,6 @@
 package com.poi.yow_point.controllers;
 
+import com.poi.yow_point.dto.CursorPageDTO;
 import com.poi.yow_point.dto.PoiAccessLogDTO;
 import com.poi.yow_point.services.PoiAccessLogService;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +10,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -33,6 +35,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class PoiAccessLogController {
 
     private final PoiAccessLogService service;
+    private final NdjsonExport ndjsonExport;
 
     @Operation(summary = "Create access log", description = "Creates a new access log entry")
     @ApiResponses(value = {
@@ -59,17 +62,35 @@ public class PoiAccessLogController {
         return service.getAccessLogById(accessId);
     }
 
-    @Operation(summary = "Get all access logs", description = "Retrieves all access logs")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved all access logs", content = @Content(schema = @Schema(implementation = PoiAccessLogDTO.class)))
+    @Operation(summary = "Get all access logs", description = "Retrieves access logs one page at a time, most recent first. Pass the next_cursor of a page to get the following one")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved a page of access logs", content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public Flux<PoiAccessLogDTO> getAllAccessLogs() {
-        log.info("Récupération de tous les logs d'accès");
-        return service.getAllAccessLogs();
+    public Mono<ResponseEntity<CursorPageDTO<PoiAccessLogDTO>>> getAllAccessLogs(
+            @Parameter(description = "Cursor of the next page (next_cursor of the previous page), omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 50, at most 200)", example = "50") @RequestParam(required = false) Integer limit) {
+        log.info("Récupération d'une page de logs d'accès");
+        return service.getAllAccessLogs(cursor, limit)
+                .map(page -> ResponseEntity.ok(page))
+                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest().build())
+                .onErrorReturn(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+    }
+
+    @Operation(summary = "Export all access logs", description = "Streams every access log as newline-delimited JSON, one object per line. Rows are written as they are read from the database")
+    @ApiResponse(responseCode = "200", description = "Access logs streamed successfully", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = PoiAccessLogDTO.class)))
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> exportAllAccessLogs() {
+        log.info("Export de tous les logs d'accès");
+        return ndjsonExport.stream(service.getAllAccessLogs());
     }
 
     @Operation(summary = "Get access logs by POI", description = "Retrieves all access logs for a specific POI")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved access logs", content = @Content(schema = @Schema(implementation = PoiAccessLogDTO.class)))
-    @GetMapping("/poi/{poiId}")
+    @GetMapping(value = "/poi/{poiId}", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
     public Flux<PoiAccessLogDTO> getAccessLogsByPoiId(
             @Parameter(description = "POI ID to filter access logs", required = true) @PathVariable UUID poiId) {
         log.info("Récupération des logs d'accès pour POI: {}", poiId);
@@ -78,7 +99,8 @@ public class PoiAccessLogController {
 
     @Operation(summary = "Get access logs by organization", description = "Retrieves all access logs for a specific organization")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved access logs", content = @Content(schema = @Schema(implementation = PoiAccessLogDTO.class)))
-    @GetMapping("/organization/{organizationId}")
+    @GetMapping(value = "/organization/{organizationId}", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
     public Flux<PoiAccessLogDTO> getAccessLogsByOrganizationId(
             @Parameter(description = "Organization ID to filter access logs", required = true) @PathVariable UUID organizationId) {
         log.info("Récupération des logs d'accès pour organisation: {}", organizationId);
@@ -87,7 +109,8 @@ public class PoiAccessLogController {
 
     @Operation(summary = "Get access logs by user", description = "Retrieves all access logs for a specific user")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved access logs", content = @Content(schema = @Schema(implementation = PoiAccessLogDTO.class)))
-    @GetMapping("/user/{userId}")
+    @GetMapping(value = "/user/{userId}", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
     public Flux<PoiAccessLogDTO> getAccessLogsByUserId(
             @Parameter(description = "User ID to filter access logs", required = true) @PathVariable UUID userId) {
         log.info("Récupération des logs d'accès pour utilisateur: {}", userId);
@@ -96,7 +119,8 @@ public class PoiAccessLogController {
 
     @Operation(summary = "Get access logs by access type", description = "Retrieves all access logs for a specific access type")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved access logs", content = @Content(schema = @Schema(implementation = PoiAccessLogDTO.class)))
-    @GetMapping("/access-type/{accessType}")
+    @GetMapping(value = "/access-type/{accessType}", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
     public Flux<PoiAccessLogDTO> getAccessLogsByAccessType(
             @Parameter(description = "Access type to filter logs (e.g., 'entry', 'exit')", required = true) @PathVariable String accessType) {
         log.info("Récupération des logs d'accès pour type: {}", accessType);
@@ -105,7 +129,8 @@ public class PoiAccessLogController {
 
     @Operation(summary = "Get access logs by platform", description = "Retrieves all access logs for a specific platform")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved access logs", content = @Content(schema = @Schema(implementation = PoiAccessLogDTO.class)))
-    @GetMapping("/platform/{platformType}")
+    @GetMapping(value = "/platform/{platformType}", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
     public Flux<PoiAccessLogDTO> getAccessLogsByPlatformType(
             @Parameter(description = "Platform type to filter logs (e.g., 'mobile', 'web')", required = true) @PathVariable String platformType) {
         log.info("Récupération des logs d'accès pour plateforme: {}", platformType);
@@ -114,7 +139,8 @@ public class PoiAccessLogController {
 
     @Operation(summary = "Get access logs by POI and organization", description = "Retrieves all access logs for a specific POI and organization")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved access logs", content = @Content(schema = @Schema(implementation = PoiAccessLogDTO.class)))
-    @GetMapping("/poi/{poiId}/organization/{organizationId}")
+    @GetMapping(value = "/poi/{poiId}/organization/{organizationId}", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
     public Flux<PoiAccessLogDTO> getAccessLogsByPoiAndOrganization(
             @Parameter(description = "POI ID to filter access logs", required = true) @PathVariable UUID poiId,
             @Parameter(description = "Organization ID to filter access logs", required = true) @PathVariable UUID organizationId) {
@@ -124,7 +150,8 @@ public class PoiAccessLogController {
 
     @Operation(summary = "Get access logs by date range", description = "Retrieves all access logs between two dates")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved access logs", content = @Content(schema = @Schema(implementation = PoiAccessLogDTO.class)))
-    @GetMapping("/date-range")
+    @GetMapping(value = "/date-range", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
     public Flux<PoiAccessLogDTO> getAccessLogsByDateRange(
             @Parameter(description = "Start date of the range (ISO format)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
             @Parameter(description = "End date of the range (ISO format)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate) {
@@ -134,7 +161,8 @@ public class PoiAccessLogController {
 
     @Operation(summary = "Get recent access logs by POI", description = "Retrieves recent access logs for a specific POI since a given date")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved access logs", content = @Content(schema = @Schema(implementation = PoiAccessLogDTO.class)))
-    @GetMapping("/poi/{poiId}/recent")
+    @GetMapping(value = "/poi/{poiId}/recent", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
     public Flux<PoiAccessLogDTO> getRecentAccessLogsByPoiId(
             @Parameter(description = "POI ID to filter access logs", required = true) @PathVariable UUID poiId,
             @Parameter(description = "Date from which to retrieve logs (ISO format)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime since) {
@@ -142,15 +170,22 @@ public class PoiAccessLogController {
         return service.getRecentAccessLogsByPoiId(poiId, since);
     }
 
-    @Operation(summary = "Get paginated access logs by POI", description = "Retrieves access logs for a specific POI with pagination")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved access logs", content = @Content(schema = @Schema(implementation = PoiAccessLogDTO.class)))
+    @Operation(summary = "Get paginated access logs by POI", description = "Retrieves access logs for a specific POI one page at a time, most recent first. Pass the next_cursor of a page to get the following one; every page costs the same regardless of its depth")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved a page of access logs", content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
     @GetMapping("/poi/{poiId}/paginated")
-    public Flux<PoiAccessLogDTO> getAccessLogsByPoiIdWithPagination(
+    public Mono<ResponseEntity<CursorPageDTO<PoiAccessLogDTO>>> getAccessLogsByPoiIdWithPagination(
             @Parameter(description = "POI ID to filter access logs", required = true) @PathVariable UUID poiId,
-            @Parameter(description = "Page number (0-based)", example = "0") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Number of items per page", example = "10") @RequestParam(defaultValue = "10") int size) {
-        log.info("Récupération paginée des logs d'accès pour POI: {} (page: {}, taille: {})", poiId, page, size);
-        return service.getAccessLogsByPoiIdWithPagination(poiId, page, size);
+            @Parameter(description = "Cursor of the next page (next_cursor of the previous page), omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of items per page (default 50, at most 200)", example = "10") @RequestParam(required = false) Integer size) {
+        log.info("Récupération paginée des logs d'accès pour POI: {} (curseur: {}, taille: {})", poiId, cursor, size);
+        return service.getAccessLogsByPoiIdWithPagination(poiId, cursor, size)
+                .map(page -> ResponseEntity.ok(page))
+                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest().build())
+                .onErrorReturn(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
     }
 
     @Operation(summary = "Count access logs by POI", description = "Counts all access logs for a specific POI")
@@ -3,11 +3,14 @@ package com.poi.yow_point.controllers;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import com.poi.yow_point.dto.CursorPageDTO;
 import com.poi.yow_point.dto.PoiPlatformStatDTO;
 import com.poi.yow_point.services.PoiPlatformStatService;
 
@@ -32,6 +35,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class PoiPlatformStatController {
 
     private final PoiPlatformStatService service;
+    private final NdjsonExport ndjsonExport;
 
     @Operation(summary = "Create a new statistic", description = "Creates a new platform statistic entry")
     @ApiResponses(value = {
@@ -50,12 +54,33 @@ public class PoiPlatformStatController {
                 });
     }
 
-    @Operation(summary = "Get all statistics", description = "Retrieves all platform statistics")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved all statistics", content = @Content(schema = @Schema(implementation = PoiPlatformStatDTO.class)))
+    @Operation(summary = "Get all statistics", description = "Retrieves platform statistics one page at a time, most recent first. Pass the next_cursor of a page to get the following one")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved a page of statistics", content = @Content(schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid page cursor"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
     @GetMapping
-    public Flux<PoiPlatformStatDTO> getAllStats() {
-        return service.getAllStats()
-                .doOnComplete(() -> log.info("Récupération de toutes les statistiques terminée"));
+    public Mono<ResponseEntity<CursorPageDTO<PoiPlatformStatDTO>>> getAllStats(
+            @Parameter(description = "Cursor of the next page (next_cursor of the previous page), omitted for the first page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 50, at most 200)", example = "50") @RequestParam(required = false) Integer limit) {
+        return service.getAllStats(cursor, limit)
+                .map(page -> ResponseEntity.ok(page))
+                .onErrorResume(error -> {
+                    if (error instanceof IllegalArgumentException) {
+                        return Mono.just(ResponseEntity.badRequest().build());
+                    }
+                    log.error("Erreur lors de la récupération des statistiques", error);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                });
+    }
+
+    @Operation(summary = "Export all statistics", description = "Streams every platform statistic as newline-delimited JSON, one object per line. Rows are written as they are read from the database")
+    @ApiResponse(responseCode = "200", description = "Statistics streamed successfully", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = PoiPlatformStatDTO.class)))
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> exportAllStats() {
+        log.info("Export de toutes les statistiques");
+        return ndjsonExport.stream(service.getAllStats());
     }
 
     @Operation(summary = "Get statistic by ID", description = "Retrieves a specific statistic by its ID")
@@ -75,7 +100,8 @@ public class PoiPlatformStatController {
 
     @Operation(summary = "Get statistics by organization", description = "Retrieves all statistics for a specific organization")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics", content = @Content(schema = @Schema(implementation = PoiPlatformStatDTO.class)))
-    @GetMapping("/organization/{orgId}")
+    @GetMapping(value = "/organization/{orgId}", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
     public Flux<PoiPlatformStatDTO> getStatsByOrgId(
             @Parameter(description = "Organization ID to filter statistics", required = true) @PathVariable UUID orgId) {
         return service.getStatsByOrgId(orgId)
@@ -84,7 +110,8 @@ public class PoiPlatformStatController {
 
     @Operation(summary = "Get statistics by POI", description = "Retrieves all statistics for a specific point of interest")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics", content = @Content(schema = @Schema(implementation = PoiPlatformStatDTO.class)))
-    @GetMapping("/poi/{poiId}")
+    @GetMapping(value = "/poi/{poiId}", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
     public Flux<PoiPlatformStatDTO> getStatsByPoiId(
             @Parameter(description = "POI ID to filter statistics", required = true) @PathVariable UUID poiId) {
         return service.getStatsByPoiId(poiId)
@@ -93,7 +120,8 @@ public class PoiPlatformStatController {
 
     @Operation(summary = "Get statistics by platform type", description = "Retrieves all statistics for a specific platform type")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics", content = @Content(schema = @Schema(implementation = PoiPlatformStatDTO.class)))
-    @GetMapping("/platform/{platformType}")
+    @GetMapping(value = "/platform/{platformType}", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
     public Flux<PoiPlatformStatDTO> getStatsByPlatformType(
             @Parameter(description = "Platform type to filter statistics", required = true) @PathVariable String platformType) {
         return service.getStatsByPlatformType(platformType)
@@ -102,7 +130,8 @@ public class PoiPlatformStatController {
 
     @Operation(summary = "Get statistics by date", description = "Retrieves all statistics for a specific date")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics", content = @Content(schema = @Schema(implementation = PoiPlatformStatDTO.class)))
-    @GetMapping("/date/{date}")
+    @GetMapping(value = "/date/{date}", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
     public Flux<PoiPlatformStatDTO> getStatsByDate(
             @Parameter(description = "Date to filter statistics (format: yyyy-MM-dd)", required = true) @PathVariable LocalDate date) {
         return service.getStatsByDate(date)
@@ -111,7 +140,8 @@ public class PoiPlatformStatController {
 
     @Operation(summary = "Get statistics by date range", description = "Retrieves all statistics between two dates")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics", content = @Content(schema = @Schema(implementation = PoiPlatformStatDTO.class)))
-    @GetMapping("/date-range")
+    @GetMapping(value = "/date-range", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
     public Flux<PoiPlatformStatDTO> getStatsByDateRange(
             @Parameter(description = "Start date of the range (format: yyyy-MM-dd)", required = true) @RequestParam LocalDate startDate,
             @Parameter(description = "End date of the range (format: yyyy-MM-dd)", required = true) @RequestParam LocalDate endDate) {
@@ -121,7 +151,8 @@ public class PoiPlatformStatController {
 
     @Operation(summary = "Get statistics by organization and date range", description = "Retrieves all statistics for a specific organization between two dates")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics", content = @Content(schema = @Schema(implementation = PoiPlatformStatDTO.class)))
-    @GetMapping("/organization/{orgId}/date-range")
+    @GetMapping(value = "/organization/{orgId}/date-range", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
     public Flux<PoiPlatformStatDTO> getStatsByOrgIdAndDateRange(
             @Parameter(description = "Organization ID to filter statistics", required = true) @PathVariable UUID orgId,
             @Parameter(description = "Start date of the range (format: yyyy-MM-dd)", required = true) @RequestParam LocalDate startDate,
@@ -14,9 +14,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import com.poi.yow_point.dto.CursorPageDTO;
 import com.poi.yow_point.dto.PoiReviewDTO;
 import com.poi.yow_point.services.PoiReviewService;
 
@@ -32,6 +34,7 @@ import java.util.UUID;
 public class PoiReviewController {
 
     private final PoiReviewService poiReviewService;
+    private final NdjsonExport ndjsonExport;
 
     @PostMapping
     @Operation(summary = "Créer un nouvel avis", description = "Crée un nouvel avis pour un point d'intérêt (POI)")
@@ -65,17 +68,34 @@ public class PoiReviewController {
     }
 
     @GetMapping
-    @Operation(summary = "Récupérer tous les avis", description = "Récupère la liste complète des avis")
+    @Operation(summary = "Récupérer tous les avis", description = "Récupère les avis page par page, les plus récents d'abord (passer le next_cursor de la réponse pour obtenir la page suivante)")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Liste des avis récupérée avec succès", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PoiReviewDTO.class)))
+            @ApiResponse(responseCode = "200", description = "Page d'avis récupérée avec succès", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Curseur de pagination invalide", content = @Content)
     })
-    public Flux<PoiReviewDTO> getAllReviews() {
-        log.info("GET /api/reviews - Fetching all reviews");
+    public Mono<ResponseEntity<CursorPageDTO<PoiReviewDTO>>> getAllReviews(
+            @Parameter(description = "Curseur de la page suivante (next_cursor de la page précédente), absent pour la première page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre d'avis par page (50 par défaut, 200 au maximum)", example = "50") @RequestParam(required = false) Integer limit) {
+        log.info("GET /api/reviews - Fetching reviews page");
+
+        return poiReviewService.getAllReviews(cursor, limit)
+                .map(page -> ResponseEntity.ok(page))
+                .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest().build());
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exporter tous les avis", description = "Diffuse tous les avis au format NDJSON (un objet JSON par ligne) : chaque avis est écrit dès sa lecture en base")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Avis diffusés avec succès", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = PoiReviewDTO.class)))
+    })
+    public ResponseEntity<ResponseBodyEmitter> exportAllReviews() {
+        log.info("GET /api/reviews/export - Streaming all reviews");
 
-        return poiReviewService.getAllReviews();
+        return ndjsonExport.stream(poiReviewService.getAllReviews());
     }
 
-    @GetMapping("/poi/{poiId}")
+    @GetMapping(value = "/poi/{poiId}", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
     @Operation(summary = "Récupérer les avis d'un POI", description = "Récupère tous les avis associés à un point d'intérêt spécifique")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Liste des avis du POI récupérée avec succès", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PoiReviewDTO.class)))
@@ -87,7 +107,8 @@ public class PoiReviewController {
         return poiReviewService.getReviewsByPoiId(poiId);
     }
 
-    @GetMapping("/user/{userId}")
+    @GetMapping(value = "/user/{userId}", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
     @Operation(summary = "Récupérer les avis d'un utilisateur", description = "Récupère tous les avis créés par un utilisateur spécifique")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Liste des avis de l'utilisateur récupérée avec succès", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PoiReviewDTO.class)))
@@ -99,7 +120,8 @@ public class PoiReviewController {
         return poiReviewService.getReviewsByUserId(userId);
     }
 
-    @GetMapping("/organization/{organizationId}")
+    @GetMapping(value = "/organization/{organizationId}", produces = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE })
     @Operation(summary = "Récupérer les avis d'une organisation", description = "Récupère tous les avis associés aux POI d'une organisation spécifique")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Liste des avis de l'organisation récupérée avec succès", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PoiReviewDTO.class)))
@@ -1,9 +1,25 @@
 package com.poi.yow_point.controllers;
 
+import com.poi.yow_point.dto.CorridorSearchRequestDTO;
+import com.poi.yow_point.dto.CursorPageDTO;
+import com.poi.yow_point.dto.NearestPoiMatchDTO;
+import com.poi.yow_point.dto.PoiClusterDTO;
+import com.poi.yow_point.dto.PoiDensityCellDTO;
+import com.poi.yow_point.dto.PoiFacetedSearchDTO;
+import com.poi.yow_point.dto.PoiSuggestionDTO;
+import com.poi.yow_point.dto.PoiSummaryDTO;
 import com.poi.yow_point.dto.PointOfInterestDTO;
 import com.poi.yow_point.services.PointOfInterestService;
+import com.poi.yow_point.services.PointOfInterestService.RankedSearch;
+import com.poi.yow_point.services.projection.PoiSummaryFields;
+import com.poi.yow_point.services.search.TextSearchMode;
+import com.poi.yow_point.services.spatial.BoundingBox;
+import com.poi.yow_point.services.spatial.PoiTileService;
+import com.poi.yow_point.services.spatial.RadiusSearchMode;
+import com.poi.yow_point.services.spatial.WebMercator;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -15,21 +31,29 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/pois")
 @RequiredArgsConstructor
 @Slf4j
-@CrossOrigin(origins = "*", maxAge = 3600)
+@CrossOrigin(origins = "*", maxAge = 3600, exposedHeaders = PointOfInterestController.RANKING_HEADER)
 @Tag(name = "Points d'Intérêt", description = "API de gestion des points d'intérêt (POI)")
 public class PointOfInterestController {
 
+    /**
+     * En-tête de /search/ranked indiquant un classement de repli (full-text)
+     */
+    static final String RANKING_HEADER = "X-Search-Ranking";
+
     private final PointOfInterestService poiService;
 
     @PostMapping
@@ -102,45 +126,60 @@ public class PointOfInterestController {
     }
 
     @GetMapping("/organization/{organizationId}")
-    @Operation(summary = "Récupérer les POIs actifs d'une organisation", description = "Récupère tous les points d'intérêt actifs appartenant à une organisation")
+    @Operation(summary = "Récupérer les POIs actifs d'une organisation", description = "Récupère tous les points d'intérêt actifs appartenant à une organisation, page par page (pagination par curseur : passer le next_cursor de la réponse pour obtenir la page suivante), en vue allégée (détail complet par GET /api/v1/pois/{poiId})")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Liste des POIs actifs", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PointOfInterestDTO.class))),
+            @ApiResponse(responseCode = "200", description = "Page des POIs actifs", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Curseur de pagination ou champ invalide", content = @Content),
             @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
     })
-    public Flux<PointOfInterestDTO> getPoisByOrganization(
-            @Parameter(description = "ID de l'organisation", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID organizationId) {
+    public Mono<ResponseEntity<CursorPageDTO<PoiSummaryDTO>>> getPoisByOrganization(
+            @Parameter(description = "ID de l'organisation", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID organizationId,
+            @Parameter(description = "Champs à retourner, séparés par des virgules (par défaut tous les champs de la vue allégée : " + PoiSummaryFields.DEFAULT_FIELDS + ")", example = "poi_id,poi_name,latitude,longitude") @RequestParam(required = false) String fields,
+            @Parameter(description = "Curseur de la page suivante (next_cursor de la page précédente), absent pour la première page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre de POIs par page (50 par défaut, 200 au maximum)", example = "50") @RequestParam(required = false) Integer limit) {
         log.debug("REST request to get POIs for organization: {}", organizationId);
 
-        return poiService.findActiveByOrganizationId(organizationId)
+        return poiService.findActiveByOrganizationId(organizationId, fields, cursor, limit)
+                .map(page -> ResponseEntity.ok(page))
+                .onErrorResume(IllegalArgumentException.class,
+                        ex -> Mono.just(ResponseEntity.badRequest().build()))
                 .onErrorResume(Exception.class,
                         ex -> {
                             log.error("Error retrieving POIs for organization: {}", organizationId, ex);
-                            return Flux.empty();
+                            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
                         });
     }
 
     @GetMapping("/organization/{organizationId}/all")
-    @Operation(summary = "Récupérer tous les POIs d'une organisation", description = "Récupère tous les points d'intérêt (actifs et inactifs) appartenant à une organisation")
+    @Operation(summary = "Récupérer tous les POIs d'une organisation", description = "Récupère tous les points d'intérêt (actifs et inactifs) appartenant à une organisation, page par page (pagination par curseur : passer le next_cursor de la réponse pour obtenir la page suivante), en vue allégée (détail complet par GET /api/v1/pois/{poiId})")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Liste de tous les POIs", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PointOfInterestDTO.class))),
+            @ApiResponse(responseCode = "200", description = "Page de tous les POIs", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Curseur de pagination ou champ invalide", content = @Content),
             @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
     })
-    public Flux<PointOfInterestDTO> getAllPoisByOrganization(
-            @Parameter(description = "ID de l'organisation", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID organizationId) {
+    public Mono<ResponseEntity<CursorPageDTO<PoiSummaryDTO>>> getAllPoisByOrganization(
+            @Parameter(description = "ID de l'organisation", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID organizationId,
+            @Parameter(description = "Champs à retourner, séparés par des virgules (par défaut tous les champs de la vue allégée : " + PoiSummaryFields.DEFAULT_FIELDS + ")", example = "poi_id,poi_name,latitude,longitude") @RequestParam(required = false) String fields,
+            @Parameter(description = "Curseur de la page suivante (next_cursor de la page précédente), absent pour la première page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre de POIs par page (50 par défaut, 200 au maximum)", example = "50") @RequestParam(required = false) Integer limit) {
         log.debug("REST request to get all POIs for organization: {}", organizationId);
 
-        return poiService.findByOrganizationId(organizationId)
+        return poiService.findByOrganizationId(organizationId, fields, cursor, limit)
+                .map(page -> ResponseEntity.ok(page))
+                .onErrorResume(IllegalArgumentException.class,
+                        ex -> Mono.just(ResponseEntity.badRequest().build()))
                 .onErrorResume(Exception.class,
                         ex -> {
                             log.error("Error retrieving all POIs for organization: {}", organizationId, ex);
-                            return Flux.empty();
+                            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
                         });
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Rechercher des POIs avec filtres", description = "Recherche des points d'intérêt en utilisant plusieurs critères de filtrage")
+    @Operation(summary = "Rechercher des POIs avec filtres", description = "Recherche des points d'intérêt en utilisant plusieurs critères de filtrage (ajouter facets=true pour obtenir aussi les comptes par facette)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Résultats de la recherche", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PointOfInterestDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Paramètres de recherche invalides", content = @Content),
             @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
     })
     public Flux<PointOfInterestDTO> searchPois(
@@ -148,86 +187,344 @@ public class PointOfInterestController {
             @Parameter(description = "Type de POI", example = "restaurant") @RequestParam(required = false) String type,
             @Parameter(description = "Catégorie de POI", example = "gastronomie") @RequestParam(required = false) String category,
             @Parameter(description = "Ville", example = "Yaoundé") @RequestParam(required = false) String city,
-            @Parameter(description = "Terme de recherche dans le nom ou la description", example = "hotel") @RequestParam(required = false) String searchTerm) {
-        log.debug("REST request to search POIs with filters");
+            @Parameter(description = "Terme de recherche dans le nom ou la description", example = "hotel") @RequestParam(required = false) String searchTerm,
+            @Parameter(description = "Équipements requis (tous doivent être présents, valeurs exactes)", example = "Wi-Fi") @RequestParam(required = false) List<String> amenities,
+            @Parameter(description = "Mots-clés (au moins un doit être présent, sans tenir compte de la casse ni des accents)", example = "centre ville") @RequestParam(required = false) List<String> keywords,
+            @Parameter(description = "Recherche approchée du terme (fautes de frappe tolérées, nom et mots-clés uniquement, résultats classés par similarité) ; équivaut à textMode=FUZZY", example = "false") @RequestParam(defaultValue = "false") boolean fuzzy,
+            @Parameter(description = "Évaluation du terme : CONTAINS (sous-chaîne du nom ou de la description), FUZZY (approchée, en mémoire) ou FULL_TEXT (plein texte PostgreSQL en français sur le nom, les mots-clés et la description, classé par pertinence)", example = "CONTAINS") @RequestParam(defaultValue = "CONTAINS") TextSearchMode textMode) {
+        TextSearchMode mode = fuzzy ? TextSearchMode.FUZZY : textMode;
+        log.debug("REST request to search POIs with filters (mode: {})", mode);
+
+        return poiService.searchWithFilters(organizationId, type, category, city, searchTerm, amenities, keywords,
+                mode)
+                .onErrorMap(ex -> searchError(ex, "POI search"));
+    }
 
-        return poiService.searchWithFilters(organizationId, type, category, city, searchTerm)
+    @GetMapping(value = "/search", params = "facets=true")
+    @Operation(summary = "Rechercher des POIs avec filtres et facettes", description = "Même recherche que /search, complétée par le nombre de résultats par type, catégorie, ville et équipement (facets=true). Les filtres et les comptes sont calculés en mémoire par intersection de bitmaps ; la réponse contient le nombre total de résultats et les premiers résultats, par popularité puis par nom (ou dans l'ordre de la recherche textuelle si un terme est fourni). Un terme de recherche exact retient au plus 10 000 POIs, les plus populaires : au-delà, total_count et les facettes ne portent que sur eux et total_count_capped vaut true.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Résultats et comptes par facette", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PoiFacetedSearchDTO.class))),
+            @ApiResponse(responseCode = "503", description = "Index des facettes en cours de chargement", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
+    })
+    public Mono<ResponseEntity<PoiFacetedSearchDTO>> searchPoisWithFacets(
+            @Parameter(description = "ID de l'organisation", example = "123e4567-e89b-12d3-a456-426614174000") @RequestParam(required = false) UUID organizationId,
+            @Parameter(description = "Type de POI", example = "restaurant") @RequestParam(required = false) String type,
+            @Parameter(description = "Catégorie de POI", example = "gastronomie") @RequestParam(required = false) String category,
+            @Parameter(description = "Ville", example = "Yaoundé") @RequestParam(required = false) String city,
+            @Parameter(description = "Équipements requis (tous doivent être présents, valeurs exactes)", example = "Wi-Fi") @RequestParam(required = false) List<String> amenities,
+            @Parameter(description = "Mots-clés (au moins un doit être présent, sans tenir compte de la casse ni des accents)", example = "centre ville") @RequestParam(required = false) List<String> keywords,
+            @Parameter(description = "Terme de recherche dans le nom ou la description", example = "hotel") @RequestParam(required = false) String searchTerm,
+            @Parameter(description = "Recherche approchée du terme (fautes de frappe tolérées, nom et mots-clés uniquement, résultats classés par similarité)", example = "false") @RequestParam(defaultValue = "false") boolean fuzzy,
+            @Parameter(description = "Nombre de résultats retournés (max 200)", example = "20") @RequestParam(defaultValue = "20") Integer limit,
+            @Parameter(description = "Nombre de valeurs par facette (max 50)", example = "10") @RequestParam(defaultValue = "10") Integer facetLimit) {
+        log.debug("REST request to search POIs with facets (fuzzy: {})", fuzzy);
+
+        return poiService.searchWithFacets(organizationId, type, category, city, amenities, keywords, searchTerm,
+                fuzzy, limit, facetLimit)
+                .map(result -> ResponseEntity.ok(result))
+                .onErrorResume(IllegalStateException.class,
+                        ex -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()))
                 .onErrorResume(Exception.class,
                         ex -> {
-                            log.error("Error in POI search", ex);
-                            return Flux.empty();
+                            log.error("Error in faceted POI search", ex);
+                            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
                         });
     }
 
+    @GetMapping("/search/ranked")
+    @Operation(summary = "Rechercher des POIs par pertinence", description = "Recherche plein texte classée : score BM25 des mots recherchés sur le nom, les mots-clés et la description, pondéré par la popularité et, si une position est fournie, par la proximité. Retourne les meilleurs résultats, du plus pertinent au moins pertinent. Pendant la construction de l'index de pertinence, une recherche sans position est classée par la recherche plein texte PostgreSQL et la réponse porte l'en-tête " + RANKING_HEADER + ": full-text ; une recherche avec position répond 503.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "POIs classés par pertinence", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PointOfInterestDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Position invalide ou incomplète", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Index de pertinence en cours de chargement (recherche avec position)", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
+    })
+    public ResponseEntity<Flux<PointOfInterestDTO>> searchPoisRanked(
+            @Parameter(description = "Mots recherchés", required = true, example = "restaurant poisson") @RequestParam String q,
+            @Parameter(description = "Latitude de l'utilisateur (bonus de proximité)", example = "3.8480") @RequestParam(required = false) BigDecimal latitude,
+            @Parameter(description = "Longitude de l'utilisateur (bonus de proximité)", example = "11.5021") @RequestParam(required = false) BigDecimal longitude,
+            @Parameter(description = "Type de POI", example = "restaurant") @RequestParam(required = false) String type,
+            @Parameter(description = "Catégorie de POI", example = "gastronomie") @RequestParam(required = false) String category,
+            @Parameter(description = "Nombre de résultats (max 100)", example = "20") @RequestParam(defaultValue = "20") Integer limit) {
+        log.debug("REST request to search POIs by relevance: {}", q);
+
+        RankedSearch search = poiService.searchRanked(q, latitude, longitude, type, category, limit);
+        Flux<PointOfInterestDTO> results = search.results()
+                .onErrorMap(ex -> searchError(ex, "ranked POI search"));
+        if (search.fullTextFallback()) {
+            return ResponseEntity.ok().header(RANKING_HEADER, "full-text").body(results);
+        }
+        return ResponseEntity.ok(results);
+    }
+
     @GetMapping("/location")
     @Operation(summary = "Rechercher des POIs par localisation", description = "Recherche des points d'intérêt dans un rayon donné autour d'une position géographique")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "POIs trouvés dans la zone", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PointOfInterestDTO.class))),
-            @ApiResponse(responseCode = "400", description = "Paramètres de localisation invalides", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Paramètres de localisation invalides (coordonnées, rayon ou mode)", content = @Content),
             @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
     })
     public Flux<PointOfInterestDTO> getPoisByLocation(
             @Parameter(description = "Latitude", required = true, example = "3.8480") @RequestParam BigDecimal latitude,
             @Parameter(description = "Longitude", required = true, example = "11.5021") @RequestParam BigDecimal longitude,
-            @Parameter(description = "Rayon de recherche en kilomètres", example = "5.0") @RequestParam(defaultValue = "10.0") Double radiusKm) {
-        log.debug("REST request to get POIs by location: {}, {} within {} km",
-                latitude, longitude, radiusKm);
+            @Parameter(description = "Rayon de recherche en kilomètres", example = "5.0") @RequestParam(defaultValue = "10.0") Double radiusKm,
+            @Parameter(description = "Stratégie de recherche : INDEX (mémoire), BOUNDING_BOX (SQL avec pré-filtre) ou GREAT_CIRCLE (SQL historique)", example = "INDEX") @RequestParam(defaultValue = "INDEX") RadiusSearchMode mode) {
+        log.debug("REST request to get POIs by location: {}, {} within {} km ({})",
+                latitude, longitude, radiusKm, mode);
+
+        return poiService.findByLocationWithinRadius(latitude, longitude, radiusKm, mode)
+                .onErrorMap(ex -> searchError(ex, "location-based POI search"));
+    }
 
-        return poiService.findByLocationWithinRadius(latitude, longitude, radiusKm)
+    @GetMapping("/nearest")
+    @Operation(summary = "Rechercher les POIs les plus proches", description = "Retourne les k points d'intérêt actifs les plus proches d'une position, triés par distance, avec filtres optionnels sur le type et la catégorie")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "POIs les plus proches", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PointOfInterestDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Paramètres de localisation invalides", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
+    })
+    public Flux<PointOfInterestDTO> getNearestPois(
+            @Parameter(description = "Latitude", required = true, example = "3.8480") @RequestParam BigDecimal lat,
+            @Parameter(description = "Longitude", required = true, example = "11.5021") @RequestParam BigDecimal lon,
+            @Parameter(description = "Nombre de POIs à retourner (max " + PointOfInterestService.MAX_NEAREST_RESULTS + ")", example = "20") @RequestParam(defaultValue = "20") Integer k,
+            @Parameter(description = "Type de POI", example = "restaurant") @RequestParam(required = false) String type,
+            @Parameter(description = "Catégorie de POI", example = "gastronomie") @RequestParam(required = false) String category) {
+        log.debug("REST request to get {} nearest POIs to {}, {}", k, lat, lon);
+
+        return poiService.findNearest(lat, lon, k, type, category)
+                .onErrorMap(ex -> searchError(ex, "nearest POI search"));
+    }
+
+    @PostMapping(value = "/nearest/batch", consumes = { MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE }, produces = { MediaType.APPLICATION_JSON_VALUE,
+                    MediaType.APPLICATION_NDJSON_VALUE })
+    @Operation(summary = "Rechercher le POI le plus proche de chaque coordonnée", description = "Associe à chaque coordonnée d'un lot (tableau JSON ou NDJSON d'objets {ref, latitude, longitude}) le point d'intérêt actif le plus proche et sa distance, dans l'ordre de la requête (max " + PointOfInterestService.MAX_NEAREST_BATCH_SIZE + " coordonnées)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "POI le plus proche de chaque coordonnée", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = NearestPoiMatchDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Corps mal formé, coordonnées invalides ou lot de plus de " + PointOfInterestService.MAX_NEAREST_BATCH_SIZE + " coordonnées", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Index des plus proches voisins en cours de chargement", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
+    })
+    public Flux<NearestPoiMatchDTO> getNearestPoisBatch(
+            @Parameter(description = "Coordonnées (tableau JSON ou NDJSON)", required = true) InputStream body,
+            @Parameter(description = "Type de POI", example = "restaurant") @RequestParam(required = false) String type,
+            @Parameter(description = "Catégorie de POI", example = "gastronomie") @RequestParam(required = false) String category,
+            @Parameter(description = "Distance maximale en kilomètres", example = "1.0") @RequestParam(required = false) Double maxDistanceKm) {
+        log.debug("REST request to get nearest POIs for a batch of coordinates");
+
+        return poiService.findNearestBatch(body, type, category, maxDistanceKm)
+                .onErrorMap(ex -> searchError(ex, "batch nearest POI search"));
+    }
+
+    @PostMapping("/corridor")
+    @Operation(summary = "Rechercher les POIs le long d'un itinéraire", description = "Retourne les points d'intérêt actifs situés à moins d'une distance donnée d'un itinéraire (polyligne encodée), sans doublon, dans l'ordre de passage. distance_km est la distance à l'itinéraire.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "POIs le long de l'itinéraire", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PointOfInterestDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Polyligne ou distance invalide", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Index spatial en cours de chargement", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
+    })
+    public Flux<PointOfInterestDTO> getPoisAlongCorridor(
+            @Parameter(description = "Itinéraire, distance maximale en mètres et types de POI recherchés", required = true) @RequestBody CorridorSearchRequestDTO request) {
+        log.debug("REST request to search POIs along a route (buffer {} m)", request.getBufferMeters());
+
+        return poiService.findAlongCorridor(request)
+                .onErrorMap(ex -> searchError(ex, "corridor POI search"));
+    }
+
+    /**
+     * Statut d'erreur d'une recherche retournée en flux : paramètres ou corps
+     * invalides (400), index en cours de chargement (503), sinon erreur
+     * journalisée (500)
+     */
+    private static ResponseStatusException searchError(Throwable ex, String search) {
+        if (ex instanceof ResponseStatusException status) {
+            return status;
+        }
+        if (ex instanceof IllegalArgumentException) {
+            return new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage(), ex);
+        }
+        if (ex instanceof IllegalStateException) {
+            return new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), ex);
+        }
+        log.error("Error in {}", search, ex);
+        return new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error in " + search, ex);
+    }
+
+    @GetMapping("/clusters")
+    @Operation(summary = "Récupérer les groupes de POIs d'une emprise", description = "Retourne, pour une emprise et un niveau de zoom, les groupes de points d'intérêt (nombre, centroïde, zoom d'éclatement) et les POIs isolés, calculés en mémoire")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Groupes et POIs isolés de l'emprise", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = PoiClusterDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Emprise ou zoom invalide", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Index de regroupement en cours de chargement", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
+    })
+    public Mono<ResponseEntity<List<PoiClusterDTO>>> getClusters(
+            @Parameter(description = "Emprise minLon,minLat,maxLon,maxLat", required = true, example = "11.40,3.75,11.60,3.95") @RequestParam String bbox,
+            @Parameter(description = "Niveau de zoom (0 à 22)", required = true, example = "12") @RequestParam int zoom) {
+        log.debug("REST request to get clusters for bbox {} at zoom {}", bbox, zoom);
+
+        return Mono.fromCallable(() -> {
+            if (zoom < 0 || zoom > WebMercator.MAX_ZOOM) {
+                throw new IllegalArgumentException("Zoom must be between 0 and " + WebMercator.MAX_ZOOM);
+            }
+            return BoundingBox.parse(bbox);
+        })
+                .flatMap(box -> poiService.findClusters(box, zoom))
+                .map(clusters -> ResponseEntity.ok(clusters))
+                .onErrorResume(IllegalArgumentException.class,
+                        ex -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(IllegalStateException.class,
+                        ex -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()))
                 .onErrorResume(Exception.class,
                         ex -> {
-                            log.error("Error in location-based POI search", ex);
-                            return Flux.empty();
+                            log.error("Error in cluster search", ex);
+                            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                        });
+    }
+
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Suggestions d'autocomplétion de POIs", description = "Retourne les points d'intérêt actifs dont chaque mot saisi (sans accents ni casse) est le début d'un mot de leur nom, de leurs mots-clés ou de leurs équipements, les plus populaires d'abord. Calculé en mémoire.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions (vide si la saisie ne contient aucun mot)", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = PoiSuggestionDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Nombre de suggestions invalide", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Index d'autocomplétion en cours de chargement", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
+    })
+    public Mono<ResponseEntity<List<PoiSuggestionDTO>>> autocomplete(
+            @Parameter(description = "Saisie de l'utilisateur", required = true, example = "rest") @RequestParam String q,
+            @Parameter(description = "Nombre maximal de suggestions (1 à 20)", example = "10") @RequestParam(defaultValue = "10") int limit) {
+        log.debug("REST request to autocomplete POIs for: {}", q);
+
+        return poiService.autocomplete(q, limit)
+                .map(suggestions -> ResponseEntity.ok(suggestions))
+                .onErrorResume(IllegalArgumentException.class,
+                        ex -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(IllegalStateException.class,
+                        ex -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()))
+                .onErrorResume(Exception.class,
+                        ex -> {
+                            log.error("Error in autocomplete for: {}", q, ex);
+                            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                        });
+    }
+
+    @GetMapping("/density")
+    @Operation(summary = "Récupérer la densité de POIs d'une emprise", description = "Retourne les cellules non vides d'une grille régulière couvrant l'emprise, avec le nombre de points d'intérêt actifs et, sur demande, le nombre d'accès journalisés. La taille de cellule est arrondie à la taille supérieure de la grille (1/1024 de degré multiplié par une puissance de 2, jusqu'à 64 degrés).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cellules non vides de l'emprise", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = PoiDensityCellDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Emprise ou taille de cellule invalide, ou trop de cellules", content = @Content),
+            @ApiResponse(responseCode = "503", description = "Grille de densité en cours de chargement", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
+    })
+    public Mono<ResponseEntity<List<PoiDensityCellDTO>>> getDensity(
+            @Parameter(description = "Emprise minLon,minLat,maxLon,maxLat", required = true, example = "11.40,3.75,11.60,3.95") @RequestParam String bbox,
+            @Parameter(description = "Taille des cellules en degrés", required = true, example = "0.01") @RequestParam double cellSize,
+            @Parameter(description = "Type de POI", example = "restaurant") @RequestParam(required = false) String type,
+            @Parameter(description = "Inclure le nombre d'accès par cellule", example = "false") @RequestParam(defaultValue = "false") boolean includeAccessCounts) {
+        log.debug("REST request to get POI density for bbox {} with cell size {}", bbox, cellSize);
+
+        return Mono.fromCallable(() -> BoundingBox.parse(bbox))
+                .flatMap(box -> poiService.findDensity(box, cellSize, type, includeAccessCounts))
+                .map(cells -> ResponseEntity.ok(cells))
+                .onErrorResume(IllegalArgumentException.class,
+                        ex -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(IllegalStateException.class,
+                        ex -> Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build()))
+                .onErrorResume(Exception.class,
+                        ex -> {
+                            log.error("Error in density search", ex);
+                            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                        });
+    }
+
+    @GetMapping(value = "/tiles/{z}/{x}/{y}.mvt", produces = "application/vnd.mapbox-vector-tile")
+    @Operation(summary = "Récupérer une tuile vectorielle de POIs", description = "Retourne les points d'intérêt actifs de la tuile z/x/y encodés au format Mapbox Vector Tile (couche 'pois', attributs id, name, type, category, popularity). Une tuile contient au plus " + PoiTileService.MAX_FEATURES_PER_TILE + " POIs, les plus populaires : aux petits zooms, les autres sont omis ; /clusters retourne des groupes couvrant tous les POIs.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tuile vectorielle (vide si la tuile ne contient aucun POI, limitée aux " + PoiTileService.MAX_FEATURES_PER_TILE + " POIs les plus populaires)", content = @Content(mediaType = "application/vnd.mapbox-vector-tile")),
+            @ApiResponse(responseCode = "400", description = "Adresse de tuile invalide", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
+    })
+    public Mono<ResponseEntity<byte[]>> getTile(
+            @Parameter(description = "Niveau de zoom (0 à 22)", required = true, example = "14") @PathVariable int z,
+            @Parameter(description = "Colonne de la tuile", required = true, example = "8715") @PathVariable int x,
+            @Parameter(description = "Ligne de la tuile", required = true, example = "8016") @PathVariable int y) {
+        log.debug("REST request to get tile {}/{}/{}", z, x, y);
+
+        return poiService.getTile(z, x, y)
+                .map(tile -> ResponseEntity.ok(tile))
+                .onErrorResume(IllegalArgumentException.class,
+                        ex -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(Exception.class,
+                        ex -> {
+                            log.error("Error rendering tile {}/{}/{}", z, x, y, ex);
+                            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
                         });
     }
 
     @GetMapping("/type/{type}")
-    @Operation(summary = "Récupérer les POIs par type", description = "Récupère tous les points d'intérêt d'un type spécifique")
+    @Operation(summary = "Récupérer les POIs par type", description = "Récupère tous les points d'intérêt d'un type spécifique, page par page (pagination par curseur : passer le next_cursor de la réponse pour obtenir la page suivante), en vue allégée (détail complet par GET /api/v1/pois/{poiId})")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Liste des POIs du type spécifié", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PointOfInterestDTO.class))),
+            @ApiResponse(responseCode = "200", description = "Page des POIs du type spécifié", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Curseur de pagination ou champ invalide", content = @Content),
             @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
     })
-    public Flux<PointOfInterestDTO> getPoisByType(
-            @Parameter(description = "Type de POI", required = true, example = "restaurant") @PathVariable String type) {
+    public Mono<ResponseEntity<CursorPageDTO<PoiSummaryDTO>>> getPoisByType(
+            @Parameter(description = "Type de POI", required = true, example = "restaurant") @PathVariable String type,
+            @Parameter(description = "Champs à retourner, séparés par des virgules (par défaut tous les champs de la vue allégée : " + PoiSummaryFields.DEFAULT_FIELDS + ")", example = "poi_id,poi_name,latitude,longitude") @RequestParam(required = false) String fields,
+            @Parameter(description = "Curseur de la page suivante (next_cursor de la page précédente), absent pour la première page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre de POIs par page (50 par défaut, 200 au maximum)", example = "50") @RequestParam(required = false) Integer limit) {
         log.debug("REST request to get POIs by type: {}", type);
 
-        return poiService.findByType(type)
+        return poiService.findByType(type, fields, cursor, limit)
+                .map(page -> ResponseEntity.ok(page))
+                .onErrorResume(IllegalArgumentException.class,
+                        ex -> Mono.just(ResponseEntity.badRequest().build()))
                 .onErrorResume(Exception.class,
                         ex -> {
                             log.error("Error retrieving POIs by type: {}", type, ex);
-                            return Flux.empty();
+                            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
                         });
     }
 
     @GetMapping("/category/{category}")
-    @Operation(summary = "Récupérer les POIs par catégorie", description = "Récupère tous les points d'intérêt d'une catégorie spécifique")
+    @Operation(summary = "Récupérer les POIs par catégorie", description = "Récupère tous les points d'intérêt d'une catégorie spécifique, page par page (pagination par curseur : passer le next_cursor de la réponse pour obtenir la page suivante), en vue allégée (détail complet par GET /api/v1/pois/{poiId})")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Liste des POIs de la catégorie spécifiée", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PointOfInterestDTO.class))),
+            @ApiResponse(responseCode = "200", description = "Page des POIs de la catégorie spécifiée", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Curseur de pagination ou champ invalide", content = @Content),
             @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
     })
-    public Flux<PointOfInterestDTO> getPoisByCategory(
-            @Parameter(description = "Catégorie de POI", required = true, example = "gastronomie") @PathVariable String category) {
+    public Mono<ResponseEntity<CursorPageDTO<PoiSummaryDTO>>> getPoisByCategory(
+            @Parameter(description = "Catégorie de POI", required = true, example = "gastronomie") @PathVariable String category,
+            @Parameter(description = "Champs à retourner, séparés par des virgules (par défaut tous les champs de la vue allégée : " + PoiSummaryFields.DEFAULT_FIELDS + ")", example = "poi_id,poi_name,latitude,longitude") @RequestParam(required = false) String fields,
+            @Parameter(description = "Curseur de la page suivante (next_cursor de la page précédente), absent pour la première page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre de POIs par page (50 par défaut, 200 au maximum)", example = "50") @RequestParam(required = false) Integer limit) {
         log.debug("REST request to get POIs by category: {}", category);
 
-        return poiService.findByCategory(category)
+        return poiService.findByCategory(category, fields, cursor, limit)
+                .map(page -> ResponseEntity.ok(page))
+                .onErrorResume(IllegalArgumentException.class,
+                        ex -> Mono.just(ResponseEntity.badRequest().build()))
                 .onErrorResume(Exception.class,
                         ex -> {
                             log.error("Error retrieving POIs by category: {}", category, ex);
-                            return Flux.empty();
+                            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
                         });
     }
 
     @GetMapping("/name/{name}")
-    @Operation(summary = "Rechercher des POIs par nom", description = "Recherche des points d'intérêt par leur nom (recherche partielle)")
+    @Operation(summary = "Rechercher des POIs par nom", description = "Recherche des points d'intérêt dont le nom contient le texte donné, sans tenir compte de la casse ni des accents (ou recherche approchée avec fuzzy=true)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "POIs correspondant au nom recherché", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PointOfInterestDTO.class))),
             @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
     })
     public Flux<PointOfInterestDTO> searchPoisByName(
-            @Parameter(description = "Nom ou partie du nom à rechercher", required = true, example = "hotel") @PathVariable String name) {
-        log.debug("REST request to search POIs by name: {}", name);
+            @Parameter(description = "Texte contenu dans le nom", required = true, example = "hotel") @PathVariable String name,
+            @Parameter(description = "Recherche approchée (fautes de frappe tolérées, résultats classés par similarité)", example = "false") @RequestParam(defaultValue = "false") boolean fuzzy) {
+        log.debug("REST request to search POIs by name: {} (fuzzy: {})", name, fuzzy);
 
-        return poiService.searchByName(name)
+        return poiService.searchByName(name, fuzzy)
                 .onErrorResume(Exception.class,
                         ex -> {
                             log.error("Error searching POIs by name: {}", name, ex);
@@ -236,20 +533,52 @@ public class PointOfInterestController {
     }
 
     @GetMapping("/city/{city}")
-    @Operation(summary = "Récupérer les POIs par ville", description = "Récupère tous les points d'intérêt situés dans une ville spécifique")
+    @Operation(summary = "Récupérer les POIs par ville", description = "Récupère tous les points d'intérêt situés dans une ville spécifique, page par page (pagination par curseur : passer le next_cursor de la réponse pour obtenir la page suivante), en vue allégée (détail complet par GET /api/v1/pois/{poiId})")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Liste des POIs de la ville", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PointOfInterestDTO.class))),
+            @ApiResponse(responseCode = "200", description = "Page des POIs de la ville", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Curseur de pagination ou champ invalide", content = @Content),
             @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
     })
-    public Flux<PointOfInterestDTO> getPoisByCity(
-            @Parameter(description = "Nom de la ville", required = true, example = "Yaoundé") @PathVariable String city) {
+    public Mono<ResponseEntity<CursorPageDTO<PoiSummaryDTO>>> getPoisByCity(
+            @Parameter(description = "Nom de la ville", required = true, example = "Yaoundé") @PathVariable String city,
+            @Parameter(description = "Champs à retourner, séparés par des virgules (par défaut tous les champs de la vue allégée : " + PoiSummaryFields.DEFAULT_FIELDS + ")", example = "poi_id,poi_name,latitude,longitude") @RequestParam(required = false) String fields,
+            @Parameter(description = "Curseur de la page suivante (next_cursor de la page précédente), absent pour la première page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre de POIs par page (50 par défaut, 200 au maximum)", example = "50") @RequestParam(required = false) Integer limit) {
         log.debug("REST request to get POIs by city: {}", city);
 
-        return poiService.findByCity(city)
+        return poiService.findByCity(city, fields, cursor, limit)
+                .map(page -> ResponseEntity.ok(page))
+                .onErrorResume(IllegalArgumentException.class,
+                        ex -> Mono.just(ResponseEntity.badRequest().build()))
                 .onErrorResume(Exception.class,
                         ex -> {
                             log.error("Error retrieving POIs by city: {}", city, ex);
-                            return Flux.empty();
+                            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                        });
+    }
+
+    @GetMapping("/keyword/{keyword}")
+    @Operation(summary = "Récupérer les POIs par mot-clé", description = "Récupère les points d'intérêt associés à un mot-clé, sans tenir compte de la casse ni des accents, page par page (pagination par curseur : passer le next_cursor de la réponse pour obtenir la page suivante), en vue allégée (détail complet par GET /api/v1/pois/{poiId})")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page des POIs associés au mot-clé", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Curseur de pagination ou champ invalide", content = @Content),
+            @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
+    })
+    public Mono<ResponseEntity<CursorPageDTO<PoiSummaryDTO>>> getPoisByKeyword(
+            @Parameter(description = "Mot-clé", required = true, example = "café") @PathVariable String keyword,
+            @Parameter(description = "Champs à retourner, séparés par des virgules (par défaut tous les champs de la vue allégée : " + PoiSummaryFields.DEFAULT_FIELDS + ")", example = "poi_id,poi_name,latitude,longitude") @RequestParam(required = false) String fields,
+            @Parameter(description = "Curseur de la page suivante (next_cursor de la page précédente), absent pour la première page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre de POIs par page (50 par défaut, 200 au maximum)", example = "50") @RequestParam(required = false) Integer limit) {
+        log.debug("REST request to get POIs by keyword: {}", keyword);
+
+        return poiService.findByKeyword(keyword, fields, cursor, limit)
+                .map(page -> ResponseEntity.ok(page))
+                .onErrorResume(IllegalArgumentException.class,
+                        ex -> Mono.just(ResponseEntity.badRequest().build()))
+                .onErrorResume(Exception.class,
+                        ex -> {
+                            log.error("Error retrieving POIs by keyword: {}", keyword, ex);
+                            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
                         });
     }
 
@@ -272,20 +601,27 @@ public class PointOfInterestController {
     }
 
     @GetMapping("/user/{userId}")
-    @Operation(summary = "Récupérer les POIs créés par un utilisateur", description = "Récupère tous les points d'intérêt créés par un utilisateur spécifique")
+    @Operation(summary = "Récupérer les POIs créés par un utilisateur", description = "Récupère tous les points d'intérêt créés par un utilisateur spécifique, page par page (pagination par curseur : passer le next_cursor de la réponse pour obtenir la page suivante), en vue allégée (détail complet par GET /api/v1/pois/{poiId})")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Liste des POIs créés par l'utilisateur", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PointOfInterestDTO.class))),
+            @ApiResponse(responseCode = "200", description = "Page des POIs créés par l'utilisateur", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = CursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Curseur de pagination ou champ invalide", content = @Content),
             @ApiResponse(responseCode = "500", description = "Erreur interne du serveur", content = @Content)
     })
-    public Flux<PointOfInterestDTO> getPoisByUser(
-            @Parameter(description = "ID de l'utilisateur", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID userId) {
+    public Mono<ResponseEntity<CursorPageDTO<PoiSummaryDTO>>> getPoisByUser(
+            @Parameter(description = "ID de l'utilisateur", required = true, example = "123e4567-e89b-12d3-a456-426614174000") @PathVariable UUID userId,
+            @Parameter(description = "Champs à retourner, séparés par des virgules (par défaut tous les champs de la vue allégée : " + PoiSummaryFields.DEFAULT_FIELDS + ")", example = "poi_id,poi_name,latitude,longitude") @RequestParam(required = false) String fields,
+            @Parameter(description = "Curseur de la page suivante (next_cursor de la page précédente), absent pour la première page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Nombre de POIs par page (50 par défaut, 200 au maximum)", example = "50") @RequestParam(required = false) Integer limit) {
         log.debug("REST request to get POIs created by user: {}", userId);
 
-        return poiService.findByCreatedByUserId(userId)
+        return poiService.findByCreatedByUserId(userId, fields, cursor, limit)
+                .map(page -> ResponseEntity.ok(page))
+                .onErrorResume(IllegalArgumentException.class,
+                        ex -> Mono.just(ResponseEntity.badRequest().build()))
                 .onErrorResume(Exception.class,
                         ex -> {
                             log.error("Error retrieving POIs for user: {}", userId, ex);
-                            return Flux.empty();
+                            return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
                         });
     }
 
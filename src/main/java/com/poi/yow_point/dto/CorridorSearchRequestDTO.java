@@ -0,0 +1,31 @@
+package com.poi.yow_point.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorridorSearchRequestDTO {
+
+    // Itinéraire au format "Encoded Polyline"
+    @JsonProperty("polyline")
+    private String polyline;
+
+    // Nombre de décimales de la polyligne (5 par défaut, 6 pour Valhalla)
+    @JsonProperty("precision")
+    private Integer precision;
+
+    @JsonProperty("buffer_meters")
+    private Double bufferMeters;
+
+    // Types de POI recherchés (tous les types si vide)
+    @JsonProperty("poi_types")
+    private List<String> poiTypes;
+}
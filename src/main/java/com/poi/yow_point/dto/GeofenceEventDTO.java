@@ -0,0 +1,43 @@
+package com.poi.yow_point.dto;
+
+import com.poi.yow_point.services.spatial.GeofenceTransition;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GeofenceEventDTO {
+
+    @JsonProperty("device_id")
+    private String deviceId;
+
+    @JsonProperty("poi_id")
+    private UUID poiId;
+
+    @JsonProperty("transition")
+    private GeofenceTransition transition;
+
+    // Position de l'appareil ayant déclenché la transition
+    @JsonProperty("latitude")
+    private Double latitude;
+
+    @JsonProperty("longitude")
+    private Double longitude;
+
+    // Distance au POI, renseignée pour les entrées
+    @JsonProperty("distance_km")
+    private Double distanceKm;
+
+    @JsonProperty("timestamp")
+    private Instant timestamp;
+}
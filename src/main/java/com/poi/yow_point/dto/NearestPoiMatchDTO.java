@@ -0,0 +1,38 @@
+package com.poi.yow_point.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class NearestPoiMatchDTO {
+
+    // Position de la coordonnée dans la requête
+    @JsonProperty("index")
+    private Integer index;
+
+    @JsonProperty("ref")
+    private String ref;
+
+    @JsonProperty("latitude")
+    private Double latitude;
+
+    @JsonProperty("longitude")
+    private Double longitude;
+
+    // Absent si aucun POI ne correspond (ou coordonnée invalide)
+    @JsonProperty("poi_id")
+    private UUID poiId;
+
+    @JsonProperty("distance_km")
+    private Double distanceKm;
+}
@@ -0,0 +1,24 @@
+package com.poi.yow_point.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearestPoiQueryDTO {
+
+    // Identifiant libre fourni par le client, renvoyé tel quel dans le résultat
+    @JsonProperty("ref")
+    private String ref;
+
+    @JsonProperty("latitude")
+    private Double latitude;
+
+    @JsonProperty("longitude")
+    private Double longitude;
+}
@@ -0,0 +1,39 @@
+package com.poi.yow_point.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PoiClusterDTO {
+
+    @JsonProperty("cluster")
+    private boolean cluster;
+
+    @JsonProperty("cluster_id")
+    private Long clusterId;
+
+    @JsonProperty("poi_id")
+    private UUID poiId;
+
+    @JsonProperty("latitude")
+    private Double latitude;
+
+    @JsonProperty("longitude")
+    private Double longitude;
+
+    @JsonProperty("point_count")
+    private Integer pointCount;
+
+    @JsonProperty("expansion_zoom")
+    private Integer expansionZoom;
+}
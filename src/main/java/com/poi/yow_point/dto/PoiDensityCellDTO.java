@@ -0,0 +1,34 @@
+package com.poi.yow_point.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PoiDensityCellDTO {
+
+    @JsonProperty("min_latitude")
+    private Double minLatitude;
+
+    @JsonProperty("min_longitude")
+    private Double minLongitude;
+
+    @JsonProperty("max_latitude")
+    private Double maxLatitude;
+
+    @JsonProperty("max_longitude")
+    private Double maxLongitude;
+
+    @JsonProperty("poi_count")
+    private Integer poiCount;
+
+    @JsonProperty("access_count")
+    private Long accessCount;
+}
@@ -0,0 +1,34 @@
+package com.poi.yow_point.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PoiFacetedSearchDTO {
+
+    @JsonProperty("total_count")
+    private Integer totalCount;
+
+    // true si le terme de recherche correspond à plus de POIs que la limite :
+    // total et facettes ne portent alors que sur les plus populaires
+    @JsonProperty("total_count_capped")
+    private Boolean totalCountCapped;
+
+    @JsonProperty("results")
+    private List<PointOfInterestDTO> results;
+
+    // Par facette (poi_type, poi_category, address_city, poi_amenities) : valeurs et nombre de POIs
+    @JsonProperty("facets")
+    private Map<String, List<PoiFacetCountDTO>> facets;
+}
@@ -0,0 +1,28 @@
+package com.poi.yow_point.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PoiSearchQueryDTO {
+
+    // Identifiant choisi par le client, renvoyé avec les résultats correspondants
+    @JsonProperty("request_id")
+    private Long requestId;
+
+    @JsonProperty("q")
+    private String query;
+
+    // "autocomplete" (par défaut) ou "search" (recherche approchée complète)
+    @JsonProperty("mode")
+    private String mode;
+
+    @JsonProperty("limit")
+    private Integer limit;
+}
@@ -0,0 +1,35 @@
+package com.poi.yow_point.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PoiSearchUpdateDTO {
+
+    @JsonProperty("request_id")
+    private Long requestId;
+
+    @JsonProperty("q")
+    private String query;
+
+    // Mode autocomplete
+    @JsonProperty("suggestions")
+    private List<PoiSuggestionDTO> suggestions;
+
+    // Mode search
+    @JsonProperty("results")
+    private List<PointOfInterestDTO> results;
+
+    @JsonProperty("error")
+    private String error;
+}
@@ -0,0 +1,33 @@
+package com.poi.yow_point.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PoiSuggestionDTO {
+
+    @JsonProperty("poi_id")
+    private UUID poiId;
+
+    @JsonProperty("poi_name")
+    private String poiName;
+
+    @JsonProperty("poi_type")
+    private String poiType;
+
+    @JsonProperty("poi_category")
+    private String poiCategory;
+
+    @JsonProperty("popularity_score")
+    private Float popularityScore;
+}
@@ -0,0 +1,61 @@
+package com.poi.yow_point.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Vue allégée d'un POI pour les listes ; le détail complet est retourné par
+ * GET /api/v1/pois/{poiId}. Les champs non demandés (paramètre fields) sont
+ * omis.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PoiSummaryDTO {
+
+    @JsonProperty("poi_id")
+    private UUID poiId;
+
+    @JsonProperty("organization_id")
+    private UUID organizationId;
+
+    @JsonProperty("poi_name")
+    private String poiName;
+
+    @JsonProperty("poi_type")
+    private String poiType;
+
+    @JsonProperty("poi_category")
+    private String poiCategory;
+
+    @JsonProperty("latitude")
+    private BigDecimal latitude;
+
+    @JsonProperty("longitude")
+    private BigDecimal longitude;
+
+    @JsonProperty("address_city")
+    private String addressCity;
+
+    @JsonProperty("address_country")
+    private String addressCountry;
+
+    @JsonProperty("popularity_score")
+    private Float popularityScore;
+
+    @JsonProperty("is_active")
+    private Boolean isActive;
+
+    @JsonProperty("created_at")
+    private Instant createdAt;
+}
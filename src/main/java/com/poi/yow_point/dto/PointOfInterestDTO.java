@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.Instant;
@@ -81,6 +82,9 @@ public class PointOfInterestDTO {
     @JsonProperty("poi_keywords")
     private List<String> poiKeywords;
 
+    @JsonProperty("poi_type_tags")
+    private List<String> poiTypeTags;
+
     @JsonProperty("popularity_score")
     private Float popularityScore;
 
@@ -92,4 +96,9 @@ public class PointOfInterestDTO {
 
     @JsonProperty("updated_at")
     private Instant updatedAt;
+
+    // Distance au point de recherche, renseignée uniquement par les recherches de proximité
+    @JsonProperty("distance_km")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double distanceKm;
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.poi.yow_point.mappers;
 
 import com.poi.yow_point.models.PointOfInterest;
+import com.poi.yow_point.dto.PoiSummaryDTO;
 import com.poi.yow_point.dto.PointOfInterestDTO;
+import com.poi.yow_point.services.search.PoiTextNormalizer;
 import io.r2dbc.postgresql.codec.Json;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -47,12 +49,39 @@ public class PointOfInterestMapper {
                 .operationTimePlan(parseJsonToMap(entity.getOperationTimePlanJson()))
                 .poiContacts(parseJsonToMap(entity.getPoiContactsJson()))
                 .poiImagesUrls(entity.getPoiImagesUrlsList())
-                .poiAmenities(entity.getPoiAmenitiesList())
-                .poiKeywords(parseKeywords(entity.getPoiKeywords()))
+                .poiAmenities(arrayToList(entity.getPoiAmenities()))
+                .poiKeywords(arrayToList(entity.getPoiKeywords()))
+                .poiTypeTags(arrayToList(entity.getPoiTypeTags()))
                 .popularityScore(entity.getPopularityScore())
                 .isActive(entity.getIsActive())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
+                .distanceKm(entity.getDistanceKm())
+                .build();
+    }
+
+    /**
+     * Convertit une entité PointOfInterest, éventuellement partielle (colonnes
+     * choisies), en vue allégée de liste
+     */
+    public PoiSummaryDTO toSummaryDto(PointOfInterest entity) {
+        if (entity == null) {
+            return null;
+        }
+
+        return PoiSummaryDTO.builder()
+                .poiId(entity.getPoiId())
+                .organizationId(entity.getOrganizationId())
+                .poiName(entity.getPoiName())
+                .poiType(entity.getPoiType())
+                .poiCategory(entity.getPoiCategory())
+                .latitude(entity.getLatitude())
+                .longitude(entity.getLongitude())
+                .addressCity(entity.getAddressCity())
+                .addressCountry(entity.getAddressCountry())
+                .popularityScore(entity.getPopularityScore())
+                .isActive(entity.getIsActive())
+                .createdAt(entity.getCreatedAt())
                 .build();
     }
 
@@ -64,7 +93,7 @@ public class PointOfInterestMapper {
             return null;
         }
 
-        return PointOfInterest.builder()
+        PointOfInterest entity = PointOfInterest.builder()
                 .poiId(dto.getPoiId())
                 .created_by_user_id(dto.getCreatedByUserId())
                 .organizationId(dto.getOrganizationId())
@@ -84,13 +113,16 @@ public class PointOfInterestMapper {
                 .operationTimePlanJson(mapToJson(dto.getOperationTimePlan()))
                 .poiContactsJson(mapToJson(dto.getPoiContacts()))
                 .poiImagesUrls(listToString(dto.getPoiImagesUrls()))
-                .poiAmenities(listToString(dto.getPoiAmenities()))
-                .poiKeywords(listToString(dto.getPoiKeywords()))
+                .poiAmenities(listToArray(dto.getPoiAmenities()))
+                .poiKeywords(listToArray(dto.getPoiKeywords()))
+                .poiTypeTags(listToArray(dto.getPoiTypeTags()))
                 .popularityScore(dto.getPopularityScore())
                 .isActive(dto.getIsActive())
                 .createdAt(dto.getCreatedAt())
                 .updatedAt(dto.getUpdatedAt())
                 .build();
+        applyNormalizedColumns(entity);
+        return entity;
     }
 
     /**
@@ -151,10 +183,13 @@ public class PointOfInterestMapper {
             existingEntity.setPoiImagesUrls(listToString(dto.getPoiImagesUrls()));
         }
         if (dto.getPoiAmenities() != null) {
-            existingEntity.setPoiAmenities(listToString(dto.getPoiAmenities()));
+            existingEntity.setPoiAmenities(listToArray(dto.getPoiAmenities()));
         }
         if (dto.getPoiKeywords() != null) {
-            existingEntity.setPoiKeywords(listToString(dto.getPoiKeywords()));
+            existingEntity.setPoiKeywords(listToArray(dto.getPoiKeywords()));
+        }
+        if (dto.getPoiTypeTags() != null) {
+            existingEntity.setPoiTypeTags(listToArray(dto.getPoiTypeTags()));
         }
         if (dto.getPopularityScore() != null) {
             existingEntity.setPopularityScore(dto.getPopularityScore());
@@ -163,9 +198,24 @@ public class PointOfInterestMapper {
             existingEntity.setIsActive(dto.getIsActive());
         }
 
+        applyNormalizedColumns(existingEntity);
         return existingEntity;
     }
 
+    /**
+     * Renseigne les colonnes normalisées (nom, ville, mots-clés) à partir des
+     * valeurs saisies
+     */
+    public void applyNormalizedColumns(PointOfInterest entity) {
+        entity.setPoiNameNormalized(PoiTextNormalizer.normalizeOrNull(entity.getPoiName()));
+        entity.setAddressCityNormalized(PoiTextNormalizer.normalizeOrNull(entity.getAddressCity()));
+        entity.setPoiKeywordsNormalized(arrayToList(entity.getPoiKeywords()).stream()
+                .map(PoiTextNormalizer::normalize)
+                .filter(keyword -> !keyword.isEmpty())
+                .distinct()
+                .toArray(String[]::new));
+    }
+
     /**
      * Méthodes utilitaires privées
      */
@@ -194,16 +244,29 @@ public class PointOfInterestMapper {
         }
     }
 
-    private List<String> parseKeywords(String keywords) {
-        if (keywords == null || keywords.trim().isEmpty()) {
+    private List<String> arrayToList(String[] values) {
+        if (values == null) {
             return new ArrayList<>();
         }
-        return Arrays.stream(keywords.split(","))
+        return Arrays.stream(values)
+                .filter(Objects::nonNull)
                 .map(String::trim)
                 .filter(s -> !s.isEmpty())
                 .collect(Collectors.toList());
     }
 
+    private String[] listToArray(List<String> list) {
+        if (list == null || list.isEmpty()) {
+            return null;
+        }
+        return list.stream()
+                .filter(Objects::nonNull)
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
     private String listToString(List<String> list) {
         if (list == null || list.isEmpty()) {
             return null;
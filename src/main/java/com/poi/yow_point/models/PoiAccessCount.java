@@ -0,0 +1,23 @@
+package com.poi.yow_point.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.relational.core.mapping.Column;
+
+import java.util.UUID;
+
+/**
+ * Nombre d'accès journalisés pour un POI (agrégat de poi_access_log)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PoiAccessCount {
+
+    @Column("poi_id")
+    private UUID poiId;
+
+    @Column("access_count")
+    private Long accessCount;
+}
@@ -1,6 +1,7 @@
 package com.poi.yow_point.models;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
 import org.springframework.data.relational.core.mapping.Table;
 import io.r2dbc.postgresql.codec.Json;
 import lombok.AllArgsConstructor;
@@ -15,7 +16,7 @@ import java.time.Instant;
 import java.math.BigDecimal;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Table("point_of_interest")
@@ -83,11 +84,25 @@ public class PointOfInterest {
     @Column("poi_images_urls")
     private String poiImagesUrls;
 
+    // Listes stockées en tableaux PostgreSQL (text[], index GIN)
     @Column("poi_amenities")
-    private String poiAmenities;
+    private String[] poiAmenities;
 
     @Column("poi_keywords")
-    private String poiKeywords;
+    private String[] poiKeywords;
+
+    @Column("poi_type_tags")
+    private String[] poiTypeTags;
+
+    // Valeurs normalisées (sans accents ni casse) pour les recherches indexées
+    @Column("poi_name_normalized")
+    private String poiNameNormalized;
+
+    @Column("address_city_normalized")
+    private String addressCityNormalized;
+
+    @Column("poi_keywords_normalized")
+    private String[] poiKeywordsNormalized;
 
     @Column("popularity_score")
     private Float popularityScore;
@@ -101,6 +116,11 @@ public class PointOfInterest {
     @Column("updated_at")
     private Instant updatedAt;
 
+    // Distance calculée par les requêtes de proximité (non persistée)
+    @ReadOnlyProperty
+    @Column("distance_km")
+    private Double distanceKm;
+
     // Constructeurs, getters, setters...
 
     // Méthodes utilitaires pour conversion
@@ -116,14 +136,15 @@ public class PointOfInterest {
     }
 
     public List<String> getPoiAmenitiesList() {
-        if (poiAmenities == null || poiAmenities.trim().isEmpty()) {
-            return new ArrayList<>();
-        }
-        return Arrays.asList(poiAmenities.split(","));
+        return poiAmenities != null ? Arrays.asList(poiAmenities) : new ArrayList<>();
     }
 
     public void setPoiAmenitiesList(List<String> amenities) {
-        this.poiAmenities = amenities != null ? String.join(",", amenities) : null;
+        this.poiAmenities = amenities != null ? amenities.toArray(String[]::new) : null;
+    }
+
+    public List<String> getPoiKeywordsList() {
+        return poiKeywords != null ? Arrays.asList(poiKeywords) : new ArrayList<>();
     }
 
     // Getters et setters standards...
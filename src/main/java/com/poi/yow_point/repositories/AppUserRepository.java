@@ -4,8 +4,10 @@ import com.poi.yow_point.models.AppUser;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Repository
@@ -23,4 +25,17 @@ public interface AppUserRepository extends R2dbcRepository<AppUser, UUID> {
     // Requête pour compter les utilisateurs actifs d'une organisation
     @Query("SELECT COUNT(*) FROM app_user WHERE org_id = :orgId AND is_active = true")
     Mono<Long> countActiveUsersByOrgId(UUID orgId);
+
+    // Pagination par curseur : utilisateurs les plus récents d'abord (les lignes
+    // sans date de création ne peuvent pas être positionnées et sont ignorées)
+    @Query("SELECT * FROM app_user WHERE created_at IS NOT NULL ORDER BY created_at DESC, user_id DESC LIMIT :limit")
+    Flux<AppUser> findFirstPage(int limit);
+
+    @Query("""
+            SELECT * FROM app_user
+            WHERE (created_at, user_id) < (:afterCreatedAt, :afterId)
+            ORDER BY created_at DESC, user_id DESC
+            LIMIT :limit
+            """)
+    Flux<AppUser> findPageAfter(OffsetDateTime afterCreatedAt, UUID afterId, int limit);
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package com.poi.yow_point.repositories;
 
 import com.poi.yow_point.models.Organization;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Repository
@@ -14,6 +17,19 @@ public interface OrganizationRepository extends R2dbcRepository<Organization, UU
     // Méthode personnalisée pour rechercher par orgCode
     Mono<Organization> findByOrgCode(String orgCode);
 
+    // Pagination par curseur : organisations les plus récentes d'abord (les lignes
+    // sans date de création ne peuvent pas être positionnées et sont ignorées)
+    @Query("SELECT * FROM organization WHERE created_at IS NOT NULL ORDER BY created_at DESC, organization_id DESC LIMIT :limit")
+    Flux<Organization> findFirstPage(int limit);
+
+    @Query("""
+            SELECT * FROM organization
+            WHERE (created_at, organization_id) < (:afterCreatedAt, :afterId)
+            ORDER BY created_at DESC, organization_id DESC
+            LIMIT :limit
+            """)
+    Flux<Organization> findPageAfter(OffsetDateTime afterCreatedAt, UUID afterId, int limit);
+
     // Note: Dans R2DBC, toutes les méthodes retournent des types réactifs :
     // - Mono<T> pour une seule entité ou un résultat vide
     // - Flux<T> pour une collection d'entités
@@ -1,5 +1,6 @@
 package com.poi.yow_point.repositories;
 
+import com.poi.yow_point.models.PoiAccessCount;
 import com.poi.yow_point.models.PoiAccessLog;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -51,15 +52,51 @@ public interface PoiAccessLogRepository extends R2dbcRepository<PoiAccessLog, UU
     Mono<Long> countByPoiIdAndAccessType(@Param("poiId") UUID poiId,
             @Param("accessType") String accessType);
 
+    // Compter les accès de chaque POI (agrégats de la carte de densité)
+    @Query("SELECT poi_id, COUNT(*) AS access_count FROM poi_access_log GROUP BY poi_id")
+    Flux<PoiAccessCount> countAccessesGroupByPoiId();
+
     // Supprimer les logs anciens
     @Query("DELETE FROM poi_access_log WHERE access_datetime < :beforeDate")
     Mono<Long> deleteOldLogs(@Param("beforeDate") OffsetDateTime beforeDate);
 
-    // Recherche avec pagination (utilise LIMIT et OFFSET)
-    @Query("SELECT * FROM poi_access_log WHERE poi_id = :poiId ORDER BY access_datetime DESC LIMIT :limit OFFSET :offset")
-    Flux<PoiAccessLog> findByPoiIdWithPagination(@Param("poiId") UUID poiId,
-            @Param("limit") int limit,
-            @Param("offset") int offset);
+    // Pagination par clé des logs d'un POI, les plus récents d'abord : parcours
+    // de idx_access_log_poi_datetime_id à partir de la position, sans OFFSET
+    @Query("""
+            SELECT * FROM poi_access_log
+            WHERE poi_id = :poiId AND access_datetime IS NOT NULL
+            ORDER BY access_datetime DESC, access_id DESC
+            LIMIT :limit
+            """)
+    Flux<PoiAccessLog> findFirstPageByPoiId(@Param("poiId") UUID poiId,
+            @Param("limit") int limit);
+
+    @Query("""
+            SELECT * FROM poi_access_log
+            WHERE poi_id = :poiId
+            AND (access_datetime, access_id) < (:afterDatetime, :afterId)
+            ORDER BY access_datetime DESC, access_id DESC
+            LIMIT :limit
+            """)
+    Flux<PoiAccessLog> findPageByPoiIdAfter(@Param("poiId") UUID poiId,
+            @Param("afterDatetime") OffsetDateTime afterDatetime,
+            @Param("afterId") UUID afterId,
+            @Param("limit") int limit);
+
+    // Pagination par curseur : logs les plus récents d'abord (les lignes sans date
+    // ne peuvent pas être positionnées et sont ignorées)
+    @Query("SELECT * FROM poi_access_log WHERE access_datetime IS NOT NULL ORDER BY access_datetime DESC, access_id DESC LIMIT :limit")
+    Flux<PoiAccessLog> findFirstPage(@Param("limit") int limit);
+
+    @Query("""
+            SELECT * FROM poi_access_log
+            WHERE (access_datetime, access_id) < (:afterDatetime, :afterId)
+            ORDER BY access_datetime DESC, access_id DESC
+            LIMIT :limit
+            """)
+    Flux<PoiAccessLog> findPageAfter(@Param("afterDatetime") OffsetDateTime afterDatetime,
+            @Param("afterId") UUID afterId,
+            @Param("limit") int limit);
 
     // Statistiques par plateforme pour une organisation
     @Query("SELECT platform_type, COUNT(*) as count FROM poi_access_log WHERE organization_id = :orgId GROUP BY platform_type")
@@ -0,0 +1,80 @@
+package com.poi.yow_point.repositories;
+
+/**
+ * Listes de POIs paginées par curseur : condition de sélection (paramètre
+ * :value) et ordre de parcours, par nom croissant ou par date de création
+ * décroissante, départagés par l'identifiant.
+ *
+ * Chaque ordre est servi par un index composite de schema.sql
+ * (idx_poi_org_name_id, idx_poi_creator_created_id...).
+ *
+ * Les portées sur colonnes normalisées comparent aussi la valeur brute
+ * (:rawValue, sans casse) aux POIs dont la colonne normalisée n'est pas
+ * encore renseignée (rattrapage de PoiNormalizationBackfill en cours).
+ */
+public enum PoiListScope {
+
+    ACTIVE_BY_ORGANIZATION("organization_id = :value AND is_active = true", "poi_name", false),
+    BY_ORGANIZATION("organization_id = :value", "poi_name", false),
+    BY_TYPE("poi_type = :value AND is_active = true", "poi_name", false),
+    BY_CATEGORY("poi_category = :value AND is_active = true", "poi_name", false),
+    BY_NORMALIZED_KEYWORD("""
+            (poi_keywords_normalized @> ARRAY[:value]::text[]
+             OR (poi_keywords_normalized IS NULL
+                 AND EXISTS (SELECT 1 FROM unnest(poi_keywords) keyword WHERE LOWER(keyword) = LOWER(:rawValue))))
+            AND is_active = true""", "poi_name", false),
+    BY_NORMALIZED_CITY("""
+            (address_city_normalized = :value
+             OR (address_city_normalized IS NULL AND LOWER(address_city) = LOWER(:rawValue)))
+            AND is_active = true""", "poi_name", false),
+    BY_CREATOR("created_by_user_id = :value", "created_at", true);
+
+    private final String condition;
+    private final String sortColumn;
+    private final boolean descending;
+
+    PoiListScope(String condition, String sortColumn, boolean descending) {
+        this.condition = condition;
+        this.sortColumn = sortColumn;
+        this.descending = descending;
+    }
+
+    public String condition() {
+        return condition;
+    }
+
+    /**
+     * Vrai si la condition compare aussi la valeur brute (:rawValue)
+     */
+    public boolean usesRawValue() {
+        return condition.contains(":rawValue");
+    }
+
+    /**
+     * Colonne de tri, toujours lue avec poi_id pour construire le curseur
+     */
+    public String sortColumn() {
+        return sortColumn;
+    }
+
+    public boolean sortedByName() {
+        return "poi_name".equals(sortColumn);
+    }
+
+    /**
+     * Position strictement après le curseur (:afterKey, :afterId) dans l'ordre
+     * de parcours ; les lignes sans valeur de tri ne sont jamais retournées
+     */
+    public String afterCondition() {
+        return "(" + sortColumn + ", poi_id) " + (descending ? "<" : ">") + " (:afterKey, :afterId)";
+    }
+
+    public String firstPageCondition() {
+        return sortColumn + " IS NOT NULL";
+    }
+
+    public String orderBy() {
+        String direction = descending ? " DESC" : "";
+        return sortColumn + direction + ", poi_id" + direction;
+    }
+}
@@ -39,6 +39,18 @@ public interface PoiPlatformStatRepository extends R2dbcRepository<PoiPlatformSt
     Flux<PoiPlatformStat> findByPoiIdAndPlatformTypeAndDateRange(UUID poiId, String platformType, LocalDate startDate,
             LocalDate endDate);
 
+    // Pagination par curseur : statistiques les plus récentes d'abord
+    @Query("SELECT * FROM poi_platform_stat ORDER BY stat_date DESC, stat_id DESC LIMIT :limit")
+    Flux<PoiPlatformStat> findFirstPage(int limit);
+
+    @Query("""
+            SELECT * FROM poi_platform_stat
+            WHERE (stat_date, stat_id) < (:afterDate, :afterId)
+            ORDER BY stat_date DESC, stat_id DESC
+            LIMIT :limit
+            """)
+    Flux<PoiPlatformStat> findPageAfter(LocalDate afterDate, UUID afterId, int limit);
+
     // Suppression par critères
     Mono<Void> deleteByOrgId(UUID orgId);
 
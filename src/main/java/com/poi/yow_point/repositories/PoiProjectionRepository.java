@@ -0,0 +1,28 @@
+package com.poi.yow_point.repositories;
+
+import com.poi.yow_point.models.PointOfInterest;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Requêtes de PointOfInterestRepository dont les colonnes lues dépendent de
+ * l'appel (listes allégées, champs choisis par le client)
+ */
+public interface PoiProjectionRepository {
+
+    /**
+     * Page d'une liste de POIs limitée aux colonnes demandées (noms de
+     * colonnes de point_of_interest, vérifiés par l'appelant) : les autres
+     * propriétés des POIs retournés restent nulles.
+     *
+     * @param rawValue valeur saisie, avant normalisation, pour les portées qui
+     *                 la comparent (voir PoiListScope#usesRawValue)
+     * @param afterKey valeur de tri du curseur (nom ou date de création), null
+     *                 pour la première page
+     * @param afterId  identifiant du curseur, null pour la première page
+     */
+    Flux<PointOfInterest> findPage(PoiListScope scope, Object value, String rawValue,
+            Collection<String> columns, Object afterKey, UUID afterId, int limit);
+}
@@ -0,0 +1,44 @@
+package com.poi.yow_point.repositories;
+
+import com.poi.yow_point.models.PointOfInterest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Implémentation de PoiProjectionRepository : la requête est composée à
+ * partir de la portée (texte constant) et des colonnes demandées, les valeurs
+ * étant toujours liées en paramètres
+ */
+@RequiredArgsConstructor
+public class PoiProjectionRepositoryImpl implements PoiProjectionRepository {
+
+    private final R2dbcEntityTemplate entityTemplate;
+
+    @Override
+    public Flux<PointOfInterest> findPage(PoiListScope scope, Object value, String rawValue,
+            Collection<String> columns, Object afterKey, UUID afterId, int limit) {
+        boolean firstPage = afterId == null;
+        String sql = "SELECT " + String.join(", ", columns)
+                + " FROM point_of_interest WHERE " + scope.condition()
+                + " AND " + (firstPage ? scope.firstPageCondition() : scope.afterCondition())
+                + " ORDER BY " + scope.orderBy()
+                + " LIMIT :limit";
+
+        DatabaseClient.GenericExecuteSpec spec = entityTemplate.getDatabaseClient().sql(sql)
+                .bind("value", value)
+                .bind("limit", limit);
+        if (scope.usesRawValue()) {
+            spec = spec.bind("rawValue", rawValue);
+        }
+        if (!firstPage) {
+            spec = spec.bind("afterKey", afterKey).bind("afterId", afterId);
+        }
+        return spec.map((row, metadata) -> entityTemplate.getConverter().read(PointOfInterest.class, row, metadata))
+                .all();
+    }
+}
@@ -9,6 +9,7 @@ import reactor.core.publisher.Mono;
 
 import com.poi.yow_point.models.PoiReview;
 
+import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Repository
@@ -28,6 +29,21 @@ public interface PoiReviewRepository extends R2dbcRepository<PoiReview, UUID> {
     @Query("SELECT * FROM poi_review WHERE user_id = :userId ORDER BY created_at DESC")
     Flux<PoiReview> findByUserIdOrderByCreatedAtDesc(@Param("userId") UUID userId);
 
+    // Pagination par curseur : avis les plus récents d'abord (les lignes sans date
+    // de création ne peuvent pas être positionnées et sont ignorées)
+    @Query("SELECT * FROM poi_review WHERE created_at IS NOT NULL ORDER BY created_at DESC, review_id DESC LIMIT :limit")
+    Flux<PoiReview> findFirstPage(@Param("limit") int limit);
+
+    @Query("""
+            SELECT * FROM poi_review
+            WHERE (created_at, review_id) < (:afterCreatedAt, :afterId)
+            ORDER BY created_at DESC, review_id DESC
+            LIMIT :limit
+            """)
+    Flux<PoiReview> findPageAfter(@Param("afterCreatedAt") OffsetDateTime afterCreatedAt,
+            @Param("afterId") UUID afterId,
+            @Param("limit") int limit);
+
     @Query("SELECT AVG(rating) FROM poi_review WHERE poi_id = :poiId")
     Mono<Double> findAverageRatingByPoiId(@Param("poiId") UUID poiId);
 
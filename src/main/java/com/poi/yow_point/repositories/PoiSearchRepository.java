@@ -0,0 +1,44 @@
+package com.poi.yow_point.repositories;
+
+import com.poi.yow_point.models.PointOfInterest;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+/**
+ * Recherches filtrées de PointOfInterestRepository : seuls les filtres
+ * renseignés (non nuls) figurent dans la requête
+ */
+public interface PoiSearchRepository {
+
+    /**
+     * Recherche complexe avec plusieurs critères (ville normalisée), dont les
+     * équipements (tous présents, @> sur idx_poi_amenities) et les mots-clés
+     * normalisés (au moins un, && sur idx_poi_keywords_normalized), classée
+     * par popularité puis par nom.
+     *
+     * Les POIs pas encore normalisés sont comparés sur la ville brute et sur
+     * les mots-clés bruts (rawKeywords, déjà en minuscules), sans casse.
+     */
+    Flux<PointOfInterest> findWithFilters(UUID organizationId, String poiType, String poiCategory, String city,
+            String rawCity, String searchTerm, String[] amenities, String[] keywords, String[] rawKeywords);
+
+    /**
+     * Recherche plein texte avec les mêmes filtres que {@link #findWithFilters} :
+     * le terme (syntaxe websearch : "expression exacte", -exclu, or) est
+     * comparé à search_vector (nom, mots-clés, description, configuration
+     * french) via idx_poi_search_vector, et les résultats sont classés par
+     * ts_rank_cd puis popularité
+     */
+    Flux<PointOfInterest> findWithFullText(UUID organizationId, String poiType, String poiCategory, String city,
+            String rawCity, String searchTerm, String[] amenities, String[] keywords, String[] rawKeywords);
+
+    /**
+     * {@link #findWithFullText} limitée aux limit premiers résultats (LIMIT
+     * dans la requête : PostgreSQL ne garde que les meilleurs rangs au lieu de
+     * trier toutes les correspondances)
+     */
+    Flux<PointOfInterest> findWithFullText(UUID organizationId, String poiType, String poiCategory, String city,
+            String rawCity, String searchTerm, String[] amenities, String[] keywords, String[] rawKeywords,
+            int limit);
+}
@@ -0,0 +1,130 @@
+package com.poi.yow_point.repositories;
+
+import com.poi.yow_point.models.PointOfInterest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Implémentation de PoiSearchRepository : la requête ne contient que les
+ * prédicats des filtres renseignés. Une forme unique « :x IS NULL OR ... »
+ * laisserait un plan générique (requête préparée réutilisée) sans pouvoir
+ * choisir l'index du filtre réellement utilisé. Les valeurs sont toujours
+ * liées en paramètres.
+ */
+@RequiredArgsConstructor
+public class PoiSearchRepositoryImpl implements PoiSearchRepository {
+
+    private final R2dbcEntityTemplate entityTemplate;
+
+    @Override
+    public Flux<PointOfInterest> findWithFilters(UUID organizationId, String poiType, String poiCategory,
+            String city, String rawCity, String searchTerm, String[] amenities, String[] keywords,
+            String[] rawKeywords) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder(PointOfInterestRepository.SELECT_POI)
+                .append("WHERE is_active = true");
+        appendFilters(sql, bindings, "", organizationId, poiType, poiCategory, city, rawCity, amenities,
+                keywords, rawKeywords);
+        if (searchTerm != null) {
+            sql.append("\nAND (LOWER(poi_name) LIKE LOWER(CONCAT('%', :searchTerm, '%'))"
+                    + " OR LOWER(poi_description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))");
+            bindings.put("searchTerm", searchTerm);
+        }
+        sql.append("\nORDER BY popularity_score DESC, poi_name");
+        return query(sql.toString(), bindings);
+    }
+
+    @Override
+    public Flux<PointOfInterest> findWithFullText(UUID organizationId, String poiType, String poiCategory,
+            String city, String rawCity, String searchTerm, String[] amenities, String[] keywords,
+            String[] rawKeywords) {
+        return fullTextQuery(organizationId, poiType, poiCategory, city, rawCity, searchTerm, amenities,
+                keywords, rawKeywords, null);
+    }
+
+    @Override
+    public Flux<PointOfInterest> findWithFullText(UUID organizationId, String poiType, String poiCategory,
+            String city, String rawCity, String searchTerm, String[] amenities, String[] keywords,
+            String[] rawKeywords, int limit) {
+        return fullTextQuery(organizationId, poiType, poiCategory, city, rawCity, searchTerm, amenities,
+                keywords, rawKeywords, limit);
+    }
+
+    private Flux<PointOfInterest> fullTextQuery(UUID organizationId, String poiType, String poiCategory,
+            String city, String rawCity, String searchTerm, String[] amenities, String[] keywords,
+            String[] rawKeywords, Integer limit) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(PointOfInterestRepository.POI_COLUMNS)
+                .append("\nFROM point_of_interest p, websearch_to_tsquery('french', :searchTerm) query")
+                .append("\nWHERE p.is_active = true AND p.search_vector @@ query");
+        bindings.put("searchTerm", searchTerm);
+        appendFilters(sql, bindings, "p.", organizationId, poiType, poiCategory, city, rawCity, amenities,
+                keywords, rawKeywords);
+        sql.append("\nORDER BY ts_rank_cd(p.search_vector, query) DESC, p.popularity_score DESC, p.poi_name");
+        if (limit != null) {
+            sql.append("\nLIMIT :limit");
+            bindings.put("limit", limit);
+        }
+        return query(sql.toString(), bindings);
+    }
+
+    /**
+     * Prédicats des filtres communs renseignés ; alias préfixe les colonnes
+     */
+    private static void appendFilters(StringBuilder sql, Map<String, Object> bindings, String alias,
+            UUID organizationId, String poiType, String poiCategory, String city, String rawCity,
+            String[] amenities, String[] keywords, String[] rawKeywords) {
+        if (organizationId != null) {
+            sql.append("\nAND ").append(alias).append("organization_id = :organizationId");
+            bindings.put("organizationId", organizationId);
+        }
+        if (poiType != null) {
+            sql.append("\nAND ").append(alias).append("poi_type = :poiType");
+            bindings.put("poiType", poiType);
+        }
+        if (poiCategory != null) {
+            sql.append("\nAND ").append(alias).append("poi_category = :poiCategory");
+            bindings.put("poiCategory", poiCategory);
+        }
+        if (city != null) {
+            sql.append("\nAND (").append(alias).append("address_city_normalized = :city");
+            bindings.put("city", city);
+            if (rawCity != null) {
+                sql.append("\n     OR (").append(alias).append("address_city_normalized IS NULL AND LOWER(")
+                        .append(alias).append("address_city) = LOWER(:rawCity))");
+                bindings.put("rawCity", rawCity);
+            }
+            sql.append(")");
+        }
+        if (amenities != null) {
+            sql.append("\nAND ").append(alias).append("poi_amenities @> CAST(:amenities AS TEXT[])");
+            bindings.put("amenities", amenities);
+        }
+        if (keywords != null) {
+            sql.append("\nAND (").append(alias).append("poi_keywords_normalized && CAST(:keywords AS TEXT[])");
+            bindings.put("keywords", keywords);
+            if (rawKeywords != null) {
+                sql.append("\n     OR (").append(alias).append("poi_keywords_normalized IS NULL")
+                        .append(" AND EXISTS (SELECT 1 FROM unnest(").append(alias).append("poi_keywords) raw")
+                        .append(" WHERE LOWER(raw) = ANY(CAST(:rawKeywords AS TEXT[]))))");
+                bindings.put("rawKeywords", rawKeywords);
+            }
+            sql.append(")");
+        }
+    }
+
+    private Flux<PointOfInterest> query(String sql, Map<String, Object> bindings) {
+        DatabaseClient.GenericExecuteSpec spec = entityTemplate.getDatabaseClient().sql(sql);
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map((row, metadata) -> entityTemplate.getConverter().read(PointOfInterest.class, row, metadata))
+                .all();
+    }
+}
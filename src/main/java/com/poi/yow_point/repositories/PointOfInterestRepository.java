@@ -10,46 +10,130 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.UUID;
 
 @Repository
-public interface PointOfInterestRepository extends R2dbcRepository<PointOfInterest, UUID> {
+public interface PointOfInterestRepository extends R2dbcRepository<PointOfInterest, UUID>, PoiProjectionRepository,
+        PoiSearchRepository {
+
+    /**
+     * Colonnes mappées par PointOfInterest. Les requêtes les nomment
+     * explicitement : SELECT * lirait aussi poi_logo (BYTEA, non mappé) et
+     * search_vector (tsvector de la recherche plein texte)
+     */
+    String POI_COLUMNS = """
+            poi_id, created_by_user_id, organization_id, poi_name, poi_type, poi_category, poi_description,
+            latitude, longitude, address_street_number, address_street_name, address_city, address_postal_code,
+            address_country, phone_number, website_url, operation_time_plan, poi_contacts, poi_images_urls,
+            poi_amenities, poi_keywords, poi_type_tags, poi_name_normalized, address_city_normalized,
+            poi_keywords_normalized, popularity_score, is_active, created_at, updated_at""";
+
+    String SELECT_POI = "SELECT " + POI_COLUMNS + "\nFROM point_of_interest\n";
+
+    @Override
+    @Query(SELECT_POI + "WHERE poi_id = :poiId")
+    Mono<PointOfInterest> findById(@Param("poiId") UUID poiId);
+
+    /**
+     * Trouve les POIs d'un lot d'identifiants (résolution des résultats des
+     * index en mémoire), dans un ordre quelconque
+     */
+    @Query(SELECT_POI + "WHERE poi_id IN (:poiIds)")
+    Flux<PointOfInterest> findByPoiIdIn(@Param("poiIds") Collection<UUID> poiIds);
 
     /**
      * Trouve tous les POIs actifs d'une organisation
      */
-    @Query("SELECT * FROM point_of_interest WHERE organization_id = :organizationId AND is_active = true ORDER BY poi_name")
+    @Query(SELECT_POI + "WHERE organization_id = :organizationId AND is_active = true ORDER BY poi_name")
     Flux<PointOfInterest> findActiveByOrganizationId(@Param("organizationId") UUID organizationId);
 
     /**
      * Trouve tous les POIs d'une organisation (actifs et inactifs)
      */
-    @Query("SELECT * FROM point_of_interest WHERE organization_id = :organizationId ORDER BY poi_name")
+    @Query(SELECT_POI + "WHERE organization_id = :organizationId ORDER BY poi_name")
     Flux<PointOfInterest> findByOrganizationId(@Param("organizationId") UUID organizationId);
 
     /**
      * Trouve les POIs par type
      */
-    @Query("SELECT * FROM point_of_interest WHERE poi_type = :poiType AND is_active = true ORDER BY poi_name")
+    @Query(SELECT_POI + "WHERE poi_type = :poiType AND is_active = true ORDER BY poi_name")
     Flux<PointOfInterest> findByPoiType(@Param("poiType") String poiType);
 
     /**
      * Trouve les POIs par catégorie
      */
-    @Query("SELECT * FROM point_of_interest WHERE poi_category = :poiCategory AND is_active = true ORDER BY poi_name")
+    @Query(SELECT_POI + "WHERE poi_category = :poiCategory AND is_active = true ORDER BY poi_name")
     Flux<PointOfInterest> findByPoiCategory(@Param("poiCategory") String poiCategory);
 
     /**
-     * Recherche par nom (recherche partielle, insensible à la casse)
+     * Recherche par nom normalisé contenant le texte (normalisé). Les POIs pas
+     * encore normalisés sont comparés sur leur nom brut, sans casse
      */
-    @Query("SELECT * FROM point_of_interest WHERE LOWER(poi_name) LIKE LOWER(CONCAT('%', :name, '%')) AND is_active = true ORDER BY poi_name")
-    Flux<PointOfInterest> findByPoiNameContainingIgnoreCase(@Param("name") String name);
+    @Query(SELECT_POI + """
+            WHERE (poi_name_normalized LIKE CONCAT('%', :name, '%')
+                   OR (poi_name_normalized IS NULL AND LOWER(poi_name) LIKE LOWER(CONCAT('%', :rawName, '%'))))
+            AND is_active = true
+            ORDER BY poi_name
+            """)
+    Flux<PointOfInterest> findByNormalizedNameContaining(
+            @Param("name") String name,
+            @Param("rawName") String rawName);
 
     /**
-     * Trouve les POIs dans un rayon géographique
+     * Identifiants des POIs dont le nom ou la description contient le terme,
+     * dans l'ordre de {@link #findWithFilters}, limités aux limit premiers
      */
     @Query("""
-            SELECT * FROM point_of_interest
+            SELECT poi_id FROM point_of_interest
+            WHERE is_active = true
+            AND (LOWER(poi_name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR
+                 LOWER(poi_description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))
+            ORDER BY popularity_score DESC, poi_name
+            LIMIT :limit
+            """)
+    Flux<UUID> findIdsMatchingTerm(@Param("searchTerm") String searchTerm, @Param("limit") Integer limit);
+
+    /**
+     * Trouve les POIs ayant un mot-clé normalisé (idx_poi_keywords_normalized).
+     * Les POIs pas encore normalisés sont comparés sur leurs mots-clés bruts,
+     * sans casse
+     */
+    @Query(SELECT_POI + """
+            WHERE (poi_keywords_normalized @> ARRAY[:keyword]::text[]
+                   OR (poi_keywords_normalized IS NULL
+                       AND EXISTS (SELECT 1 FROM unnest(poi_keywords) raw WHERE LOWER(raw) = LOWER(:rawKeyword))))
+            AND is_active = true
+            ORDER BY poi_name
+            """)
+    Flux<PointOfInterest> findByNormalizedKeyword(
+            @Param("keyword") String keyword,
+            @Param("rawKeyword") String rawKeyword);
+
+    /**
+     * POIs dont les colonnes normalisées ne sont pas encore renseignées
+     */
+    @Query("SELECT poi_id, poi_name, address_city, poi_keywords FROM point_of_interest WHERE poi_name_normalized IS NULL LIMIT :limit")
+    Flux<PointOfInterest> findWithoutNormalizedColumns(@Param("limit") Integer limit);
+
+    /**
+     * Renseigne les colonnes normalisées d'un POI
+     */
+    @Query("""
+            UPDATE point_of_interest
+            SET poi_name_normalized = :name, address_city_normalized = :city, poi_keywords_normalized = :keywords
+            WHERE poi_id = :poiId
+            """)
+    Mono<Integer> updateNormalizedColumns(
+            @Param("poiId") UUID poiId,
+            @Param("name") String name,
+            @Param("city") String city,
+            @Param("keywords") String[] keywords);
+
+    /**
+     * Trouve les POIs dans un rayon géographique
+     */
+    @Query(SELECT_POI + """
             WHERE is_active = true
             AND latitude IS NOT NULL
             AND longitude IS NOT NULL
@@ -74,32 +158,110 @@ public interface PointOfInterestRepository extends R2dbcRepository<PointOfIntere
             @Param("radiusKm") Double radiusKm);
 
     /**
-     * Trouve les POIs par ville
+     * Trouve les POIs dans un rayon géographique en pré-filtrant sur une emprise
+     * lat/lon (exploitable par idx_poi_location), puis en appliquant la distance
+     * haversine exacte, retournée dans la colonne distance_km
+     */
+    @Query("SELECT " + POI_COLUMNS + ", distance_km\n" + """
+            FROM (
+                SELECT p.*,
+                    2 * 6371 * asin(sqrt(
+                        power(sin(radians(p.latitude - :latitude) / 2), 2) +
+                        cos(radians(:latitude)) * cos(radians(p.latitude)) *
+                        power(sin(radians(p.longitude - :longitude) / 2), 2)
+                    )) AS distance_km
+                FROM point_of_interest p
+                WHERE p.is_active = true
+                AND p.latitude BETWEEN :minLatitude AND :maxLatitude
+                AND p.longitude BETWEEN :minLongitude AND :maxLongitude
+            ) candidates
+            WHERE distance_km <= :radiusKm
+            ORDER BY distance_km
+            """)
+    Flux<PointOfInterest> findByLocationWithinBoundingBox(
+            @Param("latitude") BigDecimal latitude,
+            @Param("longitude") BigDecimal longitude,
+            @Param("minLatitude") BigDecimal minLatitude,
+            @Param("maxLatitude") BigDecimal maxLatitude,
+            @Param("minLongitude") BigDecimal minLongitude,
+            @Param("maxLongitude") BigDecimal maxLongitude,
+            @Param("radiusKm") Double radiusKm);
+
+    /**
+     * Trouve les k POIs actifs les plus proches d'une position (parcours
+     * complet, utilisé tant que l'index des plus proches voisins se construit)
+     */
+    @Query("SELECT " + POI_COLUMNS + ", distance_km\n" + """
+            FROM (
+                SELECT p.*,
+                    2 * 6371 * asin(sqrt(
+                        power(sin(radians(p.latitude - :latitude) / 2), 2) +
+                        cos(radians(:latitude)) * cos(radians(p.latitude)) *
+                        power(sin(radians(p.longitude - :longitude) / 2), 2)
+                    )) AS distance_km
+                FROM point_of_interest p
+                WHERE p.is_active = true
+                AND p.latitude IS NOT NULL
+                AND p.longitude IS NOT NULL
+                AND (:poiType IS NULL OR p.poi_type = :poiType)
+                AND (:poiCategory IS NULL OR p.poi_category = :poiCategory)
+            ) candidates
+            ORDER BY distance_km
+            LIMIT :k
+            """)
+    Flux<PointOfInterest> findNearest(
+            @Param("latitude") BigDecimal latitude,
+            @Param("longitude") BigDecimal longitude,
+            @Param("k") Integer k,
+            @Param("poiType") String poiType,
+            @Param("poiCategory") String poiCategory);
+
+    /**
+     * Trouve tous les POIs actifs (chargement des structures en mémoire)
      */
-    @Query("SELECT * FROM point_of_interest WHERE LOWER(address_city) = LOWER(:city) AND is_active = true ORDER BY poi_name")
-    Flux<PointOfInterest> findByCity(@Param("city") String city);
+    @Query(SELECT_POI + "WHERE is_active = true")
+    Flux<PointOfInterest> findAllActive();
 
     /**
-     * Recherche complexe avec plusieurs critères
+     * Trouve les POIs actifs d'une emprise pour le rendu des tuiles vectorielles
+     * (seules les colonnes encodées dans la tuile sont lues, les plus
+     * populaires d'abord)
      */
     @Query("""
-            SELECT * FROM point_of_interest
+            SELECT poi_id, poi_name, poi_type, poi_category, popularity_score, latitude, longitude, is_active
+            FROM point_of_interest
             WHERE is_active = true
-            AND (:organizationId IS NULL OR organization_id = :organizationId)
-            AND (:poiType IS NULL OR poi_type = :poiType)
-            AND (:poiCategory IS NULL OR poi_category = :poiCategory)
-            AND (:city IS NULL OR LOWER(address_city) = LOWER(:city))
-            AND (:searchTerm IS NULL OR
-                 LOWER(poi_name) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR
-                 LOWER(poi_description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))
-            ORDER BY popularity_score DESC, poi_name
+            AND latitude BETWEEN :minLatitude AND :maxLatitude
+            AND longitude BETWEEN :minLongitude AND :maxLongitude
+            ORDER BY popularity_score DESC NULLS LAST
+            LIMIT :limit
             """)
-    Flux<PointOfInterest> findWithFilters(
-            @Param("organizationId") UUID organizationId,
-            @Param("poiType") String poiType,
-            @Param("poiCategory") String poiCategory,
-            @Param("city") String city,
-            @Param("searchTerm") String searchTerm);
+    Flux<PointOfInterest> findTileFeatures(
+            @Param("minLatitude") BigDecimal minLatitude,
+            @Param("maxLatitude") BigDecimal maxLatitude,
+            @Param("minLongitude") BigDecimal minLongitude,
+            @Param("maxLongitude") BigDecimal maxLongitude,
+            @Param("limit") Integer limit);
+
+    /**
+     * Trouve les POIs par ville (nom de ville normalisé ; nom brut, sans casse,
+     * pour les POIs pas encore normalisés)
+     */
+    @Query(SELECT_POI + """
+            WHERE (address_city_normalized = :city
+                   OR (address_city_normalized IS NULL AND LOWER(address_city) = LOWER(:rawCity)))
+            AND is_active = true
+            ORDER BY poi_name
+            """)
+    Flux<PointOfInterest> findByCity(@Param("city") String city, @Param("rawCity") String rawCity);
+
+    /**
+     * Recherche complexe avec plusieurs critères (ville normalisée)
+     */
+    default Flux<PointOfInterest> findWithFilters(UUID organizationId, String poiType, String poiCategory,
+            String city, String rawCity, String searchTerm) {
+        return findWithFilters(organizationId, poiType, poiCategory, city, rawCity, searchTerm, null, null, null);
+    }
 
     /**
      * Compte les POIs actifs d'une organisation
@@ -110,7 +272,7 @@ public interface PointOfInterestRepository extends R2dbcRepository<PointOfIntere
     /**
      * Trouve les POIs les plus populaires
      */
-    @Query("SELECT * FROM point_of_interest WHERE is_active = true ORDER BY popularity_score DESC LIMIT :limit")
+    @Query(SELECT_POI + "WHERE is_active = true ORDER BY popularity_score DESC LIMIT :limit")
     Flux<PointOfInterest> findTopByPopularityScore(@Param("limit") Integer limit);
 
     /**
@@ -134,15 +296,23 @@ public interface PointOfInterestRepository extends R2dbcRepository<PointOfIntere
     /**
      * Trouve les POIs créés par un utilisateur spécifique
      */
-    @Query("SELECT * FROM point_of_interest WHERE created_by_user_id = :userId ORDER BY created_at DESC")
+    @Query(SELECT_POI + "WHERE created_by_user_id = :userId ORDER BY created_at DESC")
     Flux<PointOfInterest> findByCreatedByUserId(@Param("userId") UUID userId);
 
     /**
-     * Vérifie l'existence d'un POI par nom et organisation
+     * Vérifie l'existence d'un POI par nom normalisé et organisation. Les POIs
+     * pas encore normalisés (rattrapage en cours) sont comparés sur leur nom
+     * brut, sans casse, comme avant la normalisation.
      */
-    @Query("SELECT COUNT(*) > 0 FROM point_of_interest WHERE LOWER(poi_name) = LOWER(:name) AND organization_id = :organizationId AND poi_id != :excludeId")
+    @Query("""
+            SELECT COUNT(*) > 0 FROM point_of_interest
+            WHERE organization_id = :organizationId AND poi_id != :excludeId
+            AND (poi_name_normalized = :name
+                 OR (poi_name_normalized IS NULL AND LOWER(poi_name) = LOWER(:rawName)))
+            """)
     Mono<Boolean> existsByNameAndOrganizationIdExcludingId(
             @Param("name") String name,
+            @Param("rawName") String rawName,
             @Param("organizationId") UUID organizationId,
             @Param("excludeId") UUID excludeId);
 
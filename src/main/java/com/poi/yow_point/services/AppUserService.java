@@ -1,10 +1,13 @@
 package com.poi.yow_point.services;
 
 import com.poi.yow_point.dto.AppUserDTO;
+import com.poi.yow_point.dto.CursorPageDTO;
 import com.poi.yow_point.mappers.AppUserMapper;
 import com.poi.yow_point.models.AppUser;
 import com.poi.yow_point.repositories.AppUserRepository;
 import com.poi.yow_point.repositories.OrganizationRepository;
+import com.poi.yow_point.services.paging.CursorPaging;
+import com.poi.yow_point.services.paging.PageCursor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -116,6 +119,15 @@ public class AppUserService {
                 .map(appUserMapper::toDTO);
     }
 
+    public Mono<CursorPageDTO<AppUserDTO>> getAllUsers(String cursor, Integer limit) {
+        log.info("Fetching users page (cursor: {}, limit: {})", cursor, limit);
+        return CursorPaging.page(cursor, limit,
+                fetchSize -> appUserRepository.findFirstPage(fetchSize).map(appUserMapper::toDTO),
+                (after, fetchSize) -> appUserRepository.findPageAfter(after.sortKeyAsDateTime(), after.id(), fetchSize)
+                        .map(appUserMapper::toDTO),
+                user -> PageCursor.of(user.getCreatedAt(), user.getUserId()));
+    }
+
     @Transactional
     public Mono<Void> deleteUser(UUID id) {
         log.info("Deleting user by ID: {}", id);
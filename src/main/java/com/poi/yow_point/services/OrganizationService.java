@@ -1,9 +1,12 @@
 package com.poi.yow_point.services;
 
+import com.poi.yow_point.dto.CursorPageDTO;
 import com.poi.yow_point.dto.OrganizationDTO;
 import com.poi.yow_point.mappers.OrganizationMapper;
 import com.poi.yow_point.models.Organization;
 import com.poi.yow_point.repositories.OrganizationRepository;
+import com.poi.yow_point.services.paging.CursorPaging;
+import com.poi.yow_point.services.paging.PageCursor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -56,6 +59,17 @@ public class OrganizationService {
                 .doOnError(error -> log.error("Error fetching all organizations: {}", error.getMessage()));
     }
 
+    public Mono<CursorPageDTO<OrganizationDTO>> getAllOrganizations(String cursor, Integer limit) {
+        log.info("Fetching organizations page (cursor: {}, limit: {})", cursor, limit);
+        return CursorPaging.page(cursor, limit,
+                fetchSize -> organizationRepository.findFirstPage(fetchSize).map(organizationMapper::toDTO),
+                (after, fetchSize) -> organizationRepository
+                        .findPageAfter(after.sortKeyAsDateTime(), after.id(), fetchSize)
+                        .map(organizationMapper::toDTO),
+                organization -> PageCursor.of(organization.getCreatedAt(), organization.getOrganizationId()))
+                .doOnError(error -> log.error("Error fetching organizations page: {}", error.getMessage()));
+    }
+
     @Transactional
     public Mono<OrganizationDTO> updateOrganization(UUID id, OrganizationDTO organizationDTO) {
         log.info("Updating organization with ID: {}", id);
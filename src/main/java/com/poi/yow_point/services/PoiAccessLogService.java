@@ -1,9 +1,13 @@
 package com.poi.yow_point.services;
 
+import com.poi.yow_point.dto.CursorPageDTO;
 import com.poi.yow_point.dto.PoiAccessLogDTO;
 import com.poi.yow_point.mappers.PoiAccessLogMapper;
 //import com.poi.yow_point.models.PoiAccessLog;
 import com.poi.yow_point.repositories.PoiAccessLogRepository;
+import com.poi.yow_point.services.paging.CursorPaging;
+import com.poi.yow_point.services.paging.PageCursor;
+import com.poi.yow_point.services.spatial.PoiDensityGrid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -18,6 +22,7 @@ import reactor.core.publisher.Mono;
 import java.time.OffsetDateTime;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 @Slf4j
@@ -27,6 +32,7 @@ public class PoiAccessLogService {
 
     private final PoiAccessLogRepository repository;
     private final PoiAccessLogMapper mapper;
+    private final PoiDensityGrid densityGrid;
 
     @Autowired
     private final DatabaseClient databaseClient;
@@ -55,6 +61,7 @@ public class PoiAccessLogService {
                     // Utiliser R2dbcEntityTemplate au lieu du repository
                     return entityTemplate.insert(entity);
                 })
+                .doOnNext(saved -> densityGrid.recordAccess(saved.getPoiId(), 1))
                 .flatMap(mapper::toDTO)
                 .doOnSuccess(result -> log.info("Log d'accès créé avec succès: {}", result.getAccessId()))
                 .doOnError(error -> log.error("Erreur lors de la création du log d'accès: {}", error.getMessage()));
@@ -79,7 +86,7 @@ public class PoiAccessLogService {
         log.debug("Recherche des logs d'accès pour POI: {}", poiId);
 
         return repository.findByPoiId(poiId)
-                .flatMap(mapper::toDTO)
+                .concatMap(mapper::toDTO)
                 .doOnComplete(() -> log.debug("Récupération terminée pour POI: {}", poiId));
     }
 
@@ -90,7 +97,7 @@ public class PoiAccessLogService {
         log.debug("Recherche des logs d'accès pour organisation: {}", organizationId);
 
         return repository.findByOrganizationId(organizationId)
-                .flatMap(mapper::toDTO);
+                .concatMap(mapper::toDTO);
     }
 
     /**
@@ -100,7 +107,7 @@ public class PoiAccessLogService {
         log.debug("Recherche des logs d'accès pour utilisateur: {}", userId);
 
         return repository.findByUserId(userId)
-                .flatMap(mapper::toDTO);
+                .concatMap(mapper::toDTO);
     }
 
     /**
@@ -110,7 +117,7 @@ public class PoiAccessLogService {
         log.debug("Recherche des logs d'accès pour type: {}", accessType);
 
         return repository.findByAccessType(accessType)
-                .flatMap(mapper::toDTO);
+                .concatMap(mapper::toDTO);
     }
 
     /**
@@ -120,7 +127,7 @@ public class PoiAccessLogService {
         log.debug("Recherche des logs d'accès pour plateforme: {}", platformType);
 
         return repository.findByPlatformType(platformType)
-                .flatMap(mapper::toDTO);
+                .concatMap(mapper::toDTO);
     }
 
     /**
@@ -130,7 +137,7 @@ public class PoiAccessLogService {
         log.debug("Recherche des logs d'accès pour POI: {} et organisation: {}", poiId, organizationId);
 
         return repository.findByPoiIdAndOrganizationId(poiId, organizationId)
-                .flatMap(mapper::toDTO);
+                .concatMap(mapper::toDTO);
     }
 
     /**
@@ -140,7 +147,7 @@ public class PoiAccessLogService {
         log.debug("Recherche des logs d'accès entre {} et {}", startDate, endDate);
 
         return repository.findByAccessDatetimeBetween(startDate, endDate)
-                .flatMap(mapper::toDTO);
+                .concatMap(mapper::toDTO);
     }
 
     /**
@@ -150,18 +157,24 @@ public class PoiAccessLogService {
         log.debug("Recherche des logs d'accès récents pour POI: {} depuis {}", poiId, since);
 
         return repository.findRecentByPoiId(poiId, since)
-                .flatMap(mapper::toDTO);
+                .concatMap(mapper::toDTO);
     }
 
     /**
-     * Récupère les logs d'accès avec pagination
+     * Récupère une page de logs d'accès d'un POI, les plus récents d'abord.
+     * La page suivante reprend après la date et l'identifiant du dernier log
+     * (jeton next_cursor) : son coût ne dépend pas de sa position.
      */
-    public Flux<PoiAccessLogDTO> getAccessLogsByPoiIdWithPagination(UUID poiId, int page, int size) {
-        int offset = page * size;
-        log.debug("Recherche paginée des logs d'accès pour POI: {} (page: {}, taille: {})", poiId, page, size);
-
-        return repository.findByPoiIdWithPagination(poiId, size, offset)
-                .flatMap(mapper::toDTO);
+    public Mono<CursorPageDTO<PoiAccessLogDTO>> getAccessLogsByPoiIdWithPagination(UUID poiId, String cursor,
+            Integer limit) {
+        log.debug("Recherche paginée des logs d'accès pour POI: {} (curseur: {}, taille: {})", poiId, cursor, limit);
+
+        return CursorPaging.page(cursor, limit,
+                fetchSize -> repository.findFirstPageByPoiId(poiId, fetchSize).concatMap(mapper::toDTO),
+                (after, fetchSize) -> repository
+                        .findPageByPoiIdAfter(poiId, after.sortKeyAsDateTime(), after.id(), fetchSize)
+                        .concatMap(mapper::toDTO),
+                dto -> PageCursor.of(dto.getAccessDatetime(), dto.getAccessId()));
     }
 
     /**
@@ -211,8 +224,17 @@ public class PoiAccessLogService {
 
         return repository.findById(accessId)
                 .switchIfEmpty(Mono.error(new RuntimeException("Log d'accès non trouvé: " + accessId)))
-                .flatMap(existingEntity -> mapper.updateEntityFromDTO(existingEntity, dto))
-                .flatMap(repository::save)
+                .flatMap(existingEntity -> {
+                    UUID previousPoiId = existingEntity.getPoiId();
+                    return mapper.updateEntityFromDTO(existingEntity, dto)
+                            .flatMap(repository::save)
+                            .doOnNext(saved -> {
+                                if (!Objects.equals(saved.getPoiId(), previousPoiId)) {
+                                    densityGrid.recordAccess(previousPoiId, -1);
+                                    densityGrid.recordAccess(saved.getPoiId(), 1);
+                                }
+                            });
+                })
                 .flatMap(mapper::toDTO)
                 .doOnSuccess(result -> log.info("Log d'accès mis à jour: {}", accessId))
                 .doOnError(error -> log.error("Erreur lors de la mise à jour du log d'accès {}: {}", accessId,
@@ -228,7 +250,8 @@ public class PoiAccessLogService {
 
         return repository.findById(accessId)
                 .switchIfEmpty(Mono.error(new RuntimeException("Log d'accès non trouvé: " + accessId)))
-                .flatMap(entity -> repository.delete(entity))
+                .flatMap(entity -> repository.delete(entity)
+                        .doOnSuccess(result -> densityGrid.recordAccess(entity.getPoiId(), -1)))
                 .doOnSuccess(result -> log.info("Log d'accès supprimé: {}", accessId))
                 .doOnError(error -> log.error("Erreur lors de la suppression du log d'accès {}: {}", accessId,
                         error.getMessage()));
@@ -242,18 +265,35 @@ public class PoiAccessLogService {
         log.info("Suppression des logs d'accès antérieurs à: {}", beforeDate);
 
         return repository.deleteOldLogs(beforeDate)
+                .flatMap(count -> densityGrid.reloadAccessCounts().thenReturn(count))
                 .doOnSuccess(count -> log.info("Nombre de logs supprimés: {}", count))
                 .doOnError(
                         error -> log.error("Erreur lors de la suppression des anciens logs: {}", error.getMessage()));
     }
 
     /**
-     * Récupère tous les logs d'accès
+     * Récupère tous les logs d'accès, dans l'ordre de lecture en base.
+     * concatMap sans préchargement (prefetch 0) : chaque log n'est demandé à
+     * la lecture qu'après la conversion du précédent, les lignes étant lues
+     * en base par lots de spring.r2dbc.properties.fetchSize
      */
     public Flux<PoiAccessLogDTO> getAllAccessLogs() {
         log.debug("Récupération de tous les logs d'accès");
 
         return repository.findAll()
-                .flatMap(mapper::toDTO);
+                .concatMap(mapper::toDTO, 0);
+    }
+
+    /**
+     * Récupère une page de logs d'accès, les plus récents d'abord
+     */
+    public Mono<CursorPageDTO<PoiAccessLogDTO>> getAllAccessLogs(String cursor, Integer limit) {
+        log.debug("Récupération d'une page de logs d'accès (curseur: {}, taille: {})", cursor, limit);
+
+        return CursorPaging.page(cursor, limit,
+                fetchSize -> repository.findFirstPage(fetchSize).concatMap(mapper::toDTO),
+                (after, fetchSize) -> repository.findPageAfter(after.sortKeyAsDateTime(), after.id(), fetchSize)
+                        .concatMap(mapper::toDTO),
+                dto -> PageCursor.of(dto.getAccessDatetime(), dto.getAccessId()));
     }
 }
\ No newline at end of file
@@ -9,10 +9,13 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import com.poi.yow_point.dto.CursorPageDTO;
 import com.poi.yow_point.dto.PoiPlatformStatDTO;
 import com.poi.yow_point.mappers.PoiPlatformStatMapper;
 import com.poi.yow_point.models.PoiPlatformStat;
 import com.poi.yow_point.repositories.PoiPlatformStatRepository;
+import com.poi.yow_point.services.paging.CursorPaging;
+import com.poi.yow_point.services.paging.PageCursor;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -60,6 +63,18 @@ public class PoiPlatformStatService {
                 .doOnComplete(() -> log.info("Récupération de toutes les statistiques terminée"));
     }
 
+    /**
+     * Récupérer une page de statistiques, les plus récentes d'abord
+     */
+    public Mono<CursorPageDTO<PoiPlatformStatDTO>> getAllStats(String cursor, Integer limit) {
+        return CursorPaging.page(cursor, limit,
+                fetchSize -> repository.findFirstPage(fetchSize).map(mapper::toDTO),
+                (after, fetchSize) -> repository.findPageAfter(after.sortKeyAsDate(), after.id(), fetchSize)
+                        .map(mapper::toDTO),
+                stat -> PageCursor.of(stat.getStatDate(), stat.getStatId()))
+                .doOnSuccess(page -> log.info("Récupération d'une page de statistiques terminée"));
+    }
+
     /**
      * Récupérer une statistique par ID
      */
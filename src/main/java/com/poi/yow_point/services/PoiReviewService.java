@@ -9,10 +9,13 @@ import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import com.poi.yow_point.dto.CursorPageDTO;
 import com.poi.yow_point.dto.PoiReviewDTO;
 import com.poi.yow_point.mappers.PoiReviewMapper;
 import com.poi.yow_point.models.PoiReview;
 import com.poi.yow_point.repositories.PoiReviewRepository;
+import com.poi.yow_point.services.paging.CursorPaging;
+import com.poi.yow_point.services.paging.PageCursor;
 
 import java.time.OffsetDateTime;
 import java.util.UUID;
@@ -56,6 +59,17 @@ public class PoiReviewService {
                 .doOnComplete(() -> log.info("All reviews fetched"));
     }
 
+    public Mono<CursorPageDTO<PoiReviewDTO>> getAllReviews(String cursor, Integer limit) {
+        log.info("Fetching reviews page (cursor: {}, limit: {})", cursor, limit);
+
+        return CursorPaging.page(cursor, limit,
+                fetchSize -> poiReviewRepository.findFirstPage(fetchSize).map(poiReviewMapper::toDTO),
+                (after, fetchSize) -> poiReviewRepository
+                        .findPageAfter(after.sortKeyAsDateTime(), after.id(), fetchSize)
+                        .map(poiReviewMapper::toDTO),
+                review -> PageCursor.of(review.getCreatedAt(), review.getReviewId()));
+    }
+
     public Flux<PoiReviewDTO> getReviewsByPoiId(UUID poiId) {
         log.info("Fetching reviews for POI: {}", poiId);
 
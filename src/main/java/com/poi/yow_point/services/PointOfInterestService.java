@@ -1,27 +1,146 @@
 package com.poi.yow_point.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poi.yow_point.dto.CorridorSearchRequestDTO;
+import com.poi.yow_point.dto.CursorPageDTO;
+import com.poi.yow_point.dto.NearestPoiMatchDTO;
+import com.poi.yow_point.dto.NearestPoiQueryDTO;
+import com.poi.yow_point.dto.PoiClusterDTO;
+import com.poi.yow_point.dto.PoiDensityCellDTO;
+import com.poi.yow_point.dto.PoiFacetCountDTO;
+import com.poi.yow_point.dto.PoiFacetedSearchDTO;
+import com.poi.yow_point.dto.PoiSuggestionDTO;
+import com.poi.yow_point.dto.PoiSummaryDTO;
 import com.poi.yow_point.dto.PointOfInterestDTO;
 import com.poi.yow_point.mappers.PointOfInterestMapper;
 import com.poi.yow_point.models.PointOfInterest;
+import com.poi.yow_point.repositories.PoiListScope;
 import com.poi.yow_point.repositories.PointOfInterestRepository;
+import com.poi.yow_point.services.cache.PoiDetailCache;
+import com.poi.yow_point.services.events.PoiChangeEvent;
+import com.poi.yow_point.services.events.PoiChangeEventBus;
+import com.poi.yow_point.services.events.PoiChangeType;
+import com.poi.yow_point.services.paging.CursorPaging;
+import com.poi.yow_point.services.paging.PageCursor;
+import com.poi.yow_point.services.projection.PoiSummaryFields;
+import com.poi.yow_point.services.search.PoiAutocompleteIndex;
+import com.poi.yow_point.services.search.PoiAutocompleteIndex.Suggestion;
+import com.poi.yow_point.services.search.PoiFacetIndex;
+import com.poi.yow_point.services.search.PoiFacetIndex.FacetCount;
+import com.poi.yow_point.services.search.PoiFacetIndex.FacetedResult;
+import com.poi.yow_point.services.search.PoiFacetIndex.FacetFilter;
+import com.poi.yow_point.services.search.PoiFuzzyIndex;
+import com.poi.yow_point.services.search.PoiFuzzyIndex.FuzzyFilter;
+import com.poi.yow_point.services.search.PoiFuzzyIndex.FuzzyMatch;
+import com.poi.yow_point.services.search.PoiRelevanceIndex;
+import com.poi.yow_point.services.search.PoiRelevanceIndex.RankedMatch;
+import com.poi.yow_point.services.search.PoiSearchResultCache;
+import com.poi.yow_point.services.search.PoiSearchResultCache.SearchKey;
+import com.poi.yow_point.services.search.PoiTextNormalizer;
+import com.poi.yow_point.services.search.TextSearchMode;
+import com.poi.yow_point.services.spatial.BoundingBox;
+import com.poi.yow_point.services.spatial.GeoUtils;
+import com.poi.yow_point.services.spatial.PoiClusterIndex;
+import com.poi.yow_point.services.spatial.PoiClusterIndex.ClusterEntry;
+import com.poi.yow_point.services.spatial.PoiCorridorSearch;
+import com.poi.yow_point.services.spatial.PoiDensityGrid;
+import com.poi.yow_point.services.spatial.PoiDensityGrid.DensityCell;
+import com.poi.yow_point.services.spatial.PoiGridIndex;
+import com.poi.yow_point.services.spatial.PoiGridIndex.PoiDistance;
+import com.poi.yow_point.services.spatial.PoiNearestIndex;
+import com.poi.yow_point.services.spatial.PoiTileService;
+import com.poi.yow_point.services.spatial.PolylineCodec;
+import com.poi.yow_point.services.spatial.RadiusSearchMode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.UnaryOperator;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PointOfInterestService {
 
+    /**
+     * Nombre d'identifiants chargés par requête lors de la résolution des
+     * résultats de l'index spatial
+     */
+    private static final int INDEX_LOAD_BATCH_SIZE = 500;
+
+    /**
+     * Nombre maximal de résultats pour une recherche des plus proches voisins
+     */
+    public static final int MAX_NEAREST_RESULTS = 100;
+
+    /**
+     * Nombre maximal de coordonnées d'une recherche des plus proches POIs par lot
+     */
+    public static final int MAX_NEAREST_BATCH_SIZE = 100_000;
+
+    /**
+     * Taille des lots de coordonnées traités en parallèle, et nombre de lots
+     * traités simultanément
+     */
+    private static final int NEAREST_BATCH_CHUNK_SIZE = 512;
+    private static final int NEAREST_BATCH_CONCURRENCY = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Distance maximale à l'itinéraire pour une recherche le long d'un trajet
+     */
+    public static final double MAX_CORRIDOR_BUFFER_METERS = 5000.0;
+
+    /**
+     * Nombre maximal de résultats d'une recherche approchée
+     */
+    public static final int MAX_FUZZY_RESULTS = 100;
+    public static final int MAX_FACETED_RESULTS = 200;
+
+    /**
+     * Nombre maximal de POIs correspondant au terme d'une recherche à facettes
+     * (les plus populaires) ; au-delà, total et comptes portent sur ces POIs
+     * et la réponse l'indique (total_count_capped)
+     */
+    public static final int MAX_FACETED_TERM_MATCHES = 10_000;
+    public static final int MAX_FACET_VALUES = 50;
+
     private final PointOfInterestRepository repository;
     private final PointOfInterestMapper mapper;
+    private final PoiGridIndex gridIndex;
+    private final PoiNearestIndex nearestIndex;
+    private final PoiClusterIndex clusterIndex;
+    private final PoiCorridorSearch corridorSearch;
+    private final PoiTileService tileService;
+    private final PoiDensityGrid densityGrid;
+    private final PoiAutocompleteIndex autocompleteIndex;
+    private final PoiFuzzyIndex fuzzyIndex;
+    private final PoiRelevanceIndex relevanceIndex;
+    private final PoiFacetIndex facetIndex;
+    private final PoiSearchResultCache searchCache;
+    private final PoiDetailCache detailCache;
+    private final ObjectMapper objectMapper;
+    private final PoiChangeEventBus changeEventBus;
 
     /**
      * Crée un nouveau POI
@@ -44,6 +163,7 @@ public class PointOfInterestService {
                 .flatMap(validatedDto -> {
                     // Vérification de l'unicité du nom dans l'organisation
                     return repository.existsByNameAndOrganizationIdExcludingId(
+                            PoiTextNormalizer.normalize(validatedDto.getPoiName()),
                             validatedDto.getPoiName(),
                             validatedDto.getOrganizationId(),
                             UUID.randomUUID()) // ID temporaire pour exclure
@@ -71,6 +191,7 @@ public class PointOfInterestService {
                     }
                 })
                 .flatMap(repository::save)
+                .flatMap(saved -> publishChange(PoiChangeType.CREATED, saved, null))
                 .map(mapper::toDto)
                 .doOnSuccess(savedDto -> log.info("POI created successfully with ID: {}", savedDto.getPoiId()))
                 .doOnError(error -> log.error("Error creating POI: {}", error.getMessage()));
@@ -96,6 +217,7 @@ public class PointOfInterestService {
                     // Vérification de l'unicité du nom si le nom est modifié
                     if (dto.getPoiName() != null && !dto.getPoiName().equals(existingEntity.getPoiName())) {
                         return repository.existsByNameAndOrganizationIdExcludingId(
+                                PoiTextNormalizer.normalize(dto.getPoiName()),
                                 dto.getPoiName(),
                                 existingEntity.getOrganizationId(),
                                 poiId)
@@ -109,24 +231,27 @@ public class PointOfInterestService {
                     }
                     return Mono.just(existingEntity);
                 })
-                .map(existingEntity -> {
+                .flatMap(existingEntity -> {
+                    // Etat avant modification, transmis avec l'événement de mise à jour
+                    PointOfInterest previous = existingEntity.toBuilder().build();
+
                     // Mise à jour de l'entité avec les nouvelles données
                     PointOfInterest updatedEntity = mapper.updateEntityFromDto(existingEntity, dto);
                     updatedEntity.setUpdatedAt(Instant.now());
-                    return updatedEntity;
+                    return repository.save(updatedEntity)
+                            .flatMap(saved -> publishChange(PoiChangeType.UPDATED, saved, previous));
                 })
-                .flatMap(repository::save)
                 .map(mapper::toDto)
                 .doOnSuccess(updatedDto -> log.info("POI updated successfully: {}", updatedDto.getPoiId()))
                 .doOnError(error -> log.error("Error updating POI {}: {}", poiId, error.getMessage()));
     }
 
     /**
-     * Trouve un POI par ID
+     * Trouve un POI par ID, servi par le cache des POIs détaillés
+     * (PoiDetailCache) et lu en base en cas d'absence
      */
     public Mono<PointOfInterestDTO> findById(UUID poiId) {
-        return repository.findById(poiId)
-                .map(mapper::toDto)
+        return detailCache.get(poiId, id -> repository.findById(id).map(mapper::toDto))
                 .doOnSuccess(dto -> log.debug("Found POI: {}", dto != null ? dto.getPoiId() : "null"))
                 .doOnError(error -> log.error("Error finding POI {}: {}", poiId, error.getMessage()));
     }
@@ -142,6 +267,17 @@ public class PointOfInterestService {
                         organizationId, error.getMessage()));
     }
 
+    /**
+     * Page des POIs actifs d'une organisation (voir CursorPaging)
+     */
+    public Mono<CursorPageDTO<PoiSummaryDTO>> findActiveByOrganizationId(UUID organizationId, String fields,
+            String cursor, Integer limit) {
+        return summaryPage(PoiListScope.ACTIVE_BY_ORGANIZATION, organizationId, fields, cursor, limit)
+                .doOnSuccess(page -> log.debug("Retrieved active POIs page for organization: {}", organizationId))
+                .doOnError(error -> log.error("Error retrieving POIs page for organization {}: {}",
+                        organizationId, error.getMessage()));
+    }
+
     /**
      * Trouve tous les POIs d'une organisation
      */
@@ -153,15 +289,324 @@ public class PointOfInterestService {
                         organizationId, error.getMessage()));
     }
 
+    /**
+     * Page de tous les POIs d'une organisation, actifs et inactifs (voir
+     * CursorPaging)
+     */
+    public Mono<CursorPageDTO<PoiSummaryDTO>> findByOrganizationId(UUID organizationId, String fields,
+            String cursor, Integer limit) {
+        return summaryPage(PoiListScope.BY_ORGANIZATION, organizationId, fields, cursor, limit)
+                .doOnSuccess(page -> log.debug("Retrieved POIs page for organization: {}", organizationId))
+                .doOnError(error -> log.error("Error retrieving all POIs page for organization {}: {}",
+                        organizationId, error.getMessage()));
+    }
+
     /**
      * Recherche de POIs avec filtres
      */
     public Flux<PointOfInterestDTO> searchWithFilters(UUID organizationId, String poiType,
             String poiCategory, String city, String searchTerm) {
-        return repository.findWithFilters(organizationId, poiType, poiCategory, city, searchTerm)
+        return searchWithFilters(organizationId, poiType, poiCategory, city, searchTerm, null, null);
+    }
+
+    /**
+     * Recherche de POIs avec filtres, dont les équipements (tous requis, valeurs
+     * exactes) et les mots-clés (au moins un, sans tenir compte de la casse ni
+     * des accents)
+     */
+    public Flux<PointOfInterestDTO> searchWithFilters(UUID organizationId, String poiType,
+            String poiCategory, String city, String searchTerm, List<String> amenities, List<String> keywords) {
+        return searchWithFilters(organizationId, poiType, poiCategory, city, searchTerm, amenities, keywords, false);
+    }
+
+    /**
+     * Recherche avec filtres ; en mode approché, le terme de recherche tolère
+     * les fautes de frappe sur le nom et les mots-clés, et les résultats sont
+     * classés par similarité puis popularité
+     */
+    public Flux<PointOfInterestDTO> searchWithFilters(UUID organizationId, String poiType,
+            String poiCategory, String city, String searchTerm, boolean fuzzy) {
+        return searchWithFilters(organizationId, poiType, poiCategory, city, searchTerm, null, null, fuzzy);
+    }
+
+    /**
+     * Recherche avec filtres (équipements et mots-clés compris) ; en mode
+     * approché, le terme de recherche tolère les fautes de frappe sur le nom
+     * et les mots-clés, et les résultats sont classés par similarité puis
+     * popularité
+     */
+    public Flux<PointOfInterestDTO> searchWithFilters(UUID organizationId, String poiType,
+            String poiCategory, String city, String searchTerm, List<String> amenities, List<String> keywords,
+            boolean fuzzy) {
+        return searchWithFilters(organizationId, poiType, poiCategory, city, searchTerm, amenities, keywords,
+                fuzzy ? TextSearchMode.FUZZY : TextSearchMode.CONTAINS);
+    }
+
+    /**
+     * Recherche avec filtres (équipements et mots-clés compris), le terme étant
+     * évalué selon le mode demandé : sous-chaîne, recherche approchée en
+     * mémoire ou recherche plein texte PostgreSQL classée par pertinence.
+     *
+     * Les résultats sont servis depuis {@link PoiSearchResultCache} lorsqu'une
+     * recherche équivalente y figure. Index et cache sont consultés à
+     * l'abonnement, pas à la construction du flux.
+     */
+    public Flux<PointOfInterestDTO> searchWithFilters(UUID organizationId, String poiType,
+            String poiCategory, String city, String searchTerm, List<String> amenities, List<String> keywords,
+            TextSearchMode mode) {
+        TextSearchMode effectiveMode = searchTerm == null || searchTerm.isBlank() || mode == null
+                ? TextSearchMode.CONTAINS
+                : mode;
+        return Flux.defer(() -> {
+            if (effectiveMode == TextSearchMode.FUZZY && !fuzzyIndex.isReady()) {
+                // Résultat exact de repli : ni servi ni mis en cache sous la clé approchée
+                log.debug("Fuzzy index is still loading, using exact search");
+                return loadFilteredResults(organizationId, poiType, poiCategory, city, searchTerm, amenities,
+                        keywords, TextSearchMode.CONTAINS);
+            }
+            SearchKey key = PoiSearchResultCache.key(organizationId, poiType, poiCategory, city, searchTerm,
+                    amenities, keywords, effectiveMode);
+            return searchCache.getOrLoad(key, () -> loadFilteredResults(organizationId, poiType, poiCategory,
+                    city, searchTerm, amenities, keywords, effectiveMode));
+        });
+    }
+
+    private Flux<PointOfInterestDTO> loadFilteredResults(UUID organizationId, String poiType,
+            String poiCategory, String city, String searchTerm, List<String> amenities, List<String> keywords,
+            TextSearchMode mode) {
+        String[] requiredAmenities = toFilterArray(amenities, String::trim);
+        String[] anyKeywords = toFilterArray(keywords, PoiTextNormalizer::normalize);
+        String rawCity = city != null ? city.trim() : null;
+        String[] rawKeywords = toFilterArray(keywords, value -> value.trim().toLowerCase(Locale.ROOT));
+        if (mode == TextSearchMode.CONTAINS) {
+            return repository.findWithFilters(organizationId, poiType, poiCategory,
+                    PoiTextNormalizer.normalizeOrNull(city), rawCity, searchTerm, requiredAmenities, anyKeywords,
+                    rawKeywords)
+                    .map(mapper::toDto)
+                    .doOnComplete(() -> log.debug("Search completed with filters"))
+                    .doOnError(error -> log.error("Error in search with filters: {}", error.getMessage()));
+        }
+        if (mode == TextSearchMode.FULL_TEXT) {
+            return repository.findWithFullText(organizationId, poiType, poiCategory,
+                    PoiTextNormalizer.normalizeOrNull(city), rawCity, searchTerm, requiredAmenities, anyKeywords,
+                    rawKeywords)
+                    .map(mapper::toDto)
+                    .doOnComplete(() -> log.debug("Full-text search completed for: {}", searchTerm))
+                    .doOnError(error -> log.error("Error in full-text search for {}: {}",
+                            searchTerm, error.getMessage()));
+        }
+        // Filtres appliqués dans l'index avant la limite, puis revérifiés (équipements
+        // exacts) sur l'état en base
+        FuzzyFilter fuzzyFilter = fuzzyFilter(organizationId, poiType, poiCategory, city, amenities, keywords);
+        return Mono.fromCallable(() -> fuzzyIndex.search(searchTerm, fuzzyFilter, MAX_FUZZY_RESULTS).stream()
+                .map(FuzzyMatch::poiId)
+                .toList())
+                .flatMapMany(this::loadInRankOrder)
+                .filter(poi -> organizationId == null || organizationId.equals(poi.getOrganizationId()))
+                .filter(poi -> poiType == null || poiType.equals(poi.getPoiType()))
+                .filter(poi -> poiCategory == null || poiCategory.equals(poi.getPoiCategory()))
+                .filter(poi -> city == null
+                        || PoiTextNormalizer.normalize(city).equals(PoiTextNormalizer.normalize(poi.getAddressCity())))
+                .filter(poi -> requiredAmenities == null
+                        || poi.getPoiAmenitiesList().containsAll(Arrays.asList(requiredAmenities)))
+                .filter(poi -> anyKeywords == null || poi.getPoiKeywordsList().stream()
+                        .map(PoiTextNormalizer::normalize)
+                        .anyMatch(Arrays.asList(anyKeywords)::contains))
                 .map(mapper::toDto)
-                .doOnComplete(() -> log.debug("Search completed with filters"))
-                .doOnError(error -> log.error("Error in search with filters: {}", error.getMessage()));
+                .doOnComplete(() -> log.debug("Fuzzy search completed for: {}", searchTerm))
+                .doOnError(error -> log.error("Error in fuzzy search for {}: {}", searchTerm, error.getMessage()));
+    }
+
+    /**
+     * Page d'une liste de POIs en vue allégée : seules les colonnes des champs
+     * demandés (tous par défaut, voir PoiSummaryFields) sont lues en base
+     */
+    private Mono<CursorPageDTO<PoiSummaryDTO>> summaryPage(PoiListScope scope, Object value, String fields,
+            String cursor, Integer limit) {
+        return summaryPage(scope, value, null, fields, cursor, limit);
+    }
+
+    /**
+     * Page d'une liste sur colonne normalisée : la valeur saisie (rawValue)
+     * sert aux POIs pas encore normalisés
+     */
+    private Mono<CursorPageDTO<PoiSummaryDTO>> summaryPage(PoiListScope scope, Object value, String rawValue,
+            String fields, String cursor, Integer limit) {
+        return Mono.fromCallable(() -> PoiSummaryFields.columns(fields, scope.sortColumn()))
+                .flatMap(columns -> CursorPaging.page(cursor, limit,
+                        fetchSize -> repository.findPage(scope, value, rawValue, columns, null, null, fetchSize)
+                                .map(mapper::toSummaryDto),
+                        (after, fetchSize) -> repository
+                                .findPage(scope, value, rawValue, columns,
+                                        scope.sortedByName() ? after.sortKey() : after.sortKeyAsDateTime(),
+                                        after.id(), fetchSize)
+                                .map(mapper::toSummaryDto),
+                        poi -> scope.sortedByName()
+                                ? PageCursor.of(poi.getPoiName(), poi.getPoiId())
+                                : PageCursor.of(poi.getCreatedAt(), poi.getPoiId())));
+    }
+
+    private static FuzzyFilter fuzzyFilter(UUID organizationId, String poiType, String poiCategory, String city,
+            Collection<String> amenities, Collection<String> keywords) {
+        return new FuzzyFilter(organizationId, poiType, poiCategory, PoiTextNormalizer.normalizeOrNull(city),
+                normalizedFilter(amenities), normalizedFilter(keywords));
+    }
+
+    private static List<String> normalizedFilter(Collection<String> values) {
+        if (values == null) {
+            return null;
+        }
+        List<String> normalized = values.stream()
+                .filter(Objects::nonNull)
+                .map(PoiTextNormalizer::normalize)
+                .filter(value -> !value.isEmpty())
+                .distinct()
+                .toList();
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    /**
+     * Valeurs d'un filtre de tableau, transformées et sans doublons ; null si
+     * aucune valeur (filtre inactif)
+     */
+    private static String[] toFilterArray(List<String> values, UnaryOperator<String> transform) {
+        if (values == null) {
+            return null;
+        }
+        String[] array = values.stream()
+                .filter(Objects::nonNull)
+                .map(transform)
+                .filter(value -> !value.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+        return array.length > 0 ? array : null;
+    }
+
+    /**
+     * Recherche avec filtres et comptes par facette (type, catégorie, ville,
+     * équipements) calculés sur l'ensemble des résultats, en un seul appel.
+     * Sans terme de recherche, les résultats sont classés par popularité puis
+     * par nom ; avec un terme, dans l'ordre de la recherche textuelle (exacte
+     * ou approchée), parmi au plus MAX_FACETED_TERM_MATCHES POIs correspondant
+     * au terme.
+     */
+    public Mono<PoiFacetedSearchDTO> searchWithFacets(UUID organizationId, String poiType, String poiCategory,
+            String city, List<String> amenities, List<String> keywords, String searchTerm, boolean fuzzy,
+            Integer limit, Integer facetLimit) {
+        if (!facetIndex.isReady()) {
+            return Mono.error(new IllegalStateException("Facet index is still loading"));
+        }
+        int size = Math.max(0, Math.min(limit != null ? limit : 20, MAX_FACETED_RESULTS));
+        int facetSize = Math.max(0, Math.min(facetLimit != null ? facetLimit : 10, MAX_FACET_VALUES));
+        FacetFilter filter = new FacetFilter(organizationId, poiType, poiCategory, city, amenities, keywords);
+
+        Mono<Optional<List<UUID>>> textMatches;
+        if (searchTerm == null || searchTerm.isBlank()) {
+            textMatches = Mono.just(Optional.empty());
+        } else if (fuzzy && fuzzyIndex.isReady()) {
+            FuzzyFilter fuzzyFilter = fuzzyFilter(organizationId, poiType, poiCategory, city, amenities, keywords);
+            textMatches = Mono.fromCallable(() -> Optional.of(fuzzyIndex.search(searchTerm, fuzzyFilter,
+                    MAX_FUZZY_RESULTS)
+                    .stream()
+                    .map(FuzzyMatch::poiId)
+                    .toList()));
+        } else {
+            // Une ligne de plus que la limite pour savoir si elle est atteinte
+            textMatches = repository.findIdsMatchingTerm(searchTerm, MAX_FACETED_TERM_MATCHES + 1)
+                    .collectList()
+                    .map(Optional::of);
+        }
+
+        return textMatches
+                .flatMap(matches -> {
+                    boolean capped = matches.map(ids -> ids.size() > MAX_FACETED_TERM_MATCHES).orElse(false);
+                    List<UUID> rankedMatches = capped
+                            ? matches.get().subList(0, MAX_FACETED_TERM_MATCHES)
+                            : matches.orElse(null);
+                    FacetedResult result = facetIndex.search(filter, rankedMatches, size, facetSize);
+                    return loadInRankOrder(result.poiIds())
+                            .map(mapper::toDto)
+                            .collectList()
+                            .map(results -> PoiFacetedSearchDTO.builder()
+                                    .totalCount(result.totalCount())
+                                    .totalCountCapped(capped ? Boolean.TRUE : null)
+                                    .results(results)
+                                    .facets(toFacetDtos(result.facets()))
+                                    .build());
+                })
+                .doOnSuccess(result -> log.debug("Faceted search completed with {} matches",
+                        result != null ? result.getTotalCount() : 0))
+                .doOnError(error -> log.error("Error in faceted search: {}", error.getMessage()));
+    }
+
+    private Map<String, List<PoiFacetCountDTO>> toFacetDtos(Map<String, List<FacetCount>> facets) {
+        Map<String, List<PoiFacetCountDTO>> dtos = new LinkedHashMap<>();
+        facets.forEach((facet, counts) -> dtos.put(facet, counts.stream()
+                .map(count -> PoiFacetCountDTO.builder()
+                        .value(count.value())
+                        .count(count.count())
+                        .build())
+                .toList()));
+        return dtos;
+    }
+
+    /**
+     * Résultats d'une recherche classée ; fullTextFallback indique qu'ils sont
+     * classés par la recherche plein texte PostgreSQL, l'index de pertinence
+     * étant en cours de construction
+     */
+    public record RankedSearch(Flux<PointOfInterestDTO> results, boolean fullTextFallback) {
+    }
+
+    /**
+     * Recherche classée par pertinence : score BM25 du terme sur le nom, les
+     * mots-clés et la description, pondéré par la popularité et, si une
+     * position est fournie, par la proximité (distance_km renseignée).
+     *
+     * Pendant la construction de l'index, une recherche sans position est
+     * classée par la recherche plein texte PostgreSQL (ts_rank_cd puis
+     * popularité, fullTextFallback) ; avec une position, le bonus de
+     * proximité ne peut pas être appliqué et la recherche échoue
+     * (IllegalStateException).
+     */
+    public RankedSearch searchRanked(String query, BigDecimal latitude, BigDecimal longitude,
+            String poiType, String poiCategory, Integer limit) {
+        if ((latitude == null) != (longitude == null)
+                || (latitude != null && !isValidPosition(latitude.doubleValue(), longitude.doubleValue()))) {
+            return new RankedSearch(Flux.error(new IllegalArgumentException(
+                    "Invalid position: " + latitude + ", " + longitude)), false);
+        }
+        int size = Math.max(1, Math.min(limit != null ? limit : 20, PoiRelevanceIndex.MAX_RESULTS));
+
+        if (!relevanceIndex.isReady()) {
+            if (latitude != null) {
+                return new RankedSearch(Flux.error(new IllegalStateException(
+                        "Relevance index is still loading, proximity ranking is unavailable")), false);
+            }
+            return new RankedSearch(repository.findWithFullText(null, poiType, poiCategory, null, null, query,
+                    null, null, null, size)
+                    .map(mapper::toDto)
+                    .doOnComplete(() -> log.debug("Full-text fallback of ranked search completed for: {}", query))
+                    .doOnError(error -> log.error("Error in ranked search for {}: {}", query, error.getMessage())),
+                    true);
+        }
+
+        Flux<PointOfInterestDTO> results = Mono.fromCallable(() -> relevanceIndex.search(query,
+                latitude != null ? latitude.doubleValue() : null,
+                longitude != null ? longitude.doubleValue() : null,
+                poiType, poiCategory, size))
+                .flatMapMany(matches -> {
+                    Map<UUID, Double> distances = new HashMap<>();
+                    matches.stream()
+                            .filter(match -> !Double.isNaN(match.distanceKm()))
+                            .forEach(match -> distances.put(match.poiId(), match.distanceKm()));
+                    return loadInRankOrder(matches.stream().map(RankedMatch::poiId).toList())
+                            .doOnNext(poi -> poi.setDistanceKm(distances.get(poi.getPoiId())));
+                })
+                .map(mapper::toDto)
+                .doOnComplete(() -> log.debug("Ranked search completed for: {}", query))
+                .doOnError(error -> log.error("Error in ranked search for {}: {}", query, error.getMessage()));
+        return new RankedSearch(results, false);
     }
 
     /**
@@ -169,12 +614,367 @@ public class PointOfInterestService {
      */
     public Flux<PointOfInterestDTO> findByLocationWithinRadius(BigDecimal latitude, BigDecimal longitude,
             Double radiusKm) {
-        return repository.findByLocationWithinRadius(latitude, longitude, radiusKm)
-                .map(mapper::toDto)
-                .doOnComplete(() -> log.debug("Location search completed"))
+        return findByLocationWithinRadius(latitude, longitude, radiusKm, RadiusSearchMode.INDEX);
+    }
+
+    /**
+     * Trouve les POIs dans un rayon géographique selon la stratégie demandée
+     */
+    public Flux<PointOfInterestDTO> findByLocationWithinRadius(BigDecimal latitude, BigDecimal longitude,
+            Double radiusKm, RadiusSearchMode mode) {
+        if (!isValidPosition(latitude.doubleValue(), longitude.doubleValue())) {
+            return Flux.error(new IllegalArgumentException("Invalid coordinates: " + latitude + ", " + longitude));
+        }
+        if (radiusKm == null || !(radiusKm > 0) || radiusKm.isInfinite()) {
+            return Flux.error(new IllegalArgumentException("Radius must be a positive number of kilometres"));
+        }
+        Flux<PointOfInterestDTO> results;
+        if (mode == RadiusSearchMode.BOUNDING_BOX) {
+            results = findWithinBoundingBox(latitude, longitude, radiusKm);
+        } else if (mode == RadiusSearchMode.INDEX && gridIndex.isReady()) {
+            results = Mono.fromCallable(() -> gridIndex.findWithinRadius(
+                    latitude.doubleValue(), longitude.doubleValue(), radiusKm))
+                    .flatMapMany(this::loadInIndexOrder);
+        } else {
+            // Requête historique, également utilisée tant que l'index spatial se construit
+            results = repository.findByLocationWithinRadius(latitude, longitude, radiusKm)
+                    .map(mapper::toDto);
+        }
+
+        return results
+                .doOnComplete(() -> log.debug("Location search completed ({})", mode))
                 .doOnError(error -> log.error("Error in location search: {}", error.getMessage()));
     }
 
+    /**
+     * Recherche par rayon avec pré-filtre sur l'emprise englobant le cercle
+     */
+    private Flux<PointOfInterestDTO> findWithinBoundingBox(BigDecimal latitude, BigDecimal longitude,
+            Double radiusKm) {
+        double lat = latitude.doubleValue();
+        double lon = longitude.doubleValue();
+        double latDelta = GeoUtils.latitudeDelta(radiusKm);
+        double lonDelta = GeoUtils.longitudeDelta(lat, radiusKm);
+
+        double minLon = lon - lonDelta;
+        double maxLon = lon + lonDelta;
+        if (minLon < -180.0 || maxLon > 180.0) {
+            // L'emprise traverse l'antiméridien : pas de filtre sur la longitude
+            minLon = -180.0;
+            maxLon = 180.0;
+        }
+
+        return repository.findByLocationWithinBoundingBox(latitude, longitude,
+                toCoordinate(Math.max(-90.0, lat - latDelta)),
+                toCoordinate(Math.min(90.0, lat + latDelta)),
+                toCoordinate(minLon),
+                toCoordinate(maxLon),
+                radiusKm)
+                .map(mapper::toDto);
+    }
+
+    private static boolean isValidPosition(double latitude, double longitude) {
+        return Math.abs(latitude) <= 90.0 && Math.abs(longitude) <= 180.0;
+    }
+
+    private static BigDecimal toCoordinate(double value) {
+        return BigDecimal.valueOf(value).setScale(8, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * Trouve les k POIs actifs les plus proches d'une position, avec filtres
+     * optionnels sur le type et la catégorie
+     */
+    public Flux<PointOfInterestDTO> findNearest(BigDecimal latitude, BigDecimal longitude, Integer k,
+            String poiType, String poiCategory) {
+        if (Math.abs(latitude.doubleValue()) > 90.0 || Math.abs(longitude.doubleValue()) > 180.0) {
+            return Flux.error(new IllegalArgumentException("Invalid coordinates: " + latitude + ", " + longitude));
+        }
+        int limit = Math.max(1, Math.min(k != null ? k : 20, MAX_NEAREST_RESULTS));
+
+        Flux<PointOfInterestDTO> results;
+        if (nearestIndex.isReady()) {
+            results = Mono.fromCallable(() -> nearestIndex.findNearest(latitude.doubleValue(),
+                    longitude.doubleValue(), limit, poiType, poiCategory, Double.POSITIVE_INFINITY))
+                    .flatMapMany(this::loadInIndexOrder);
+        } else {
+            results = repository.findNearest(latitude, longitude, limit, poiType, poiCategory)
+                    .map(mapper::toDto);
+        }
+
+        return results
+                .doOnComplete(() -> log.debug("Nearest search completed (k={})", limit))
+                .doOnError(error -> log.error("Error in nearest search: {}", error.getMessage()));
+    }
+
+    /**
+     * Associe à chaque coordonnée d'un lot (tableau JSON ou NDJSON) le POI
+     * actif le plus proche et sa distance. Les coordonnées sont lues au fil
+     * du corps de la requête et traitées par lots en parallèle sur l'index
+     * des plus proches voisins ; les résultats conservent l'ordre de la
+     * requête. Seuls les lots en cours de traitement sont gardés en mémoire.
+     */
+    public Flux<NearestPoiMatchDTO> findNearestBatch(InputStream body, String poiType, String poiCategory,
+            Double maxDistanceKm) {
+        if (!nearestIndex.isReady()) {
+            return Flux.error(new IllegalStateException("Nearest-neighbour index is still loading"));
+        }
+
+        double maxDistance = maxDistanceKm != null ? maxDistanceKm : Double.POSITIVE_INFINITY;
+        return readNearestQueries(body)
+                .index()
+                .buffer(NEAREST_BATCH_CHUNK_SIZE)
+                .flatMapSequential(chunk -> Mono.fromCallable(() -> matchNearest(chunk, poiType, poiCategory,
+                        maxDistance))
+                        .subscribeOn(Schedulers.parallel()),
+                        NEAREST_BATCH_CONCURRENCY)
+                .flatMapIterable(matches -> matches)
+                .doOnComplete(() -> log.debug("Batch nearest search completed"))
+                .doOnError(error -> log.error("Error in batch nearest search: {}", error.getMessage()));
+    }
+
+    /**
+     * Coordonnées du corps de la requête, lues une à une à la demande (lecture
+     * bloquante, sur boundedElastic)
+     */
+    private Flux<NearestPoiQueryDTO> readNearestQueries(InputStream body) {
+        return Flux.using(
+                () -> objectMapper.readerFor(NearestPoiQueryDTO.class).<NearestPoiQueryDTO>readValues(body),
+                iterator -> Flux.<NearestPoiQueryDTO, Integer>generate(() -> 0, (count, sink) -> {
+                    try {
+                        if (!iterator.hasNextValue()) {
+                            sink.complete();
+                        } else if (count == MAX_NEAREST_BATCH_SIZE) {
+                            sink.error(new IllegalArgumentException(
+                                    "Batch is limited to " + MAX_NEAREST_BATCH_SIZE + " coordinates"));
+                        } else {
+                            sink.next(iterator.nextValue());
+                        }
+                    } catch (IOException e) {
+                        sink.error(new IllegalArgumentException("Malformed coordinates: " + e.getMessage()));
+                    }
+                    return count + 1;
+                }),
+                iterator -> {
+                    try {
+                        iterator.close();
+                    } catch (IOException e) {
+                        log.debug("Could not close batch coordinates reader: {}", e.getMessage());
+                    }
+                })
+                .onErrorMap(IOException.class,
+                        e -> new IllegalArgumentException("Malformed coordinates: " + e.getMessage()))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private List<NearestPoiMatchDTO> matchNearest(List<Tuple2<Long, NearestPoiQueryDTO>> queries,
+            String poiType, String poiCategory, double maxDistanceKm) {
+        List<NearestPoiMatchDTO> matches = new ArrayList<>(queries.size());
+        for (Tuple2<Long, NearestPoiQueryDTO> indexed : queries) {
+            NearestPoiQueryDTO query = indexed.getT2();
+            NearestPoiMatchDTO.NearestPoiMatchDTOBuilder match = NearestPoiMatchDTO.builder()
+                    .index(indexed.getT1().intValue())
+                    .ref(query.getRef())
+                    .latitude(query.getLatitude())
+                    .longitude(query.getLongitude());
+
+            if (query.getLatitude() != null && query.getLongitude() != null
+                    && Math.abs(query.getLatitude()) <= 90.0 && Math.abs(query.getLongitude()) <= 180.0) {
+                List<PoiDistance> nearest = nearestIndex.findNearest(query.getLatitude(), query.getLongitude(),
+                        1, poiType, poiCategory, maxDistanceKm);
+                if (!nearest.isEmpty()) {
+                    match.poiId(nearest.get(0).poiId()).distanceKm(nearest.get(0).distanceKm());
+                }
+            }
+            matches.add(match.build());
+        }
+        return matches;
+    }
+
+    /**
+     * Trouve les POIs actifs situés à moins d'une distance donnée d'un
+     * itinéraire, dans l'ordre de passage le long de l'itinéraire
+     */
+    public Flux<PointOfInterestDTO> findAlongCorridor(CorridorSearchRequestDTO request) {
+        return Mono.fromCallable(() -> {
+            if (request.getBufferMeters() == null || request.getBufferMeters() <= 0
+                    || request.getBufferMeters() > MAX_CORRIDOR_BUFFER_METERS) {
+                throw new IllegalArgumentException(
+                        "Buffer must be between 0 and " + MAX_CORRIDOR_BUFFER_METERS + " meters");
+            }
+            if (!gridIndex.isReady()) {
+                throw new IllegalStateException("Spatial index is still loading");
+            }
+            int precision = request.getPrecision() != null ? request.getPrecision() : PolylineCodec.DEFAULT_PRECISION;
+            return corridorSearch.findAlongRoute(
+                    PolylineCodec.decode(request.getPolyline(), precision),
+                    request.getBufferMeters() / 1000.0);
+        })
+                .flatMapMany(this::loadInIndexOrder)
+                .filter(poi -> request.getPoiTypes() == null || request.getPoiTypes().isEmpty()
+                        || request.getPoiTypes().contains(poi.getPoiType()))
+                .doOnComplete(() -> log.debug("Corridor search completed (buffer {} m)", request.getBufferMeters()))
+                .doOnError(error -> log.error("Error in corridor search: {}", error.getMessage()));
+    }
+
+    /**
+     * Retourne les groupes de POIs et les POIs isolés d'une emprise pour un
+     * niveau de zoom, calculés en mémoire
+     */
+    public Mono<List<PoiClusterDTO>> findClusters(BoundingBox bbox, int zoom) {
+        return Mono.fromCallable(() -> {
+            if (!clusterIndex.isReady()) {
+                throw new IllegalStateException("Cluster index is still loading");
+            }
+            return clusterIndex.find(bbox, zoom).stream()
+                    .map(PointOfInterestService::toClusterDto)
+                    .toList();
+        })
+                .doOnSuccess(clusters -> log.debug("Cluster search returned {} entries at zoom {}",
+                        clusters.size(), zoom))
+                .doOnError(error -> log.error("Error in cluster search: {}", error.getMessage()));
+    }
+
+    private static PoiClusterDTO toClusterDto(ClusterEntry entry) {
+        return PoiClusterDTO.builder()
+                .cluster(entry.isCluster())
+                .clusterId(entry.clusterId())
+                .poiId(entry.poiId())
+                .latitude(entry.latitude())
+                .longitude(entry.longitude())
+                .pointCount(entry.pointCount())
+                .expansionZoom(entry.expansionZoom())
+                .build();
+    }
+
+    /**
+     * Suggestions d'autocomplétion : POIs actifs dont les mots (nom, mots-clés,
+     * équipements) commencent par ceux de la saisie, les plus populaires
+     * d'abord
+     */
+    public Mono<List<PoiSuggestionDTO>> autocomplete(String query, int limit) {
+        return Mono.fromCallable(() -> {
+            if (limit < 1 || limit > PoiAutocompleteIndex.TOP_K) {
+                throw new IllegalArgumentException("Limit must be between 1 and " + PoiAutocompleteIndex.TOP_K);
+            }
+            if (!autocompleteIndex.isReady()) {
+                throw new IllegalStateException("Autocomplete index is still loading");
+            }
+            return autocompleteIndex.complete(query, limit).stream()
+                    .map(PointOfInterestService::toSuggestionDto)
+                    .toList();
+        })
+                .doOnSuccess(suggestions -> log.debug("Autocomplete returned {} suggestions", suggestions.size()))
+                .doOnError(error -> log.error("Error in autocomplete: {}", error.getMessage()));
+    }
+
+    private static PoiSuggestionDTO toSuggestionDto(Suggestion suggestion) {
+        return PoiSuggestionDTO.builder()
+                .poiId(suggestion.poiId())
+                .poiName(suggestion.name())
+                .poiType(suggestion.poiType())
+                .poiCategory(suggestion.poiCategory())
+                .popularityScore(suggestion.popularity())
+                .build();
+    }
+
+    /**
+     * Retourne les cellules non vides de la grille de densité pour une emprise,
+     * avec le nombre de POIs actifs (éventuellement d'un type) et, sur
+     * demande, le nombre d'accès journalisés
+     */
+    public Mono<List<PoiDensityCellDTO>> findDensity(BoundingBox bbox, double cellSizeDegrees, String poiType,
+            boolean includeAccessCounts) {
+        return Mono.fromCallable(() -> {
+            if (!(cellSizeDegrees > 0) || Double.isInfinite(cellSizeDegrees)) {
+                throw new IllegalArgumentException("Cell size must be a positive number of degrees");
+            }
+            if (!densityGrid.isReady()) {
+                throw new IllegalStateException("Density grid is still loading");
+            }
+            return densityGrid.find(bbox, cellSizeDegrees, poiType).stream()
+                    .map(cell -> toDensityDto(cell, includeAccessCounts))
+                    .toList();
+        })
+                .doOnSuccess(cells -> log.debug("Density search returned {} cells of {} degrees",
+                        cells.size(), PoiDensityGrid.cellSizeFor(cellSizeDegrees)))
+                .doOnError(error -> log.error("Error in density search: {}", error.getMessage()));
+    }
+
+    private static PoiDensityCellDTO toDensityDto(DensityCell cell, boolean includeAccessCounts) {
+        return PoiDensityCellDTO.builder()
+                .minLatitude(cell.minLatitude())
+                .minLongitude(cell.minLongitude())
+                .maxLatitude(cell.maxLatitude())
+                .maxLongitude(cell.maxLongitude())
+                .poiCount(cell.poiCount())
+                .accessCount(includeAccessCounts ? cell.accessCount() : null)
+                .build();
+    }
+
+    /**
+     * Retourne la tuile vectorielle (MVT) z/x/y des POIs actifs
+     */
+    public Mono<byte[]> getTile(int z, int x, int y) {
+        return tileService.getTile(z, x, y)
+                .doOnError(error -> log.error("Error rendering tile {}/{}/{}: {}", z, x, y, error.getMessage()));
+    }
+
+    /**
+     * Publie une modification de POI après validation de la transaction, pour
+     * les index et caches en mémoire ; retourne l'état courant (ou l'état
+     * précédent pour une suppression)
+     */
+    private Mono<PointOfInterest> publishChange(PoiChangeType type, PointOfInterest current,
+            PointOfInterest previous) {
+        return changeEventBus.publishAfterCommit(PoiChangeEvent.of(type, current, previous))
+                .thenReturn(current != null ? current : previous);
+    }
+
+    /**
+     * Relit un POI modifié par une requête UPDATE et publie son nouvel état
+     */
+    private Mono<PointOfInterest> publishReloaded(PoiChangeType type, UUID poiId) {
+        return repository.findById(poiId)
+                .flatMap(poi -> publishChange(type, poi, null));
+    }
+
+    /**
+     * Charge les POIs retournés par l'index spatial en conservant l'ordre des
+     * distances
+     */
+    private Flux<PointOfInterestDTO> loadInIndexOrder(List<PoiDistance> hits) {
+        return Flux.fromIterable(hits)
+                .buffer(INDEX_LOAD_BATCH_SIZE)
+                .concatMap(batch -> repository.findByPoiIdIn(batch.stream().map(PoiDistance::poiId).toList())
+                        .collectMap(PointOfInterest::getPoiId)
+                        .flatMapIterable(byId -> batch.stream()
+                                .filter(hit -> byId.containsKey(hit.poiId()))
+                                .map(hit -> {
+                                    PointOfInterest poi = byId.get(hit.poiId());
+                                    poi.setDistanceKm(hit.distanceKm());
+                                    return poi;
+                                })
+                                .filter(poi -> Boolean.TRUE.equals(poi.getIsActive()))
+                                .toList()))
+                .map(mapper::toDto);
+    }
+
+    /**
+     * Charge les POIs actifs retournés par un index de recherche en conservant
+     * leur rang
+     */
+    private Flux<PointOfInterest> loadInRankOrder(List<UUID> poiIds) {
+        return Flux.fromIterable(poiIds)
+                .buffer(INDEX_LOAD_BATCH_SIZE)
+                .concatMap(batch -> repository.findByPoiIdIn(batch)
+                        .collectMap(PointOfInterest::getPoiId)
+                        .flatMapIterable(byId -> batch.stream()
+                                .map(byId::get)
+                                .filter(poi -> poi != null && Boolean.TRUE.equals(poi.getIsActive()))
+                                .toList()));
+    }
+
     /**
      * Trouve les POIs par type
      */
@@ -185,6 +985,17 @@ public class PointOfInterestService {
                 .doOnError(error -> log.error("Error retrieving POIs by type {}: {}", poiType, error.getMessage()));
     }
 
+    /**
+     * Page des POIs d'un type (voir CursorPaging)
+     */
+    public Mono<CursorPageDTO<PoiSummaryDTO>> findByType(String poiType, String fields, String cursor,
+            Integer limit) {
+        return summaryPage(PoiListScope.BY_TYPE, poiType, fields, cursor, limit)
+                .doOnSuccess(page -> log.debug("Retrieved POIs page by type: {}", poiType))
+                .doOnError(error -> log.error("Error retrieving POIs page by type {}: {}",
+                        poiType, error.getMessage()));
+    }
+
     /**
      * Trouve les POIs par catégorie
      */
@@ -197,15 +1008,42 @@ public class PointOfInterestService {
     }
 
     /**
-     * Recherche par nom
+     * Page des POIs d'une catégorie (voir CursorPaging)
+     */
+    public Mono<CursorPageDTO<PoiSummaryDTO>> findByCategory(String poiCategory, String fields, String cursor,
+            Integer limit) {
+        return summaryPage(PoiListScope.BY_CATEGORY, poiCategory, fields, cursor, limit)
+                .doOnSuccess(page -> log.debug("Retrieved POIs page by category: {}", poiCategory))
+                .doOnError(error -> log.error("Error retrieving POIs page by category {}: {}",
+                        poiCategory, error.getMessage()));
+    }
+
+    /**
+     * Recherche par nom contenant le texte, insensible à la casse et aux
+     * accents ("etoile" trouve "Café de l'Étoile")
      */
     public Flux<PointOfInterestDTO> searchByName(String name) {
-        return repository.findByPoiNameContainingIgnoreCase(name)
+        String normalized = PoiTextNormalizer.normalize(name);
+        if (normalized.isEmpty()) {
+            return Flux.empty();
+        }
+        return repository.findByNormalizedNameContaining(normalized, name.trim())
                 .map(mapper::toDto)
                 .doOnComplete(() -> log.debug("Name search completed for: {}", name))
                 .doOnError(error -> log.error("Error in name search for {}: {}", name, error.getMessage()));
     }
 
+    /**
+     * Recherche par nom ; en mode approché, tolère les fautes de frappe et
+     * classe les résultats par similarité puis popularité
+     */
+    public Flux<PointOfInterestDTO> searchByName(String name, boolean fuzzy) {
+        if (!fuzzy || !fuzzyIndex.isReady()) {
+            return searchByName(name);
+        }
+        return searchWithFilters(null, null, null, null, name, true);
+    }
+
     /**
      * Trouve les POIs les plus populaires
      */
@@ -223,6 +1061,9 @@ public class PointOfInterestService {
     public Mono<Void> deactivatePoi(UUID poiId) {
         return repository.deactivateById(poiId)
                 .defaultIfEmpty(0) // Convertit null en 0
+                .flatMap(count -> count > 0
+                        ? publishReloaded(PoiChangeType.DEACTIVATED, poiId).thenReturn(count)
+                        : Mono.just(count))
                 .doOnSuccess(count -> {
                     if (count > 0) {
                         log.info("POI {} deactivated successfully", poiId);
@@ -241,6 +1082,9 @@ public class PointOfInterestService {
     public Mono<Void> activatePoi(UUID poiId) {
         return repository.activateById(poiId)
                 .defaultIfEmpty(0) // Convertit null en 0
+                .flatMap(count -> count > 0
+                        ? publishReloaded(PoiChangeType.ACTIVATED, poiId).thenReturn(count)
+                        : Mono.just(count))
                 .doOnSuccess(count -> {
                     if (count > 0) {
                         log.info("POI {} activated successfully", poiId);
@@ -259,9 +1103,11 @@ public class PointOfInterestService {
     public Mono<Void> deletePoi(UUID poiId) {
         return repository.findById(poiId)
                 .switchIfEmpty(Mono.error(new RuntimeException("POI not found with ID: " + poiId)))
-                .flatMap(poi -> repository.deleteById(poiId))
+                .flatMap(poi -> repository.deleteById(poiId)
+                        .then(publishChange(PoiChangeType.DELETED, null, poi)))
                 .doOnSuccess(unused -> log.info("POI {} deleted successfully", poiId))
-                .doOnError(error -> log.error("Error deleting POI {}: {}", poiId, error.getMessage()));
+                .doOnError(error -> log.error("Error deleting POI {}: {}", poiId, error.getMessage()))
+                .then();
     }
 
     /**
@@ -271,6 +1117,9 @@ public class PointOfInterestService {
     public Mono<Void> updatePopularityScore(UUID poiId, Float score) {
         return repository.updatePopularityScore(poiId, score)
                 .defaultIfEmpty(0) // Convertit null en 0
+                .flatMap(count -> count > 0
+                        ? publishReloaded(PoiChangeType.POPULARITY_CHANGED, poiId).thenReturn(count)
+                        : Mono.just(count))
                 .doOnSuccess(count -> {
                     if (count > 0) {
                         log.info("Popularity score updated for POI {}: {}", poiId, score);
@@ -305,23 +1154,71 @@ public class PointOfInterestService {
                         userId, error.getMessage()));
     }
 
+    /**
+     * Page des POIs créés par un utilisateur, les plus récents d'abord (voir
+     * CursorPaging)
+     */
+    public Mono<CursorPageDTO<PoiSummaryDTO>> findByCreatedByUserId(UUID userId, String fields, String cursor,
+            Integer limit) {
+        return summaryPage(PoiListScope.BY_CREATOR, userId, fields, cursor, limit)
+                .doOnSuccess(page -> log.debug("Retrieved POIs page created by user: {}", userId))
+                .doOnError(error -> log.error("Error retrieving POIs page for user {}: {}",
+                        userId, error.getMessage()));
+    }
+
     /**
      * Trouve les POIs par ville
      */
     public Flux<PointOfInterestDTO> findByCity(String city) {
-        return repository.findByCity(city)
+        return repository.findByCity(PoiTextNormalizer.normalize(city), city.trim())
                 .map(mapper::toDto)
                 .doOnComplete(() -> log.debug("Retrieved POIs for city: {}", city))
                 .doOnError(error -> log.error("Error retrieving POIs for city {}: {}",
                         city, error.getMessage()));
     }
 
+    /**
+     * Page des POIs d'une ville (voir CursorPaging)
+     */
+    public Mono<CursorPageDTO<PoiSummaryDTO>> findByCity(String city, String fields, String cursor,
+            Integer limit) {
+        return summaryPage(PoiListScope.BY_NORMALIZED_CITY, PoiTextNormalizer.normalize(city), city.trim(), fields,
+                cursor, limit)
+                .doOnSuccess(page -> log.debug("Retrieved POIs page for city: {}", city))
+                .doOnError(error -> log.error("Error retrieving POIs page for city {}: {}",
+                        city, error.getMessage()));
+    }
+
+    /**
+     * Trouve les POIs par mot-clé, insensible à la casse et aux accents
+     */
+    public Flux<PointOfInterestDTO> findByKeyword(String keyword) {
+        return repository.findByNormalizedKeyword(PoiTextNormalizer.normalize(keyword), keyword.trim())
+                .map(mapper::toDto)
+                .doOnComplete(() -> log.debug("Retrieved POIs for keyword: {}", keyword))
+                .doOnError(error -> log.error("Error retrieving POIs for keyword {}: {}",
+                        keyword, error.getMessage()));
+    }
+
+    /**
+     * Page des POIs associés à un mot-clé (voir CursorPaging)
+     */
+    public Mono<CursorPageDTO<PoiSummaryDTO>> findByKeyword(String keyword, String fields, String cursor,
+            Integer limit) {
+        return summaryPage(PoiListScope.BY_NORMALIZED_KEYWORD, PoiTextNormalizer.normalize(keyword),
+                keyword.trim(), fields, cursor, limit)
+                .doOnSuccess(page -> log.debug("Retrieved POIs page for keyword: {}", keyword))
+                .doOnError(error -> log.error("Error retrieving POIs page for keyword {}: {}",
+                        keyword, error.getMessage()));
+    }
+
     /**
      * Vérifie l'existence d'un POI par nom et organisation
      */
     public Mono<Boolean> existsByNameAndOrganization(String name, UUID organizationId, UUID excludeId) {
         UUID excludeIdToUse = excludeId != null ? excludeId : UUID.randomUUID();
-        return repository.existsByNameAndOrganizationIdExcludingId(name, organizationId, excludeIdToUse)
+        return repository.existsByNameAndOrganizationIdExcludingId(
+                PoiTextNormalizer.normalize(name), name, organizationId, excludeIdToUse)
                 .doOnSuccess(exists -> log.debug("POI name '{}' exists in organization {}: {}",
                         name, organizationId, exists))
                 .doOnError(error -> log.error("Error checking POI name existence: {}", error.getMessage()));
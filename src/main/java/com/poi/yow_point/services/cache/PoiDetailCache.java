@@ -0,0 +1,173 @@
+package com.poi.yow_point.services.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.poi.yow_point.dto.PointOfInterestDTO;
+import com.poi.yow_point.mappers.PointOfInterestMapper;
+import com.poi.yow_point.services.events.PoiChangeEvent;
+import com.poi.yow_point.services.events.PoiChangeEventBus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Cache en lecture seule des POIs complets (PointOfInterestDTO) servis par
+ * GET /api/v1/pois/{poiId}, alimenté à la lecture.
+ *
+ * Caffeine borne le cache en nombre d'entrées, ou en taille mémoire estimée
+ * si poi.detail-cache.max-megabytes est renseigné, et n'admet une nouvelle
+ * entrée à la place d'une ancienne que si elle est demandée plus souvent
+ * (W-TinyLFU) : un parcours ponctuel de nombreux POIs n'évince pas les POIs
+ * les plus consultés. Les lectures concurrentes d'un même POI absent
+ * partagent un seul chargement ; un POI inexistant n'est pas mis en cache.
+ *
+ * Le cache est abonné directement au bus des modifications (et non via
+ * PoiChangeDispatcher, qui met les événements en attente pendant le
+ * chargement du catalogue) : après chaque écriture validée, l'entrée du POI
+ * est remplacée par son nouvel état, ou retirée s'il a été supprimé. Un
+ * chargement commencé avant l'écriture ne peut pas réinsérer l'ancien état.
+ *
+ * Statistiques exposées par l'actuator avec cache=poi.detail : cache.gets
+ * (result=hit/miss, d'où le taux de succès), cache.loads, cache.load.duration,
+ * cache.evictions.
+ */
+@Slf4j
+@Component
+public class PoiDetailCache {
+
+    public static final String CACHE_NAME = "poi.detail";
+
+    private final AsyncCache<UUID, PointOfInterestDTO> details;
+    private final PointOfInterestMapper mapper;
+    private final PoiChangeEventBus eventBus;
+
+    private Disposable subscription;
+
+    public PoiDetailCache(MeterRegistry meterRegistry, PointOfInterestMapper mapper, PoiChangeEventBus eventBus,
+            @Value("${poi.detail-cache.max-entries:10000}") long maxEntries,
+            @Value("${poi.detail-cache.max-megabytes:0}") long maxMegabytes,
+            @Value("${poi.detail-cache.ttl-minutes:30}") long ttlMinutes) {
+        this.mapper = mapper;
+        this.eventBus = eventBus;
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats();
+        if (maxMegabytes > 0) {
+            this.details = builder
+                    .maximumWeight(maxMegabytes * 1024 * 1024)
+                    .weigher((UUID key, PointOfInterestDTO value) -> estimateBytes(value))
+                    .buildAsync();
+        } else {
+            this.details = builder
+                    .maximumSize(maxEntries)
+                    .buildAsync();
+        }
+        CaffeineCacheMetrics.monitor(meterRegistry, details, CACHE_NAME);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = eventBus.events()
+                .subscribe(this::onChange,
+                        error -> log.error("POI detail cache change stream terminated: {}", error.getMessage()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * POI en cache, ou chargé par loader puis mis en cache. Vide si le loader
+     * ne trouve pas le POI.
+     */
+    public Mono<PointOfInterestDTO> get(UUID poiId, Function<UUID, Mono<PointOfInterestDTO>> loader) {
+        // L'annulation d'un abonné ne doit pas annuler le chargement partagé
+        return Mono.fromFuture(() -> details.get(poiId, (key, executor) -> loader.apply(key).toFuture()), true);
+    }
+
+    public void invalidate(UUID poiId) {
+        details.synchronous().invalidate(poiId);
+    }
+
+    public void invalidateAll() {
+        details.synchronous().invalidateAll();
+    }
+
+    /**
+     * Remplace l'entrée du POI modifié par son nouvel état (sans l'ajouter
+     * s'il n'était pas en cache) ou la retire s'il a été supprimé
+     */
+    void onChange(PoiChangeEvent event) {
+        try {
+            if (event.isResync()) {
+                invalidateAll();
+            } else if (event.current() == null) {
+                invalidate(event.poiId());
+            } else {
+                details.asMap().replace(event.poiId(),
+                        CompletableFuture.completedFuture(mapper.toDto(event.current())));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Invalidating POI {} in detail cache after refresh error: {}", event.poiId(), e.getMessage());
+            invalidate(event.poiId());
+        }
+    }
+
+    /**
+     * Taille approximative en mémoire d'un POI : en-tête fixe et deux octets
+     * par caractère des textes, y compris ceux des listes et des objets JSON
+     */
+    private static int estimateBytes(PointOfInterestDTO poi) {
+        long bytes = 512;
+        bytes += length(poi.getPoiName()) + length(poi.getPoiDescription())
+                + length(poi.getAddressStreetNumber()) + length(poi.getAddressStreetName())
+                + length(poi.getAddressCity()) + length(poi.getAddressPostalCode())
+                + length(poi.getAddressCountry()) + length(poi.getPhoneNumber())
+                + length(poi.getWebsiteUrl());
+        bytes += length(poi.getOperationTimePlan()) + length(poi.getPoiContacts());
+        bytes += length(poi.getPoiImagesUrls()) + length(poi.getPoiAmenities())
+                + length(poi.getPoiKeywords()) + length(poi.getPoiTypeTags());
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static long length(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof CharSequence text) {
+            return 40 + 2L * text.length();
+        }
+        if (value instanceof Map<?, ?> map) {
+            long bytes = 64;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                bytes += 32 + length(entry.getKey()) + length(entry.getValue());
+            }
+            return bytes;
+        }
+        if (value instanceof Collection<?> values) {
+            long bytes = 32;
+            for (Object element : values) {
+                bytes += 16 + length(element);
+            }
+            return bytes;
+        }
+        return 24;
+    }
+}
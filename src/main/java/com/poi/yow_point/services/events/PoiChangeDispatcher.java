@@ -0,0 +1,158 @@
+package com.poi.yow_point.services.events;
+
+import com.poi.yow_point.repositories.PointOfInterestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Alimente les structures dérivées des POIs ({@link PoiChangeListener}).
+ *
+ * Au démarrage, le catalogue des POIs actifs est chargé une seule fois ; les
+ * modifications publiées pendant ce chargement sont mises en attente puis
+ * rejouées dans l'ordre. Chargement et événements sont traités sur un thread
+ * dédié, sans bloquer les écritures.
+ *
+ * Un chargement en échec est relancé avec un délai croissant. Le catalogue
+ * est rechargé de la même façon lorsque le bus signale des événements perdus
+ * ({@link PoiChangeType#RESYNC}). L'état du chargement est exposé par
+ * {@link PoiIndexesHealthIndicator}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PoiChangeDispatcher {
+
+    private static final Duration LOAD_RETRY_MIN_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration LOAD_RETRY_MAX_BACKOFF = Duration.ofMinutes(1);
+
+    private final PointOfInterestRepository repository;
+    private final PoiChangeEventBus eventBus;
+    private final List<PoiChangeListener> listeners;
+    private final Scheduler scheduler = Schedulers.newSingle("poi-change-events");
+
+    // Accédés uniquement depuis le thread du scheduler
+    private final List<PoiChangeEvent> pending = new ArrayList<>();
+    private boolean loading = true;
+    private Disposable loadSubscription;
+
+    // Lus par l'indicateur de santé
+    private volatile boolean loaded;
+    private volatile String lastLoadError;
+
+    private Disposable subscription;
+
+    /**
+     * Premier abonné au bus : reçoit aussi les événements publiés avant le
+     * démarrage, conservés par le bus jusqu'au premier abonnement
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void start() {
+        subscription = eventBus.events()
+                .publishOn(scheduler)
+                .subscribe(this::dispatch,
+                        error -> log.error("POI change stream terminated: {}", error.getMessage()));
+        scheduler.schedule(this::reload);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        scheduler.dispose();
+    }
+
+    /**
+     * Indique si le catalogue est chargé dans les structures dérivées
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Dernière erreur du chargement en cours, null s'il n'y en a pas eu
+     */
+    public String lastLoadError() {
+        return lastLoadError;
+    }
+
+    private void dispatch(PoiChangeEvent event) {
+        if (event.isResync()) {
+            log.warn("POI change events were dropped, reloading active POIs");
+            reload();
+            return;
+        }
+        if (loading) {
+            pending.add(event);
+            return;
+        }
+        notifyListeners(event);
+    }
+
+    /**
+     * (Re)charge le catalogue des POIs actifs ; les événements en attente,
+     * antérieurs au chargement, y sont déjà reflétés
+     */
+    private void reload() {
+        loading = true;
+        loaded = false;
+        lastLoadError = null;
+        pending.clear();
+        if (loadSubscription != null) {
+            loadSubscription.dispose();
+        }
+
+        log.info("Loading active POIs into {} in-memory structures", listeners.size());
+        loadSubscription = Mono.fromRunnable(() -> listeners.forEach(PoiChangeListener::reset))
+                .subscribeOn(scheduler)
+                .thenMany(repository.findAllActive().publishOn(scheduler))
+                .doOnNext(poi -> listeners.forEach(listener -> listener.load(poi)))
+                .count()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, LOAD_RETRY_MIN_BACKOFF)
+                        .maxBackoff(LOAD_RETRY_MAX_BACKOFF)
+                        .doBeforeRetry(signal -> {
+                            lastLoadError = signal.failure().getMessage();
+                            log.error("Error loading active POIs (attempt {}), retrying: {}",
+                                    signal.totalRetries() + 1, lastLoadError);
+                        }))
+                .subscribe(count -> {
+                    listeners.forEach(PoiChangeListener::loaded);
+                    log.info("Loaded {} active POIs, replaying {} pending changes", count, pending.size());
+                    replayPending();
+                });
+    }
+
+    private void replayPending() {
+        pending.forEach(this::notifyListeners);
+        pending.clear();
+        loading = false;
+        loaded = true;
+    }
+
+    private void notifyListeners(PoiChangeEvent event) {
+        for (PoiChangeListener listener : listeners) {
+            try {
+                listener.onChange(event);
+            } catch (RuntimeException e) {
+                log.error("Error applying POI change #{} to {}: {}", event.sequence(),
+                        listener.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
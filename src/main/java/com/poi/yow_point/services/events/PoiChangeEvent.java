@@ -0,0 +1,47 @@
+package com.poi.yow_point.services.events;
+
+import com.poi.yow_point.models.PointOfInterest;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Modification d'un POI, publiée après validation de la transaction.
+ *
+ * current est l'état enregistré (nul pour une suppression) ; previous est
+ * l'état avant modification lorsqu'il est connu (mise à jour, suppression).
+ * sequence est attribué par le bus et croît strictement dans l'ordre de
+ * publication. Un événement RESYNC ne concerne aucun POI (poiId, current et
+ * previous nuls).
+ */
+public record PoiChangeEvent(long sequence, PoiChangeType type, UUID poiId, PointOfInterest current,
+        PointOfInterest previous, Instant occurredAt) {
+
+    public static PoiChangeEvent of(PoiChangeType type, PointOfInterest current, PointOfInterest previous) {
+        UUID poiId = current != null ? current.getPoiId() : previous.getPoiId();
+        return new PoiChangeEvent(0, type, poiId, current, previous, Instant.now());
+    }
+
+    /**
+     * Signale des événements perdus : tout état dérivé doit être reconstruit
+     */
+    public static PoiChangeEvent resync() {
+        return new PoiChangeEvent(0, PoiChangeType.RESYNC, null, null, null, Instant.now());
+    }
+
+    public boolean isResync() {
+        return type == PoiChangeType.RESYNC;
+    }
+
+    PoiChangeEvent withSequence(long sequence) {
+        return new PoiChangeEvent(sequence, type, poiId, current, previous, occurredAt);
+    }
+
+    /**
+     * Indique si le POI doit figurer dans les structures dérivées des POIs
+     * actifs après cette modification
+     */
+    public boolean isActiveAfter() {
+        return current != null && Boolean.TRUE.equals(current.getIsActive());
+    }
+}
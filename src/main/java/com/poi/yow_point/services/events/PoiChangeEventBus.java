@@ -0,0 +1,126 @@
+package com.poi.yow_point.services.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+/**
+ * Flux interne, ordonné et non bloquant des modifications de POIs.
+ *
+ * Les événements sont émis après la validation de la transaction courante
+ * (immédiatement en l'absence de transaction) ; l'émission est sérialisée, ce
+ * qui garantit l'ordre des numéros de séquence pour tous les abonnés.
+ *
+ * Si la file d'un abonné lent est saturée, l'événement est perdu : le bus
+ * émet alors un événement {@link PoiChangeType#RESYNC} dès que la file le
+ * permet, avant tout nouvel événement, pour que les abonnés reconstruisent
+ * leur état depuis la base.
+ */
+@Slf4j
+@Component
+public class PoiChangeEventBus {
+
+    /**
+     * Evénements conservés pour un abonné lent avant rejet
+     */
+    private static final int BUFFER_SIZE = 65_536;
+
+    /**
+     * Délai entre deux tentatives d'émission de l'événement RESYNC
+     */
+    private static final Duration RESYNC_RETRY_DELAY = Duration.ofMillis(200);
+
+    private final Sinks.Many<PoiChangeEvent> sink = Sinks.many().multicast().onBackpressureBuffer(BUFFER_SIZE, false);
+
+    private long sequence;
+    private boolean resyncPending;
+
+    /**
+     * Flux des modifications, à partir de l'abonnement
+     */
+    public Flux<PoiChangeEvent> events() {
+        return sink.asFlux();
+    }
+
+    /**
+     * Publie l'événement après la validation de la transaction en cours, ou
+     * immédiatement hors transaction. Un rollback annule la publication.
+     */
+    public Mono<Void> publishAfterCommit(PoiChangeEvent event) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+                .flatMap(manager -> {
+                    if (!manager.isSynchronizationActive()) {
+                        return Mono.fromRunnable(() -> publish(event));
+                    }
+                    manager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return Mono.fromRunnable(() -> publish(event));
+                        }
+                    });
+                    return Mono.<Void>empty();
+                })
+                .onErrorResume(NoTransactionException.class, ex -> Mono.fromRunnable(() -> publish(event)))
+                .then();
+    }
+
+    /**
+     * Publie immédiatement un événement
+     */
+    public synchronized void publish(PoiChangeEvent event) {
+        if (resyncPending && !emitResync()) {
+            // Toujours saturé : l'événement sera couvert par la resynchronisation
+            log.warn("Dropped POI change event {} for POI {}: resync pending", event.type(), event.poiId());
+            return;
+        }
+        PoiChangeEvent sequenced = event.withSequence(++sequence);
+        Sinks.EmitResult result = sink.tryEmitNext(sequenced);
+        if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+            log.error("Dropped POI change event {} for POI {}: buffer full, resync requested", sequenced.type(),
+                    sequenced.poiId());
+            requestResync();
+        } else if (result.isFailure()) {
+            log.error("Dropped POI change event {} for POI {}: {}", sequenced.type(), sequenced.poiId(), result);
+        } else {
+            log.debug("Published POI change event #{} {} for POI {}", sequenced.sequence(), sequenced.type(),
+                    sequenced.poiId());
+        }
+    }
+
+    private void requestResync() {
+        resyncPending = true;
+        scheduleResync();
+    }
+
+    /**
+     * Réessaie l'émission de RESYNC tant qu'elle n'a pas abouti, y compris
+     * en l'absence de nouvelles modifications
+     */
+    private void scheduleResync() {
+        Mono.delay(RESYNC_RETRY_DELAY).subscribe(tick -> {
+            synchronized (this) {
+                if (resyncPending && !emitResync()) {
+                    scheduleResync();
+                }
+            }
+        });
+    }
+
+    private boolean emitResync() {
+        PoiChangeEvent resync = PoiChangeEvent.resync().withSequence(sequence + 1);
+        if (sink.tryEmitNext(resync).isFailure()) {
+            return false;
+        }
+        sequence++;
+        resyncPending = false;
+        log.warn("Published POI change event #{} RESYNC after dropped events", resync.sequence());
+        return true;
+    }
+}
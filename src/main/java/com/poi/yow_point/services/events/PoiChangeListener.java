@@ -0,0 +1,37 @@
+package com.poi.yow_point.services.events;
+
+import com.poi.yow_point.models.PointOfInterest;
+
+/**
+ * Structure en mémoire dérivée des POIs (index, caches, compteurs), chargée
+ * une fois au démarrage puis tenue à jour par les événements de modification.
+ *
+ * Toutes les méthodes sont appelées depuis un même thread, dans l'ordre des
+ * événements.
+ */
+public interface PoiChangeListener {
+
+    /**
+     * Vide la structure avant le chargement initial
+     */
+    default void reset() {
+    }
+
+    /**
+     * Ajoute un POI actif lors du chargement initial
+     */
+    default void load(PointOfInterest poi) {
+    }
+
+    /**
+     * Fin du chargement initial ; les événements reçus pendant le chargement
+     * sont ensuite rejoués via {@link #onChange}
+     */
+    default void loaded() {
+    }
+
+    /**
+     * Applique une modification de POI
+     */
+    void onChange(PoiChangeEvent event);
+}
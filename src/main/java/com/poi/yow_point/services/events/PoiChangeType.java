@@ -0,0 +1,25 @@
+package com.poi.yow_point.services.events;
+
+/**
+ * Nature d'une modification de POI
+ */
+public enum PoiChangeType {
+
+    CREATED,
+
+    UPDATED,
+
+    ACTIVATED,
+
+    DEACTIVATED,
+
+    POPULARITY_CHANGED,
+
+    DELETED,
+
+    /**
+     * Des événements ont été perdus (file du bus saturée) : les structures
+     * dérivées doivent être rechargées depuis la base
+     */
+    RESYNC
+}
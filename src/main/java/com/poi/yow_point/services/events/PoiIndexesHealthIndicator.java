@@ -0,0 +1,31 @@
+package com.poi.yow_point.services.events;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * État des structures en mémoire dérivées des POIs (health "poiIndexes",
+ * inclus dans le groupe readiness) : OUT_OF_SERVICE tant que le catalogue
+ * n'est pas chargé, y compris pendant un rechargement.
+ */
+@Component
+@RequiredArgsConstructor
+public class PoiIndexesHealthIndicator implements HealthIndicator {
+
+    private final PoiChangeDispatcher dispatcher;
+
+    @Override
+    public Health health() {
+        if (dispatcher.isLoaded()) {
+            return Health.up().build();
+        }
+        Health.Builder health = Health.outOfService().withDetail("loading", true);
+        String lastLoadError = dispatcher.lastLoadError();
+        if (lastLoadError != null) {
+            health.withDetail("lastError", lastLoadError);
+        }
+        return health.build();
+    }
+}
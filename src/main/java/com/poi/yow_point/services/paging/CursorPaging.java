@@ -0,0 +1,74 @@
+package com.poi.yow_point.services.paging;
+
+import com.poi.yow_point.dto.CursorPageDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Pagination par clé (keyset) : chaque page reprend après la clé de tri et
+ * l'identifiant du dernier élément de la page précédente, au lieu de sauter
+ * des lignes avec OFFSET. Le coût d'une page ne dépend pas de sa position
+ * lorsque la requête suit un index (clé de tri, identifiant).
+ *
+ * Une ligne de plus que la taille de page est lue pour savoir s'il existe une
+ * page suivante.
+ */
+public final class CursorPaging {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private CursorPaging() {
+    }
+
+    /**
+     * Taille de page effective : valeur par défaut si absente, bornée à
+     * MAX_PAGE_SIZE
+     */
+    public static int pageSize(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Construit une page à partir du curseur reçu (null pour la première page)
+     *
+     * @param firstPage lignes de la première page, pour un nombre de lignes
+     *                  à lire
+     * @param pageAfter lignes suivant le curseur, pour un nombre de lignes à
+     *                  lire
+     * @param cursorOf  position d'un élément
+     * @return la page ; erreur IllegalArgumentException si le curseur est
+     *         invalide
+     */
+    public static <T> Mono<CursorPageDTO<T>> page(String cursor, Integer limit, IntFunction<Flux<T>> firstPage,
+            BiFunction<PageCursor, Integer, Flux<T>> pageAfter, Function<T, PageCursor> cursorOf) {
+        return Mono.defer(() -> {
+            int pageSize = pageSize(limit);
+            int fetchSize = pageSize + 1;
+            Flux<T> rows = cursor == null || cursor.isBlank()
+                    ? firstPage.apply(fetchSize)
+                    : pageAfter.apply(PageCursor.decode(cursor), fetchSize);
+            return rows.take(fetchSize)
+                    .collectList()
+                    .map(items -> toPage(items, pageSize, cursorOf));
+        });
+    }
+
+    private static <T> CursorPageDTO<T> toPage(List<T> items, int pageSize, Function<T, PageCursor> cursorOf) {
+        boolean hasMore = items.size() > pageSize;
+        List<T> pageItems = hasMore ? items.subList(0, pageSize) : items;
+        return CursorPageDTO.<T>builder()
+                .items(pageItems)
+                .nextCursor(hasMore ? cursorOf.apply(pageItems.get(pageSize - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+}
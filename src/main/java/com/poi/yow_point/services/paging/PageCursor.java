@@ -0,0 +1,77 @@
+package com.poi.yow_point.services.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position dans une liste paginée par clé : valeur de la clé de tri et
+ * identifiant du dernier élément renvoyé (départage des clés égales).
+ *
+ * Transmis au client sous forme opaque (base64url) ; le client ne doit ni
+ * l'interpréter ni le construire.
+ */
+public record PageCursor(String sortKey, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static PageCursor of(String sortKey, UUID id) {
+        return new PageCursor(sortKey, id);
+    }
+
+    public static PageCursor of(OffsetDateTime sortKey, UUID id) {
+        return new PageCursor(sortKey.toString(), id);
+    }
+
+    public static PageCursor of(Instant sortKey, UUID id) {
+        return new PageCursor(sortKey.toString(), id);
+    }
+
+    public static PageCursor of(LocalDate sortKey, UUID id) {
+        return new PageCursor(sortKey.toString(), id);
+    }
+
+    public String encode() {
+        String raw = sortKey + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Décode un curseur reçu du client
+     *
+     * @throws IllegalArgumentException si le curseur est invalide
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // L'identifiant ne contient pas de séparateur, la clé de tri peut en contenir
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            return new PageCursor(raw.substring(0, separator), UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+
+    public OffsetDateTime sortKeyAsDateTime() {
+        try {
+            return OffsetDateTime.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+
+    public LocalDate sortKeyAsDate() {
+        try {
+            return LocalDate.parse(sortKey);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.poi.yow_point.services.projection;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Champs de PoiSummaryDTO qu'un client peut demander (paramètre fields,
+ * noms JSON séparés par des virgules). Chaque champ porte le nom de sa
+ * colonne dans point_of_interest : seules les colonnes des champs demandés
+ * sont lues en base.
+ */
+public final class PoiSummaryFields {
+
+    public static final String DEFAULT_FIELDS = "poi_id,organization_id,poi_name,poi_type,poi_category,latitude,"
+            + "longitude,address_city,address_country,popularity_score,is_active,created_at";
+
+    public static final List<String> ALL = List.of(DEFAULT_FIELDS.split(","));
+
+    private PoiSummaryFields() {
+    }
+
+    /**
+     * Colonnes à lire pour les champs demandés (tous si fields est absent),
+     * complétées par l'identifiant et la colonne de tri nécessaires au
+     * curseur de pagination
+     *
+     * @throws IllegalArgumentException si un champ est inconnu
+     */
+    public static Set<String> columns(String fields, String sortColumn) {
+        Set<String> columns = new LinkedHashSet<>();
+        columns.add("poi_id");
+        columns.add(sortColumn);
+        if (fields == null || fields.isBlank()) {
+            columns.addAll(ALL);
+            return columns;
+        }
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!ALL.contains(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            columns.add(name);
+        }
+        return columns;
+    }
+}
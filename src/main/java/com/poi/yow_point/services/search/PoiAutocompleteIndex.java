@@ -0,0 +1,467 @@
+package com.poi.yow_point.services.search;
+
+import com.poi.yow_point.models.PointOfInterest;
+import com.poi.yow_point.services.events.PoiChangeEvent;
+import com.poi.yow_point.services.events.PoiChangeListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index d'autocomplétion des POIs actifs : arbre préfixe (trie) des mots
+ * normalisés de poi_name, poi_keywords et poi_amenities.
+ *
+ * Chaque mot pointe vers les POIs qui le contiennent. Chaque noeud dont le
+ * sous-arbre contient plus de {@link #TOP_K} occurrences conserve les
+ * {@link #TOP_K} POIs les plus populaires de son sous-arbre : une requête d'un
+ * mot se résout en descendant le préfixe, sans parcourir les POIs. Les noeuds
+ * plus petits sont parcourus à la demande.
+ */
+@Slf4j
+@Component
+public class PoiAutocompleteIndex implements PoiChangeListener {
+
+    /**
+     * Nombre maximal de suggestions retournées
+     */
+    public static final int TOP_K = 20;
+
+    private static final Comparator<Suggestion> RANKING = Comparator
+            .comparingDouble(Suggestion::popularity).reversed()
+            .thenComparing(Suggestion::name, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Suggestion::poiId);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Suggestion> documents = new HashMap<>();
+    private Node root = new Node();
+
+    private volatile boolean ready;
+
+    /**
+     * POI indexé : informations retournées et mots normalisés distincts
+     */
+    public record Suggestion(UUID poiId, String name, String poiType, String poiCategory, float popularity,
+            String[] terms) {
+
+        /**
+         * Vérifie qu'un des mots du POI commence par le préfixe donné
+         */
+        public boolean matchesPrefix(String prefix) {
+            for (String term : terms) {
+                if (term.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            documents.clear();
+            root = new Node();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void load(PointOfInterest poi) {
+        upsert(poi);
+    }
+
+    @Override
+    public void loaded() {
+        ready = true;
+        lock.readLock().lock();
+        try {
+            log.info("Autocomplete index ready with {} POIs ({} term occurrences)",
+                    documents.size(), root.subtreeCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onChange(PoiChangeEvent event) {
+        if (event.current() != null) {
+            upsert(event.current());
+        } else {
+            remove(event.poiId());
+        }
+    }
+
+    /**
+     * Retourne les POIs dont chaque mot de la requête est le préfixe d'un de
+     * leurs mots, les plus populaires d'abord
+     */
+    public List<Suggestion> complete(String query, int limit) {
+        List<String> tokens = new ArrayList<>(new HashSet<>(PoiTextNormalizer.tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        int size = Math.min(limit, TOP_K);
+
+        lock.readLock().lock();
+        try {
+            // Partir du préfixe le plus sélectif
+            Node selective = null;
+            String selectiveToken = null;
+            for (String token : tokens) {
+                Node node = find(token);
+                if (node == null || node.subtreeCount == 0) {
+                    return List.of();
+                }
+                if (selective == null || node.subtreeCount < selective.subtreeCount) {
+                    selective = node;
+                    selectiveToken = token;
+                }
+            }
+            tokens.remove(selectiveToken);
+
+            if (selective.top != null) {
+                List<Suggestion> matches = new ArrayList<>(size);
+                for (Suggestion suggestion : selective.top) {
+                    if (matchesAll(suggestion, tokens)) {
+                        matches.add(suggestion);
+                        if (matches.size() == size) {
+                            // Les POIs hors du top sont moins populaires
+                            return matches;
+                        }
+                    }
+                }
+                if (tokens.isEmpty()) {
+                    return matches;
+                }
+            }
+
+            PriorityQueue<Suggestion> best = new PriorityQueue<>(size + 1, RANKING.reversed());
+            collectMatches(selective, tokens, size, best);
+            return best.stream().sorted(RANKING).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ajoute, met à jour ou retire un POI selon son état
+     */
+    private void upsert(PointOfInterest poi) {
+        if (poi == null || poi.getPoiId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(poi.getIsActive())) {
+            remove(poi.getPoiId());
+            return;
+        }
+
+        Set<String> terms = PoiTextNormalizer.distinctTokens(
+                poi.getPoiName(), PoiTextNormalizer.join(poi.getPoiKeywords()),
+                PoiTextNormalizer.join(poi.getPoiAmenities()));
+        Suggestion suggestion = new Suggestion(poi.getPoiId(), poi.getPoiName(), poi.getPoiType(),
+                poi.getPoiCategory(),
+                poi.getPopularityScore() != null ? poi.getPopularityScore() : 0.0f,
+                terms.toArray(new String[0]));
+
+        lock.writeLock().lock();
+        try {
+            Suggestion previous = documents.put(suggestion.poiId(), suggestion);
+            if (sameContent(previous, suggestion)) {
+                documents.put(previous.poiId(), previous);
+                return;
+            }
+            if (previous != null) {
+                for (String term : previous.terms()) {
+                    removeTerm(term, previous);
+                }
+            }
+            for (String term : suggestion.terms()) {
+                addTerm(term, suggestion);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(UUID poiId) {
+        if (poiId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Suggestion previous = documents.remove(poiId);
+            if (previous != null) {
+                for (String term : previous.terms()) {
+                    removeTerm(term, previous);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addTerm(String term, Suggestion suggestion) {
+        Node[] path = new Node[term.length() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.childOrCreate(term.charAt(i));
+            path[i + 1] = node;
+        }
+        node.addPosting(suggestion);
+
+        // Des feuilles vers la racine : un noeud recalcule son top à partir de
+        // ceux, déjà à jour, de ses enfants
+        for (int i = path.length - 1; i >= 0; i--) {
+            Node visited = path[i];
+            visited.subtreeCount++;
+            if (visited.top != null) {
+                visited.offer(suggestion);
+            } else if (visited.subtreeCount > TOP_K) {
+                visited.top = computeTop(visited);
+            }
+        }
+    }
+
+    private void removeTerm(String term, Suggestion suggestion) {
+        Node[] path = new Node[term.length() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < term.length(); i++) {
+            node = node.child(term.charAt(i));
+            if (node == null) {
+                return;
+            }
+            path[i + 1] = node;
+        }
+        if (!node.removePosting(suggestion)) {
+            return;
+        }
+
+        for (int i = path.length - 1; i >= 0; i--) {
+            Node visited = path[i];
+            visited.subtreeCount--;
+            if (visited.subtreeCount <= TOP_K) {
+                visited.top = null;
+            } else if (visited.top != null && visited.topContains(suggestion)) {
+                visited.top = computeTop(visited);
+            }
+            if (i > 0 && visited.subtreeCount == 0) {
+                path[i - 1].removeChild(term.charAt(i - 1));
+            }
+        }
+    }
+
+    /**
+     * Recalcule les TOP_K POIs d'un noeud à partir de ses occurrences et des
+     * meilleurs POIs de ses enfants
+     */
+    private static List<Suggestion> computeTop(Node node) {
+        Set<Suggestion> candidates = new HashSet<>();
+        for (int i = 0; i < node.postingCount; i++) {
+            candidates.add(node.postings[i]);
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            Node child = node.children[i];
+            if (child.top != null) {
+                candidates.addAll(child.top);
+            } else {
+                collect(child, candidates);
+            }
+        }
+        return candidates.stream()
+                .sorted(RANKING)
+                .limit(TOP_K)
+                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+    }
+
+    private static void collect(Node node, Set<Suggestion> results) {
+        for (int i = 0; i < node.postingCount; i++) {
+            results.add(node.postings[i]);
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            collect(node.children[i], results);
+        }
+    }
+
+    /**
+     * Parcourt un sous-arbre en ne gardant que les size meilleurs POIs qui
+     * correspondent aux préfixes ; un sous-arbre dont le meilleur POI est moins
+     * bien classé que le dernier retenu est ignoré
+     */
+    private static void collectMatches(Node node, List<String> prefixes, int size, PriorityQueue<Suggestion> best) {
+        if (node.top != null && best.size() == size && RANKING.compare(node.top.get(0), best.peek()) >= 0) {
+            return;
+        }
+        for (int i = 0; i < node.postingCount; i++) {
+            Suggestion suggestion = node.postings[i];
+            if (best.size() == size && RANKING.compare(suggestion, best.peek()) >= 0) {
+                continue;
+            }
+            if (matchesAll(suggestion, prefixes) && !containsInstance(best, suggestion)) {
+                best.add(suggestion);
+                if (best.size() > size) {
+                    best.poll();
+                }
+            }
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            collectMatches(node.children[i], prefixes, size, best);
+        }
+    }
+
+    private static boolean containsInstance(Collection<Suggestion> suggestions, Suggestion suggestion) {
+        for (Suggestion candidate : suggestions) {
+            if (candidate == suggestion) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    private static boolean matchesAll(Suggestion suggestion, List<String> prefixes) {
+        for (String prefix : prefixes) {
+            if (!suggestion.matchesPrefix(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean sameContent(Suggestion previous, Suggestion current) {
+        return previous != null
+                && previous.popularity() == current.popularity()
+                && Objects.equals(previous.name(), current.name())
+                && Objects.equals(previous.poiType(), current.poiType())
+                && Objects.equals(previous.poiCategory(), current.poiCategory())
+                && Arrays.equals(previous.terms(), current.terms());
+    }
+
+    /**
+     * Noeud du trie : enfants triés par caractère, POIs dont le mot se termine
+     * ici, nombre d'occurrences du sous-arbre et, pour les grands sous-arbres,
+     * leurs TOP_K POIs les plus populaires
+     */
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int childCount;
+        private Suggestion[] postings;
+        private int postingCount;
+        private int subtreeCount;
+        private List<Suggestion> top;
+
+        Node child(char key) {
+            int index = Arrays.binarySearch(keys, 0, childCount, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char key) {
+            int index = Arrays.binarySearch(keys, 0, childCount, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertion = -index - 1;
+            if (childCount == keys.length) {
+                int capacity = Math.max(2, childCount * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, insertion, keys, insertion + 1, childCount - insertion);
+            System.arraycopy(children, insertion, children, insertion + 1, childCount - insertion);
+            Node child = new Node();
+            keys[insertion] = key;
+            children[insertion] = child;
+            childCount++;
+            return child;
+        }
+
+        void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, 0, childCount, key);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(keys, index + 1, keys, index, childCount - index - 1);
+            System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+            childCount--;
+            children[childCount] = null;
+        }
+
+        void addPosting(Suggestion suggestion) {
+            if (postings == null) {
+                postings = new Suggestion[2];
+            } else if (postingCount == postings.length) {
+                postings = Arrays.copyOf(postings, postingCount * 2);
+            }
+            postings[postingCount++] = suggestion;
+        }
+
+        boolean removePosting(Suggestion suggestion) {
+            for (int i = 0; i < postingCount; i++) {
+                if (postings[i] == suggestion) {
+                    postings[i] = postings[--postingCount];
+                    postings[postingCount] = null;
+                    if (postingCount == 0) {
+                        postings = null;
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean topContains(Suggestion suggestion) {
+            for (Suggestion candidate : top) {
+                if (candidate == suggestion) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void offer(Suggestion suggestion) {
+            if (topContains(suggestion)) {
+                return;
+            }
+            if (top.size() == TOP_K && RANKING.compare(suggestion, top.get(TOP_K - 1)) >= 0) {
+                return;
+            }
+            int index = 0;
+            while (index < top.size() && RANKING.compare(top.get(index), suggestion) < 0) {
+                index++;
+            }
+            top.add(index, suggestion);
+            if (top.size() > TOP_K) {
+                top.remove(TOP_K);
+            }
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package com.poi.yow_point.services.search;
+
+import com.poi.yow_point.models.PointOfInterest;
+import com.poi.yow_point.services.events.PoiChangeEvent;
+import com.poi.yow_point.services.events.PoiChangeListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index de facettes des POIs actifs : type, catégorie, ville et équipements.
+ *
+ * Chaque POI reçoit un ordinal dense (réutilisé après suppression) et chaque
+ * valeur de facette un {@link PoiBitmap} des ordinaux qui la portent. Une
+ * recherche filtrée intersecte les bitmaps des filtres ; le nombre de POIs
+ * par valeur de facette est le cardinal de l'intersection du bitmap de la
+ * valeur avec celui des résultats.
+ *
+ * Les villes sont regroupées par valeur normalisée et affichées sous la
+ * première orthographe rencontrée. Les équipements sont comparés à la valeur
+ * exacte (aux espaces près), comme le filtre poi_amenities @> de /search.
+ * Les mots-clés normalisés ont aussi leur bitmap, pour le filtre (au moins un
+ * mot-clé), sans compte par valeur.
+ */
+@Slf4j
+@Component
+public class PoiFacetIndex implements PoiChangeListener {
+
+    public static final String TYPE = "poi_type";
+    public static final String CATEGORY = "poi_category";
+    public static final String CITY = "address_city";
+    public static final String AMENITY = "poi_amenities";
+
+    private static final String[] FACETS = { TYPE, CATEGORY, CITY, AMENITY };
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final Map<String, Map<String, FacetValue>> facets = new HashMap<>();
+    private final Map<UUID, PoiBitmap> organizations = new HashMap<>();
+    private final Map<String, PoiBitmap> keywords = new HashMap<>();
+    private PoiBitmap active = new PoiBitmap();
+    private Document[] documents = new Document[1024];
+    private int[] freeOrdinals = new int[16];
+    private int freeOrdinalCount;
+    private int ordinalHighWaterMark;
+
+    private volatile boolean ready;
+
+    /**
+     * Filtres d'une recherche ; les valeurs nulles ne filtrent pas, tous les
+     * équipements demandés doivent être présents et au moins un des mots-clés
+     */
+    public record FacetFilter(UUID organizationId, String poiType, String poiCategory, String city,
+            Collection<String> amenities, Collection<String> keywords) {
+    }
+
+    /**
+     * Nombre de POIs portant une valeur de facette
+     */
+    public record FacetCount(String value, int count) {
+    }
+
+    /**
+     * Résultat d'une recherche : nombre total de POIs correspondants, premiers
+     * POIs dans l'ordre demandé et comptes par facette
+     */
+    public record FacetedResult(int totalCount, List<UUID> poiIds, Map<String, List<FacetCount>> facets) {
+    }
+
+    /**
+     * POI indexé : valeurs de facettes portées, pour le retirer des bitmaps,
+     * et clés de tri
+     */
+    private record Document(UUID poiId, UUID organizationId, String[][] values, String[] keywords,
+            float popularity, String name) {
+    }
+
+    /**
+     * Valeur de facette : libellé affiché et POIs qui la portent
+     */
+    private static final class FacetValue {
+        private final String label;
+        private final PoiBitmap bitmap = new PoiBitmap();
+
+        FacetValue(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Ordre par défaut des résultats, identique à la recherche SQL avec filtres
+     */
+    private static final Comparator<Document> POPULARITY_THEN_NAME = Comparator
+            .comparingDouble((Document document) -> -document.popularity())
+            .thenComparing(Document::name);
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            ordinals.clear();
+            facets.clear();
+            organizations.clear();
+            keywords.clear();
+            active = new PoiBitmap();
+            Arrays.fill(documents, null);
+            freeOrdinalCount = 0;
+            ordinalHighWaterMark = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void load(PointOfInterest poi) {
+        upsert(poi);
+    }
+
+    @Override
+    public void loaded() {
+        ready = true;
+        lock.readLock().lock();
+        try {
+            log.info("Facet index ready with {} POIs, {} cities and {} amenities", ordinals.size(),
+                    facets.getOrDefault(CITY, Map.of()).size(), facets.getOrDefault(AMENITY, Map.of()).size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onChange(PoiChangeEvent event) {
+        if (event.isActiveAfter()) {
+            upsert(event.current());
+        } else {
+            remove(event.poiId());
+        }
+    }
+
+    /**
+     * Recherche filtrée avec comptes par facette.
+     *
+     * Si rankedMatches est fourni (résultat d'une recherche textuelle), seuls
+     * ces POIs sont retenus et les résultats suivent leur ordre ; sinon les
+     * résultats sont classés par popularité décroissante puis par nom.
+     * Chaque facette retourne au plus maxFacetValues valeurs, par nombre de
+     * POIs décroissant.
+     */
+    public FacetedResult search(FacetFilter filter, List<UUID> rankedMatches, int limit, int maxFacetValues) {
+        lock.readLock().lock();
+        try {
+            PoiBitmap matches = filter(filter);
+            if (matches != null && rankedMatches != null) {
+                matches = matches.and(toBitmap(rankedMatches));
+            } else if (rankedMatches != null) {
+                matches = toBitmap(rankedMatches);
+            }
+
+            Map<String, List<FacetCount>> counts = new LinkedHashMap<>();
+            for (int f = 0; f < FACETS.length; f++) {
+                counts.put(FACETS[f], count(f, matches, maxFacetValues));
+            }
+
+            PoiBitmap resultSet = matches != null ? matches : active;
+            List<UUID> poiIds = rankedMatches != null
+                    ? rankedMatches.stream()
+                            .filter(poiId -> {
+                                Integer ordinal = ordinals.get(poiId);
+                                return ordinal != null && resultSet.contains(ordinal);
+                            })
+                            .distinct()
+                            .limit(limit)
+                            .toList()
+                    : top(resultSet, limit);
+            return new FacetedResult(resultSet.cardinality(), poiIds, counts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Intersection des bitmaps des filtres, du plus petit au plus grand ;
+     * null si aucun filtre
+     */
+    private PoiBitmap filter(FacetFilter filter) {
+        List<PoiBitmap> bitmaps = new ArrayList<>();
+        if (filter.organizationId() != null) {
+            bitmaps.add(organizations.getOrDefault(filter.organizationId(), new PoiBitmap()));
+        }
+        addValueBitmap(bitmaps, TYPE, filter.poiType());
+        addValueBitmap(bitmaps, CATEGORY, filter.poiCategory());
+        if (filter.city() != null) {
+            addValueBitmap(bitmaps, CITY, PoiTextNormalizer.normalize(filter.city()));
+        }
+        if (filter.amenities() != null) {
+            for (String amenity : filter.amenities()) {
+                addValueBitmap(bitmaps, AMENITY, amenity != null ? amenity.trim() : null);
+            }
+        }
+        if (filter.keywords() != null && !filter.keywords().isEmpty()) {
+            PoiBitmap anyKeyword = new PoiBitmap();
+            for (String keyword : filter.keywords()) {
+                PoiBitmap bitmap = keywords.get(PoiTextNormalizer.normalize(keyword));
+                if (bitmap != null) {
+                    anyKeyword = anyKeyword.or(bitmap);
+                }
+            }
+            bitmaps.add(anyKeyword);
+        }
+        if (bitmaps.isEmpty()) {
+            return null;
+        }
+
+        bitmaps.sort(Comparator.comparingInt(PoiBitmap::cardinality));
+        PoiBitmap result = bitmaps.get(0);
+        for (int i = 1; i < bitmaps.size() && !result.isEmpty(); i++) {
+            result = result.and(bitmaps.get(i));
+        }
+        return result;
+    }
+
+    private void addValueBitmap(List<PoiBitmap> bitmaps, String facet, String key) {
+        if (key == null) {
+            return;
+        }
+        FacetValue value = facets.getOrDefault(facet, Map.of()).get(key);
+        bitmaps.add(value != null ? value.bitmap : new PoiBitmap());
+    }
+
+    private PoiBitmap toBitmap(List<UUID> poiIds) {
+        PoiBitmap bitmap = new PoiBitmap();
+        for (UUID poiId : poiIds) {
+            Integer ordinal = ordinals.get(poiId);
+            if (ordinal != null) {
+                bitmap.add(ordinal);
+            }
+        }
+        return bitmap;
+    }
+
+    /**
+     * Valeurs d'une facette les plus représentées parmi les résultats (tous
+     * les POIs actifs si matches est nul).
+     *
+     * Quand les résultats sont moins nombreux que les valeurs de la facette,
+     * les valeurs portées par chaque résultat sont comptées directement
+     * plutôt que d'intersecter chaque bitmap.
+     */
+    private List<FacetCount> count(int facet, PoiBitmap matches, int maxFacetValues) {
+        Map<String, FacetValue> values = facets.getOrDefault(FACETS[facet], Map.of());
+        int matchCount = matches != null ? matches.cardinality() : -1;
+        if (values.isEmpty() || maxFacetValues <= 0 || matchCount == 0) {
+            return List.of();
+        }
+
+        List<FacetCount> counts = new ArrayList<>();
+        if (matches != null && matchCount < values.size()) {
+            Map<String, Integer> tally = new HashMap<>();
+            matches.forEach(ordinal -> {
+                for (String key : documents[ordinal].values()[facet]) {
+                    tally.merge(key, 1, Integer::sum);
+                }
+            });
+            tally.forEach((key, count) -> counts.add(new FacetCount(values.get(key).label, count)));
+        } else {
+            for (FacetValue value : values.values()) {
+                int count = matches == null ? value.bitmap.cardinality() : value.bitmap.andCardinality(matches);
+                if (count > 0) {
+                    counts.add(new FacetCount(value.label, count));
+                }
+            }
+        }
+        return counts.stream()
+                .sorted(Comparator.comparingInt(FacetCount::count).reversed()
+                        .thenComparing(FacetCount::value))
+                .limit(maxFacetValues)
+                .toList();
+    }
+
+    /**
+     * Premiers POIs d'un ensemble par popularité décroissante puis par nom
+     */
+    private List<UUID> top(PoiBitmap resultSet, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Document> heap = new PriorityQueue<>(limit + 1, POPULARITY_THEN_NAME.reversed());
+        resultSet.forEach(ordinal -> {
+            Document document = documents[ordinal];
+            if (heap.size() < limit) {
+                heap.add(document);
+            } else if (POPULARITY_THEN_NAME.compare(document, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(document);
+            }
+        });
+        return heap.stream()
+                .sorted(POPULARITY_THEN_NAME)
+                .map(Document::poiId)
+                .toList();
+    }
+
+    private void upsert(PointOfInterest poi) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinals.get(poi.getPoiId());
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                unindex(ordinal, documents[ordinal]);
+            } else {
+                ordinal = allocateOrdinal();
+                ordinals.put(poi.getPoiId(), ordinal);
+            }
+
+            Set<String> amenityKeys = new LinkedHashSet<>();
+            for (String amenity : poi.getPoiAmenitiesList()) {
+                if (amenity != null && !amenity.isBlank()) {
+                    amenityKeys.add(amenity.trim());
+                }
+            }
+            String cityKey = PoiTextNormalizer.normalize(poi.getAddressCity());
+
+            String[][] values = new String[FACETS.length][];
+            values[0] = index(TYPE, poi.getPoiType(), poi.getPoiType(), ordinal);
+            values[1] = index(CATEGORY, poi.getPoiCategory(), poi.getPoiCategory(), ordinal);
+            values[2] = index(CITY, cityKey, poi.getAddressCity(), ordinal);
+            values[3] = amenityKeys.stream()
+                    .map(key -> index(AMENITY, key, key, ordinal)[0])
+                    .toArray(String[]::new);
+
+            String[] keywordKeys = poi.getPoiKeywordsList().stream()
+                    .map(PoiTextNormalizer::normalize)
+                    .filter(key -> !key.isEmpty())
+                    .distinct()
+                    .toArray(String[]::new);
+            for (String key : keywordKeys) {
+                keywords.computeIfAbsent(key, k -> new PoiBitmap()).add(ordinal);
+            }
+
+            if (poi.getOrganizationId() != null) {
+                organizations.computeIfAbsent(poi.getOrganizationId(), id -> new PoiBitmap()).add(ordinal);
+            }
+            active.add(ordinal);
+            float popularity = poi.getPopularityScore() != null ? poi.getPopularityScore() : 0f;
+            documents[ordinal] = new Document(poi.getPoiId(), poi.getOrganizationId(), values, keywordKeys,
+                    popularity, poi.getPoiName() != null ? poi.getPoiName() : "");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(UUID poiId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(poiId);
+            if (ordinal == null) {
+                return;
+            }
+            unindex(ordinal, documents[ordinal]);
+            documents[ordinal] = null;
+            active.remove(ordinal);
+            if (freeOrdinalCount == freeOrdinals.length) {
+                freeOrdinals = Arrays.copyOf(freeOrdinals, freeOrdinalCount * 2);
+            }
+            freeOrdinals[freeOrdinalCount++] = ordinal;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ajoute l'ordinal au bitmap d'une valeur ; retourne les clés indexées
+     * (aucune pour une valeur vide)
+     */
+    private String[] index(String facet, String key, String label, int ordinal) {
+        if (key == null || key.isEmpty()) {
+            return new String[0];
+        }
+        facets.computeIfAbsent(facet, f -> new HashMap<>())
+                .computeIfAbsent(key, k -> new FacetValue(label.trim()))
+                .bitmap.add(ordinal);
+        return new String[] { key };
+    }
+
+    private void unindex(int ordinal, Document document) {
+        for (int f = 0; f < FACETS.length; f++) {
+            Map<String, FacetValue> values = facets.get(FACETS[f]);
+            for (String key : document.values()[f]) {
+                FacetValue value = values.get(key);
+                value.bitmap.remove(ordinal);
+                if (value.bitmap.isEmpty()) {
+                    values.remove(key);
+                }
+            }
+        }
+        for (String key : document.keywords()) {
+            PoiBitmap bitmap = keywords.get(key);
+            bitmap.remove(ordinal);
+            if (bitmap.isEmpty()) {
+                keywords.remove(key);
+            }
+        }
+        if (document.organizationId() != null) {
+            PoiBitmap organization = organizations.get(document.organizationId());
+            organization.remove(ordinal);
+            if (organization.isEmpty()) {
+                organizations.remove(document.organizationId());
+            }
+        }
+    }
+
+    private int allocateOrdinal() {
+        if (freeOrdinalCount > 0) {
+            return freeOrdinals[--freeOrdinalCount];
+        }
+        if (ordinalHighWaterMark == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+        }
+        return ordinalHighWaterMark++;
+    }
+}
@@ -0,0 +1,495 @@
+package com.poi.yow_point.services.search;
+
+import com.poi.yow_point.models.PointOfInterest;
+import com.poi.yow_point.services.events.PoiChangeEvent;
+import com.poi.yow_point.services.events.PoiChangeListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index de recherche approchée des POIs actifs, tolérant les fautes de frappe.
+ *
+ * Le vocabulaire des mots normalisés de poi_name et poi_keywords est indexé
+ * par trigrammes (mot complété de deux espaces au début et d'un à la fin,
+ * comme pg_trgm). Pour chaque mot de la requête, les mots candidats sont ceux
+ * qui partagent assez de trigrammes ; ils sont confirmés par une distance de
+ * Levenshtein bornée. Un POI correspond s'il contient, pour chaque mot de la
+ * requête, un mot suffisamment proche.
+ *
+ * Chaque POI indexé conserve aussi les attributs filtrables de la recherche
+ * (organisation, type, catégorie, ville, équipements, mots-clés) : les filtres
+ * s'appliquent aux candidats avant la limite du nombre de résultats.
+ */
+@Slf4j
+@Component
+public class PoiFuzzyIndex implements PoiChangeListener {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Document> documents = new HashMap<>();
+    private final Map<String, Term> terms = new HashMap<>();
+    private final Map<Long, IntBag> trigramPostings = new HashMap<>();
+    private Term[] termsById = new Term[1024];
+    private int[] freeTermIds = new int[16];
+    private int freeTermCount;
+    private int termHighWaterMark;
+
+    private volatile boolean ready;
+
+    /**
+     * POI trouvé et similarité moyenne (1 pour une correspondance exacte) des
+     * mots de la requête
+     */
+    public record FuzzyMatch(UUID poiId, double similarity, float popularity) {
+    }
+
+    /**
+     * Filtres de la recherche, null pour un filtre inactif : ville,
+     * équipements (tous requis) et mots-clés (au moins un) normalisés par
+     * PoiTextNormalizer
+     */
+    public record FuzzyFilter(UUID organizationId, String poiType, String poiCategory, String city,
+            List<String> amenities, List<String> keywords) {
+
+        public static final FuzzyFilter NONE = new FuzzyFilter(null, null, null, null, null, null);
+
+        private boolean matches(Document document) {
+            return (organizationId == null || organizationId.equals(document.organizationId()))
+                    && (poiType == null || poiType.equals(document.poiType()))
+                    && (poiCategory == null || poiCategory.equals(document.poiCategory()))
+                    && (city == null || city.equals(document.city()))
+                    && (amenities == null || document.amenities().containsAll(amenities))
+                    && (keywords == null || keywords.stream().anyMatch(document.keywords()::contains));
+        }
+    }
+
+    /**
+     * POI indexé : popularité, identifiants de ses mots distincts et attributs
+     * filtrables (ville, équipements et mots-clés normalisés)
+     */
+    private record Document(UUID poiId, float popularity, int[] termIds, UUID organizationId, String poiType,
+            String poiCategory, String city, Set<String> amenities, Set<String> keywords) {
+
+        boolean sameAttributes(Document other) {
+            return popularity == other.popularity
+                    && Objects.equals(organizationId, other.organizationId)
+                    && Objects.equals(poiType, other.poiType)
+                    && Objects.equals(poiCategory, other.poiCategory)
+                    && Objects.equals(city, other.city)
+                    && amenities.equals(other.amenities)
+                    && keywords.equals(other.keywords);
+        }
+    }
+
+    /**
+     * Mot du vocabulaire et POIs qui le contiennent
+     */
+    private static final class Term {
+        private final int id;
+        private final String text;
+        private final List<Document> documents = new ArrayList<>(2);
+
+        Term(int id, String text) {
+            this.id = id;
+            this.text = text;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            documents.clear();
+            terms.clear();
+            trigramPostings.clear();
+            Arrays.fill(termsById, null);
+            freeTermCount = 0;
+            termHighWaterMark = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void load(PointOfInterest poi) {
+        upsert(poi);
+    }
+
+    @Override
+    public void loaded() {
+        ready = true;
+        lock.readLock().lock();
+        try {
+            log.info("Fuzzy index ready with {} POIs and {} distinct words", documents.size(), terms.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onChange(PoiChangeEvent event) {
+        if (event.current() != null) {
+            upsert(event.current());
+        } else {
+            remove(event.poiId());
+        }
+    }
+
+    /**
+     * Nombre maximal de modifications tolérées pour un mot de la requête :
+     * aucune jusqu'à 2 caractères, 1 jusqu'à 5, 2 jusqu'à 9, 3 au-delà
+     */
+    public static int maxEdits(int length) {
+        if (length <= 2) {
+            return 0;
+        }
+        if (length <= 5) {
+            return 1;
+        }
+        return length <= 9 ? 2 : 3;
+    }
+
+    /**
+     * Retourne les POIs dont chaque mot de la requête est proche d'un de leurs
+     * mots, par similarité décroissante puis popularité décroissante
+     */
+    public List<FuzzyMatch> search(String query, int limit) {
+        return search(query, FuzzyFilter.NONE, limit);
+    }
+
+    /**
+     * Comme {@link #search(String, int)}, parmi les POIs acceptés par le
+     * filtre : la limite porte sur les POIs filtrés
+     */
+    public List<FuzzyMatch> search(String query, FuzzyFilter filter, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(PoiTextNormalizer.tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Pour chaque mot de la requête : mots proches du vocabulaire et leur similarité
+            List<Map<Integer, Double>> matchesByToken = new ArrayList<>(tokens.size());
+            int selective = -1;
+            long selectiveDocuments = Long.MAX_VALUE;
+            for (String token : tokens) {
+                Map<Integer, Double> matches = similarTerms(token);
+                if (matches.isEmpty()) {
+                    return List.of();
+                }
+                long documentCount = 0;
+                for (int termId : matches.keySet()) {
+                    documentCount += termsById[termId].documents.size();
+                }
+                if (documentCount < selectiveDocuments) {
+                    selectiveDocuments = documentCount;
+                    selective = matchesByToken.size();
+                }
+                matchesByToken.add(matches);
+            }
+
+            // Partir des POIs du mot le plus sélectif et vérifier les autres mots
+            Set<UUID> seen = new HashSet<>();
+            List<FuzzyMatch> results = new ArrayList<>();
+            for (int termId : matchesByToken.get(selective).keySet()) {
+                for (Document document : termsById[termId].documents) {
+                    if (!seen.add(document.poiId()) || !filter.matches(document)) {
+                        continue;
+                    }
+                    double total = 0.0;
+                    boolean matchesAll = true;
+                    for (Map<Integer, Double> matches : matchesByToken) {
+                        double best = 0.0;
+                        for (int documentTermId : document.termIds()) {
+                            Double similarity = matches.get(documentTermId);
+                            if (similarity != null && similarity > best) {
+                                best = similarity;
+                            }
+                        }
+                        if (best == 0.0) {
+                            matchesAll = false;
+                            break;
+                        }
+                        total += best;
+                    }
+                    if (matchesAll) {
+                        results.add(new FuzzyMatch(document.poiId(), total / tokens.size(),
+                                document.popularity()));
+                    }
+                }
+            }
+
+            return results.stream()
+                    .sorted(Comparator.comparingDouble(FuzzyMatch::similarity).reversed()
+                            .thenComparing(Comparator.comparingDouble(FuzzyMatch::popularity).reversed())
+                            .thenComparing(FuzzyMatch::poiId))
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Mots du vocabulaire à distance d'édition bornée d'un mot de la requête,
+     * avec leur similarité 1 - distance / longueur maximale
+     */
+    private Map<Integer, Double> similarTerms(String token) {
+        Map<Integer, Double> matches = new HashMap<>();
+        int maxEdits = maxEdits(token.length());
+        if (maxEdits == 0) {
+            Term term = terms.get(token);
+            if (term != null) {
+                matches.put(term.id, 1.0);
+            }
+            return matches;
+        }
+
+        // Filtre par trigrammes : chaque modification détruit au plus 3 trigrammes
+        long[] queryTrigrams = trigrams(token);
+        int minShared = Math.max(1, queryTrigrams.length - 3 * maxEdits);
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (long trigram : queryTrigrams) {
+            IntBag termIds = trigramPostings.get(trigram);
+            if (termIds == null) {
+                continue;
+            }
+            for (int i = 0; i < termIds.size; i++) {
+                shared.merge(termIds.values[i], 1, Integer::sum);
+            }
+        }
+
+        for (Map.Entry<Integer, Integer> candidate : shared.entrySet()) {
+            if (candidate.getValue() < minShared) {
+                continue;
+            }
+            String text = termsById[candidate.getKey()].text;
+            if (Math.abs(text.length() - token.length()) > maxEdits) {
+                continue;
+            }
+            int distance = boundedLevenshtein(token, text, maxEdits);
+            if (distance <= maxEdits) {
+                matches.put(candidate.getKey(),
+                        1.0 - (double) distance / Math.max(token.length(), text.length()));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Distance de Levenshtein, ou maxDistance + 1 dès qu'elle dépasse la borne
+     */
+    static int boundedLevenshtein(String a, String b, int maxDistance) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (rowMinimum > maxDistance) {
+                return maxDistance + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Trigrammes distincts d'un mot complété ("  mot "), encodés sur un long
+     */
+    static long[] trigrams(String term) {
+        String padded = "  " + term + " ";
+        Set<Long> codes = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            codes.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+        }
+        long[] result = new long[codes.size()];
+        int index = 0;
+        for (long code : codes) {
+            result[index++] = code;
+        }
+        return result;
+    }
+
+    private void upsert(PointOfInterest poi) {
+        if (poi == null || poi.getPoiId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(poi.getIsActive())) {
+            remove(poi.getPoiId());
+            return;
+        }
+        Set<String> words = PoiTextNormalizer.distinctTokens(poi.getPoiName(),
+                PoiTextNormalizer.join(poi.getPoiKeywords()));
+        float popularity = poi.getPopularityScore() != null ? poi.getPopularityScore() : 0.0f;
+        Document attributes = new Document(poi.getPoiId(), popularity, null, poi.getOrganizationId(),
+                poi.getPoiType(), poi.getPoiCategory(), PoiTextNormalizer.normalize(poi.getAddressCity()),
+                normalizedSet(poi.getPoiAmenitiesList()), normalizedSet(poi.getPoiKeywordsList()));
+
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.get(poi.getPoiId());
+            if (previous != null && previous.sameAttributes(attributes) && sameWords(previous, words)) {
+                return;
+            }
+            if (previous != null) {
+                removeDocument(previous);
+            }
+            int[] termIds = new int[words.size()];
+            int index = 0;
+            for (String word : words) {
+                termIds[index++] = termOrCreate(word).id;
+            }
+            Document document = new Document(poi.getPoiId(), popularity, termIds, attributes.organizationId(),
+                    attributes.poiType(), attributes.poiCategory(), attributes.city(), attributes.amenities(),
+                    attributes.keywords());
+            for (int termId : termIds) {
+                termsById[termId].documents.add(document);
+            }
+            documents.put(document.poiId(), document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(UUID poiId) {
+        if (poiId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.get(poiId);
+            if (previous != null) {
+                removeDocument(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Set<String> normalizedSet(List<String> values) {
+        Set<String> normalized = new HashSet<>();
+        for (String value : values) {
+            String text = PoiTextNormalizer.normalize(value);
+            if (!text.isEmpty()) {
+                normalized.add(text);
+            }
+        }
+        return Set.copyOf(normalized);
+    }
+
+    private boolean sameWords(Document document, Set<String> words) {
+        if (document.termIds().length != words.size()) {
+            return false;
+        }
+        for (int termId : document.termIds()) {
+            if (!words.contains(termsById[termId].text)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removeDocument(Document document) {
+        documents.remove(document.poiId());
+        for (int termId : document.termIds()) {
+            Term term = termsById[termId];
+            term.documents.remove(document);
+            if (term.documents.isEmpty()) {
+                removeTerm(term);
+            }
+        }
+    }
+
+    private Term termOrCreate(String text) {
+        Term term = terms.get(text);
+        if (term != null) {
+            return term;
+        }
+        int id;
+        if (freeTermCount > 0) {
+            id = freeTermIds[--freeTermCount];
+        } else {
+            if (termHighWaterMark == termsById.length) {
+                termsById = Arrays.copyOf(termsById, termHighWaterMark * 2);
+            }
+            id = termHighWaterMark++;
+        }
+        term = new Term(id, text);
+        termsById[id] = term;
+        terms.put(text, term);
+        for (long trigram : trigrams(text)) {
+            trigramPostings.computeIfAbsent(trigram, key -> new IntBag()).add(id);
+        }
+        return term;
+    }
+
+    private void removeTerm(Term term) {
+        terms.remove(term.text);
+        termsById[term.id] = null;
+        for (long trigram : trigrams(term.text)) {
+            IntBag termIds = trigramPostings.get(trigram);
+            if (termIds != null) {
+                termIds.remove(term.id);
+                if (termIds.size == 0) {
+                    trigramPostings.remove(trigram);
+                }
+            }
+        }
+        if (freeTermCount == freeTermIds.length) {
+            freeTermIds = Arrays.copyOf(freeTermIds, freeTermCount * 2);
+        }
+        freeTermIds[freeTermCount++] = term.id;
+    }
+
+    /**
+     * Liste d'entiers sans ordre (suppression par échange avec le dernier)
+     */
+    private static final class IntBag {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.poi.yow_point.services.search;
+
+import com.poi.yow_point.mappers.PointOfInterestMapper;
+import com.poi.yow_point.repositories.PointOfInterestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Renseigne au démarrage les colonnes normalisées des POIs créés avant leur
+ * introduction, par lots, sans bloquer le démarrage. Les POIs créés ou
+ * modifiés ensuite sont normalisés par le mapper.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PoiNormalizationBackfill {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final PointOfInterestRepository repository;
+    private final PointOfInterestMapper mapper;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        backfillBatch()
+                .expand(updated -> updated < BATCH_SIZE ? Mono.empty() : backfillBatch())
+                .reduce(0L, Long::sum)
+                .subscribe(
+                        total -> {
+                            if (total > 0) {
+                                log.info("Normalized search columns of {} POIs", total);
+                            }
+                        },
+                        error -> log.error("Error normalizing POI search columns: {}", error.getMessage()));
+    }
+
+    private Mono<Long> backfillBatch() {
+        return repository.findWithoutNormalizedColumns(BATCH_SIZE)
+                .concatMap(poi -> {
+                    mapper.applyNormalizedColumns(poi);
+                    return repository.updateNormalizedColumns(poi.getPoiId(), poi.getPoiNameNormalized(),
+                            poi.getAddressCityNormalized(), poi.getPoiKeywordsNormalized());
+                })
+                .count();
+    }
+}
@@ -0,0 +1,407 @@
+package com.poi.yow_point.services.search;
+
+import com.poi.yow_point.models.PointOfInterest;
+import com.poi.yow_point.services.events.PoiChangeEvent;
+import com.poi.yow_point.services.events.PoiChangeListener;
+import com.poi.yow_point.services.spatial.GeoUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé des POIs actifs pour la recherche classée par pertinence.
+ *
+ * Les mots normalisés de poi_name, poi_keywords et poi_description sont
+ * indexés avec leur fréquence dans chaque champ. Le score textuel est un BM25
+ * par champ, pondéré (le nom compte plus que les mots-clés, eux-mêmes plus que
+ * la description). Il est ensuite multiplié par un bonus de popularité et,
+ * si une position est fournie, par un bonus de proximité. Les K meilleurs POIs
+ * sont retenus dans un tas borné.
+ */
+@Slf4j
+@Component
+public class PoiRelevanceIndex implements PoiChangeListener {
+
+    /**
+     * Nombre maximal de résultats d'une recherche
+     */
+    public static final int MAX_RESULTS = 100;
+
+    private static final int NAME = 0;
+    private static final int KEYWORDS = 1;
+    private static final int DESCRIPTION = 2;
+    private static final int FIELD_COUNT = 3;
+    private static final double[] FIELD_WEIGHTS = { 3.0, 2.0, 1.0 };
+
+    /**
+     * Paramètres BM25 usuels : saturation de la fréquence et normalisation
+     * par la longueur du champ
+     */
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    /**
+     * Bonus de popularité : 1 + POPULARITY_WEIGHT * ln(1 + popularity_score)
+     */
+    private static final double POPULARITY_WEIGHT = 0.1;
+
+    /**
+     * Bonus de proximité : 1 + PROXIMITY_WEIGHT * s / (s + distance), avec s
+     * en kilomètres (bonus divisé par deux à PROXIMITY_SCALE_KM)
+     */
+    private static final double PROXIMITY_WEIGHT = 1.0;
+    private static final double PROXIMITY_SCALE_KM = 2.0;
+
+    /**
+     * Fréquence maximale conservée d'un mot dans un champ
+     */
+    private static final int MAX_TERM_FREQUENCY = 255;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> slots = new HashMap<>();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final long[] totalFieldLengths = new long[FIELD_COUNT];
+    private Document[] documents = new Document[1024];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int highWaterMark;
+
+    private volatile boolean ready;
+
+    /**
+     * POI retenu : score final et distance à la position de recherche (NaN
+     * sans position)
+     */
+    public record RankedMatch(UUID poiId, double score, double distanceKm) {
+    }
+
+    /**
+     * POI indexé : filtres, popularité, position, longueur de chaque champ et
+     * mots distincts
+     */
+    private record Document(UUID poiId, String poiType, String poiCategory, float popularity,
+            double latitude, double longitude, int[] fieldLengths, String[] terms) {
+
+        boolean hasLocation() {
+            return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            slots.clear();
+            postings.clear();
+            Arrays.fill(totalFieldLengths, 0L);
+            Arrays.fill(documents, null);
+            freeCount = 0;
+            highWaterMark = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void load(PointOfInterest poi) {
+        upsert(poi);
+    }
+
+    @Override
+    public void loaded() {
+        ready = true;
+        lock.readLock().lock();
+        try {
+            log.info("Relevance index ready with {} POIs and {} distinct words", slots.size(), postings.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onChange(PoiChangeEvent event) {
+        if (event.current() != null) {
+            upsert(event.current());
+        } else {
+            remove(event.poiId());
+        }
+    }
+
+    /**
+     * Retourne les limit POIs les mieux classés contenant au moins un mot de
+     * la requête. latitude et longitude sont facultatives (proximité ignorée
+     * si l'une est nulle) ; poiType et poiCategory filtrent si non nuls.
+     */
+    public List<RankedMatch> search(String query, Double latitude, Double longitude, String poiType,
+            String poiCategory, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(PoiTextNormalizer.tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        boolean proximity = latitude != null && longitude != null;
+
+        lock.readLock().lock();
+        try {
+            int documentCount = slots.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double[] averageLengths = new double[FIELD_COUNT];
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                averageLengths[field] = Math.max(1.0, (double) totalFieldLengths[field] / documentCount);
+            }
+
+            // Score BM25 accumulé par slot, mot par mot
+            SlotScores scores = new SlotScores();
+            for (String token : tokens) {
+                PostingList list = postings.get(token);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1.0 + (documentCount - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    Document document = documents[list.slots[i]];
+                    int frequencies = list.frequencies[i];
+                    double termScore = 0.0;
+                    for (int field = 0; field < FIELD_COUNT; field++) {
+                        int tf = (frequencies >>> (8 * field)) & 0xFF;
+                        if (tf == 0) {
+                            continue;
+                        }
+                        double norm = 1.0 - B + B * document.fieldLengths()[field] / averageLengths[field];
+                        termScore += FIELD_WEIGHTS[field] * tf * (K1 + 1) / (tf + K1 * norm);
+                    }
+                    scores.add(list.slots[i], idf * termScore);
+                }
+            }
+
+            // Top-K dans un tas borné (le moins bon en tête)
+            Comparator<RankedMatch> ranking = Comparator.comparingDouble(RankedMatch::score)
+                    .thenComparing(RankedMatch::poiId, Comparator.reverseOrder());
+            PriorityQueue<RankedMatch> best = new PriorityQueue<>(limit + 1, ranking);
+            for (int i = 0; i < scores.size; i++) {
+                Document document = documents[scores.keys[i]];
+                if ((poiType != null && !poiType.equals(document.poiType()))
+                        || (poiCategory != null && !poiCategory.equals(document.poiCategory()))) {
+                    continue;
+                }
+                double score = scores.values[i]
+                        * (1.0 + POPULARITY_WEIGHT * Math.log1p(Math.max(0.0f, document.popularity())));
+                double distanceKm = Double.NaN;
+                if (proximity && document.hasLocation()) {
+                    distanceKm = GeoUtils.haversineKm(latitude, longitude, document.latitude(),
+                            document.longitude());
+                    score *= 1.0 + PROXIMITY_WEIGHT * PROXIMITY_SCALE_KM / (PROXIMITY_SCALE_KM + distanceKm);
+                }
+                RankedMatch match = new RankedMatch(document.poiId(), score, distanceKm);
+                if (best.size() < limit) {
+                    best.add(match);
+                } else if (ranking.compare(match, best.peek()) > 0) {
+                    best.poll();
+                    best.add(match);
+                }
+            }
+
+            List<RankedMatch> results = new ArrayList<>(best);
+            results.sort(ranking.reversed());
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void upsert(PointOfInterest poi) {
+        if (poi == null || poi.getPoiId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(poi.getIsActive())) {
+            remove(poi.getPoiId());
+            return;
+        }
+
+        // Fréquences par mot, sur un octet par champ
+        Map<String, Integer> frequencies = new HashMap<>();
+        int[] fieldLengths = new int[FIELD_COUNT];
+        String[] fields = new String[FIELD_COUNT];
+        fields[NAME] = poi.getPoiName();
+        fields[KEYWORDS] = PoiTextNormalizer.join(poi.getPoiKeywords());
+        fields[DESCRIPTION] = poi.getPoiDescription();
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            List<String> tokens = PoiTextNormalizer.tokenize(fields[field]);
+            fieldLengths[field] = tokens.size();
+            int shift = 8 * field;
+            for (String token : tokens) {
+                frequencies.merge(token, 1 << shift,
+                        (current, one) -> ((current >>> shift) & 0xFF) < MAX_TERM_FREQUENCY ? current + one : current);
+            }
+        }
+        Document document = new Document(poi.getPoiId(), poi.getPoiType(), poi.getPoiCategory(),
+                poi.getPopularityScore() != null ? poi.getPopularityScore() : 0.0f,
+                poi.getLatitude() != null ? poi.getLatitude().doubleValue() : Double.NaN,
+                poi.getLongitude() != null ? poi.getLongitude().doubleValue() : Double.NaN,
+                fieldLengths,
+                frequencies.keySet().toArray(new String[0]));
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(poi.getPoiId());
+            int slot = allocateSlot();
+            documents[slot] = document;
+            slots.put(document.poiId(), slot);
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                totalFieldLengths[field] += fieldLengths[field];
+            }
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).add(slot, entry.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(UUID poiId) {
+        if (poiId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeDocument(poiId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeDocument(UUID poiId) {
+        Integer slot = slots.remove(poiId);
+        if (slot == null) {
+            return;
+        }
+        Document document = documents[slot];
+        for (String term : document.terms()) {
+            PostingList list = postings.get(term);
+            if (list != null && list.remove(slot) && list.size == 0) {
+                postings.remove(term);
+            }
+        }
+        for (int field = 0; field < FIELD_COUNT; field++) {
+            totalFieldLengths[field] -= document.fieldLengths()[field];
+        }
+        documents[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highWaterMark == documents.length) {
+            documents = Arrays.copyOf(documents, highWaterMark * 2);
+        }
+        return highWaterMark++;
+    }
+
+    /**
+     * Liste d'occurrences d'un mot : slot du POI et fréquences par champ (un
+     * octet par champ)
+     */
+    private static final class PostingList {
+        private int[] slots = new int[2];
+        private int[] frequencies = new int[2];
+        private int size;
+
+        void add(int slot, int packedFrequencies) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            slots[size] = slot;
+            frequencies[size] = packedFrequencies;
+            size++;
+        }
+
+        boolean remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    size--;
+                    slots[i] = slots[size];
+                    frequencies[i] = frequencies[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Table slot -> score (adressage ouvert) pour accumuler les scores d'une
+     * requête ; keys et values listent les entrées dans l'ordre d'insertion
+     */
+    private static final class SlotScores {
+        private int[] table = new int[64];
+        private int[] keys = new int[32];
+        private double[] values = new double[32];
+        private int size;
+
+        SlotScores() {
+            Arrays.fill(table, -1);
+        }
+
+        void add(int slot, double score) {
+            int mask = table.length - 1;
+            int i = mix(slot) & mask;
+            while (table[i] != -1) {
+                if (keys[table[i]] == slot) {
+                    values[table[i]] += score;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            keys[size] = slot;
+            values[size] = score;
+            table[i] = size++;
+            if (size * 2 > table.length) {
+                rehash(table.length * 2);
+            }
+        }
+
+        private void rehash(int capacity) {
+            table = new int[capacity];
+            Arrays.fill(table, -1);
+            int mask = capacity - 1;
+            for (int entry = 0; entry < size; entry++) {
+                int i = mix(keys[entry]) & mask;
+                while (table[i] != -1) {
+                    i = (i + 1) & mask;
+                }
+                table[i] = entry;
+            }
+        }
+
+        private static int mix(int value) {
+            int h = value * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,425 @@
+package com.poi.yow_point.services.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.poi.yow_point.dto.PointOfInterestDTO;
+import com.poi.yow_point.models.PointOfInterest;
+import com.poi.yow_point.services.events.PoiChangeEvent;
+import com.poi.yow_point.services.events.PoiChangeEventBus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache des résultats de la recherche avec filtres, indexé par les filtres
+ * canonisés (ville et mots-clés normalisés, équipements triés, terme en
+ * minuscules).
+ *
+ * Le cache est borné en taille mémoire estimée et les entrées expirent après
+ * un délai. En cas d'absence, les résultats sont transmis au fil de l'eau et
+ * mis en cache à la fin de la recherche s'ils ne dépassent pas
+ * MAX_CACHED_RESULTS.
+ *
+ * Une écriture sur un POI n'invalide que les recherches dont les filtres
+ * peuvent correspondre à son ancien ou à son nouvel état ; les clés sont
+ * indexées par organisation, type, catégorie et ville pour ne vérifier que
+ * les recherches compatibles. Le cache est abonné directement au bus des
+ * modifications (et non via PoiChangeDispatcher, qui met les événements en
+ * attente pendant le chargement du catalogue).
+ *
+ * Statistiques exposées par l'actuator (cache.gets, cache.evictions... avec
+ * cache=poi.search) et invalidations ciblées (poi.search.cache.invalidations).
+ */
+@Slf4j
+@Component
+public class PoiSearchResultCache {
+
+    public static final String CACHE_NAME = "poi.search";
+
+    /**
+     * Au-delà, le résultat n'est pas mis en cache (recherches peu sélectives)
+     */
+    public static final int MAX_CACHED_RESULTS = 2_000;
+
+    /**
+     * Au-delà de deux fois le nombre d'entrées (plus cette marge), les clés
+     * expirées ou évincées sont retirées des index
+     */
+    private static final int PRUNE_MARGIN = 1_024;
+
+    private final Cache<SearchKey, List<PointOfInterestDTO>> results;
+    private final Counter invalidationCounter;
+    private final PoiChangeEventBus eventBus;
+
+    /**
+     * Incrémenté à chaque invalidation : un résultat calculé pendant une
+     * invalidation n'est pas mis en cache (il pourrait être obsolète)
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    // Clés mises en cache (sur-ensemble des entrées présentes), protégées par
+    // le verrou de l'instance comme les mises en cache et les invalidations
+    private final Set<SearchKey> indexedKeys = new HashSet<>();
+    private final List<KeyIndex> keyIndexes = List.of(
+            new KeyIndex(SearchKey::organizationId, PointOfInterest::getOrganizationId),
+            new KeyIndex(SearchKey::poiType, PointOfInterest::getPoiType),
+            new KeyIndex(SearchKey::poiCategory, PointOfInterest::getPoiCategory),
+            new KeyIndex(SearchKey::city, poi -> PoiTextNormalizer.normalize(poi.getAddressCity())));
+
+    private Disposable subscription;
+
+    /**
+     * Filtres canonisés d'une recherche
+     */
+    public record SearchKey(UUID organizationId, String poiType, String poiCategory, String city,
+            String searchTerm, List<String> amenities, List<String> keywords, TextSearchMode mode) {
+    }
+
+    public PoiSearchResultCache(MeterRegistry meterRegistry, PoiChangeEventBus eventBus,
+            @Value("${poi.search-cache.max-megabytes:32}") long maxMegabytes,
+            @Value("${poi.search-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.eventBus = eventBus;
+        this.results = Caffeine.newBuilder()
+                .maximumWeight(maxMegabytes * 1024 * 1024)
+                .weigher((SearchKey key, List<PointOfInterestDTO> value) -> estimateBytes(value))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, CACHE_NAME);
+        this.invalidationCounter = Counter.builder("poi.search.cache.invalidations")
+                .description("Search results evicted by POI writes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = eventBus.events()
+                .subscribe(this::onChange,
+                        error -> log.error("POI search cache change stream terminated: {}", error.getMessage()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Clé canonique d'une recherche : deux requêtes équivalentes partagent la
+     * même entrée
+     */
+    public static SearchKey key(UUID organizationId, String poiType, String poiCategory, String city,
+            String searchTerm, Collection<String> amenities, Collection<String> keywords, TextSearchMode mode) {
+        String term = searchTerm != null ? searchTerm.toLowerCase(Locale.ROOT) : null;
+        return new SearchKey(organizationId, poiType, poiCategory, PoiTextNormalizer.normalizeOrNull(city),
+                term, canonicalList(amenities, String::trim), canonicalList(keywords, PoiTextNormalizer::normalize),
+                term != null && !term.isBlank() && mode != null ? mode : TextSearchMode.CONTAINS);
+    }
+
+    /**
+     * Résultats de la recherche depuis le cache, ou ceux de loader transmis au
+     * fil de l'eau et mis en cache une fois la recherche terminée (sauf
+     * annulation, résultat trop volumineux ou invalidation entre-temps). Le
+     * cache est consulté à l'abonnement.
+     */
+    public Flux<PointOfInterestDTO> getOrLoad(SearchKey key, Supplier<Flux<PointOfInterestDTO>> loader) {
+        return Flux.defer(() -> {
+            List<PointOfInterestDTO> cached = results.getIfPresent(key);
+            if (cached != null) {
+                log.debug("Search served from cache: {}", key);
+                return Flux.fromIterable(cached);
+            }
+            long generation = invalidations.get();
+            BoundedCollector collector = new BoundedCollector();
+            return loader.get()
+                    .doOnNext(collector::add)
+                    .doOnComplete(() -> {
+                        if (collector.results() != null) {
+                            put(key, collector.results(), generation);
+                        }
+                    });
+        });
+    }
+
+    void onChange(PoiChangeEvent event) {
+        try {
+            if (event.isResync()) {
+                invalidateAll();
+                return;
+            }
+            int evicted = invalidateMatching(event.previous(), event.current());
+            if (evicted > 0) {
+                invalidationCounter.increment(evicted);
+                log.debug("Evicted {} cached searches after change on POI {}", evicted, event.poiId());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Clearing search cache after invalidation error on POI {}: {}", event.poiId(), e.getMessage());
+            invalidateAll();
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        invalidations.incrementAndGet();
+        results.invalidateAll();
+        indexedKeys.clear();
+        keyIndexes.forEach(KeyIndex::clear);
+    }
+
+    /**
+     * Met un résultat en cache s'il n'y a pas eu d'invalidation depuis la
+     * génération relevée
+     */
+    private synchronized void put(SearchKey key, List<PointOfInterestDTO> value, long generation) {
+        if (invalidations.get() != generation) {
+            return;
+        }
+        if (indexedKeys.add(key)) {
+            keyIndexes.forEach(index -> index.add(key));
+        }
+        results.put(key, value);
+        if (indexedKeys.size() > 2 * results.estimatedSize() + PRUNE_MARGIN) {
+            indexedKeys.removeIf(indexed -> {
+                if (results.asMap().containsKey(indexed)) {
+                    return false;
+                }
+                keyIndexes.forEach(index -> index.remove(indexed));
+                return true;
+            });
+        }
+    }
+
+    /**
+     * Invalide les recherches pouvant contenir l'ancien ou le nouvel état du
+     * POI ; retourne le nombre de recherches invalidées
+     */
+    private synchronized int invalidateMatching(PointOfInterest previous, PointOfInterest current) {
+        invalidations.incrementAndGet();
+        Set<SearchKey> stale = new HashSet<>();
+        collectMatching(previous, stale);
+        collectMatching(current, stale);
+        int evicted = 0;
+        for (SearchKey key : stale) {
+            if (results.asMap().remove(key) != null) {
+                evicted++;
+            }
+            indexedKeys.remove(key);
+            keyIndexes.forEach(index -> index.remove(key));
+        }
+        return evicted;
+    }
+
+    /**
+     * Ajoute les clés pouvant correspondre au POI, en parcourant l'index le
+     * plus sélectif pour ce POI
+     */
+    private void collectMatching(PointOfInterest poi, Set<SearchKey> into) {
+        if (poi == null) {
+            return;
+        }
+        KeyIndex narrowest = keyIndexes.stream()
+                .min(Comparator.comparingInt(index -> index.candidateCount(poi)))
+                .orElseThrow();
+        for (Set<SearchKey> keys : narrowest.candidates(poi)) {
+            for (SearchKey key : keys) {
+                if (mayMatch(key, poi)) {
+                    into.add(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Indique si le POI peut figurer dans les résultats de la recherche,
+     * indépendamment de son état actif. Le terme n'est vérifié qu'en mode
+     * CONTAINS (toute recherche approchée ou plein texte aux filtres
+     * compatibles est invalidée).
+     */
+    static boolean mayMatch(SearchKey key, PointOfInterest poi) {
+        if (poi == null) {
+            return false;
+        }
+        if (key.organizationId() != null && !key.organizationId().equals(poi.getOrganizationId())) {
+            return false;
+        }
+        if (key.poiType() != null && !key.poiType().equals(poi.getPoiType())) {
+            return false;
+        }
+        if (key.poiCategory() != null && !key.poiCategory().equals(poi.getPoiCategory())) {
+            return false;
+        }
+        if (key.city() != null && !key.city().equals(PoiTextNormalizer.normalize(poi.getAddressCity()))) {
+            return false;
+        }
+        if (key.amenities() != null && !poi.getPoiAmenitiesList().containsAll(key.amenities())) {
+            return false;
+        }
+        if (key.keywords() != null && poi.getPoiKeywordsList().stream()
+                .map(PoiTextNormalizer::normalize)
+                .noneMatch(key.keywords()::contains)) {
+            return false;
+        }
+        if (key.searchTerm() != null && key.mode() == TextSearchMode.CONTAINS) {
+            return contains(poi.getPoiName(), key.searchTerm()) || contains(poi.getPoiDescription(), key.searchTerm());
+        }
+        return true;
+    }
+
+    private static boolean contains(String text, String lowerCaseTerm) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(lowerCaseTerm);
+    }
+
+    /**
+     * Clés en cache regroupées selon la valeur d'un filtre (les clés sans ce
+     * filtre dans un groupe commun)
+     */
+    private static final class KeyIndex {
+
+        private static final Object ANY = new Object();
+
+        private final Function<SearchKey, Object> keyValue;
+        private final Function<PointOfInterest, Object> poiValue;
+        private final Map<Object, Set<SearchKey>> keysByValue = new HashMap<>();
+
+        KeyIndex(Function<SearchKey, Object> keyValue, Function<PointOfInterest, Object> poiValue) {
+            this.keyValue = keyValue;
+            this.poiValue = poiValue;
+        }
+
+        void add(SearchKey key) {
+            keysByValue.computeIfAbsent(groupOf(key), group -> new HashSet<>()).add(key);
+        }
+
+        void remove(SearchKey key) {
+            Object group = groupOf(key);
+            Set<SearchKey> keys = keysByValue.get(group);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByValue.remove(group);
+            }
+        }
+
+        void clear() {
+            keysByValue.clear();
+        }
+
+        /**
+         * Clés dont ce filtre accepte le POI : celles de même valeur et celles
+         * sans filtre
+         */
+        List<Set<SearchKey>> candidates(PointOfInterest poi) {
+            List<Set<SearchKey>> candidates = new ArrayList<>(2);
+            Object value = poiValue.apply(poi);
+            if (value != null && keysByValue.containsKey(value)) {
+                candidates.add(keysByValue.get(value));
+            }
+            if (keysByValue.containsKey(ANY)) {
+                candidates.add(keysByValue.get(ANY));
+            }
+            return candidates;
+        }
+
+        int candidateCount(PointOfInterest poi) {
+            return candidates(poi).stream().mapToInt(Set::size).sum();
+        }
+
+        private Object groupOf(SearchKey key) {
+            Object value = keyValue.apply(key);
+            return value != null ? value : ANY;
+        }
+    }
+
+    /**
+     * Résultats d'une recherche en cours, abandonnés au-delà de
+     * MAX_CACHED_RESULTS (la recherche n'est alors pas mise en cache)
+     */
+    private static final class BoundedCollector {
+
+        private List<PointOfInterestDTO> results = new ArrayList<>();
+
+        void add(PointOfInterestDTO result) {
+            if (results == null) {
+                return;
+            }
+            if (results.size() < MAX_CACHED_RESULTS) {
+                results.add(result);
+            } else {
+                results = null;
+            }
+        }
+
+        List<PointOfInterestDTO> results() {
+            return results;
+        }
+    }
+
+    private static List<String> canonicalList(Collection<String> values, UnaryOperator<String> transform) {
+        if (values == null) {
+            return null;
+        }
+        List<String> canonical = values.stream()
+                .filter(Objects::nonNull)
+                .map(transform)
+                .filter(value -> !value.isEmpty())
+                .distinct()
+                .sorted()
+                .toList();
+        return canonical.isEmpty() ? null : canonical;
+    }
+
+    /**
+     * Taille approximative en mémoire d'un résultat : en-tête fixe par POI et
+     * deux octets par caractère des principaux textes
+     */
+    private static int estimateBytes(List<PointOfInterestDTO> value) {
+        long bytes = 128;
+        for (PointOfInterestDTO poi : value) {
+            bytes += 512;
+            bytes += 2L * (length(poi.getPoiName()) + length(poi.getPoiDescription())
+                    + length(poi.getAddressStreetName()) + length(poi.getAddressCity())
+                    + length(poi.getWebsiteUrl()));
+            bytes += 2L * (length(poi.getPoiAmenities()) + length(poi.getPoiKeywords())
+                    + length(poi.getPoiImagesUrls()));
+        }
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
+
+    private static int length(String text) {
+        return text != null ? text.length() : 0;
+    }
+
+    private static int length(List<String> values) {
+        if (values == null) {
+            return 0;
+        }
+        int length = 0;
+        for (String value : values) {
+            length += 16 + length(value);
+        }
+        return length;
+    }
+}
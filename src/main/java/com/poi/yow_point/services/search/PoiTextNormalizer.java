@@ -0,0 +1,89 @@
+package com.poi.yow_point.services.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalisation des textes indexés et des requêtes de recherche : minuscules,
+ * suppression des accents, ponctuation remplacée par des espaces.
+ *
+ * Utilisée aussi bien par les index en mémoire que pour renseigner les
+ * colonnes normalisées de point_of_interest (*_normalized) : les valeurs
+ * saisies dans les recherches doivent passer par la même normalisation.
+ */
+public final class PoiTextNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private PoiTextNormalizer() {
+    }
+
+    /**
+     * Texte normalisé ("Café de l'Étoile" -> "cafe de l etoile"), vide pour null
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Texte normalisé, ou null pour null
+     */
+    public static String normalizeOrNull(String text) {
+        return text != null ? normalize(text) : null;
+    }
+
+    /**
+     * Valeurs d'un tableau (text[]) réunies en un seul texte, vide pour null
+     */
+    public static String join(String[] values) {
+        if (values == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        for (String value : values) {
+            if (value != null) {
+                text.append(value).append(' ');
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Mots normalisés d'un texte, dans l'ordre
+     */
+    public static List<String> tokenize(String text) {
+        String normalized = normalize(text);
+        List<String> tokens = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return tokens;
+        }
+        for (String token : normalized.split(" ")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Mots normalisés distincts de plusieurs textes
+     */
+    public static Set<String> distinctTokens(String... texts) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String text : texts) {
+            tokens.addAll(tokenize(text));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,24 @@
+package com.poi.yow_point.services.search;
+
+/**
+ * Stratégie d'évaluation du terme d'une recherche de POIs avec filtres
+ */
+public enum TextSearchMode {
+
+    /**
+     * Sous-chaîne du nom ou de la description (LIKE '%terme%', parcours de la table)
+     */
+    CONTAINS,
+
+    /**
+     * Recherche approchée en mémoire sur le nom et les mots-clés (fautes de
+     * frappe tolérées, résultats classés par similarité)
+     */
+    FUZZY,
+
+    /**
+     * Recherche plein texte PostgreSQL (configuration french) sur la colonne
+     * search_vector et son index GIN, résultats classés par ts_rank_cd
+     */
+    FULL_TEXT
+}
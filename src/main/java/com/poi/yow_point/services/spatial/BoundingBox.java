@@ -0,0 +1,52 @@
+package com.poi.yow_point.services.spatial;
+
+/**
+ * Emprise géographique en degrés (WGS84). Une emprise dont minLongitude est
+ * supérieure à maxLongitude traverse l'antiméridien.
+ */
+public record BoundingBox(double minLongitude, double minLatitude, double maxLongitude, double maxLatitude) {
+
+    public BoundingBox {
+        if (!isLongitude(minLongitude) || !isLongitude(maxLongitude)
+                || !isLatitude(minLatitude) || !isLatitude(maxLatitude)) {
+            throw new IllegalArgumentException("Bounding box coordinates out of range");
+        }
+        if (minLatitude > maxLatitude) {
+            throw new IllegalArgumentException("Bounding box minimum latitude is greater than maximum latitude");
+        }
+    }
+
+    /**
+     * Lit une emprise au format "minLon,minLat,maxLon,maxLat"
+     */
+    public static BoundingBox parse(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Bounding box is required");
+        }
+        String[] parts = value.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Bounding box must be minLon,minLat,maxLon,maxLat");
+        }
+        try {
+            return new BoundingBox(
+                    Double.parseDouble(parts[0].trim()),
+                    Double.parseDouble(parts[1].trim()),
+                    Double.parseDouble(parts[2].trim()),
+                    Double.parseDouble(parts[3].trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Bounding box must contain numbers: " + value);
+        }
+    }
+
+    public boolean crossesAntimeridian() {
+        return minLongitude > maxLongitude;
+    }
+
+    private static boolean isLongitude(double value) {
+        return value >= -180.0 && value <= 180.0;
+    }
+
+    private static boolean isLatitude(double value) {
+        return value >= -90.0 && value <= 90.0;
+    }
+}
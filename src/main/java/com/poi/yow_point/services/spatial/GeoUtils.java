@@ -0,0 +1,53 @@
+package com.poi.yow_point.services.spatial;
+
+/**
+ * Fonctions géographiques utilitaires (distance orthodromique, emprises).
+ */
+public final class GeoUtils {
+
+    /**
+     * Rayon terrestre moyen en kilomètres (même valeur que les requêtes SQL)
+     */
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    /**
+     * Longueur d'un degré de latitude en kilomètres
+     */
+    public static final double KM_PER_DEGREE = EARTH_RADIUS_KM * Math.PI / 180.0;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Distance haversine en kilomètres entre deux points exprimés en degrés
+     */
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLon = Math.sin(dLon / 2);
+        double a = sinLat * sinLat
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Demi-hauteur en degrés de latitude d'une emprise couvrant le rayon donné
+     */
+    public static double latitudeDelta(double radiusKm) {
+        return radiusKm / KM_PER_DEGREE;
+    }
+
+    /**
+     * Demi-largeur en degrés de longitude d'une emprise couvrant le rayon donné.
+     * Retourne 180 lorsque l'emprise englobe un pôle.
+     */
+    public static double longitudeDelta(double latitude, double radiusKm) {
+        double latDelta = latitudeDelta(radiusKm);
+        if (Math.abs(latitude) + latDelta >= 90.0) {
+            return 180.0;
+        }
+        double cos = Math.cos(Math.toRadians(Math.abs(latitude) + latDelta));
+        return Math.min(180.0, latDelta / cos);
+    }
+}
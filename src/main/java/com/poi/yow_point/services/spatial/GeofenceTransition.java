@@ -0,0 +1,17 @@
+package com.poi.yow_point.services.spatial;
+
+/**
+ * Transition d'un appareil par rapport à la zone d'un POI
+ */
+public enum GeofenceTransition {
+
+    /**
+     * L'appareil est entré dans la zone du POI
+     */
+    ENTER,
+
+    /**
+     * L'appareil est sorti de la zone du POI
+     */
+    EXIT
+}
@@ -0,0 +1,381 @@
+package com.poi.yow_point.services.spatial;
+
+import com.poi.yow_point.models.PointOfInterest;
+import com.poi.yow_point.services.events.PoiChangeEvent;
+import com.poi.yow_point.services.events.PoiChangeListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Regroupement hiérarchique des POIs actifs pour l'affichage de marqueurs.
+ *
+ * Pour chaque niveau de zoom, l'espace Web Mercator normalisé est découpé en
+ * cellules de 1/8 de tuile ; chaque cellule agrège le nombre de POIs et la
+ * somme de leurs coordonnées (centroïde). Les cellules d'un zoom sont
+ * exactement divisées en 4 au zoom suivant, ce qui forme un quadtree : une
+ * écriture ne touche qu'une cellule par niveau de zoom.
+ */
+@Slf4j
+@Component
+public class PoiClusterIndex implements PoiChangeListener {
+
+    /**
+     * Au-delà de ce zoom, les POIs sont retournés individuellement
+     */
+    public static final int MAX_CLUSTER_ZOOM = 16;
+
+    /**
+     * Une cellule de zoom z mesure 1/2^(z + CELL_SHIFT) : 1/8 de tuile, soit
+     * 32 pixels pour des tuiles de 256 pixels
+     */
+    private static final int CELL_SHIFT = 3;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Position> positions = new HashMap<>();
+    private final List<Map<Long, Cell>> levels = new ArrayList<>();
+
+    private volatile boolean ready;
+
+    public PoiClusterIndex() {
+        for (int zoom = 0; zoom <= MAX_CLUSTER_ZOOM; zoom++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Position d'un POI en coordonnées Web Mercator normalisées
+     */
+    private record Position(double x, double y) {
+    }
+
+    /**
+     * Elément retourné pour une emprise : un groupe de POIs (poiId nul) ou un
+     * POI isolé. expansionZoom est le zoom à partir duquel le groupe se divise.
+     */
+    public record ClusterEntry(UUID poiId, Long clusterId, double latitude, double longitude,
+            int pointCount, Integer expansionZoom) {
+
+        public boolean isCluster() {
+            return poiId == null;
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void reset() {
+        clear();
+    }
+
+    @Override
+    public void load(PointOfInterest poi) {
+        upsert(poi);
+    }
+
+    @Override
+    public void loaded() {
+        markReady();
+    }
+
+    @Override
+    public void onChange(PoiChangeEvent event) {
+        if (event.current() != null) {
+            upsert(event.current());
+        } else {
+            remove(event.poiId());
+        }
+    }
+
+    /**
+     * Vide l'index avant un rechargement complet
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            positions.clear();
+            levels.forEach(Map::clear);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marque l'index comme prêt à servir les requêtes
+     */
+    public void markReady() {
+        ready = true;
+        lock.readLock().lock();
+        try {
+            log.info("Cluster index ready with {} POIs ({} clusters at zoom 0)",
+                    positions.size(), levels.get(0).size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ajoute, déplace ou retire un POI selon son état (actif, coordonnées)
+     */
+    public void upsert(PointOfInterest poi) {
+        if (poi == null || poi.getPoiId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(poi.getIsActive()) || poi.getLatitude() == null || poi.getLongitude() == null) {
+            remove(poi.getPoiId());
+            return;
+        }
+
+        Position position = new Position(
+                WebMercator.x(poi.getLongitude().doubleValue()),
+                WebMercator.y(poi.getLatitude().doubleValue()));
+
+        lock.writeLock().lock();
+        try {
+            Position previous = positions.put(poi.getPoiId(), position);
+            if (position.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                removeFromLevels(poi.getPoiId(), previous);
+            }
+            for (int zoom = 0; zoom <= MAX_CLUSTER_ZOOM; zoom++) {
+                levels.get(zoom)
+                        .computeIfAbsent(cellKey(position, zoom), key -> new Cell())
+                        .add(poi.getPoiId(), position, zoom == MAX_CLUSTER_ZOOM);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retire un POI de l'index
+     */
+    public void remove(UUID poiId) {
+        if (poiId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Position previous = positions.remove(poiId);
+            if (previous != null) {
+                removeFromLevels(poiId, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retourne les groupes et POIs isolés dont la position est dans l'emprise,
+     * au zoom demandé
+     */
+    public List<ClusterEntry> find(BoundingBox bbox, int zoom) {
+        List<ClusterEntry> results = new ArrayList<>();
+        double minX = WebMercator.x(bbox.minLongitude());
+        double maxX = WebMercator.x(bbox.maxLongitude());
+        double minY = WebMercator.y(bbox.maxLatitude());
+        double maxY = WebMercator.y(bbox.minLatitude());
+
+        lock.readLock().lock();
+        try {
+            if (bbox.crossesAntimeridian()) {
+                collect(minX, 1.0, minY, maxY, zoom, results);
+                collect(0.0, maxX, minY, maxY, zoom, results);
+            } else {
+                collect(minX, maxX, minY, maxY, zoom, results);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    private void collect(double minX, double maxX, double minY, double maxY, int zoom,
+            List<ClusterEntry> results) {
+        int level = Math.max(0, Math.min(zoom, MAX_CLUSTER_ZOOM));
+        boolean individualPoints = zoom > MAX_CLUSTER_ZOOM;
+        Map<Long, Cell> cells = levels.get(level);
+
+        int colMin = cellIndex(minX, level);
+        int colMax = cellIndex(maxX, level);
+        int rowMin = cellIndex(minY, level);
+        int rowMax = cellIndex(maxY, level);
+
+        long cellsInRange = (long) (rowMax - rowMin + 1) * (colMax - colMin + 1);
+        if (cellsInRange > cells.size()) {
+            // Emprise large : parcourir les cellules occupées plutôt que la plage
+            for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                int row = (int) (entry.getKey() >>> 32);
+                int col = (int) (entry.getKey() & 0xFFFFFFFFL);
+                if (row >= rowMin && row <= rowMax && col >= colMin && col <= colMax) {
+                    emit(entry.getValue(), level, row, col, individualPoints, minX, maxX, minY, maxY, results);
+                }
+            }
+        } else {
+            for (int row = rowMin; row <= rowMax; row++) {
+                for (int col = colMin; col <= colMax; col++) {
+                    Cell cell = cells.get(key(row, col));
+                    if (cell != null) {
+                        emit(cell, level, row, col, individualPoints, minX, maxX, minY, maxY, results);
+                    }
+                }
+            }
+        }
+    }
+
+    private void emit(Cell cell, int level, int row, int col, boolean individualPoints,
+            double minX, double maxX, double minY, double maxY, List<ClusterEntry> results) {
+        if (individualPoints) {
+            for (UUID poiId : cell.members) {
+                Position position = positions.get(poiId);
+                if (contains(position.x(), position.y(), minX, maxX, minY, maxY)) {
+                    results.add(point(poiId, position));
+                }
+            }
+            return;
+        }
+
+        if (cell.count == 1) {
+            UUID poiId = cell.singleMember();
+            Position position = positions.get(poiId);
+            if (contains(position.x(), position.y(), minX, maxX, minY, maxY)) {
+                results.add(point(poiId, position));
+            }
+            return;
+        }
+
+        double x = cell.sumX / cell.count;
+        double y = cell.sumY / cell.count;
+        if (contains(x, y, minX, maxX, minY, maxY)) {
+            results.add(new ClusterEntry(null,
+                    ((long) level << 58) | key(row, col),
+                    WebMercator.latitude(y),
+                    WebMercator.longitude(x),
+                    cell.count,
+                    expansionZoom(level, row, col)));
+        }
+    }
+
+    /**
+     * Premier zoom auquel les POIs d'une cellule se répartissent dans plusieurs
+     * cellules (MAX_CLUSTER_ZOOM + 1 s'ils restent groupés jusqu'au bout)
+     */
+    private int expansionZoom(int level, int row, int col) {
+        for (int zoom = level + 1; zoom <= MAX_CLUSTER_ZOOM; zoom++) {
+            Map<Long, Cell> cells = levels.get(zoom);
+            int occupied = 0;
+            int nextRow = -1;
+            int nextCol = -1;
+            for (int r = row * 2; r <= row * 2 + 1; r++) {
+                for (int c = col * 2; c <= col * 2 + 1; c++) {
+                    if (cells.containsKey(key(r, c))) {
+                        occupied++;
+                        nextRow = r;
+                        nextCol = c;
+                    }
+                }
+            }
+            if (occupied != 1) {
+                return zoom;
+            }
+            row = nextRow;
+            col = nextCol;
+        }
+        return MAX_CLUSTER_ZOOM + 1;
+    }
+
+    private void removeFromLevels(UUID poiId, Position position) {
+        for (int zoom = 0; zoom <= MAX_CLUSTER_ZOOM; zoom++) {
+            Map<Long, Cell> cells = levels.get(zoom);
+            long key = cellKey(position, zoom);
+            Cell cell = cells.get(key);
+            if (cell != null && cell.remove(poiId, position, zoom == MAX_CLUSTER_ZOOM)) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private static ClusterEntry point(UUID poiId, Position position) {
+        return new ClusterEntry(poiId, null,
+                WebMercator.latitude(position.y()),
+                WebMercator.longitude(position.x()),
+                1, null);
+    }
+
+    private static boolean contains(double x, double y, double minX, double maxX, double minY, double maxY) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    private static int cellIndex(double normalized, int zoom) {
+        int cells = 1 << (zoom + CELL_SHIFT);
+        return Math.max(0, Math.min(cells - 1, (int) Math.floor(normalized * cells)));
+    }
+
+    private static long cellKey(Position position, int zoom) {
+        return key(cellIndex(position.y(), zoom), cellIndex(position.x(), zoom));
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | col;
+    }
+
+    /**
+     * Agrégat d'une cellule. Le OU exclusif des identifiants permet de
+     * retrouver le POI d'une cellule qui n'en contient plus qu'un ; seules les
+     * cellules du zoom le plus fin conservent la liste de leurs membres.
+     */
+    private static final class Cell {
+        private int count;
+        private double sumX;
+        private double sumY;
+        private long xorMostSignificant;
+        private long xorLeastSignificant;
+        private Set<UUID> members;
+
+        void add(UUID poiId, Position position, boolean keepMembers) {
+            count++;
+            sumX += position.x();
+            sumY += position.y();
+            xorMostSignificant ^= poiId.getMostSignificantBits();
+            xorLeastSignificant ^= poiId.getLeastSignificantBits();
+            if (keepMembers) {
+                if (members == null) {
+                    members = new HashSet<>(4);
+                }
+                members.add(poiId);
+            }
+        }
+
+        /**
+         * Retire un POI ; retourne true si la cellule est vide
+         */
+        boolean remove(UUID poiId, Position position, boolean keepMembers) {
+            count--;
+            sumX -= position.x();
+            sumY -= position.y();
+            xorMostSignificant ^= poiId.getMostSignificantBits();
+            xorLeastSignificant ^= poiId.getLeastSignificantBits();
+            if (keepMembers && members != null) {
+                members.remove(poiId);
+            }
+            return count == 0;
+        }
+
+        UUID singleMember() {
+            return new UUID(xorMostSignificant, xorLeastSignificant);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.poi.yow_point.services.spatial;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Magasin compact des coordonnées des POIs actifs.
+ *
+ * Chaque POI occupe un "slot" dans des tableaux primitifs parallèles :
+ * identifiant découpé en deux long, latitude et longitude en microdegrés
+ * (int, précision ~0,11 m). L'accès par identifiant passe par une table de
+ * hachage à adressage ouvert qui ne stocke que des numéros de slot : aucun
+ * objet n'est alloué par POI.
+ *
+ * {@link PoiGridIndex} (et les recherches qui l'utilisent) lit les
+ * coordonnées dans ce magasin sous son verrou (voir {@link #lock()}) ; un
+ * slot libéré peut être réattribué à un autre POI. Les autres index
+ * (plus proches voisins, regroupement, densité) gardent leur propre copie.
+ */
+@Component
+public class PoiCoordinateStore {
+
+    /**
+     * Valeur de la table de hachage pour une case vide
+     */
+    private static final int EMPTY = -1;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final double MICRODEGREES = 1_000_000.0;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] idMostSignificant = new long[INITIAL_CAPACITY];
+    private long[] idLeastSignificant = new long[INITIAL_CAPACITY];
+    private int[] latitudes = new int[INITIAL_CAPACITY];
+    private int[] longitudes = new int[INITIAL_CAPACITY];
+    private boolean[] used = new boolean[INITIAL_CAPACITY];
+
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int highWaterMark;
+    private int size;
+
+    /**
+     * Table id -> slot (adressage ouvert, sondage linéaire, taux de
+     * remplissage maximal 1/2)
+     */
+    private int[] table = newTable(INITIAL_CAPACITY * 2);
+
+    /**
+     * Verrou partagé avec les index qui référencent les slots du magasin
+     */
+    public ReentrantReadWriteLock lock() {
+        return lock;
+    }
+
+    public static int toMicrodegrees(double degrees) {
+        return (int) Math.round(degrees * MICRODEGREES);
+    }
+
+    public static double fromMicrodegrees(int microdegrees) {
+        return microdegrees / MICRODEGREES;
+    }
+
+    /**
+     * Nombre de POIs présents
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Vide le magasin (verrou en écriture requis)
+     */
+    public void clear() {
+        Arrays.fill(used, 0, highWaterMark, false);
+        Arrays.fill(table, EMPTY);
+        freeCount = 0;
+        highWaterMark = 0;
+        size = 0;
+    }
+
+    /**
+     * Slot d'un POI, ou -1 s'il est absent (verrou requis)
+     */
+    public int slotOf(UUID poiId) {
+        long msb = poiId.getMostSignificantBits();
+        long lsb = poiId.getLeastSignificantBits();
+        int mask = table.length - 1;
+        for (int i = hash(msb, lsb) & mask;; i = (i + 1) & mask) {
+            int slot = table[i];
+            if (slot == EMPTY) {
+                return -1;
+            }
+            if (idMostSignificant[slot] == msb && idLeastSignificant[slot] == lsb) {
+                return slot;
+            }
+        }
+    }
+
+    /**
+     * Ajoute ou déplace un POI et retourne son slot (verrou en écriture requis)
+     */
+    public int put(UUID poiId, double latitude, double longitude) {
+        int slot = slotOf(poiId);
+        if (slot < 0) {
+            slot = allocateSlot();
+            idMostSignificant[slot] = poiId.getMostSignificantBits();
+            idLeastSignificant[slot] = poiId.getLeastSignificantBits();
+            used[slot] = true;
+            insertInTable(slot);
+            size++;
+        }
+        latitudes[slot] = toMicrodegrees(latitude);
+        longitudes[slot] = toMicrodegrees(longitude);
+        return slot;
+    }
+
+    /**
+     * Retire un POI et retourne le slot libéré, ou -1 s'il était absent
+     * (verrou en écriture requis)
+     */
+    public int remove(UUID poiId) {
+        int slot = slotOf(poiId);
+        if (slot < 0) {
+            return -1;
+        }
+        removeFromTable(slot);
+        used[slot] = false;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        size--;
+        return slot;
+    }
+
+    /**
+     * Vérifie qu'un slot est occupé par le POI donné (verrou requis)
+     */
+    public boolean holds(int slot, UUID poiId) {
+        return slot >= 0 && slot < highWaterMark && used[slot]
+                && idMostSignificant[slot] == poiId.getMostSignificantBits()
+                && idLeastSignificant[slot] == poiId.getLeastSignificantBits();
+    }
+
+    public UUID idAt(int slot) {
+        return new UUID(idMostSignificant[slot], idLeastSignificant[slot]);
+    }
+
+    public double latitude(int slot) {
+        return fromMicrodegrees(latitudes[slot]);
+    }
+
+    public double longitude(int slot) {
+        return fromMicrodegrees(longitudes[slot]);
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highWaterMark == used.length) {
+            int capacity = used.length * 2;
+            idMostSignificant = Arrays.copyOf(idMostSignificant, capacity);
+            idLeastSignificant = Arrays.copyOf(idLeastSignificant, capacity);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            used = Arrays.copyOf(used, capacity);
+            rehash(capacity * 2);
+        }
+        return highWaterMark++;
+    }
+
+    private void insertInTable(int slot) {
+        int mask = table.length - 1;
+        int i = hash(idMostSignificant[slot], idLeastSignificant[slot]) & mask;
+        while (table[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        table[i] = slot;
+    }
+
+    /**
+     * Suppression par décalage arrière (pas de marqueur de suppression)
+     */
+    private void removeFromTable(int slot) {
+        int mask = table.length - 1;
+        int i = hash(idMostSignificant[slot], idLeastSignificant[slot]) & mask;
+        while (table[i] != slot) {
+            i = (i + 1) & mask;
+        }
+        table[i] = EMPTY;
+        for (int j = (i + 1) & mask; table[j] != EMPTY; j = (j + 1) & mask) {
+            int candidate = table[j];
+            int home = hash(idMostSignificant[candidate], idLeastSignificant[candidate]) & mask;
+            // Déplacer l'entrée si sa position d'origine n'est pas dans ]i, j]
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                table[i] = candidate;
+                table[j] = EMPTY;
+                i = j;
+            }
+        }
+    }
+
+    private void rehash(int tableSize) {
+        table = newTable(tableSize);
+        for (int slot = 0; slot < highWaterMark; slot++) {
+            if (used[slot]) {
+                insertInTable(slot);
+            }
+        }
+    }
+
+    private static int[] newTable(int tableSize) {
+        int[] newTable = new int[tableSize];
+        Arrays.fill(newTable, EMPTY);
+        return newTable;
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = msb ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
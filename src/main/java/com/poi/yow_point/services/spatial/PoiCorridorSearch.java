@@ -0,0 +1,161 @@
+package com.poi.yow_point.services.spatial;
+
+import com.poi.yow_point.config.GeometryFactoryProvider;
+import com.poi.yow_point.services.spatial.PoiGridIndex.PoiDistance;
+import com.poi.yow_point.services.spatial.PoiGridIndex.PoiLocation;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineSegment;
+import org.locationtech.jts.geom.LineString;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Recherche des POIs situés à moins d'une distance donnée d'un itinéraire.
+ *
+ * L'itinéraire est découpé en segments ; pour chacun, les candidats de son
+ * emprise élargie sont lus dans l'index en grille, puis la distance au segment
+ * est calculée avec un LineSegment JTS dans une projection équirectangulaire
+ * locale (en kilomètres), précise à l'échelle d'un segment.
+ *
+ * Les longitudes de l'itinéraire sont déroulées (écart d'au plus 180° entre
+ * deux sommets consécutifs) : un segment qui traverse l'antiméridien reste
+ * court. Son emprise, qui peut alors sortir de [-180, 180], est découpée en
+ * emprises dans [-180, 180] pour l'index en grille.
+ */
+@Component
+public class PoiCorridorSearch {
+
+    /**
+     * Nombre maximal de sommets acceptés pour un itinéraire
+     */
+    public static final int MAX_VERTICES = 20_000;
+
+    private final PoiGridIndex gridIndex;
+    private final GeometryFactory geometryFactory;
+
+    public PoiCorridorSearch(PoiGridIndex gridIndex, GeometryFactoryProvider geometryFactoryProvider) {
+        this.gridIndex = gridIndex;
+        this.geometryFactory = geometryFactoryProvider.provideFactory();
+    }
+
+    /**
+     * POI retenu : distance à l'itinéraire et abscisse curviligne de sa
+     * projection sur l'itinéraire
+     */
+    private record Match(UUID poiId, double distanceKm, double routeOffsetKm) {
+    }
+
+    /**
+     * Retourne les POIs à moins de bufferKm de l'itinéraire, sans doublon, dans
+     * l'ordre de leur projection le long de l'itinéraire
+     */
+    public List<PoiDistance> findAlongRoute(List<Coordinate> vertices, double bufferKm) {
+        if (vertices.size() > MAX_VERTICES) {
+            throw new IllegalArgumentException("Route has more than " + MAX_VERTICES + " vertices");
+        }
+        if (vertices.size() == 1) {
+            vertices = List.of(vertices.get(0), vertices.get(0));
+        }
+        LineString route = geometryFactory.createLineString(unwrapLongitudes(vertices));
+
+        Map<UUID, Match> matches = new HashMap<>();
+        double routeOffsetKm = 0.0;
+        for (int i = 0; i < route.getNumPoints() - 1; i++) {
+            Coordinate start = route.getCoordinateN(i);
+            Coordinate end = route.getCoordinateN(i + 1);
+            routeOffsetKm += searchSegment(start, end, bufferKm, routeOffsetKm, matches);
+        }
+
+        return matches.values().stream()
+                .sorted(Comparator.comparingDouble(Match::routeOffsetKm)
+                        .thenComparingDouble(Match::distanceKm))
+                .map(match -> new PoiDistance(match.poiId(), match.distanceKm()))
+                .toList();
+    }
+
+    /**
+     * Sommets dont chaque longitude est décalée d'un multiple de 360° pour
+     * rester à moins de 180° de la précédente
+     */
+    static Coordinate[] unwrapLongitudes(List<Coordinate> vertices) {
+        Coordinate[] unwrapped = new Coordinate[vertices.size()];
+        for (int i = 0; i < unwrapped.length; i++) {
+            Coordinate vertex = vertices.get(i);
+            double longitude = i == 0
+                    ? vertex.x
+                    : unwrapped[i - 1].x + Math.IEEEremainder(vertex.x - unwrapped[i - 1].x, 360.0);
+            unwrapped[i] = new Coordinate(longitude, vertex.y);
+        }
+        return unwrapped;
+    }
+
+    /**
+     * Cherche les POIs proches d'un segment et retourne la longueur du segment
+     */
+    private double searchSegment(Coordinate start, Coordinate end, double bufferKm, double segmentOffsetKm,
+            Map<UUID, Match> matches) {
+        // Projection locale : origine au début du segment, échelle des longitudes à mi-segment
+        double kmPerDegreeLon = GeoUtils.KM_PER_DEGREE * Math.cos(Math.toRadians((start.y + end.y) / 2));
+        LineSegment segment = new LineSegment(
+                0.0, 0.0,
+                (end.x - start.x) * kmPerDegreeLon, (end.y - start.y) * GeoUtils.KM_PER_DEGREE);
+
+        double latDelta = GeoUtils.latitudeDelta(bufferKm);
+        double lonDelta = Math.max(
+                GeoUtils.longitudeDelta(start.y, bufferKm),
+                GeoUtils.longitudeDelta(end.y, bufferKm));
+        List<PoiLocation> candidates = findCandidates(
+                Math.min(start.y, end.y) - latDelta,
+                Math.max(start.y, end.y) + latDelta,
+                Math.min(start.x, end.x) - lonDelta,
+                Math.max(start.x, end.x) + lonDelta);
+
+        double length = segment.getLength();
+        double middleLongitude = (start.x + end.x) / 2;
+        for (PoiLocation candidate : candidates) {
+            // Longitude du candidat ramenée à moins de 180° du segment
+            double longitude = middleLongitude + Math.IEEEremainder(candidate.longitude() - middleLongitude, 360.0);
+            Coordinate point = new Coordinate(
+                    (longitude - start.x) * kmPerDegreeLon,
+                    (candidate.latitude() - start.y) * GeoUtils.KM_PER_DEGREE);
+            double distance = segment.distance(point);
+            if (distance > bufferKm) {
+                continue;
+            }
+            Match previous = matches.get(candidate.poiId());
+            if (previous == null || distance < previous.distanceKm()) {
+                double fraction = length > 0 ? Math.max(0.0, Math.min(1.0, segment.projectionFactor(point))) : 0.0;
+                matches.put(candidate.poiId(), new Match(candidate.poiId(), distance,
+                        segmentOffsetKm + fraction * length));
+            }
+        }
+        return length;
+    }
+
+    /**
+     * POIs d'une emprise dont les longitudes (déroulées) peuvent sortir de
+     * [-180, 180] : chaque partie ramenée dans [-180, 180] est lue séparément
+     */
+    private List<PoiLocation> findCandidates(double minLatitude, double maxLatitude,
+            double minLongitude, double maxLongitude) {
+        if (maxLongitude - minLongitude >= 360.0) {
+            return gridIndex.findWithinBoundingBox(minLatitude, maxLatitude, -180.0, 180.0);
+        }
+        List<PoiLocation> candidates = new ArrayList<>();
+        for (double shift = -360.0; shift <= 360.0; shift += 360.0) {
+            double from = Math.max(-180.0, minLongitude + shift);
+            double to = Math.min(180.0, maxLongitude + shift);
+            if (from <= to) {
+                candidates.addAll(gridIndex.findWithinBoundingBox(minLatitude, maxLatitude, from, to));
+            }
+        }
+        return candidates;
+    }
+}
@@ -0,0 +1,485 @@
+package com.poi.yow_point.services.spatial;
+
+import com.poi.yow_point.models.PoiAccessCount;
+import com.poi.yow_point.models.PointOfInterest;
+import com.poi.yow_point.repositories.PoiAccessLogRepository;
+import com.poi.yow_point.services.events.PoiChangeEvent;
+import com.poi.yow_point.services.events.PoiChangeListener;
+import com.poi.yow_point.services.events.PoiChangeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Grille de densité multi-résolution des POIs actifs (cartes de chaleur).
+ *
+ * La cellule du niveau 0 mesure 1/1024 de degré (~110 m) ; chaque niveau
+ * double la taille des cellules, jusqu'à 64 degrés. Chaque cellule agrège le
+ * nombre de POIs et le nombre d'accès journalisés, au total et par type de
+ * POI. Une écriture ne touche qu'une cellule par niveau ; une requête ne lit
+ * que les cellules de l'emprise.
+ *
+ * Les nombres d'accès sont lus dans poi_access_log au démarrage puis
+ * incrémentés à chaque log créé. Les accès enregistrés pendant une relecture
+ * sont conservés à part et réappliqués sur l'instantané lu : seul un log
+ * validé au moment même où la requête démarre peut être compté deux fois.
+ */
+@Slf4j
+@Component
+public class PoiDensityGrid implements PoiChangeListener {
+
+    /**
+     * Taille des cellules du niveau le plus fin, en degrés
+     */
+    public static final double BASE_CELL_DEGREES = 1.0 / 1024;
+
+    public static final int MAX_LEVEL = 16;
+
+    /**
+     * Nombre maximal de cellules couvertes par une requête
+     */
+    public static final int MAX_CELLS = 250_000;
+
+    private static final int ROWS = 180 * 1024;
+    private static final int COLUMNS = 360 * 1024;
+
+    /**
+     * Identifiant de type des POIs sans type (comptés uniquement dans les totaux)
+     */
+    private static final int NO_TYPE = -1;
+
+    private final PoiAccessLogRepository accessLogRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Placement> placements = new HashMap<>();
+    private final Map<UUID, Long> accessCounts = new HashMap<>();
+    private final Map<String, Integer> typeIds = new HashMap<>();
+    private final List<Map<Long, Cell>> levels = new ArrayList<>();
+
+    /**
+     * Accès enregistrés depuis le début de chaque relecture en cours
+     */
+    private final List<Map<UUID, Long>> pendingAccesses = new ArrayList<>();
+
+    private volatile boolean ready;
+
+    public PoiDensityGrid(PoiAccessLogRepository accessLogRepository) {
+        this.accessLogRepository = accessLogRepository;
+        for (int level = 0; level <= MAX_LEVEL; level++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Cellule du niveau le plus fin et type d'un POI placé dans la grille
+     */
+    private record Placement(int row, int col, int typeId) {
+    }
+
+    /**
+     * Cellule non vide retournée pour une emprise
+     */
+    public record DensityCell(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+            int poiCount, long accessCount) {
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            placements.clear();
+            levels.forEach(Map::clear);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void load(PointOfInterest poi) {
+        upsert(poi);
+    }
+
+    @Override
+    public void loaded() {
+        ready = true;
+        log.info("Density grid ready with {} POIs", placements.size());
+        reloadAccessCounts().subscribe(
+                null,
+                error -> log.error("Error loading POI access counts: {}", error.getMessage()));
+    }
+
+    @Override
+    public void onChange(PoiChangeEvent event) {
+        if (event.current() != null) {
+            upsert(event.current());
+            return;
+        }
+        remove(event.poiId());
+        if (event.type() == PoiChangeType.DELETED) {
+            // Les logs d'accès d'un POI supprimé sont supprimés en cascade
+            lock.writeLock().lock();
+            try {
+                accessCounts.remove(event.poiId());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Relit le nombre d'accès de chaque POI dans poi_access_log et remplace les
+     * agrégats d'accès de la grille
+     */
+    public Mono<Void> reloadAccessCounts() {
+        return Mono.defer(() -> {
+            // Enregistré avant la requête : reçoit tous les accès postérieurs à son instantané
+            Map<UUID, Long> pending = new HashMap<>();
+            lock.writeLock().lock();
+            try {
+                pendingAccesses.add(pending);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return accessLogRepository.countAccessesGroupByPoiId()
+                    .collectMap(PoiAccessCount::getPoiId, PoiAccessCount::getAccessCount)
+                    .doOnNext(counts -> replaceAccessCounts(counts, pending))
+                    .doFinally(signal -> removePendingAccesses(pending))
+                    .then();
+        });
+    }
+
+    /**
+     * Ajoute (ou retire, si delta est négatif) des accès à un POI
+     */
+    public void recordAccess(UUID poiId, long delta) {
+        if (poiId == null || delta == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (Map<UUID, Long> pending : pendingAccesses) {
+                pending.merge(poiId, delta, Long::sum);
+            }
+            addAccesses(poiId, delta);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applique des accès aux compteurs et aux cellules (verrou en écriture requis)
+     */
+    private void addAccesses(UUID poiId, long delta) {
+        long total = accessCounts.merge(poiId, delta, Long::sum);
+        if (total <= 0) {
+            accessCounts.remove(poiId);
+            delta -= total;
+        }
+        Placement placement = placements.get(poiId);
+        if (placement != null && delta != 0) {
+            for (int level = 0; level <= MAX_LEVEL; level++) {
+                levels.get(level).get(key(placement.row() >> level, placement.col() >> level))
+                        .addAccesses(placement.typeId(), delta);
+            }
+        }
+    }
+
+    /**
+     * Taille effective des cellules pour une taille demandée : la plus petite
+     * taille de la grille supérieure ou égale (bornée à la taille maximale)
+     */
+    public static double cellSizeFor(double requestedDegrees) {
+        return BASE_CELL_DEGREES * (1 << levelFor(requestedDegrees));
+    }
+
+    /**
+     * Retourne les cellules non vides de l'emprise, pour tous les POIs ou pour
+     * un type de POI
+     */
+    public List<DensityCell> find(BoundingBox bbox, double cellSizeDegrees, String poiType) {
+        int level = levelFor(cellSizeDegrees);
+        int rowMin = rowIndex(bbox.minLatitude()) >> level;
+        int rowMax = rowIndex(bbox.maxLatitude()) >> level;
+        int colMin = columnIndex(bbox.minLongitude()) >> level;
+        int colMax = columnIndex(bbox.maxLongitude()) >> level;
+        int lastCol = (COLUMNS - 1) >> level;
+
+        long rows = rowMax - rowMin + 1;
+        long cellsInRange = bbox.crossesAntimeridian()
+                ? rows * (lastCol - colMin + 1 + colMax + 1)
+                : rows * (colMax - colMin + 1);
+        if (cellsInRange > MAX_CELLS) {
+            throw new IllegalArgumentException("Bounding box covers more than " + MAX_CELLS
+                    + " cells, increase the cell size");
+        }
+
+        List<DensityCell> results = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            int typeId = NO_TYPE;
+            if (poiType != null) {
+                Integer id = typeIds.get(poiType);
+                if (id == null) {
+                    return results;
+                }
+                typeId = id;
+            }
+            if (bbox.crossesAntimeridian()) {
+                collect(level, rowMin, rowMax, colMin, lastCol, typeId, results);
+                collect(level, rowMin, rowMax, 0, colMax, typeId, results);
+            } else {
+                collect(level, rowMin, rowMax, colMin, colMax, typeId, results);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    private void collect(int level, int rowMin, int rowMax, int colMin, int colMax, int typeId,
+            List<DensityCell> results) {
+        Map<Long, Cell> cells = levels.get(level);
+        long cellsInRange = (long) (rowMax - rowMin + 1) * (colMax - colMin + 1);
+        if (cellsInRange > cells.size()) {
+            // Emprise large : parcourir les cellules occupées plutôt que la plage
+            for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                int row = (int) (entry.getKey() >>> 32);
+                int col = (int) (entry.getKey() & 0xFFFFFFFFL);
+                if (row >= rowMin && row <= rowMax && col >= colMin && col <= colMax) {
+                    emit(entry.getValue(), level, row, col, typeId, results);
+                }
+            }
+        } else {
+            for (int row = rowMin; row <= rowMax; row++) {
+                for (int col = colMin; col <= colMax; col++) {
+                    Cell cell = cells.get(key(row, col));
+                    if (cell != null) {
+                        emit(cell, level, row, col, typeId, results);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void emit(Cell cell, int level, int row, int col, int typeId, List<DensityCell> results) {
+        int count = typeId == NO_TYPE ? cell.count : cell.count(typeId);
+        if (count == 0) {
+            return;
+        }
+        long accesses = typeId == NO_TYPE ? cell.accesses : cell.accesses(typeId);
+        double size = BASE_CELL_DEGREES * (1 << level);
+        double minLatitude = row * size - 90.0;
+        double minLongitude = col * size - 180.0;
+        results.add(new DensityCell(minLatitude, minLongitude,
+                Math.min(90.0, minLatitude + size), Math.min(180.0, minLongitude + size),
+                count, accesses));
+    }
+
+    /**
+     * Ajoute, déplace ou retire un POI selon son état (actif, coordonnées)
+     */
+    private void upsert(PointOfInterest poi) {
+        if (poi == null || poi.getPoiId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(poi.getIsActive()) || poi.getLatitude() == null || poi.getLongitude() == null) {
+            remove(poi.getPoiId());
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            Placement placement = new Placement(
+                    rowIndex(poi.getLatitude().doubleValue()),
+                    columnIndex(poi.getLongitude().doubleValue()),
+                    typeId(poi.getPoiType()));
+            Placement previous = placements.put(poi.getPoiId(), placement);
+            if (placement.equals(previous)) {
+                return;
+            }
+            long accesses = accessCounts.getOrDefault(poi.getPoiId(), 0L);
+            if (previous != null) {
+                removeFromLevels(previous, accesses);
+            }
+            for (int level = 0; level <= MAX_LEVEL; level++) {
+                levels.get(level)
+                        .computeIfAbsent(key(placement.row() >> level, placement.col() >> level), k -> new Cell())
+                        .add(placement.typeId(), accesses);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(UUID poiId) {
+        if (poiId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Placement previous = placements.remove(poiId);
+            if (previous != null) {
+                removeFromLevels(previous, accessCounts.getOrDefault(poiId, 0L));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remplace les compteurs d'accès par l'instantané lu, puis réapplique les
+     * accès enregistrés depuis le début de sa lecture
+     */
+    private void replaceAccessCounts(Map<UUID, Long> counts, Map<UUID, Long> pending) {
+        lock.writeLock().lock();
+        try {
+            pendingAccesses.removeIf(candidate -> candidate == pending);
+            accessCounts.clear();
+            accessCounts.putAll(counts);
+            for (Map<Long, Cell> cells : levels) {
+                cells.values().forEach(Cell::clearAccesses);
+            }
+            for (Map.Entry<UUID, Placement> entry : placements.entrySet()) {
+                Long accesses = accessCounts.get(entry.getKey());
+                if (accesses == null) {
+                    continue;
+                }
+                Placement placement = entry.getValue();
+                for (int level = 0; level <= MAX_LEVEL; level++) {
+                    levels.get(level).get(key(placement.row() >> level, placement.col() >> level))
+                            .addAccesses(placement.typeId(), accesses);
+                }
+            }
+            pending.forEach((poiId, delta) -> {
+                if (delta != 0) {
+                    addAccesses(poiId, delta);
+                }
+            });
+            log.info("Density grid loaded access counts for {} POIs ({} updated during the load)",
+                    accessCounts.size(), pending.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removePendingAccesses(Map<UUID, Long> pending) {
+        lock.writeLock().lock();
+        try {
+            pendingAccesses.removeIf(candidate -> candidate == pending);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeFromLevels(Placement placement, long accesses) {
+        for (int level = 0; level <= MAX_LEVEL; level++) {
+            Map<Long, Cell> cells = levels.get(level);
+            long key = key(placement.row() >> level, placement.col() >> level);
+            Cell cell = cells.get(key);
+            if (cell != null && cell.remove(placement.typeId(), accesses)) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private int typeId(String poiType) {
+        if (poiType == null) {
+            return NO_TYPE;
+        }
+        return typeIds.computeIfAbsent(poiType, type -> typeIds.size());
+    }
+
+    private static int levelFor(double cellSizeDegrees) {
+        int level = 0;
+        while (level < MAX_LEVEL && BASE_CELL_DEGREES * (1 << level) < cellSizeDegrees) {
+            level++;
+        }
+        return level;
+    }
+
+    private static int rowIndex(double latitude) {
+        return Math.max(0, Math.min(ROWS - 1, (int) Math.floor((latitude + 90.0) / BASE_CELL_DEGREES)));
+    }
+
+    private static int columnIndex(double longitude) {
+        return Math.max(0, Math.min(COLUMNS - 1, (int) Math.floor((longitude + 180.0) / BASE_CELL_DEGREES)));
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | col;
+    }
+
+    /**
+     * Agrégat d'une cellule : totaux et compteurs par identifiant de type
+     */
+    private static final class Cell {
+        private int count;
+        private long accesses;
+        private int[] typeCounts = new int[0];
+        private long[] typeAccesses = new long[0];
+
+        void add(int typeId, long accessCount) {
+            count++;
+            accesses += accessCount;
+            if (typeId != NO_TYPE) {
+                ensureType(typeId);
+                typeCounts[typeId]++;
+                typeAccesses[typeId] += accessCount;
+            }
+        }
+
+        /**
+         * Retire un POI ; retourne true si la cellule est vide
+         */
+        boolean remove(int typeId, long accessCount) {
+            count--;
+            accesses -= accessCount;
+            if (typeId != NO_TYPE) {
+                typeCounts[typeId]--;
+                typeAccesses[typeId] -= accessCount;
+            }
+            return count == 0;
+        }
+
+        void addAccesses(int typeId, long delta) {
+            accesses += delta;
+            if (typeId != NO_TYPE) {
+                typeAccesses[typeId] += delta;
+            }
+        }
+
+        void clearAccesses() {
+            accesses = 0;
+            Arrays.fill(typeAccesses, 0L);
+        }
+
+        int count(int typeId) {
+            return typeId < typeCounts.length ? typeCounts[typeId] : 0;
+        }
+
+        long accesses(int typeId) {
+            return typeId < typeAccesses.length ? typeAccesses[typeId] : 0L;
+        }
+
+        private void ensureType(int typeId) {
+            if (typeId >= typeCounts.length) {
+                int length = Math.max(typeId + 1, typeCounts.length * 2);
+                typeCounts = Arrays.copyOf(typeCounts, length);
+                typeAccesses = Arrays.copyOf(typeAccesses, length);
+            }
+        }
+    }
+}
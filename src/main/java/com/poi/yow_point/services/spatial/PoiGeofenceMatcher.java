@@ -0,0 +1,157 @@
+package com.poi.yow_point.services.spatial;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.poi.yow_point.dto.DevicePositionDTO;
+import com.poi.yow_point.dto.GeofenceEventDTO;
+import com.poi.yow_point.services.spatial.PoiGridIndex.PoiDistance;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Détection des entrées et sorties d'appareils dans les zones des POIs.
+ *
+ * La zone d'un POI est un cercle autour de sa position ; un appareil déjà
+ * dans une zone n'en sort qu'au-delà du rayon augmenté d'une marge, pour
+ * éviter les transitions répétées en bordure. Les POIs dans lesquels se
+ * trouve chaque appareil sont conservés dans un cache borné, avec expiration
+ * après inactivité : seuls les appareils présents dans au moins une zone y
+ * occupent une entrée.
+ *
+ * Un appareil retiré du cache sans être sorti de ses zones (inactivité ou
+ * dépassement de la taille maximale) reçoit une transition EXIT pour chacune,
+ * à sa dernière position connue, sur le flux qui a signalé son entrée.
+ */
+@Component
+public class PoiGeofenceMatcher {
+
+    private final PoiGridIndex gridIndex;
+    private final double enterRadiusKm;
+    private final double exitRadiusKm;
+    private final Cache<String, DeviceState> insideByDevice;
+
+    /**
+     * POIs dans lesquels se trouve un appareil, dernière position connue et
+     * destination des sorties émises si l'entrée est retirée du cache
+     */
+    private record DeviceState(Set<UUID> inside, DevicePositionDTO lastPosition,
+            Consumer<GeofenceEventDTO> evictionExits) {
+    }
+
+    public PoiGeofenceMatcher(PoiGridIndex gridIndex,
+            @Value("${poi.geofence.radius-meters:100}") double radiusMeters,
+            @Value("${poi.geofence.exit-margin-meters:20}") double exitMarginMeters,
+            @Value("${poi.geofence.max-devices:1000000}") long maxDevices,
+            @Value("${poi.geofence.device-idle-minutes:30}") long deviceIdleMinutes) {
+        this.gridIndex = gridIndex;
+        this.enterRadiusKm = radiusMeters / 1000.0;
+        this.exitRadiusKm = (radiusMeters + exitMarginMeters) / 1000.0;
+        this.insideByDevice = Caffeine.newBuilder()
+                .maximumSize(maxDevices)
+                .expireAfterAccess(Duration.ofMinutes(deviceIdleMinutes))
+                // Expiration sans attendre une autre écriture
+                .scheduler(Scheduler.systemScheduler())
+                .removalListener((String deviceId, DeviceState state, RemovalCause cause) -> {
+                    if (cause.wasEvicted() && state != null) {
+                        for (UUID poiId : state.inside()) {
+                            state.evictionExits().accept(
+                                    event(state.lastPosition(), poiId, GeofenceTransition.EXIT, null, Instant.now()));
+                        }
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Transforme un flux de positions en flux de transitions ENTER / EXIT,
+     * y compris les sorties des appareils de ce flux retirés du cache. Les
+     * positions invalides sont ignorées.
+     */
+    public Flux<GeofenceEventDTO> match(Flux<DevicePositionDTO> positions) {
+        return Flux.defer(() -> {
+            Sinks.Many<GeofenceEventDTO> evicted = Sinks.many().unicast().onBackpressureBuffer();
+            // Les retraits du cache sont notifiés depuis plusieurs threads
+            Consumer<GeofenceEventDTO> evictionExits = event -> {
+                synchronized (evicted) {
+                    evicted.tryEmitNext(event);
+                }
+            };
+            Flux<GeofenceEventDTO> transitions = positions
+                    .filter(PoiGeofenceMatcher::isValid)
+                    .concatMapIterable(position -> update(position, evictionExits))
+                    .doFinally(signal -> {
+                        synchronized (evicted) {
+                            evicted.tryEmitComplete();
+                        }
+                    });
+            return Flux.merge(transitions, evicted.asFlux());
+        });
+    }
+
+    /**
+     * Met à jour l'état d'un appareil avec une nouvelle position et retourne
+     * les transitions qui en résultent
+     */
+    private List<GeofenceEventDTO> update(DevicePositionDTO position, Consumer<GeofenceEventDTO> evictionExits) {
+        if (!gridIndex.isReady()) {
+            return List.of();
+        }
+        List<PoiDistance> nearby = gridIndex.findWithinRadius(
+                position.getLatitude(), position.getLongitude(), exitRadiusKm);
+
+        List<GeofenceEventDTO> events = new ArrayList<>();
+        insideByDevice.asMap().compute(position.getDeviceId(), (deviceId, previous) -> {
+            Set<UUID> before = previous != null ? previous.inside() : Set.of();
+            Set<UUID> inside = new HashSet<>();
+            for (PoiDistance hit : nearby) {
+                boolean wasInside = before.contains(hit.poiId());
+                if (wasInside || hit.distanceKm() <= enterRadiusKm) {
+                    inside.add(hit.poiId());
+                    if (!wasInside) {
+                        events.add(event(position, hit.poiId(), GeofenceTransition.ENTER, hit.distanceKm(),
+                                position.getTimestamp()));
+                    }
+                }
+            }
+            for (UUID poiId : before) {
+                if (!inside.contains(poiId)) {
+                    events.add(event(position, poiId, GeofenceTransition.EXIT, null, position.getTimestamp()));
+                }
+            }
+            return inside.isEmpty() ? null : new DeviceState(Set.copyOf(inside), position, evictionExits);
+        });
+        return events;
+    }
+
+    private static boolean isValid(DevicePositionDTO position) {
+        return position.getDeviceId() != null
+                && position.getLatitude() != null && Math.abs(position.getLatitude()) <= 90.0
+                && position.getLongitude() != null && Math.abs(position.getLongitude()) <= 180.0;
+    }
+
+    private static GeofenceEventDTO event(DevicePositionDTO position, UUID poiId, GeofenceTransition transition,
+            Double distanceKm, Instant timestamp) {
+        return GeofenceEventDTO.builder()
+                .deviceId(position.getDeviceId())
+                .poiId(poiId)
+                .transition(transition)
+                .latitude(position.getLatitude())
+                .longitude(position.getLongitude())
+                .distanceKm(distanceKm)
+                .timestamp(timestamp != null ? timestamp : Instant.now())
+                .build();
+    }
+}
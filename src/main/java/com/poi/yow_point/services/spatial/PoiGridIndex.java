@@ -0,0 +1,334 @@
+package com.poi.yow_point.services.spatial;
+
+import com.poi.yow_point.models.PointOfInterest;
+import com.poi.yow_point.services.events.PoiChangeEvent;
+import com.poi.yow_point.services.events.PoiChangeListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index spatial en mémoire des POIs actifs, basé sur une grille uniforme de
+ * cellules en degrés. Les identifiants et coordonnées sont conservés dans le
+ * {@link PoiCoordinateStore} ; chaque cellule contient la liste des slots du
+ * magasin qu'elle couvre. L'index alimente le magasin et partage son verrou.
+ */
+@Slf4j
+@Component
+public class PoiGridIndex implements PoiChangeListener {
+
+    /**
+     * Taille d'une cellule en degrés (~5,5 km à l'équateur)
+     */
+    static final double CELL_SIZE_DEGREES = 0.05;
+
+    private static final int ROWS = (int) Math.ceil(180.0 / CELL_SIZE_DEGREES);
+    private static final int COLUMNS = (int) Math.ceil(360.0 / CELL_SIZE_DEGREES);
+
+    private final PoiCoordinateStore store;
+    private final ReentrantReadWriteLock lock;
+    private final Map<Long, IntBag> cells = new HashMap<>();
+
+    private volatile boolean ready;
+
+    public PoiGridIndex(PoiCoordinateStore store) {
+        this.store = store;
+        this.lock = store.lock();
+    }
+
+    /**
+     * Résultat d'une recherche : identifiant du POI et distance exacte
+     */
+    public record PoiDistance(UUID poiId, double distanceKm) {
+    }
+
+    /**
+     * Position d'un POI indexé
+     */
+    public record PoiLocation(UUID poiId, double latitude, double longitude) {
+    }
+
+    /**
+     * Indique si l'index a été entièrement chargé
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void reset() {
+        clear();
+    }
+
+    @Override
+    public void load(PointOfInterest poi) {
+        upsert(poi);
+    }
+
+    @Override
+    public void loaded() {
+        markReady();
+    }
+
+    @Override
+    public void onChange(PoiChangeEvent event) {
+        if (event.current() != null) {
+            upsert(event.current());
+        } else {
+            remove(event.poiId());
+        }
+    }
+
+    /**
+     * Vide l'index avant un rechargement complet
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            store.clear();
+            cells.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marque l'index comme prêt à servir les requêtes
+     */
+    public void markReady() {
+        ready = true;
+        log.info("Spatial grid index ready with {} POIs", size());
+    }
+
+    /**
+     * Nombre de POIs indexés
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return store.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ajoute, déplace ou retire un POI selon son état (actif, coordonnées)
+     */
+    public void upsert(PointOfInterest poi) {
+        if (poi == null || poi.getPoiId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(poi.getIsActive()) || poi.getLatitude() == null || poi.getLongitude() == null) {
+            remove(poi.getPoiId());
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            int existing = store.slotOf(poi.getPoiId());
+            long previousCellKey = existing >= 0 ? cellKey(existing) : -1;
+            int slot = store.put(poi.getPoiId(), poi.getLatitude().doubleValue(), poi.getLongitude().doubleValue());
+            long cellKey = cellKey(slot);
+            if (previousCellKey != cellKey) {
+                if (existing >= 0) {
+                    removeFromCell(previousCellKey, slot);
+                }
+                cells.computeIfAbsent(cellKey, key -> new IntBag()).add(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retire un POI de l'index
+     */
+    public void remove(UUID poiId) {
+        if (poiId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = store.slotOf(poiId);
+            if (slot >= 0) {
+                removeFromCell(cellKey(slot), slot);
+                store.remove(poiId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Trouve les POIs situés dans un rayon donné, triés par distance croissante
+     */
+    public List<PoiDistance> findWithinRadius(double latitude, double longitude, double radiusKm) {
+        double latDelta = GeoUtils.latitudeDelta(radiusKm);
+        double lonDelta = GeoUtils.longitudeDelta(latitude, radiusKm);
+
+        int rowMin = row(Math.max(-90.0, latitude - latDelta));
+        int rowMax = row(Math.min(90.0, latitude + latDelta));
+        int colMin = (int) Math.floor((longitude - lonDelta + 180.0) / CELL_SIZE_DEGREES);
+        int colMax = (int) Math.floor((longitude + lonDelta + 180.0) / CELL_SIZE_DEGREES);
+        if (colMax - colMin + 1 >= COLUMNS) {
+            colMin = 0;
+            colMax = COLUMNS - 1;
+        }
+
+        List<PoiDistance> results = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            long cellsInRange = (long) (rowMax - rowMin + 1) * (colMax - colMin + 1);
+            if (cellsInRange > cells.size()) {
+                // Rayon très large : parcourir les cellules occupées plutôt que la plage
+                for (Map.Entry<Long, IntBag> entry : cells.entrySet()) {
+                    int row = (int) (entry.getKey() / COLUMNS);
+                    if (row >= rowMin && row <= rowMax) {
+                        collect(entry.getValue(), latitude, longitude, radiusKm, results);
+                    }
+                }
+            } else {
+                for (int row = rowMin; row <= rowMax; row++) {
+                    for (int col = colMin; col <= colMax; col++) {
+                        IntBag bag = cells.get((long) row * COLUMNS + Math.floorMod(col, COLUMNS));
+                        if (bag != null) {
+                            collect(bag, latitude, longitude, radiusKm, results);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        results.sort(Comparator.comparingDouble(PoiDistance::distanceKm));
+        return results;
+    }
+
+    /**
+     * Trouve les POIs situés dans une emprise lat/lon (sans traversée de
+     * l'antiméridien)
+     */
+    public List<PoiLocation> findWithinBoundingBox(double minLatitude, double maxLatitude,
+            double minLongitude, double maxLongitude) {
+        int rowMin = row(Math.max(-90.0, minLatitude));
+        int rowMax = row(Math.min(90.0, maxLatitude));
+        int colMin = column(Math.max(-180.0, minLongitude));
+        int colMax = column(Math.min(180.0, maxLongitude));
+
+        List<PoiLocation> results = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            long cellsInRange = (long) (rowMax - rowMin + 1) * (colMax - colMin + 1);
+            if (cellsInRange > cells.size()) {
+                for (Map.Entry<Long, IntBag> entry : cells.entrySet()) {
+                    int row = (int) (entry.getKey() / COLUMNS);
+                    int col = (int) (entry.getKey() % COLUMNS);
+                    if (row >= rowMin && row <= rowMax && col >= colMin && col <= colMax) {
+                        collect(entry.getValue(), minLatitude, maxLatitude, minLongitude, maxLongitude, results);
+                    }
+                }
+            } else {
+                for (int row = rowMin; row <= rowMax; row++) {
+                    for (int col = colMin; col <= colMax; col++) {
+                        IntBag bag = cells.get((long) row * COLUMNS + col);
+                        if (bag != null) {
+                            collect(bag, minLatitude, maxLatitude, minLongitude, maxLongitude, results);
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return results;
+    }
+
+    private void collect(IntBag bag, double minLatitude, double maxLatitude, double minLongitude,
+            double maxLongitude, List<PoiLocation> results) {
+        for (int i = 0; i < bag.size; i++) {
+            int slot = bag.values[i];
+            double latitude = store.latitude(slot);
+            double longitude = store.longitude(slot);
+            if (latitude >= minLatitude && latitude <= maxLatitude
+                    && longitude >= minLongitude && longitude <= maxLongitude) {
+                results.add(new PoiLocation(store.idAt(slot), latitude, longitude));
+            }
+        }
+    }
+
+    private void collect(IntBag bag, double latitude, double longitude, double radiusKm, List<PoiDistance> results) {
+        for (int i = 0; i < bag.size; i++) {
+            int slot = bag.values[i];
+            double distance = GeoUtils.haversineKm(latitude, longitude, store.latitude(slot), store.longitude(slot));
+            if (distance <= radiusKm) {
+                results.add(new PoiDistance(store.idAt(slot), distance));
+            }
+        }
+    }
+
+    private void removeFromCell(long cellKey, int slot) {
+        IntBag bag = cells.get(cellKey);
+        if (bag != null) {
+            bag.remove(slot);
+            if (bag.size == 0) {
+                cells.remove(cellKey);
+            }
+        }
+    }
+
+    private static int row(double latitude) {
+        return Math.min(ROWS - 1, (int) Math.floor((latitude + 90.0) / CELL_SIZE_DEGREES));
+    }
+
+    private static int column(double longitude) {
+        return Math.min(COLUMNS - 1, (int) Math.floor((longitude + 180.0) / CELL_SIZE_DEGREES));
+    }
+
+    private long cellKey(int slot) {
+        return cellKey(store.latitude(slot), store.longitude(slot));
+    }
+
+    /**
+     * Cellule d'une position ; la longitude 180 est rangée dans la dernière
+     * colonne, avec les longitudes qui la précèdent, comme dans
+     * findWithinBoundingBox
+     */
+    private static long cellKey(double latitude, double longitude) {
+        return (long) row(latitude) * COLUMNS + column(longitude);
+    }
+
+    /**
+     * Liste d'entiers extensible, sans boxing
+     */
+    private static final class IntBag {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void remove(int value) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == value) {
+                    values[i] = values[--size];
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.poi.yow_point.services.spatial;
+
+import com.poi.yow_point.config.GeometryFactoryProvider;
+import com.poi.yow_point.models.PointOfInterest;
+import com.poi.yow_point.services.events.PoiChangeEvent;
+import com.poi.yow_point.services.events.PoiChangeListener;
+import com.poi.yow_point.services.spatial.PoiGridIndex.PoiDistance;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.index.strtree.AbstractNode;
+import org.locationtech.jts.index.strtree.Boundable;
+import org.locationtech.jts.index.strtree.ItemBoundable;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * Index des plus proches voisins basé sur un STRtree JTS.
+ *
+ * Le STRtree est immuable une fois construit : les écritures sont appliquées
+ * sur une petite couche de modifications (overlay) parcourue en force brute,
+ * et l'arbre est reconstruit en arrière-plan quand cette couche grossit.
+ * Chaque rechargement complet ouvre une nouvelle époque : une reconstruction
+ * lancée avant le rechargement est abandonnée à sa fin.
+ */
+@Slf4j
+@Component
+public class PoiNearestIndex implements PoiChangeListener {
+
+    /**
+     * Capacité des noeuds du STRtree
+     */
+    private static final int NODE_CAPACITY = 16;
+
+    /**
+     * Nombre de modifications en attente déclenchant une reconstruction
+     */
+    private static final int REBUILD_THRESHOLD = 512;
+
+    private final GeometryFactory geometryFactory;
+    private final Executor rebuildExecutor;
+
+    private final Map<UUID, Candidate> entries = new HashMap<>();
+    private Set<UUID> changedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+    private long epoch;
+
+    private volatile View view;
+    private volatile boolean ready;
+
+    @Autowired
+    public PoiNearestIndex(GeometryFactoryProvider geometryFactoryProvider) {
+        this(geometryFactoryProvider, task -> Schedulers.boundedElastic().schedule(task));
+    }
+
+    PoiNearestIndex(GeometryFactoryProvider geometryFactoryProvider, Executor rebuildExecutor) {
+        this.geometryFactory = geometryFactoryProvider.provideFactory();
+        this.rebuildExecutor = rebuildExecutor;
+        this.view = new View(buildTree(List.of()), Map.of(), Set.of());
+    }
+
+    /**
+     * POI indexé avec les attributs utilisés comme filtres. Les coordonnées
+     * sont quantifiées en microdegrés, comme dans le PoiCoordinateStore.
+     */
+    record Candidate(UUID poiId, int latitudeE6, int longitudeE6, String poiType, String poiCategory) {
+
+        double latitude() {
+            return PoiCoordinateStore.fromMicrodegrees(latitudeE6);
+        }
+
+        double longitude() {
+            return PoiCoordinateStore.fromMicrodegrees(longitudeE6);
+        }
+
+        boolean matches(String type, String category) {
+            return (type == null || type.equals(poiType)) && (category == null || category.equals(poiCategory));
+        }
+    }
+
+    /**
+     * Etat lu par les requêtes : arbre construit, entrées modifiées depuis sa
+     * construction et identifiants dont la copie dans l'arbre est obsolète
+     */
+    private record View(STRtree tree, Map<UUID, Candidate> overlay, Set<UUID> stale) {
+    }
+
+    private record QueueEntry(Boundable boundable, double distanceKm) {
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void reset() {
+        clear();
+    }
+
+    @Override
+    public void load(PointOfInterest poi) {
+        upsert(poi);
+    }
+
+    @Override
+    public void loaded() {
+        markReady();
+    }
+
+    @Override
+    public void onChange(PoiChangeEvent event) {
+        if (event.current() != null) {
+            upsert(event.current());
+        } else {
+            remove(event.poiId());
+        }
+    }
+
+    /**
+     * Vide l'index avant un rechargement complet
+     */
+    public synchronized void clear() {
+        ready = false;
+        epoch++;
+        rebuilding = false;
+        changedDuringRebuild = new HashSet<>();
+        entries.clear();
+        view = new View(buildTree(List.of()), Map.of(), Set.of());
+    }
+
+    /**
+     * Construit l'arbre à partir des entrées chargées et active l'index ;
+     * une reconstruction encore en cours sera abandonnée
+     */
+    public void markReady() {
+        synchronized (this) {
+            view = new View(buildTree(entries.values()), Map.of(), Set.of());
+            epoch++;
+            rebuilding = false;
+            changedDuringRebuild = new HashSet<>();
+            ready = true;
+        }
+        log.info("Nearest-neighbour index ready with {} POIs", view.tree().size());
+    }
+
+    /**
+     * Ajoute, déplace ou retire un POI selon son état (actif, coordonnées)
+     */
+    public void upsert(PointOfInterest poi) {
+        if (poi == null || poi.getPoiId() == null) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(poi.getIsActive()) || poi.getLatitude() == null || poi.getLongitude() == null) {
+            remove(poi.getPoiId());
+            return;
+        }
+        apply(poi.getPoiId(), new Candidate(poi.getPoiId(),
+                PoiCoordinateStore.toMicrodegrees(poi.getLatitude().doubleValue()),
+                PoiCoordinateStore.toMicrodegrees(poi.getLongitude().doubleValue()),
+                poi.getPoiType(),
+                poi.getPoiCategory()));
+    }
+
+    /**
+     * Retire un POI de l'index
+     */
+    public void remove(UUID poiId) {
+        if (poiId != null) {
+            apply(poiId, null);
+        }
+    }
+
+    /**
+     * Recherche best-first des k POIs les plus proches. Les filtres de type et
+     * de catégorie sont appliqués pendant le parcours de l'arbre, et la
+     * recherche s'arrête dès que k résultats ont été trouvés.
+     */
+    public List<PoiDistance> findNearest(double latitude, double longitude, int k,
+            String poiType, String poiCategory, double maxDistanceKm) {
+        View current = view;
+
+        List<PoiDistance> overlayHits = new ArrayList<>();
+        for (Candidate candidate : current.overlay().values()) {
+            if (candidate.matches(poiType, poiCategory)) {
+                double distance = GeoUtils.haversineKm(latitude, longitude, candidate.latitude(), candidate.longitude());
+                if (distance <= maxDistanceKm) {
+                    overlayHits.add(new PoiDistance(candidate.poiId(), distance));
+                }
+            }
+        }
+        overlayHits.sort(Comparator.comparingDouble(PoiDistance::distanceKm));
+
+        List<PoiDistance> results = new ArrayList<>(k);
+        int overlayPosition = 0;
+        PriorityQueue<QueueEntry> queue = new PriorityQueue<>(Comparator.comparingDouble(QueueEntry::distanceKm));
+        enqueueChildren(current.tree().getRoot(), current, latitude, longitude, poiType, poiCategory, queue);
+
+        while (!queue.isEmpty() && results.size() < k) {
+            QueueEntry entry = queue.poll();
+            if (entry.distanceKm() > maxDistanceKm) {
+                break;
+            }
+            if (entry.boundable() instanceof ItemBoundable itemBoundable) {
+                while (overlayPosition < overlayHits.size() && results.size() < k
+                        && overlayHits.get(overlayPosition).distanceKm() <= entry.distanceKm()) {
+                    results.add(overlayHits.get(overlayPosition++));
+                }
+                if (results.size() < k) {
+                    Candidate candidate = (Candidate) itemBoundable.getItem();
+                    results.add(new PoiDistance(candidate.poiId(), entry.distanceKm()));
+                }
+            } else {
+                enqueueChildren((AbstractNode) entry.boundable(), current, latitude, longitude,
+                        poiType, poiCategory, queue);
+            }
+        }
+
+        while (results.size() < k && overlayPosition < overlayHits.size()) {
+            results.add(overlayHits.get(overlayPosition++));
+        }
+        return results;
+    }
+
+    private void enqueueChildren(AbstractNode node, View current, double latitude, double longitude,
+            String poiType, String poiCategory, PriorityQueue<QueueEntry> queue) {
+        for (Object child : node.getChildBoundables()) {
+            Boundable boundable = (Boundable) child;
+            if (boundable instanceof ItemBoundable itemBoundable) {
+                Candidate candidate = (Candidate) itemBoundable.getItem();
+                if (current.stale().contains(candidate.poiId()) || !candidate.matches(poiType, poiCategory)) {
+                    continue;
+                }
+                queue.add(new QueueEntry(boundable,
+                        GeoUtils.haversineKm(latitude, longitude, candidate.latitude(), candidate.longitude())));
+            } else {
+                queue.add(new QueueEntry(boundable,
+                        minDistanceKm(latitude, longitude, (Envelope) boundable.getBounds())));
+            }
+        }
+    }
+
+    /**
+     * Distance orthodromique entre un point et une emprise lat/lon, utilisée
+     * comme borne inférieure du parcours best-first.
+     *
+     * Hors de l'intervalle de longitudes de l'emprise, le point le plus proche
+     * est sur le méridien de bord le plus proche en longitude. Sur ce
+     * méridien, si l'écart de longitude est inférieur à 90°, la distance est
+     * minimale à la latitude atan(tan(lat) / cos(écart)) et croît de part et
+     * d'autre ; au-delà de 90°, elle est maximale à l'intérieur du méridien et
+     * le minimum est à l'une des extrémités.
+     */
+    static double minDistanceKm(double latitude, double longitude, Envelope envelope) {
+        if (envelope == null || envelope.isNull()) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double minLat = envelope.getMinY();
+        double maxLat = envelope.getMaxY();
+        if (longitude >= envelope.getMinX() && longitude <= envelope.getMaxX()) {
+            double nearestLat = Math.max(minLat, Math.min(maxLat, latitude));
+            return GeoUtils.haversineKm(latitude, longitude, nearestLat, longitude);
+        }
+
+        double toMin = longitudeGap(longitude, envelope.getMinX());
+        double toMax = longitudeGap(longitude, envelope.getMaxX());
+        double edgeLon = toMin <= toMax ? envelope.getMinX() : envelope.getMaxX();
+        double gap = Math.toRadians(Math.min(toMin, toMax));
+        if (gap >= Math.PI / 2) {
+            return Math.min(GeoUtils.haversineKm(latitude, longitude, minLat, edgeLon),
+                    GeoUtils.haversineKm(latitude, longitude, maxLat, edgeLon));
+        }
+        double closestLat = Math.toDegrees(Math.atan(Math.tan(Math.toRadians(latitude)) / Math.cos(gap)));
+        double nearestLat = Math.max(minLat, Math.min(maxLat, closestLat));
+        return GeoUtils.haversineKm(latitude, longitude, nearestLat, edgeLon);
+    }
+
+    /**
+     * Ecart de longitude en degrés, dans [0, 180]
+     */
+    private static double longitudeGap(double from, double to) {
+        double gap = Math.abs(to - from) % 360.0;
+        return gap > 180.0 ? 360.0 - gap : gap;
+    }
+
+    private synchronized void apply(UUID poiId, Candidate candidate) {
+        Candidate previous = candidate != null ? entries.put(poiId, candidate) : entries.remove(poiId);
+        if (!ready) {
+            return;
+        }
+        if (previous == null && candidate == null) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.add(poiId);
+        }
+
+        Map<UUID, Candidate> overlay = new HashMap<>(view.overlay());
+        Set<UUID> stale = new HashSet<>(view.stale());
+        stale.add(poiId);
+        if (candidate != null) {
+            overlay.put(poiId, candidate);
+        } else {
+            overlay.remove(poiId);
+        }
+        view = new View(view.tree(), overlay, stale);
+
+        if (!rebuilding && stale.size() >= REBUILD_THRESHOLD) {
+            rebuilding = true;
+            changedDuringRebuild = new HashSet<>();
+            List<Candidate> snapshot = new ArrayList<>(entries.values());
+            long rebuildEpoch = epoch;
+            rebuildExecutor.execute(() -> rebuild(snapshot, rebuildEpoch));
+        }
+    }
+
+    private void rebuild(List<Candidate> snapshot, long rebuildEpoch) {
+        STRtree tree;
+        try {
+            tree = buildTree(snapshot);
+        } catch (RuntimeException e) {
+            log.error("Error rebuilding nearest-neighbour index: {}", e.getMessage());
+            synchronized (this) {
+                if (rebuildEpoch == epoch) {
+                    rebuilding = false;
+                }
+            }
+            return;
+        }
+
+        synchronized (this) {
+            if (rebuildEpoch != epoch) {
+                log.debug("Discarding nearest-neighbour rebuild started before a reload");
+                return;
+            }
+            Map<UUID, Candidate> overlay = new HashMap<>();
+            for (UUID poiId : changedDuringRebuild) {
+                Candidate candidate = entries.get(poiId);
+                if (candidate != null) {
+                    overlay.put(poiId, candidate);
+                }
+            }
+            view = new View(tree, overlay, new HashSet<>(changedDuringRebuild));
+            changedDuringRebuild = new HashSet<>();
+            rebuilding = false;
+        }
+        log.debug("Nearest-neighbour index rebuilt with {} POIs", snapshot.size());
+    }
+
+    private STRtree buildTree(Collection<Candidate> candidates) {
+        STRtree tree = new STRtree(NODE_CAPACITY);
+        for (Candidate candidate : candidates) {
+            Envelope envelope = geometryFactory
+                    .createPoint(new Coordinate(candidate.longitude(), candidate.latitude()))
+                    .getEnvelopeInternal();
+            tree.insert(envelope, candidate);
+        }
+        tree.build();
+        return tree;
+    }
+}
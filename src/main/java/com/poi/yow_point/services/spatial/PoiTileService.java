@@ -0,0 +1,198 @@
+package com.poi.yow_point.services.spatial;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.poi.yow_point.models.PointOfInterest;
+import com.poi.yow_point.repositories.PointOfInterestRepository;
+import com.poi.yow_point.services.events.PoiChangeEvent;
+import com.poi.yow_point.services.events.PoiChangeListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Génère les tuiles vectorielles (MVT) des POIs actifs et les conserve dans un
+ * cache borné. Une écriture sur un POI n'invalide que les tuiles couvrant sa
+ * position, à chaque niveau de zoom.
+ *
+ * Une tuile contient au plus MAX_FEATURES_PER_TILE POIs, les plus populaires
+ * de la tuile et de sa marge : aux petits zooms, où une tuile couvre une
+ * région entière, les POIs suivants sont omis. Les agrégats de /clusters
+ * (PoiClusterIndex) couvrent tous les POIs à ces niveaux.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PoiTileService implements PoiChangeListener {
+
+    public static final String LAYER_NAME = "pois";
+
+    /**
+     * Résolution des tuiles et marge autour de la tuile (unités de tuile)
+     */
+    static final int EXTENT = 4096;
+    static final int BUFFER = 64;
+
+    /**
+     * Nombre maximal de POIs encodés par tuile (les plus populaires)
+     */
+    public static final int MAX_FEATURES_PER_TILE = 20_000;
+
+    /**
+     * Taille maximale du cache de tuiles, en octets
+     */
+    private static final long MAX_CACHE_BYTES = 64L * 1024 * 1024;
+
+    private final PointOfInterestRepository repository;
+
+    private final Cache<TileKey, byte[]> tiles = Caffeine.newBuilder()
+            .maximumWeight(MAX_CACHE_BYTES)
+            .weigher((TileKey key, byte[] tile) -> tile.length + 64)
+            .build();
+
+    /**
+     * Incrémenté à chaque invalidation : une tuile générée pendant une
+     * invalidation n'est pas mise en cache (elle pourrait être obsolète)
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private record TileKey(int z, int x, int y) {
+    }
+
+    /**
+     * Retourne la tuile z/x/y encodée en MVT (tableau vide si elle ne contient
+     * aucun POI)
+     */
+    public Mono<byte[]> getTile(int z, int x, int y) {
+        if (!WebMercator.isValidTile(z, x, y)) {
+            return Mono.error(new IllegalArgumentException("Invalid tile address: " + z + "/" + x + "/" + y));
+        }
+
+        TileKey key = new TileKey(z, x, y);
+        byte[] cached = tiles.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+
+        long generation = invalidations.get();
+        return renderTile(z, x, y)
+                .doOnNext(tile -> {
+                    if (invalidations.get() == generation) {
+                        tiles.put(key, tile);
+                    }
+                });
+    }
+
+    /**
+     * Invalide les tuiles couvrant l'ancienne et la nouvelle position du POI
+     */
+    @Override
+    public void onChange(PoiChangeEvent event) {
+        invalidate(event.previous());
+        invalidate(event.current());
+    }
+
+    /**
+     * Invalide les tuiles couvrant une position (marge de tuile comprise) à
+     * tous les niveaux de zoom
+     */
+    public void invalidate(BigDecimal latitude, BigDecimal longitude) {
+        if (latitude == null || longitude == null) {
+            return;
+        }
+        invalidations.incrementAndGet();
+        double px = WebMercator.x(longitude.doubleValue());
+        double py = WebMercator.y(latitude.doubleValue());
+
+        for (int z = 0; z <= WebMercator.MAX_ZOOM; z++) {
+            double margin = (double) BUFFER / EXTENT / WebMercator.tilesPerAxis(z);
+            int minX = WebMercator.tileIndex(px - margin, z);
+            int maxX = WebMercator.tileIndex(px + margin, z);
+            int minY = WebMercator.tileIndex(py - margin, z);
+            int maxY = WebMercator.tileIndex(py + margin, z);
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    tiles.invalidate(new TileKey(z, x, y));
+                }
+            }
+        }
+    }
+
+    /**
+     * Invalide les tuiles couvrant la position d'un POI
+     */
+    public void invalidate(PointOfInterest poi) {
+        if (poi != null) {
+            invalidate(poi.getLatitude(), poi.getLongitude());
+        }
+    }
+
+    private Mono<byte[]> renderTile(int z, int x, int y) {
+        int tilesPerAxis = WebMercator.tilesPerAxis(z);
+        double margin = (double) BUFFER / EXTENT;
+        double minX = (x - margin) / tilesPerAxis;
+        double maxX = (x + 1 + margin) / tilesPerAxis;
+        double minY = (y - margin) / tilesPerAxis;
+        double maxY = (y + 1 + margin) / tilesPerAxis;
+
+        return repository.findTileFeatures(
+                toCoordinate(WebMercator.latitude(maxY)),
+                toCoordinate(WebMercator.latitude(minY)),
+                toCoordinate(Math.max(-180.0, WebMercator.longitude(minX))),
+                toCoordinate(Math.min(180.0, WebMercator.longitude(maxX))),
+                MAX_FEATURES_PER_TILE)
+                .collectList()
+                .doOnNext(pois -> {
+                    if (pois.size() == MAX_FEATURES_PER_TILE) {
+                        log.debug("Tile {}/{}/{} reached {} POIs, less popular POIs are omitted", z, x, y,
+                                MAX_FEATURES_PER_TILE);
+                    }
+                })
+                .map(pois -> encode(pois, z, x, y))
+                .doOnNext(tile -> log.debug("Rendered tile {}/{}/{} ({} bytes)", z, x, y, tile.length));
+    }
+
+    /**
+     * Encode les POIs dans la tuile z/x/y. Les POIs hors de la tuile et de sa
+     * marge (bornes de la requête arrondies, POIs en limite) sont écartés.
+     */
+    static byte[] encode(List<PointOfInterest> pois, int z, int x, int y) {
+        int tilesPerAxis = WebMercator.tilesPerAxis(z);
+        VectorTileEncoder encoder = new VectorTileEncoder(LAYER_NAME, EXTENT);
+        for (PointOfInterest poi : pois) {
+            if (poi.getLatitude() == null || poi.getLongitude() == null) {
+                continue;
+            }
+            int px = (int) Math.round((WebMercator.x(poi.getLongitude().doubleValue()) * tilesPerAxis - x) * EXTENT);
+            int py = (int) Math.round((WebMercator.y(poi.getLatitude().doubleValue()) * tilesPerAxis - y) * EXTENT);
+            if (!isInBufferedTile(px) || !isInBufferedTile(py)) {
+                continue;
+            }
+
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            attributes.put("id", poi.getPoiId().toString());
+            attributes.put("name", poi.getPoiName());
+            attributes.put("type", poi.getPoiType());
+            attributes.put("category", poi.getPoiCategory());
+            attributes.put("popularity", poi.getPopularityScore());
+            encoder.addPoint(px, py, attributes);
+        }
+        return encoder.encode();
+    }
+
+    private static boolean isInBufferedTile(int coordinate) {
+        return coordinate >= -BUFFER && coordinate <= EXTENT + BUFFER;
+    }
+
+    private static BigDecimal toCoordinate(double value) {
+        return BigDecimal.valueOf(value).setScale(8, RoundingMode.HALF_EVEN);
+    }
+}
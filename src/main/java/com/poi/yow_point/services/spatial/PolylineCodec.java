@@ -0,0 +1,80 @@
+package com.poi.yow_point.services.spatial;
+
+import org.locationtech.jts.geom.Coordinate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Décodage des polylignes encodées (algorithme "Encoded Polyline" de Google,
+ * également produit par OSRM, Valhalla et Mapbox)
+ */
+public final class PolylineCodec {
+
+    /**
+     * Précision par défaut : 5 décimales (Google, OSRM). Valhalla utilise 6.
+     */
+    public static final int DEFAULT_PRECISION = 5;
+
+    private PolylineCodec() {
+    }
+
+    /**
+     * Décode une polyligne en coordonnées JTS (x = longitude, y = latitude).
+     * Les sommets consécutifs identiques sont fusionnés.
+     */
+    public static List<Coordinate> decode(String encoded, int precision) {
+        if (encoded == null || encoded.isEmpty()) {
+            throw new IllegalArgumentException("Encoded polyline is empty");
+        }
+        if (precision < 1 || precision > 7) {
+            throw new IllegalArgumentException("Polyline precision must be between 1 and 7");
+        }
+        double factor = Math.pow(10, precision);
+
+        List<Coordinate> coordinates = new ArrayList<>();
+        int index = 0;
+        long latitude = 0;
+        long longitude = 0;
+        while (index < encoded.length()) {
+            long[] latitudeStep = readValue(encoded, index);
+            long[] longitudeStep = readValue(encoded, (int) latitudeStep[1]);
+            index = (int) longitudeStep[1];
+            latitude += latitudeStep[0];
+            longitude += longitudeStep[0];
+
+            double lat = latitude / factor;
+            double lon = longitude / factor;
+            if (lat < -90.0 || lat > 90.0 || lon < -180.0 || lon > 180.0) {
+                throw new IllegalArgumentException("Polyline coordinate out of range: " + lat + ", " + lon);
+            }
+            Coordinate coordinate = new Coordinate(lon, lat);
+            if (coordinates.isEmpty() || !coordinates.get(coordinates.size() - 1).equals2D(coordinate)) {
+                coordinates.add(coordinate);
+            }
+        }
+        return coordinates;
+    }
+
+    /**
+     * Lit une valeur signée ; retourne {valeur, position suivante}
+     */
+    private static long[] readValue(String encoded, int index) {
+        long result = 0;
+        int shift = 0;
+        int chunk;
+        do {
+            if (index >= encoded.length() || shift > 35) {
+                throw new IllegalArgumentException("Malformed encoded polyline");
+            }
+            chunk = encoded.charAt(index++) - 63;
+            if (chunk < 0 || chunk > 63) {
+                throw new IllegalArgumentException("Malformed encoded polyline");
+            }
+            result |= (long) (chunk & 0x1F) << shift;
+            shift += 5;
+        } while (chunk >= 0x20);
+        long value = (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+        return new long[] { value, index };
+    }
+}
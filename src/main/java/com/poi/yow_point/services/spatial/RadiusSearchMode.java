@@ -0,0 +1,22 @@
+package com.poi.yow_point.services.spatial;
+
+/**
+ * Stratégie d'exécution d'une recherche de POIs par rayon
+ */
+public enum RadiusSearchMode {
+
+    /**
+     * Index spatial en mémoire (repli sur GREAT_CIRCLE tant qu'il n'est pas chargé)
+     */
+    INDEX,
+
+    /**
+     * Pré-filtre SQL sur emprise lat/lon puis distance haversine exacte
+     */
+    BOUNDING_BOX,
+
+    /**
+     * Requête SQL historique : distance orthodromique (acos) sur toutes les lignes
+     */
+    GREAT_CIRCLE
+}
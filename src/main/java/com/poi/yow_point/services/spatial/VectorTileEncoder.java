@@ -0,0 +1,172 @@
+package com.poi.yow_point.services.spatial;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodeur minimal d'une couche Mapbox Vector Tile (spécification 2.1) ne
+ * contenant que des points.
+ *
+ * Le format protobuf est écrit directement (varints, champs délimités) : les
+ * tuiles de POIs n'ont besoin ni de lignes ni de polygones, ce qui évite une
+ * dépendance protobuf et un code généré pour quelques dizaines de lignes.
+ */
+public final class VectorTileEncoder {
+
+    private static final int GEOMETRY_TYPE_POINT = 1;
+    private static final int COMMAND_MOVE_TO = 1;
+
+    private final String layerName;
+    private final int extent;
+    private final Map<String, Integer> keys = new LinkedHashMap<>();
+    private final Map<Object, Integer> values = new LinkedHashMap<>();
+    private final List<byte[]> features = new ArrayList<>();
+
+    public VectorTileEncoder(String layerName, int extent) {
+        this.layerName = layerName;
+        this.extent = extent;
+    }
+
+    /**
+     * Ajoute un point exprimé en coordonnées de tuile (0..extent, y vers le
+     * bas). Les attributs nuls sont ignorés ; les valeurs acceptées sont les
+     * chaînes, les flottants, les entiers et les booléens.
+     */
+    public void addPoint(int x, int y, Map<String, ?> attributes) {
+        ProtoWriter tags = new ProtoWriter();
+        for (Map.Entry<String, ?> attribute : attributes.entrySet()) {
+            Object value = attribute.getValue();
+            if (value == null) {
+                continue;
+            }
+            tags.varint(keys.computeIfAbsent(attribute.getKey(), key -> keys.size()));
+            tags.varint(values.computeIfAbsent(value, unused -> values.size()));
+        }
+
+        ProtoWriter geometry = new ProtoWriter();
+        geometry.varint(command(COMMAND_MOVE_TO, 1));
+        geometry.varint(zigZag(x));
+        geometry.varint(zigZag(y));
+
+        ProtoWriter feature = new ProtoWriter();
+        feature.bytes(2, tags.toByteArray());
+        feature.tag(3, 0);
+        feature.varint(GEOMETRY_TYPE_POINT);
+        feature.bytes(4, geometry.toByteArray());
+        features.add(feature.toByteArray());
+    }
+
+    public boolean isEmpty() {
+        return features.isEmpty();
+    }
+
+    /**
+     * Sérialise la tuile (une seule couche). Une tuile sans entité est encodée
+     * sans couche, soit un tableau vide.
+     */
+    public byte[] encode() {
+        if (features.isEmpty()) {
+            return new byte[0];
+        }
+
+        ProtoWriter layer = new ProtoWriter();
+        layer.tag(15, 0);
+        layer.varint(2);
+        layer.string(1, layerName);
+        for (byte[] feature : features) {
+            layer.bytes(2, feature);
+        }
+        for (String key : keys.keySet()) {
+            layer.string(3, key);
+        }
+        for (Object value : values.keySet()) {
+            layer.bytes(4, encodeValue(value));
+        }
+        layer.tag(5, 0);
+        layer.varint(extent);
+
+        ProtoWriter tile = new ProtoWriter();
+        tile.bytes(3, layer.toByteArray());
+        return tile.toByteArray();
+    }
+
+    private static byte[] encodeValue(Object value) {
+        ProtoWriter writer = new ProtoWriter();
+        if (value instanceof String string) {
+            writer.string(1, string);
+        } else if (value instanceof Float number) {
+            writer.tag(2, 5);
+            writer.fixed32(Float.floatToIntBits(number));
+        } else if (value instanceof Double number) {
+            writer.tag(3, 1);
+            writer.fixed64(Double.doubleToLongBits(number));
+        } else if (value instanceof Integer || value instanceof Long) {
+            writer.tag(6, 0);
+            writer.varint(zigZag(((Number) value).longValue()));
+        } else if (value instanceof Boolean bool) {
+            writer.tag(7, 0);
+            writer.varint(bool ? 1 : 0);
+        } else {
+            writer.string(1, value.toString());
+        }
+        return writer.toByteArray();
+    }
+
+    private static int command(int id, int count) {
+        return (id & 0x7) | (count << 3);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Ecriture des types de base protobuf
+     */
+    private static final class ProtoWriter {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        void tag(int field, int wireType) {
+            varint(((long) field << 3) | wireType);
+        }
+
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        void fixed32(int value) {
+            for (int i = 0; i < 4; i++) {
+                out.write((value >>> (8 * i)) & 0xFF);
+            }
+        }
+
+        void fixed64(long value) {
+            for (int i = 0; i < 8; i++) {
+                out.write((int) ((value >>> (8 * i)) & 0xFF));
+            }
+        }
+
+        void bytes(int field, byte[] bytes) {
+            tag(field, 2);
+            varint(bytes.length);
+            out.writeBytes(bytes);
+        }
+
+        void string(int field, String value) {
+            bytes(field, value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+}
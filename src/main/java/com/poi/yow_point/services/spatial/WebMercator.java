@@ -0,0 +1,76 @@
+package com.poi.yow_point.services.spatial;
+
+/**
+ * Projection Web Mercator (EPSG:3857) normalisée et découpage en tuiles XYZ
+ */
+public final class WebMercator {
+
+    /**
+     * Latitude maximale représentable en Web Mercator
+     */
+    public static final double MAX_LATITUDE = 85.05112878;
+
+    /**
+     * Niveau de zoom maximal accepté
+     */
+    public static final int MAX_ZOOM = 22;
+
+    private WebMercator() {
+    }
+
+    /**
+     * Abscisse normalisée dans [0, 1] (0 = -180°, 1 = +180°)
+     */
+    public static double x(double longitude) {
+        return (longitude + 180.0) / 360.0;
+    }
+
+    /**
+     * Ordonnée normalisée dans [0, 1] (0 = nord, 1 = sud)
+     */
+    public static double y(double latitude) {
+        double lat = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude));
+        double sin = Math.sin(Math.toRadians(lat));
+        return 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+    }
+
+    /**
+     * Longitude correspondant à une abscisse normalisée
+     */
+    public static double longitude(double x) {
+        return x * 360.0 - 180.0;
+    }
+
+    /**
+     * Latitude correspondant à une ordonnée normalisée
+     */
+    public static double latitude(double y) {
+        return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y))));
+    }
+
+    /**
+     * Nombre de tuiles par axe au niveau de zoom donné
+     */
+    public static int tilesPerAxis(int zoom) {
+        return 1 << zoom;
+    }
+
+    /**
+     * Vérifie qu'une adresse de tuile z/x/y existe
+     */
+    public static boolean isValidTile(int zoom, int x, int y) {
+        if (zoom < 0 || zoom > MAX_ZOOM) {
+            return false;
+        }
+        int tiles = tilesPerAxis(zoom);
+        return x >= 0 && x < tiles && y >= 0 && y < tiles;
+    }
+
+    /**
+     * Indice de tuile contenant une coordonnée normalisée, borné à la grille
+     */
+    public static int tileIndex(double normalized, int zoom) {
+        int tiles = tilesPerAxis(zoom);
+        return Math.max(0, Math.min(tiles - 1, (int) Math.floor(normalized * tiles)));
+    }
+}
@@ -0,0 +1,108 @@
+package com.poi.yow_point.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poi.yow_point.dto.DevicePositionDTO;
+import com.poi.yow_point.dto.GeofenceEventDTO;
+import com.poi.yow_point.services.spatial.PoiGeofenceMatcher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import reactor.core.Disposable;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Point d'entrée WebSocket du géorepérage : le client envoie des positions
+ * d'appareils (un objet JSON par message) et reçoit les transitions ENTER /
+ * EXIT correspondantes, un objet JSON par message.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GeofenceWebSocketHandler extends TextWebSocketHandler {
+
+    /**
+     * Positions en attente de traitement par session au-delà desquelles les
+     * nouvelles positions sont ignorées
+     */
+    private static final int MAX_PENDING_POSITIONS = 1024;
+
+    private static final int SEND_TIME_LIMIT_MS = 10_000;
+    private static final int SEND_BUFFER_SIZE_LIMIT = 512 * 1024;
+
+    private final PoiGeofenceMatcher matcher;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, SessionPipeline> pipelines = new ConcurrentHashMap<>();
+
+    private record SessionPipeline(Sinks.Many<DevicePositionDTO> positions, Disposable subscription) {
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        WebSocketSession output = new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS,
+                SEND_BUFFER_SIZE_LIMIT);
+        Sinks.Many<DevicePositionDTO> positions = Sinks.many().unicast()
+                .onBackpressureBuffer(Queues.<DevicePositionDTO>get(MAX_PENDING_POSITIONS).get());
+
+        Disposable subscription = matcher.match(positions.asFlux())
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(
+                        event -> send(output, event),
+                        error -> log.error("Geofence pipeline failed for session {}: {}",
+                                session.getId(), error.getMessage()));
+
+        pipelines.put(session.getId(), new SessionPipeline(positions, subscription));
+        log.debug("Geofence session {} opened", session.getId());
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        SessionPipeline pipeline = pipelines.get(session.getId());
+        if (pipeline == null) {
+            return;
+        }
+        try {
+            DevicePositionDTO position = objectMapper.readValue(message.getPayload(), DevicePositionDTO.class);
+            Sinks.EmitResult result = pipeline.positions().tryEmitNext(position);
+            if (result.isFailure()) {
+                log.warn("Dropping position for device {} on session {}: {}",
+                        position.getDeviceId(), session.getId(), result);
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Invalid position message on session {}: {}", session.getId(), e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        SessionPipeline pipeline = pipelines.remove(session.getId());
+        if (pipeline != null) {
+            pipeline.positions().tryEmitComplete();
+            pipeline.subscription().dispose();
+        }
+        log.debug("Geofence session {} closed: {}", session.getId(), status);
+    }
+
+    private void send(WebSocketSession session, GeofenceEventDTO event) {
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(event)));
+        } catch (IOException e) {
+            log.warn("Error sending geofence event to session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.poi.yow_point.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.poi.yow_point.dto.PoiSearchQueryDTO;
+import com.poi.yow_point.dto.PoiSearchUpdateDTO;
+import com.poi.yow_point.services.PointOfInterestService;
+import com.poi.yow_point.services.search.PoiAutocompleteIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Point d'entrée WebSocket de la recherche au fil de la saisie : le client
+ * envoie la saisie courante à chaque frappe (un objet JSON par message) et
+ * reçoit les résultats de la dernière saisie seulement.
+ *
+ * Chaque saisie annule la précédente (switchMap) : l'attente de stabilisation
+ * de la saisie ou la requête en cours est abandonnée, la requête base de
+ * données étant annulée avec son abonnement. Une saisie n'est évaluée
+ * qu'après DEBOUNCE sans nouvelle frappe ; une saisie vide est répondue
+ * immédiatement par une liste vide.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PoiSearchWebSocketHandler extends TextWebSocketHandler {
+
+    public static final String MODE_AUTOCOMPLETE = "autocomplete";
+    public static final String MODE_SEARCH = "search";
+
+    private static final Duration DEBOUNCE = Duration.ofMillis(150);
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_SEARCH_RESULTS = 50;
+
+    /**
+     * Saisies en attente par session au-delà desquelles les nouvelles saisies
+     * sont ignorées
+     */
+    private static final int MAX_PENDING_QUERIES = 64;
+
+    private static final int SEND_TIME_LIMIT_MS = 10_000;
+    private static final int SEND_BUFFER_SIZE_LIMIT = 512 * 1024;
+
+    private final PointOfInterestService poiService;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, SessionPipeline> pipelines = new ConcurrentHashMap<>();
+
+    private record SessionPipeline(Sinks.Many<PoiSearchQueryDTO> queries, Disposable subscription) {
+    }
+
+    /**
+     * Saisie canonique : deux saisies équivalentes consécutives ne sont
+     * évaluées qu'une fois
+     */
+    private record QueryKey(String query, String mode, int limit) {
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        WebSocketSession output = new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MS,
+                SEND_BUFFER_SIZE_LIMIT);
+        Sinks.Many<PoiSearchQueryDTO> queries = Sinks.many().unicast()
+                .onBackpressureBuffer(Queues.<PoiSearchQueryDTO>get(MAX_PENDING_QUERIES).get());
+
+        Disposable subscription = queries.asFlux()
+                .distinctUntilChanged(PoiSearchWebSocketHandler::keyOf)
+                .switchMap(query -> evaluate(query, session.getId()))
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(
+                        update -> send(output, update),
+                        error -> log.error("Search pipeline failed for session {}: {}",
+                                session.getId(), error.getMessage()));
+
+        pipelines.put(session.getId(), new SessionPipeline(queries, subscription));
+        log.debug("Search session {} opened", session.getId());
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        SessionPipeline pipeline = pipelines.get(session.getId());
+        if (pipeline == null) {
+            return;
+        }
+        try {
+            PoiSearchQueryDTO query = objectMapper.readValue(message.getPayload(), PoiSearchQueryDTO.class);
+            Sinks.EmitResult result = pipeline.queries().tryEmitNext(query);
+            if (result.isFailure()) {
+                log.warn("Dropping query on session {}: {}", session.getId(), result);
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Invalid search message on session {}: {}", session.getId(), e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        SessionPipeline pipeline = pipelines.remove(session.getId());
+        if (pipeline != null) {
+            pipeline.queries().tryEmitComplete();
+            pipeline.subscription().dispose();
+        }
+        log.debug("Search session {} closed: {}", session.getId(), status);
+    }
+
+    private static QueryKey keyOf(PoiSearchQueryDTO query) {
+        String text = query.getQuery() != null ? query.getQuery().trim() : "";
+        String mode = MODE_SEARCH.equals(query.getMode()) ? MODE_SEARCH : MODE_AUTOCOMPLETE;
+        int limit = query.getLimit() != null ? query.getLimit() : DEFAULT_LIMIT;
+        return new QueryKey(text, mode, limit);
+    }
+
+    /**
+     * Résultats d'une saisie, après stabilisation ; abandonné (attente ou
+     * requête en cours) dès l'arrivée de la saisie suivante
+     */
+    private Mono<PoiSearchUpdateDTO> evaluate(PoiSearchQueryDTO query, String sessionId) {
+        QueryKey key = keyOf(query);
+        boolean search = MODE_SEARCH.equals(key.mode());
+        PoiSearchUpdateDTO.PoiSearchUpdateDTOBuilder update = PoiSearchUpdateDTO.builder()
+                .requestId(query.getRequestId())
+                .query(query.getQuery());
+
+        if (key.query().isEmpty()) {
+            return Mono.just(search ? update.results(List.of()).build() : update.suggestions(List.of()).build());
+        }
+
+        Mono<PoiSearchUpdateDTO> results;
+        if (search) {
+            int limit = Math.max(1, Math.min(key.limit(), MAX_SEARCH_RESULTS));
+            results = poiService.searchWithFilters(null, null, null, null, key.query(), true)
+                    .take(limit)
+                    .collectList()
+                    .map(pois -> update.results(pois).build());
+        } else {
+            int limit = Math.max(1, Math.min(key.limit(), PoiAutocompleteIndex.TOP_K));
+            results = poiService.autocomplete(key.query(), limit)
+                    .subscribeOn(Schedulers.parallel())
+                    .map(suggestions -> update.suggestions(suggestions).build());
+        }
+
+        return Mono.delay(DEBOUNCE)
+                .then(results)
+                .doOnCancel(() -> log.trace("Query superseded on session {}", sessionId))
+                .onErrorResume(Exception.class, ex -> {
+                    log.warn("Search failed on session {}: {}", sessionId, ex.getMessage());
+                    return Mono.just(update.error(Objects.requireNonNullElse(ex.getMessage(), "Search failed"))
+                            .build());
+                });
+    }
+
+    private void send(WebSocketSession session, PoiSearchUpdateDTO update) {
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(update)));
+        } catch (IOException e) {
+            log.warn("Error sending search results to session {}: {}", session.getId(), e.getMessage());
+        }
+    }
+}
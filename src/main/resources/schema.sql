@@ -63,11 +63,11 @@ CREATE TABLE IF NOT EXISTS point_of_interest (
     -- Contacts comme JSON au lieu de type composite
     poi_contacts JSON,
     
-    -- Tableaux convertis en TEXT avec délimiteurs
+    -- Images en TEXT avec délimiteurs, listes en tableaux natifs (text[])
     poi_images_urls TEXT, -- URLs séparées par virgules
-    poi_amenities TEXT,   -- Amenities séparés par virgules  
-    poi_keywords TEXT,    -- Keywords séparés par virgules
-    poi_type_tags TEXT,   -- Tags séparés par virgules
+    poi_amenities TEXT[],   -- Ex: ['Wi-Fi', 'Parking', 'Jardin']
+    poi_keywords TEXT[],    -- Ex: ['BUS STOP', 'HOPITAL', 'CENTRE VILLE']
+    poi_type_tags TEXT[],   -- Tags complémentaires
 
     popularity_score FLOAT DEFAULT 0,
 
@@ -128,11 +128,37 @@ CREATE INDEX IF NOT EXISTS idx_poi_name ON point_of_interest (poi_name);
 CREATE INDEX IF NOT EXISTS idx_poi_location ON point_of_interest (latitude, longitude);
 CREATE INDEX IF NOT EXISTS idx_poi_is_active ON point_of_interest (is_active);
 
-CREATE INDEX IF NOT EXISTS idx_access_log_poi ON poi_access_log (poi_id);
 CREATE INDEX IF NOT EXISTS idx_access_log_org ON poi_access_log (organization_id);
 CREATE INDEX IF NOT EXISTS idx_access_log_platform ON poi_access_log (platform_type);
 CREATE INDEX IF NOT EXISTS idx_access_log_date ON poi_access_log (access_datetime);
 
 CREATE INDEX IF NOT EXISTS idx_poi_review_poi_id ON poi_review (poi_id);
 CREATE INDEX IF NOT EXISTS idx_poi_review_org ON poi_review (organization_id);
-CREATE INDEX IF NOT EXISTS idx_stat_org_platform ON poi_platform_stat (org_id, platform_type, stat_date);
\ No newline at end of file
+CREATE INDEX IF NOT EXISTS idx_stat_org_platform ON poi_platform_stat (org_id, platform_type, stat_date);
+-- Colonnes normalisées (minuscules, sans accents), renseignées par l'application
+ALTER TABLE point_of_interest ADD COLUMN IF NOT EXISTS poi_name_normalized TEXT;
+ALTER TABLE point_of_interest ADD COLUMN IF NOT EXISTS address_city_normalized TEXT;
+ALTER TABLE point_of_interest ADD COLUMN IF NOT EXISTS poi_keywords_normalized TEXT[];
+
+CREATE INDEX IF NOT EXISTS idx_poi_name_normalized ON point_of_interest (poi_name_normalized text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_poi_city_normalized ON point_of_interest (address_city_normalized);
+CREATE INDEX IF NOT EXISTS idx_poi_keywords_normalized ON point_of_interest USING GIN (poi_keywords_normalized);
+
+-- Pagination par curseur : (filtre,) clé de tri, identifiant
+CREATE INDEX IF NOT EXISTS idx_organization_created_id ON organization (created_at, organization_id);
+CREATE INDEX IF NOT EXISTS idx_app_user_created_id ON app_user (created_at, user_id);
+CREATE INDEX IF NOT EXISTS idx_access_log_datetime_id ON poi_access_log (access_datetime, access_id);
+CREATE INDEX IF NOT EXISTS idx_access_log_poi_datetime_id ON poi_access_log (poi_id, access_datetime DESC, access_id DESC);
+-- Remplacé par idx_access_log_poi_datetime_id, qui commence par poi_id
+DROP INDEX IF EXISTS idx_access_log_poi;
+CREATE INDEX IF NOT EXISTS idx_poi_review_created_id ON poi_review (created_at, review_id);
+CREATE INDEX IF NOT EXISTS idx_stat_date_id ON poi_platform_stat (stat_date, stat_id);
+CREATE INDEX IF NOT EXISTS idx_poi_org_name_id ON point_of_interest (organization_id, poi_name, poi_id);
+CREATE INDEX IF NOT EXISTS idx_poi_type_name_id ON point_of_interest (poi_type, poi_name, poi_id);
+CREATE INDEX IF NOT EXISTS idx_poi_category_name_id ON point_of_interest (poi_category, poi_name, poi_id);
+CREATE INDEX IF NOT EXISTS idx_poi_city_name_id ON point_of_interest (address_city_normalized, poi_name, poi_id);
+CREATE INDEX IF NOT EXISTS idx_poi_creator_created_id ON point_of_interest (created_by_user_id, created_at, poi_id);
+
+-- Index GIN de poi_amenities et poi_type_tags, colonne générée search_vector
+-- (recherche plein texte) et son index : créés par PoiSchemaMigration, après
+-- conversion en text[] des anciennes colonnes CSV
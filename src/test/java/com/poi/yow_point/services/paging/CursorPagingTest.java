@@ -0,0 +1,164 @@
+package com.poi.yow_point.services.paging;
+
+import com.poi.yow_point.dto.CursorPageDTO;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorPagingTest {
+
+	/**
+	 * Ligne triée par date de création puis identifiant, décroissants
+	 */
+	private record Row(OffsetDateTime createdAt, UUID id) {
+	}
+
+	private static final Comparator<Row> NEWEST_FIRST = Comparator.comparing(Row::createdAt)
+			.thenComparing(Row::id)
+			.reversed();
+
+	@Test
+	void clampsPageSize() {
+		assertThat(CursorPaging.pageSize(null)).isEqualTo(50);
+		assertThat(CursorPaging.pageSize(-5)).isEqualTo(1);
+		assertThat(CursorPaging.pageSize(0)).isEqualTo(1);
+		assertThat(CursorPaging.pageSize(10)).isEqualTo(10);
+		assertThat(CursorPaging.pageSize(200)).isEqualTo(200);
+		assertThat(CursorPaging.pageSize(201)).isEqualTo(200);
+	}
+
+	@Test
+	void readsOneExtraRowAndReportsMorePages() {
+		List<Row> table = table(10);
+		AtomicInteger fetched = new AtomicInteger();
+
+		CursorPageDTO<Row> page = CursorPaging.page(null, 3,
+				fetchSize -> {
+					fetched.set(fetchSize);
+					return firstPage(table, fetchSize);
+				},
+				(after, fetchSize) -> Flux.error(new AssertionError("first page expected")),
+				CursorPagingTest::cursorOf).block();
+
+		assertThat(fetched.get()).isEqualTo(4);
+		assertThat(page.getItems()).isEqualTo(table.subList(0, 3));
+		assertThat(page.getHasMore()).isTrue();
+		assertThat(page.getNextCursor()).isEqualTo(cursorOf(table.get(2)).encode());
+	}
+
+	@Test
+	void lastPageHasNoCursor() {
+		List<Row> table = table(3);
+
+		CursorPageDTO<Row> exact = page(table, null, 3);
+		CursorPageDTO<Row> partial = page(table, null, 5);
+
+		assertThat(exact.getItems()).isEqualTo(table);
+		assertThat(exact.getHasMore()).isFalse();
+		assertThat(exact.getNextCursor()).isNull();
+		assertThat(partial.getItems()).isEqualTo(table);
+		assertThat(partial.getHasMore()).isFalse();
+		assertThat(partial.getNextCursor()).isNull();
+	}
+
+	@Test
+	void emptyTableGivesEmptyLastPage() {
+		CursorPageDTO<Row> page = page(List.of(), null, 10);
+
+		assertThat(page.getItems()).isEmpty();
+		assertThat(page.getHasMore()).isFalse();
+		assertThat(page.getNextCursor()).isNull();
+	}
+
+	@Test
+	void appliesDefaultAndMaximumPageSize() {
+		List<Row> table = table(250);
+
+		assertThat(page(table, null, null).getItems()).hasSize(CursorPaging.DEFAULT_PAGE_SIZE);
+		assertThat(page(table, null, 1_000).getItems()).hasSize(CursorPaging.MAX_PAGE_SIZE);
+		assertThat(page(table, null, 0).getItems()).hasSize(1);
+	}
+
+	@Test
+	void walksEveryRowOnceAcrossPagesWithEqualSortKeys() {
+		List<Row> table = table(23);
+
+		List<Row> walked = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		CursorPageDTO<Row> page;
+		do {
+			page = page(table, cursor, 5);
+			walked.addAll(page.getItems());
+			cursor = page.getNextCursor();
+			pages++;
+			assertThat(page.getHasMore()).isEqualTo(cursor != null);
+		} while (page.getHasMore());
+
+		assertThat(pages).isEqualTo(5);
+		assertThat(walked).isEqualTo(table);
+	}
+
+	@Test
+	void blankCursorMeansFirstPage() {
+		List<Row> table = table(4);
+
+		assertThat(page(table, "  ", 2).getItems()).isEqualTo(table.subList(0, 2));
+		assertThat(page(table, "", 2).getItems()).isEqualTo(table.subList(0, 2));
+	}
+
+	@Test
+	void invalidCursorFailsWithIllegalArgument() {
+		List<Row> table = table(4);
+
+		assertThatThrownBy(() -> page(table, "not a cursor!", 2))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Invalid page cursor");
+	}
+
+	/**
+	 * Page lue dans une table en mémoire, comme le feraient les requêtes
+	 * keyset des dépôts (WHERE (created_at, id) < (:createdAt, :id))
+	 */
+	private static CursorPageDTO<Row> page(List<Row> table, String cursor, Integer limit) {
+		return CursorPaging.page(cursor, limit,
+				fetchSize -> firstPage(table, fetchSize),
+				(after, fetchSize) -> {
+					Row last = new Row(after.sortKeyAsDateTime(), after.id());
+					return Flux.fromIterable(table)
+							.filter(row -> NEWEST_FIRST.compare(row, last) > 0)
+							.take(fetchSize);
+				},
+				CursorPagingTest::cursorOf).block();
+	}
+
+	private static Flux<Row> firstPage(List<Row> table, int fetchSize) {
+		return Flux.fromIterable(table).take(fetchSize);
+	}
+
+	private static PageCursor cursorOf(Row row) {
+		return PageCursor.of(row.createdAt(), row.id());
+	}
+
+	/**
+	 * Lignes triées, trois par date de création pour départager par identifiant
+	 */
+	private static List<Row> table(int size) {
+		OffsetDateTime start = OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+		return IntStream.range(0, size)
+				.mapToObj(i -> new Row(start.plusMinutes(i / 3), UUID.randomUUID()))
+				.sorted(NEWEST_FIRST)
+				.toList();
+	}
+}
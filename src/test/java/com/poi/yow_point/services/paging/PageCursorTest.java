@@ -0,0 +1,82 @@
+package com.poi.yow_point.services.paging;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+	private static final UUID ID = UUID.fromString("3f2b8c4e-9a1d-4e7b-8c2a-5d6e7f809a1b");
+
+	@Test
+	void roundTripsDateTimeKey() {
+		OffsetDateTime createdAt = OffsetDateTime.parse("2024-03-10T08:15:30.123456+01:00");
+
+		PageCursor decoded = PageCursor.decode(PageCursor.of(createdAt, ID).encode());
+
+		assertThat(decoded).isEqualTo(PageCursor.of(createdAt, ID));
+		assertThat(decoded.sortKeyAsDateTime()).isEqualTo(createdAt);
+	}
+
+	@Test
+	void roundTripsInstantAndDateKeys() {
+		Instant instant = Instant.parse("2024-03-10T07:15:30Z");
+		LocalDate date = LocalDate.of(2024, 2, 29);
+
+		assertThat(PageCursor.decode(PageCursor.of(instant, ID).encode()).sortKeyAsDateTime().toInstant())
+				.isEqualTo(instant);
+		assertThat(PageCursor.decode(PageCursor.of(date, ID).encode()).sortKeyAsDate()).isEqualTo(date);
+	}
+
+	@Test
+	void roundTripsTextKeyContainingSeparator() {
+		PageCursor cursor = PageCursor.of("Café | Gare", ID);
+
+		assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void encodesAsUnpaddedBase64Url() {
+		String token = PageCursor.of("a?b>c~", ID).encode();
+
+		assertThat(token.matches("[A-Za-z0-9_-]+")).isTrue();
+	}
+
+	@Test
+	void rejectsTamperedOrInvalidCursors() {
+		assertInvalid("not a cursor!");
+		assertInvalid(encodeRaw("2024-03-10T08:15:30Z"));
+		assertInvalid(encodeRaw("2024-03-10T08:15:30Z|42"));
+		assertInvalid(encodeRaw("2024-03-10T08:15:30Z|" + ID + "x"));
+		// Jeton tronqué : identifiant incomplet
+		assertInvalid(PageCursor.of("2024-03-10", ID).encode().substring(0, 20));
+	}
+
+	@Test
+	void rejectsSortKeyOfWrongType() {
+		PageCursor textKey = PageCursor.decode(PageCursor.of("Café", ID).encode());
+		PageCursor dateKey = PageCursor.decode(PageCursor.of(LocalDate.of(2024, 1, 1), ID).encode());
+
+		assertThatThrownBy(textKey::sortKeyAsDateTime).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(textKey::sortKeyAsDate).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(dateKey::sortKeyAsDateTime).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static void assertInvalid(String token) {
+		assertThatThrownBy(() -> PageCursor.decode(token))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Invalid page cursor");
+	}
+
+	private static String encodeRaw(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
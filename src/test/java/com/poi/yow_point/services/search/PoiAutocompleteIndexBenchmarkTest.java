@@ -0,0 +1,146 @@
+package com.poi.yow_point.services.search;
+
+import com.poi.yow_point.models.PointOfInterest;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Latence de PoiAutocompleteIndex.complete sur un catalogue synthétique
+ * (voir docs/poi-autocomplete.md).
+ *
+ * Désactivé par défaut ; exécution :
+ *   mvn test -Dtest=PoiAutocompleteIndexBenchmarkTest -Dbenchmarks=true -DargLine="-Xmx4g"
+ * Nombre de POIs : -Dbenchmarks.autocomplete.pois (1 000 000 par défaut).
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class PoiAutocompleteIndexBenchmarkTest {
+
+	private static final String[] SYLLABLES = {
+			"ba", "be", "bi", "bo", "ca", "ce", "co", "da", "de", "do", "fa", "fi", "ga", "go", "la", "le",
+			"li", "lo", "ma", "me", "mi", "mo", "na", "ne", "no", "pa", "pe", "po", "ra", "re", "ri", "ro",
+			"sa", "se", "si", "so", "ta", "te", "ti", "to", "va", "ve", "vi", "yo", "za", "zo" };
+	private static final String[] AMENITIES = {
+			"wifi", "parking", "terrasse", "climatisation", "livraison", "accessible", "toilettes",
+			"distributeur", "piscine", "restauration" };
+
+	private static final int VOCABULARY_SIZE = 20_000;
+	private static final int WARMUP_QUERIES = 50_000;
+	private static final int MEASURED_QUERIES = 100_000;
+
+	@Test
+	void completionLatency() {
+		int poiCount = Integer.getInteger("benchmarks.autocomplete.pois", 1_000_000);
+		Random random = new Random(42);
+		String[] vocabulary = vocabulary(random);
+
+		PoiAutocompleteIndex index = new PoiAutocompleteIndex();
+		index.reset();
+		long loadStart = System.nanoTime();
+		for (int i = 0; i < poiCount; i++) {
+			index.load(poi(random, vocabulary));
+		}
+		index.loaded();
+		log.info("Loaded {} POIs in {} ms", poiCount, (System.nanoTime() - loadStart) / 1_000_000);
+
+		String[] singleWord = new String[MEASURED_QUERIES];
+		String[] twoWords = new String[MEASURED_QUERIES];
+		for (int i = 0; i < MEASURED_QUERIES; i++) {
+			singleWord[i] = prefix(random, vocabulary);
+			twoWords[i] = prefix(random, vocabulary) + " " + prefix(random, vocabulary);
+		}
+
+		long[] single = measure(index, singleWord);
+		long[] pairs = measure(index, twoWords);
+		report("single word", single);
+		report("two words", pairs);
+
+		assertThat(index.complete(vocabulary[0], PoiAutocompleteIndex.TOP_K)).isNotEmpty();
+	}
+
+	private static long[] measure(PoiAutocompleteIndex index, String[] queries) {
+		long checksum = 0;
+		for (int i = 0; i < WARMUP_QUERIES; i++) {
+			checksum += index.complete(queries[i % queries.length], PoiAutocompleteIndex.TOP_K).size();
+		}
+		long[] latencies = new long[queries.length];
+		for (int i = 0; i < queries.length; i++) {
+			long start = System.nanoTime();
+			checksum += index.complete(queries[i], PoiAutocompleteIndex.TOP_K).size();
+			latencies[i] = System.nanoTime() - start;
+		}
+		log.debug("Checksum {}", checksum);
+		Arrays.sort(latencies);
+		return latencies;
+	}
+
+	private static void report(String label, long[] sortedLatencies) {
+		log.info("{}: p50 {} µs, p99 {} µs, p99.9 {} µs, max {} µs", label,
+				micros(percentile(sortedLatencies, 0.50)), micros(percentile(sortedLatencies, 0.99)),
+				micros(percentile(sortedLatencies, 0.999)), micros(sortedLatencies[sortedLatencies.length - 1]));
+	}
+
+	private static long percentile(long[] sorted, double quantile) {
+		return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+	}
+
+	private static String micros(long nanos) {
+		return String.format("%.1f", nanos / 1000.0);
+	}
+
+	private static String[] vocabulary(Random random) {
+		String[] words = new String[VOCABULARY_SIZE];
+		for (int i = 0; i < words.length; i++) {
+			StringBuilder word = new StringBuilder();
+			int syllables = 2 + random.nextInt(3);
+			for (int s = 0; s < syllables; s++) {
+				word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+			}
+			words[i] = word.toString();
+		}
+		return words;
+	}
+
+	/**
+	 * Mot tiré selon une loi proche de Zipf : quelques mots très fréquents,
+	 * une longue traîne de mots rares
+	 */
+	private static String word(Random random, String[] vocabulary) {
+		return vocabulary[(int) Math.floor(Math.pow(vocabulary.length, random.nextDouble())) - 1];
+	}
+
+	/**
+	 * Préfixe de 1 à 4 caractères d'un mot du vocabulaire, comme en cours de frappe
+	 */
+	private static String prefix(Random random, String[] vocabulary) {
+		String word = word(random, vocabulary);
+		return word.substring(0, Math.min(word.length(), 1 + random.nextInt(4)));
+	}
+
+	private static PointOfInterest poi(Random random, String[] vocabulary) {
+		int nameWords = 1 + random.nextInt(3);
+		StringBuilder name = new StringBuilder();
+		for (int w = 0; w < nameWords; w++) {
+			if (w > 0) {
+				name.append(' ');
+			}
+			name.append(word(random, vocabulary));
+		}
+		return PointOfInterest.builder()
+				.poiId(UUID.randomUUID())
+				.poiName(name.toString())
+				.poiType("RESTAURANT")
+				.poiKeywords(new String[] { word(random, vocabulary), word(random, vocabulary) })
+				.poiAmenities(new String[] { AMENITIES[random.nextInt(AMENITIES.length)] })
+				.popularityScore(random.nextFloat() * 100)
+				.isActive(true)
+				.build();
+	}
+}
@@ -0,0 +1,205 @@
+package com.poi.yow_point.services.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PoiBitmapTest {
+
+	/**
+	 * Capacité d'un conteneur tableau ; au-delà, le conteneur passe en bitmap
+	 */
+	private static final int ARRAY_MAX = 4096;
+
+	/**
+	 * Premier ordinal du deuxième conteneur (16 bits de poids fort = 1)
+	 */
+	private static final int SECOND_CONTAINER = 1 << 16;
+
+	@Test
+	void addAndRemoveReportWhetherTheSetChanged() {
+		PoiBitmap bitmap = new PoiBitmap();
+
+		assertThat(bitmap.isEmpty()).isTrue();
+		assertThat(bitmap.add(42)).isTrue();
+		assertThat(bitmap.add(42)).isFalse();
+		assertThat(bitmap.contains(42)).isTrue();
+		assertThat(bitmap.contains(43)).isFalse();
+		assertThat(bitmap.remove(43)).isFalse();
+		assertThat(bitmap.remove(42)).isTrue();
+		assertThat(bitmap.remove(42)).isFalse();
+		assertThat(bitmap.isEmpty()).isTrue();
+		assertThat(bitmap.cardinality()).isEqualTo(0);
+	}
+
+	@Test
+	void keepsValuesAcrossArrayToBitmapTransition() {
+		PoiBitmap bitmap = new PoiBitmap();
+		// Valeurs paires : ARRAY_MAX remplissent exactement le conteneur tableau
+		for (int i = 0; i < ARRAY_MAX; i++) {
+			assertThat(bitmap.add(2 * i)).isTrue();
+		}
+		assertThat(bitmap.cardinality()).isEqualTo(ARRAY_MAX);
+		assertThat(bitmap.add(2 * (ARRAY_MAX - 1))).isFalse();
+
+		assertThat(bitmap.add(2 * ARRAY_MAX)).isTrue();
+		assertThat(bitmap.cardinality()).isEqualTo(ARRAY_MAX + 1);
+		assertThat(bitmap.add(2 * ARRAY_MAX)).isFalse();
+		assertThat(bitmap.contains(2 * ARRAY_MAX)).isTrue();
+		assertThat(bitmap.contains(1)).isFalse();
+		assertThat(values(bitmap)).isEqualTo(range(0, 2 * ARRAY_MAX + 1, 2));
+	}
+
+	@Test
+	void keepsValuesAcrossBitmapToArrayTransition() {
+		PoiBitmap bitmap = bitmap(range(0, ARRAY_MAX + 1, 1));
+		TreeSet<Integer> expected = new TreeSet<>(range(0, ARRAY_MAX + 1, 1));
+
+		// Le conteneur repasse en tableau sous ARRAY_MAX / 2 valeurs
+		for (int value = 0; expected.size() > ARRAY_MAX / 2 - 1; value++) {
+			assertThat(bitmap.remove(value)).isTrue();
+			expected.remove(value);
+			assertThat(bitmap.cardinality()).isEqualTo(expected.size());
+		}
+		assertThat(bitmap.remove(0)).isFalse();
+		assertThat(values(bitmap)).isEqualTo(new ArrayList<>(expected));
+
+		// Puis de nouveau en bitmap
+		for (int value = 0; expected.size() <= ARRAY_MAX; value++) {
+			assertThat(bitmap.add(value)).isTrue();
+			expected.add(value);
+		}
+		assertThat(bitmap.cardinality()).isEqualTo(expected.size());
+		assertThat(values(bitmap)).isEqualTo(new ArrayList<>(expected));
+	}
+
+	@Test
+	void iteratesAcrossContainersInAscendingOrder() {
+		PoiBitmap bitmap = bitmap(List.of(Integer.MAX_VALUE, SECOND_CONTAINER, 7, SECOND_CONTAINER - 1,
+				3 * SECOND_CONTAINER + 5));
+
+		assertThat(bitmap.cardinality()).isEqualTo(5);
+		assertThat(values(bitmap)).isEqualTo(List.of(7, SECOND_CONTAINER - 1, SECOND_CONTAINER,
+				3 * SECOND_CONTAINER + 5, Integer.MAX_VALUE));
+
+		assertThat(bitmap.remove(SECOND_CONTAINER)).isTrue();
+		assertThat(bitmap.contains(SECOND_CONTAINER)).isFalse();
+		assertThat(bitmap.add(SECOND_CONTAINER + 1)).isTrue();
+		assertThat(values(bitmap)).isEqualTo(List.of(7, SECOND_CONTAINER - 1, SECOND_CONTAINER + 1,
+				3 * SECOND_CONTAINER + 5, Integer.MAX_VALUE));
+	}
+
+	@Test
+	void andMatchesSetIntersectionForEachContainerKind() {
+		List<Integer> sparse = range(0, 3 * ARRAY_MAX, 3);
+		List<Integer> dense = range(0, 2 * ARRAY_MAX, 1);
+		List<Integer> otherDense = range(ARRAY_MAX / 2, 3 * ARRAY_MAX, 1);
+		List<Integer> disjoint = range(SECOND_CONTAINER, SECOND_CONTAINER + 100, 1);
+
+		assertIntersection(sparse, range(0, 3 * ARRAY_MAX, 2));
+		assertIntersection(sparse, dense);
+		assertIntersection(dense, sparse);
+		assertIntersection(dense, otherDense);
+		assertIntersection(dense, range(0, 2 * ARRAY_MAX, 2));
+		assertIntersection(dense, disjoint);
+		assertIntersection(List.of(), dense);
+	}
+
+	@Test
+	void orMatchesSetUnionForEachContainerKind() {
+		List<Integer> even = range(0, 2 * (ARRAY_MAX - 100), 2);
+		List<Integer> odd = range(1, 2 * (ARRAY_MAX - 100), 2);
+		List<Integer> dense = range(0, 2 * ARRAY_MAX, 1);
+
+		// Deux tableaux dont l'union dépasse ARRAY_MAX
+		assertUnion(even, odd);
+		assertUnion(even, range(0, 200, 1));
+		assertUnion(even, dense);
+		assertUnion(dense, even);
+		assertUnion(dense, range(ARRAY_MAX, 4 * ARRAY_MAX, 1));
+		assertUnion(dense, range(SECOND_CONTAINER, SECOND_CONTAINER + 10, 1));
+		assertUnion(List.of(), even);
+	}
+
+	@Test
+	void orDoesNotShareContainersWithOperands() {
+		PoiBitmap left = bitmap(range(0, 10, 1));
+		PoiBitmap right = bitmap(range(SECOND_CONTAINER, SECOND_CONTAINER + 2 * ARRAY_MAX, 1));
+
+		PoiBitmap union = left.or(right);
+		union.add(10);
+		union.remove(SECOND_CONTAINER);
+
+		assertThat(left.cardinality()).isEqualTo(10);
+		assertThat(left.contains(10)).isFalse();
+		assertThat(right.cardinality()).isEqualTo(2 * ARRAY_MAX);
+		assertThat(right.contains(SECOND_CONTAINER)).isTrue();
+	}
+
+	@Test
+	void matchesReferenceSetUnderRandomOperations() {
+		Random random = new Random(7);
+		PoiBitmap bitmap = new PoiBitmap();
+		TreeSet<Integer> expected = new TreeSet<>();
+		for (int i = 0; i < 200_000; i++) {
+			// Trois conteneurs, dont un oscille autour des seuils de conversion
+			int value = random.nextInt(3) * SECOND_CONTAINER + random.nextInt(2 * ARRAY_MAX);
+			if (random.nextInt(5) < 3) {
+				assertThat(bitmap.add(value)).isEqualTo(expected.add(value));
+			} else {
+				assertThat(bitmap.remove(value)).isEqualTo(expected.remove(value));
+			}
+		}
+		assertThat(bitmap.cardinality()).isEqualTo(expected.size());
+		assertThat(values(bitmap)).isEqualTo(new ArrayList<>(expected));
+	}
+
+	private static void assertIntersection(List<Integer> left, List<Integer> right) {
+		TreeSet<Integer> expected = new TreeSet<>(left);
+		expected.retainAll(right);
+
+		PoiBitmap intersection = bitmap(left).and(bitmap(right));
+
+		assertThat(values(intersection)).isEqualTo(new ArrayList<>(expected));
+		assertThat(intersection.cardinality()).isEqualTo(expected.size());
+		assertThat(bitmap(left).andCardinality(bitmap(right))).isEqualTo(expected.size());
+	}
+
+	private static void assertUnion(List<Integer> left, List<Integer> right) {
+		TreeSet<Integer> expected = new TreeSet<>(left);
+		expected.addAll(right);
+
+		PoiBitmap union = bitmap(left).or(bitmap(right));
+
+		assertThat(values(union)).isEqualTo(new ArrayList<>(expected));
+		assertThat(union.cardinality()).isEqualTo(expected.size());
+		// Le résultat reste modifiable au-delà de la frontière tableau / bitmap
+		int extra = expected.isEmpty() ? 0 : expected.last() + 1;
+		assertThat(union.add(extra)).isTrue();
+		assertThat(union.cardinality()).isEqualTo(expected.size() + 1);
+	}
+
+	private static PoiBitmap bitmap(List<Integer> values) {
+		PoiBitmap bitmap = new PoiBitmap();
+		values.forEach(bitmap::add);
+		return bitmap;
+	}
+
+	private static List<Integer> values(PoiBitmap bitmap) {
+		List<Integer> values = new ArrayList<>();
+		bitmap.forEach(values::add);
+		return values;
+	}
+
+	private static List<Integer> range(int fromInclusive, int toExclusive, int step) {
+		return IntStream.iterate(fromInclusive, value -> value < toExclusive, value -> value + step)
+				.boxed()
+				.toList();
+	}
+}
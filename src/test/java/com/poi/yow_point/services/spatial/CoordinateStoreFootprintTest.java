@@ -0,0 +1,120 @@
+package com.poi.yow_point.services.spatial;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Empreinte mémoire par POI : coordonnées d'entité (BigDecimal), ancienne
+ * disposition de l'index en grille, et PoiCoordinateStore
+ * (voir docs/poi-coordinate-store.md).
+ *
+ * Désactivé par défaut ; exécution :
+ *   mvn test -Dtest=CoordinateStoreFootprintTest -Dbenchmarks=true -DargLine="-Xmx3g -XX:+UseSerialGC"
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class CoordinateStoreFootprintTest {
+
+	private static final int POI_COUNT = 1_000_000;
+
+	/**
+	 * Ancienne disposition de PoiGridIndex (avant le magasin de coordonnées)
+	 */
+	private static final class LegacyGrid {
+		final UUID[] ids;
+		final double[] latitudes;
+		final double[] longitudes;
+		final long[] cellKeys;
+		final Map<UUID, Integer> slotsById = new HashMap<>();
+
+		LegacyGrid(int capacity) {
+			ids = new UUID[capacity];
+			latitudes = new double[capacity];
+			longitudes = new double[capacity];
+			cellKeys = new long[capacity];
+		}
+	}
+
+	/**
+	 * Coordonnées telles que portées par PointOfInterest / PointOfInterestDTO
+	 */
+	private record EntityCoordinates(UUID poiId, BigDecimal latitude, BigDecimal longitude) {
+	}
+
+	@Test
+	void coordinateStoreUsesLessThanHalfOfLegacyLayout() throws InterruptedException {
+		double entity = bytesPerPoi("entity", n -> {
+			Random random = new Random(42);
+			List<EntityCoordinates> list = new ArrayList<>(n);
+			for (int i = 0; i < n; i++) {
+				list.add(new EntityCoordinates(UUID.randomUUID(),
+						coordinate(random.nextDouble() * 10), coordinate(random.nextDouble() * 10)));
+			}
+			return list;
+		});
+		double legacy = bytesPerPoi("legacy", n -> {
+			Random random = new Random(42);
+			LegacyGrid grid = new LegacyGrid(Integer.highestOneBit(n - 1) << 1);
+			for (int i = 0; i < n; i++) {
+				UUID id = UUID.randomUUID();
+				grid.ids[i] = id;
+				grid.latitudes[i] = random.nextDouble() * 10;
+				grid.longitudes[i] = random.nextDouble() * 10;
+				grid.cellKeys[i] = i;
+				grid.slotsById.put(id, i);
+			}
+			return grid;
+		});
+		double store = bytesPerPoi("store", n -> {
+			Random random = new Random(42);
+			PoiCoordinateStore coordinates = new PoiCoordinateStore();
+			for (int i = 0; i < n; i++) {
+				coordinates.put(UUID.randomUUID(), random.nextDouble() * 10, random.nextDouble() * 10);
+			}
+			return coordinates;
+		});
+
+		assertThat(store).isLessThan(legacy / 2).isLessThan(entity / 2);
+	}
+
+	/**
+	 * Tas retenu par la structure construite, rapporté au nombre de POIs
+	 */
+	private static double bytesPerPoi(String layout, IntFunction<Object> builder) throws InterruptedException {
+		long before = usedAfterGc();
+		Object structure = builder.apply(POI_COUNT);
+		long after = usedAfterGc();
+		double bytesPerPoi = (double) (after - before) / POI_COUNT;
+		log.info("{}: {} POIs, {} MB, {} bytes/POI", layout, POI_COUNT,
+				String.format("%.1f", (after - before) / 1e6), String.format("%.1f", bytesPerPoi));
+		// La structure doit rester atteignable jusqu'à la seconde mesure
+		assertThat(structure).isNotNull();
+		return bytesPerPoi;
+	}
+
+	private static BigDecimal coordinate(double value) {
+		return BigDecimal.valueOf(value).setScale(8, RoundingMode.HALF_EVEN);
+	}
+
+	private static long usedAfterGc() throws InterruptedException {
+		for (int i = 0; i < 4; i++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+}
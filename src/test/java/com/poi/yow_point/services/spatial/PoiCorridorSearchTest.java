@@ -0,0 +1,130 @@
+package com.poi.yow_point.services.spatial;
+
+import com.poi.yow_point.config.GeometryFactoryProvider;
+import com.poi.yow_point.models.PointOfInterest;
+import com.poi.yow_point.services.spatial.PoiGridIndex.PoiDistance;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PoiCorridorSearchTest {
+
+	private final PoiGridIndex gridIndex = new PoiGridIndex(new PoiCoordinateStore());
+
+	private final PoiCorridorSearch corridorSearch = new PoiCorridorSearch(gridIndex, new GeometryFactoryProvider());
+
+	@Test
+	void findsPoisAlongRouteInTravelOrder() {
+		UUID first = add(4.0005, 9.71);
+		UUID second = add(4.0, 9.75);
+		UUID third = add(3.999, 9.79);
+		add(4.1, 9.75);
+
+		List<PoiDistance> results = corridorSearch.findAlongRoute(
+				List.of(new Coordinate(9.7, 4.0), new Coordinate(9.8, 4.0)), 0.5);
+
+		assertThat(results).extracting(PoiDistance::poiId).containsExactly(first, second, third);
+		assertThat(results.get(1).distanceKm()).isCloseTo(0.0, within(1e-6));
+		assertThat(results.get(0).distanceKm()).isCloseTo(0.0005 * GeoUtils.KM_PER_DEGREE, within(1e-3));
+	}
+
+	@Test
+	void followsRouteAcrossTheAntimeridian() {
+		UUID west = add(0.01, 179.95);
+		UUID onMeridian = add(0.0, 180.0);
+		UUID east = add(-0.01, -179.95);
+		// Sur l'équateur, mais de l'autre côté du globe ou à 100 km du départ
+		UUID opposite = add(0.0, 0.0);
+		UUID beforeStart = add(0.0, 179.0);
+
+		List<PoiDistance> results = corridorSearch.findAlongRoute(
+				List.of(new Coordinate(179.9, 0.0), new Coordinate(-179.9, 0.0)), 5.0);
+
+		assertThat(results).extracting(PoiDistance::poiId)
+				.containsExactly(west, onMeridian, east)
+				.doesNotContain(opposite, beforeStart);
+		assertThat(results).allSatisfy(result -> assertThat(result.distanceKm()).isLessThan(1.2));
+	}
+
+	@Test
+	void followsRouteThatCrossesTheAntimeridianTwice() {
+		UUID east = add(10.0, -179.98);
+		UUID back = add(10.2, 179.98);
+
+		List<PoiDistance> results = corridorSearch.findAlongRoute(List.of(
+				new Coordinate(179.9, 10.0),
+				new Coordinate(-179.9, 10.0),
+				new Coordinate(-179.9, 10.2),
+				new Coordinate(179.9, 10.2)), 1.0);
+
+		assertThat(results).extracting(PoiDistance::poiId).containsExactly(east, back);
+	}
+
+	@Test
+	void unwrapsConsecutiveLongitudes() {
+		Coordinate[] unwrapped = PoiCorridorSearch.unwrapLongitudes(List.of(
+				new Coordinate(170, 0),
+				new Coordinate(-170, 1),
+				new Coordinate(-160, 2),
+				new Coordinate(175, 3),
+				new Coordinate(-10, 4)));
+
+		assertThat(Arrays.stream(unwrapped).map(coordinate -> coordinate.x).toList())
+				.containsExactly(170.0, 190.0, 200.0, 175.0, 350.0);
+		assertThat(Arrays.stream(unwrapped).map(coordinate -> coordinate.y).toList())
+				.containsExactly(0.0, 1.0, 2.0, 3.0, 4.0);
+	}
+
+	@Test
+	void decodedPolylineAcrossTheAntimeridianKeepsShortSegments() {
+		// (0, 179.9) puis (0, -179.9) en précision 5 : écart de -359,8° entre les sommets
+		List<Coordinate> decoded = PolylineCodec.decode(encode(0, 17_990_000, 0, -17_990_000), 5);
+		UUID onMeridian = add(0.0, 180.0);
+		add(0.0, 0.0);
+
+		assertThat(decoded).containsExactly(new Coordinate(179.9, 0.0), new Coordinate(-179.9, 0.0));
+		assertThat(corridorSearch.findAlongRoute(decoded, 1.0))
+				.extracting(PoiDistance::poiId)
+				.containsExactly(onMeridian);
+	}
+
+	private UUID add(double latitude, double longitude) {
+		UUID poiId = UUID.randomUUID();
+		gridIndex.upsert(PointOfInterest.builder()
+				.poiId(poiId)
+				.poiName("POI")
+				.latitude(BigDecimal.valueOf(latitude))
+				.longitude(BigDecimal.valueOf(longitude))
+				.isActive(true)
+				.build());
+		return poiId;
+	}
+
+	/**
+	 * Polyligne de deux points {latitude, longitude} multipliés par 10^5
+	 */
+	private static String encode(long latitude1, long longitude1, long latitude2, long longitude2) {
+		StringBuilder encoded = new StringBuilder();
+		encodeValue(latitude1, encoded);
+		encodeValue(longitude1, encoded);
+		encodeValue(latitude2 - latitude1, encoded);
+		encodeValue(longitude2 - longitude1, encoded);
+		return encoded.toString();
+	}
+
+	private static void encodeValue(long value, StringBuilder encoded) {
+		long remaining = value < 0 ? ~(value << 1) : value << 1;
+		while (remaining >= 0x20) {
+			encoded.append((char) ((0x20 | (remaining & 0x1F)) + 63));
+			remaining >>= 5;
+		}
+		encoded.append((char) (remaining + 63));
+	}
+}
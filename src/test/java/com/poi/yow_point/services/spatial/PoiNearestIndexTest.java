@@ -0,0 +1,310 @@
+package com.poi.yow_point.services.spatial;
+
+import com.poi.yow_point.config.GeometryFactoryProvider;
+import com.poi.yow_point.models.PointOfInterest;
+import com.poi.yow_point.services.spatial.PoiGridIndex.PoiDistance;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Envelope;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PoiNearestIndexTest {
+
+	/**
+	 * Reconstructions planifiées, exécutées à la main par les tests
+	 */
+	private final List<Runnable> rebuilds = new ArrayList<>();
+
+	private final PoiNearestIndex index = new PoiNearestIndex(new GeometryFactoryProvider(), rebuilds::add);
+
+	/**
+	 * Contenu attendu de l'index, comparé par recherche exhaustive
+	 */
+	private final Map<UUID, PointOfInterest> expected = new HashMap<>();
+
+	private final Random random = new Random(11);
+
+	@Test
+	void isEmptyAndNotReadyBeforeLoading() {
+		assertThat(index.isReady()).isFalse();
+		assertThat(index.findNearest(0, 0, 5, null, null, Double.MAX_VALUE)).isEmpty();
+
+		index.markReady();
+
+		assertThat(index.isReady()).isTrue();
+		assertThat(index.findNearest(0, 0, 5, null, null, Double.MAX_VALUE)).isEmpty();
+	}
+
+	@Test
+	void findsNearestInDistanceOrderWithFilters() {
+		load(2_000);
+		PointOfInterest cafe = poi(4.0501, 9.7001, "CAFE", "FOOD");
+		PointOfInterest hotel = poi(4.0502, 9.7002, "HOTEL", "LODGING");
+		index.upsert(cafe);
+		index.upsert(hotel);
+		track(cafe);
+		track(hotel);
+
+		assertMatchesBruteForce(4.05, 9.7, 20, Double.MAX_VALUE);
+		assertThat(index.findNearest(4.05, 9.7, 1, "CAFE", null, Double.MAX_VALUE))
+				.extracting(PoiDistance::poiId)
+				.containsExactly(cafe.getPoiId());
+		assertThat(index.findNearest(4.05, 9.7, 3, null, "LODGING", Double.MAX_VALUE))
+				.extracting(PoiDistance::poiId)
+				.containsExactly(hotel.getPoiId());
+		assertThat(index.findNearest(4.05, 9.7, 3, "CAFE", "LODGING", Double.MAX_VALUE)).isEmpty();
+	}
+
+	@Test
+	void stopsAtMaximumDistance() {
+		load(2_000);
+
+		List<PoiDistance> results = index.findNearest(10, 10, 1_000, null, null, 1_000);
+
+		assertThat(results).allSatisfy(result -> assertThat(result.distanceKm()).isLessThanOrEqualTo(1_000));
+		assertMatchesBruteForce(10, 10, 1_000, 1_000);
+	}
+
+	@Test
+	void keepsDistanceOrderNearThePolesAndAcrossLongitudes() {
+		// Emprises hautes en latitude, là où le coin le plus proche en lat/lon
+		// n'est pas le point le plus proche sur la sphère
+		for (int i = 0; i < 3_000; i++) {
+			PointOfInterest poi = poi(55 + random.nextDouble() * 34, random.nextDouble() * 360 - 180, "T", "C");
+			index.load(poi);
+			track(poi);
+		}
+		index.loaded();
+
+		for (int i = 0; i < 50; i++) {
+			assertMatchesBruteForce(40 + random.nextDouble() * 50, random.nextDouble() * 360 - 180, 30,
+					Double.MAX_VALUE);
+		}
+	}
+
+	@Test
+	void appliesUpsertsMovesAndRemovalsAfterLoading() {
+		List<PointOfInterest> pois = load(500);
+
+		PointOfInterest moved = pois.get(0);
+		moved.setLatitude(coordinate(-33.9));
+		moved.setLongitude(coordinate(18.4));
+		index.upsert(moved);
+		PointOfInterest deactivated = pois.get(1);
+		deactivated.setIsActive(false);
+		index.upsert(deactivated);
+		expected.remove(deactivated.getPoiId());
+		index.remove(pois.get(2).getPoiId());
+		expected.remove(pois.get(2).getPoiId());
+		PointOfInterest added = poi(-33.91, 18.41, "T", "C");
+		index.upsert(added);
+		track(added);
+
+		assertThat(index.findNearest(-33.9, 18.4, 2, null, null, Double.MAX_VALUE))
+				.extracting(PoiDistance::poiId)
+				.containsExactly(moved.getPoiId(), added.getPoiId());
+		assertThat(ids(index.findNearest(0, 0, 600, null, null, Double.MAX_VALUE)))
+				.doesNotContain(deactivated.getPoiId(), pois.get(2).getPoiId());
+		assertMatchesBruteForce(0, 0, 600, Double.MAX_VALUE);
+		assertThat(rebuilds).isEmpty();
+	}
+
+	@Test
+	void rebuildFoldsOverlayIntoTreeAndKeepsLaterChanges() {
+		List<PointOfInterest> pois = load(2_000);
+
+		moveRandomly(pois.subList(0, 512));
+		assertThat(rebuilds).hasSize(1);
+		// Modifications reçues pendant la reconstruction
+		moveRandomly(pois.subList(512, 600));
+		index.remove(pois.get(600).getPoiId());
+		expected.remove(pois.get(600).getPoiId());
+		assertMatchesEverywhere();
+
+		rebuilds.remove(0).run();
+
+		assertMatchesEverywhere();
+		// Les 89 modifications reportées ne suffisent pas à relancer une reconstruction
+		moveRandomly(pois.subList(601, 1_000));
+		assertThat(rebuilds).isEmpty();
+		moveRandomly(pois.subList(1_000, 1_100));
+		assertThat(rebuilds).hasSize(1);
+		rebuilds.remove(0).run();
+		assertMatchesEverywhere();
+	}
+
+	@Test
+	void reloadDuringRebuildDiscardsTheStaleTree() {
+		List<PointOfInterest> pois = load(2_000);
+		moveRandomly(pois.subList(0, 512));
+		assertThat(rebuilds).hasSize(1);
+		Runnable staleRebuild = rebuilds.remove(0);
+
+		// Rechargement complet : la moitié des POIs a disparu, d'autres sont apparus
+		List<PointOfInterest> reloaded = new ArrayList<>(pois.subList(0, 1_000));
+		for (int i = 0; i < 300; i++) {
+			reloaded.add(randomPoi());
+		}
+		index.clear();
+		expected.clear();
+		reloaded.forEach(poi -> {
+			index.load(poi);
+			track(poi);
+		});
+		index.loaded();
+
+		staleRebuild.run();
+
+		assertMatchesEverywhere();
+		assertThat(ids(index.findNearest(0, 0, 5_000, null, null, Double.MAX_VALUE)))
+				.hasSize(1_300)
+				.doesNotContainAnyElementsOf(ids(pois.subList(1_000, 2_000)));
+
+		// L'index n'est pas resté bloqué en reconstruction
+		moveRandomly(reloaded.subList(0, 512));
+		assertThat(rebuilds).hasSize(1);
+		rebuilds.remove(0).run();
+		assertMatchesEverywhere();
+	}
+
+	@Test
+	void rebuildFinishingBetweenClearAndReadyIsDiscarded() {
+		List<PointOfInterest> pois = load(1_000);
+		moveRandomly(pois.subList(0, 512));
+		Runnable staleRebuild = rebuilds.remove(0);
+
+		index.clear();
+		expected.clear();
+		staleRebuild.run();
+		PointOfInterest only = randomPoi();
+		index.load(only);
+		track(only);
+		index.markReady();
+
+		assertThat(ids(index.findNearest(0, 0, 10, null, null, Double.MAX_VALUE)))
+				.containsExactly(only.getPoiId());
+	}
+
+	@Test
+	void minDistanceIsALowerBoundOfDistancesToTheEnvelope() {
+		// Coin le plus proche en lat/lon : (60, 40) ; le point le plus proche
+		// sur la sphère est plus au nord sur le méridien 40
+		Envelope envelope = new Envelope(40, 41, 50, 70);
+		double closestLatitude = Math.toDegrees(Math.atan(Math.tan(Math.toRadians(60)) / Math.cos(Math.toRadians(40))));
+
+		assertThat(PoiNearestIndex.minDistanceKm(60, 0, envelope))
+				.isLessThan(GeoUtils.haversineKm(60, 0, 60, 40))
+				.isCloseTo(GeoUtils.haversineKm(60, 0, closestLatitude, 40), within(1e-6));
+
+		for (int i = 0; i < 2_000; i++) {
+			double minLon = random.nextDouble() * 340 - 180;
+			double minLat = random.nextDouble() * 170 - 90;
+			Envelope box = new Envelope(minLon, minLon + random.nextDouble() * 20,
+					minLat, Math.min(90, minLat + random.nextDouble() * 20));
+			double latitude = random.nextDouble() * 180 - 90;
+			double longitude = random.nextDouble() * 360 - 180;
+
+			double bound = PoiNearestIndex.minDistanceKm(latitude, longitude, box);
+			double sampled = Double.POSITIVE_INFINITY;
+			for (int y = 0; y <= 20; y++) {
+				for (int x = 0; x <= 20; x++) {
+					double distance = GeoUtils.haversineKm(latitude, longitude,
+							box.getMinY() + box.getHeight() * y / 20, box.getMinX() + box.getWidth() * x / 20);
+					assertThat(bound).isLessThanOrEqualTo(distance + 1e-9);
+					sampled = Math.min(sampled, distance);
+				}
+			}
+			// Borne serrée : au plus l'écart dû à l'échantillonnage
+			assertThat(sampled - bound).isLessThanOrEqualTo(GeoUtils.KM_PER_DEGREE);
+		}
+	}
+
+	private List<PointOfInterest> load(int count) {
+		List<PointOfInterest> pois = new ArrayList<>();
+		index.clear();
+		expected.clear();
+		for (int i = 0; i < count; i++) {
+			PointOfInterest poi = randomPoi();
+			index.load(poi);
+			track(poi);
+			pois.add(poi);
+		}
+		index.loaded();
+		return pois;
+	}
+
+	private void moveRandomly(List<PointOfInterest> pois) {
+		for (PointOfInterest poi : pois) {
+			poi.setLatitude(coordinate(random.nextDouble() * 160 - 80));
+			poi.setLongitude(coordinate(random.nextDouble() * 360 - 180));
+			index.upsert(poi);
+			track(poi);
+		}
+	}
+
+	private void track(PointOfInterest poi) {
+		expected.put(poi.getPoiId(), poi);
+	}
+
+	private void assertMatchesEverywhere() {
+		for (int i = 0; i < 20; i++) {
+			assertMatchesBruteForce(random.nextDouble() * 160 - 80, random.nextDouble() * 360 - 180, 25,
+					Double.MAX_VALUE);
+		}
+	}
+
+	private void assertMatchesBruteForce(double latitude, double longitude, int k, double maxDistanceKm) {
+		List<PoiDistance> bruteForce = expected.values().stream()
+				.map(poi -> new PoiDistance(poi.getPoiId(), GeoUtils.haversineKm(latitude, longitude,
+						poi.getLatitude().doubleValue(), poi.getLongitude().doubleValue())))
+				.filter(result -> result.distanceKm() <= maxDistanceKm)
+				.sorted(Comparator.comparingDouble(PoiDistance::distanceKm))
+				.limit(k)
+				.toList();
+
+		List<PoiDistance> results = index.findNearest(latitude, longitude, k, null, null, maxDistanceKm);
+
+		assertThat(ids(results)).isEqualTo(ids(bruteForce));
+	}
+
+	private static List<UUID> ids(List<?> results) {
+		return results.stream()
+				.map(result -> result instanceof PoiDistance distance
+						? distance.poiId()
+						: ((PointOfInterest) result).getPoiId())
+				.toList();
+	}
+
+	private PointOfInterest randomPoi() {
+		return poi(random.nextDouble() * 160 - 80, random.nextDouble() * 360 - 180, "T", "C");
+	}
+
+	private static PointOfInterest poi(double latitude, double longitude, String type, String category) {
+		return PointOfInterest.builder()
+				.poiId(UUID.randomUUID())
+				.poiName("POI")
+				.poiType(type)
+				.poiCategory(category)
+				.latitude(coordinate(latitude))
+				.longitude(coordinate(longitude))
+				.isActive(true)
+				.build();
+	}
+
+	/**
+	 * Coordonnée arrondie au microdegré, comme dans l'index
+	 */
+	private static BigDecimal coordinate(double degrees) {
+		return BigDecimal.valueOf(Math.round(degrees * 1e6)).movePointLeft(6);
+	}
+}
@@ -0,0 +1,150 @@
+package com.poi.yow_point.services.spatial;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PolylineCodecTest {
+
+	/**
+	 * Exemple de la documentation de l'algorithme (précision 5)
+	 */
+	private static final String REFERENCE_POLYLINE = "_p~iF~ps|U_ulLnnqC_mqNvxq`@";
+
+	@Test
+	void decodesReferencePolyline() {
+		List<Coordinate> coordinates = PolylineCodec.decode(REFERENCE_POLYLINE, PolylineCodec.DEFAULT_PRECISION);
+
+		assertThat(coordinates).isEqualTo(List.of(
+				new Coordinate(-120.2, 38.5),
+				new Coordinate(-120.95, 40.7),
+				new Coordinate(-126.453, 43.252)));
+	}
+
+	@Test
+	void roundTripsAtPrecision5() {
+		assertRoundTrip(5);
+	}
+
+	@Test
+	void roundTripsAtPrecision6() {
+		assertRoundTrip(6);
+	}
+
+	@Test
+	void decodesSamePolylineDifferentlyAtEachPrecision() {
+		String encoded = encode(List.of(new long[] { 38_481_234L, 11_534_567L }));
+
+		assertThat(PolylineCodec.decode(encoded, 6)).isEqualTo(List.of(new Coordinate(11.534567, 38.481234)));
+		// Lue en précision 5, la latitude sort de [-90, 90]
+		assertThatThrownBy(() -> PolylineCodec.decode(encoded, 5)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void mergesConsecutiveIdenticalVertices() {
+		String encoded = encode(List.of(
+				new long[] { 4_000_000L, 200_000L },
+				new long[] { 4_000_000L, 200_000L },
+				new long[] { 4_000_100L, 200_000L },
+				new long[] { 4_000_000L, 200_000L }));
+
+		assertThat(PolylineCodec.decode(encoded, 5)).isEqualTo(List.of(
+				new Coordinate(2.0, 40.0),
+				new Coordinate(2.0, 40.001),
+				new Coordinate(2.0, 40.0)));
+	}
+
+	@Test
+	void rejectsTruncatedInput() {
+		// Dernier caractère retiré : valeur inachevée
+		assertMalformed(REFERENCE_POLYLINE.substring(0, REFERENCE_POLYLINE.length() - 1));
+		// Latitude sans longitude
+		assertMalformed("_p~iF");
+		// Caractère de continuation final
+		assertMalformed("_p~iF~ps|");
+	}
+
+	@Test
+	void rejectsInvalidInput() {
+		assertMalformed("_p~iF ps|U");
+		assertMalformed("~~~~~~~~~~?");
+		assertThatThrownBy(() -> PolylineCodec.decode("", 5)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> PolylineCodec.decode(null, 5)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> PolylineCodec.decode(REFERENCE_POLYLINE, 0))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> PolylineCodec.decode(REFERENCE_POLYLINE, 8))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void rejectsCoordinatesOutOfRange() {
+		String encoded = encode(List.of(new long[] { 9_100_000L, 0L }));
+
+		assertThatThrownBy(() -> PolylineCodec.decode(encoded, 5))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("out of range");
+	}
+
+	private static void assertRoundTrip(int precision) {
+		double factor = Math.pow(10, precision);
+		Random random = new Random(precision);
+		List<long[]> points = new ArrayList<>();
+		List<Coordinate> expected = new ArrayList<>();
+		long latitude = Math.round(4.05 * factor);
+		long longitude = Math.round(9.7 * factor);
+		for (int i = 0; i < 500; i++) {
+			// Pas courts d'un itinéraire, avec quelques sauts longs
+			long step = i % 50 == 0 ? 10_000 : 50;
+			// Latitude strictement croissante : pas de sommets identiques à fusionner
+			latitude += 1 + random.nextLong(step);
+			longitude += random.nextLong(-step, step + 1);
+			points.add(new long[] { latitude, longitude });
+			expected.add(new Coordinate(longitude / factor, latitude / factor));
+		}
+		// Extrémités du domaine
+		points.add(new long[] { Math.round(-90 * factor), Math.round(-180 * factor) });
+		expected.add(new Coordinate(-180.0, -90.0));
+		points.add(new long[] { Math.round(90 * factor), Math.round(180 * factor) });
+		expected.add(new Coordinate(180.0, 90.0));
+
+		assertThat(PolylineCodec.decode(encode(points), precision)).isEqualTo(expected);
+	}
+
+	private static void assertMalformed(String encoded) {
+		assertThatThrownBy(() -> PolylineCodec.decode(encoded, 5))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("Malformed");
+	}
+
+	/**
+	 * Encodage de référence : points {latitude, longitude} déjà multipliés
+	 * par 10^précision
+	 */
+	private static String encode(List<long[]> points) {
+		StringBuilder encoded = new StringBuilder();
+		long previousLatitude = 0;
+		long previousLongitude = 0;
+		for (long[] point : points) {
+			encodeValue(point[0] - previousLatitude, encoded);
+			encodeValue(point[1] - previousLongitude, encoded);
+			previousLatitude = point[0];
+			previousLongitude = point[1];
+		}
+		return encoded.toString();
+	}
+
+	private static void encodeValue(long value, StringBuilder encoded) {
+		long remaining = value < 0 ? ~(value << 1) : value << 1;
+		while (remaining >= 0x20) {
+			encoded.append((char) ((0x20 | (remaining & 0x1F)) + 63));
+			remaining >>= 5;
+		}
+		encoded.append((char) (remaining + 63));
+	}
+}
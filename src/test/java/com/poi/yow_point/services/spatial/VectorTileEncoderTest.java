@@ -0,0 +1,259 @@
+package com.poi.yow_point.services.spatial;
+
+import com.poi.yow_point.models.PointOfInterest;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VectorTileEncoderTest {
+
+	private static final int EXTENT = 4096;
+
+	/**
+	 * Commande MoveTo (1) répétée une fois : (1 & 0x7) | (1 << 3)
+	 */
+	private static final long MOVE_TO_ONCE = 9;
+
+	@Test
+	void emptyTileEncodesToNoBytes() {
+		VectorTileEncoder encoder = new VectorTileEncoder("pois", EXTENT);
+
+		assertThat(encoder.isEmpty()).isTrue();
+		assertThat(encoder.encode().length).isEqualTo(0);
+	}
+
+	@Test
+	void writesLayerVersionNameAndExtent() {
+		VectorTileEncoder encoder = new VectorTileEncoder("pois", EXTENT);
+		encoder.addPoint(1, 1, Map.of());
+
+		Map<Integer, List<Object>> layer = layer(encoder.encode());
+
+		assertThat(layer.get(15)).isEqualTo(List.of(2L));
+		assertThat(string(layer.get(1).get(0))).isEqualTo("pois");
+		assertThat(layer.get(5)).isEqualTo(List.of((long) EXTENT));
+		assertThat(layer.get(2)).hasSize(1);
+	}
+
+	@Test
+	void encodesPointAsSingleMoveToWithZigZagCoordinates() {
+		VectorTileEncoder encoder = new VectorTileEncoder("pois", EXTENT);
+		encoder.addPoint(25, 17, Map.of());
+		encoder.addPoint(0, 0, Map.of());
+		encoder.addPoint(-1, -64, Map.of());
+		encoder.addPoint(EXTENT + 64, 63, Map.of());
+
+		List<Map<Integer, List<Object>>> features = features(encoder.encode());
+
+		assertThat(features).hasSize(4);
+		for (Map<Integer, List<Object>> feature : features) {
+			// Type de géométrie POINT
+			assertThat(feature.get(3)).isEqualTo(List.of(1L));
+		}
+		assertThat(geometry(features.get(0))).isEqualTo(List.of(MOVE_TO_ONCE, 50L, 34L));
+		assertThat(geometry(features.get(1))).isEqualTo(List.of(MOVE_TO_ONCE, 0L, 0L));
+		assertThat(geometry(features.get(2))).isEqualTo(List.of(MOVE_TO_ONCE, 1L, 127L));
+		assertThat(geometry(features.get(3))).isEqualTo(List.of(MOVE_TO_ONCE, 8320L, 126L));
+	}
+
+	@Test
+	void writesGeometryAsVarints() {
+		VectorTileEncoder encoder = new VectorTileEncoder("pois", EXTENT);
+		// zigzag(64) = 128 : premier entier sur deux octets ; zigzag(-65) = 129
+		encoder.addPoint(64, -65, Map.of());
+
+		byte[] geometry = (byte[]) features(encoder.encode()).get(0).get(4).get(0);
+
+		assertThat(geometry).isEqualTo(new byte[] { 0x09, (byte) 0x80, 0x01, (byte) 0x81, 0x01 });
+	}
+
+	@Test
+	void sharesKeysAndValuesAcrossFeaturesAndSkipsNullAttributes() {
+		VectorTileEncoder encoder = new VectorTileEncoder("pois", EXTENT);
+		Map<String, Object> first = new LinkedHashMap<>();
+		first.put("type", "CAFE");
+		first.put("name", "A");
+		Map<String, Object> second = new LinkedHashMap<>();
+		second.put("type", "CAFE");
+		second.put("note", null);
+		second.put("name", "B");
+		encoder.addPoint(0, 0, first);
+		encoder.addPoint(0, 0, second);
+
+		byte[] tile = encoder.encode();
+		Map<Integer, List<Object>> layer = layer(tile);
+		List<Map<Integer, List<Object>>> features = features(tile);
+
+		assertThat(layer.get(3).stream().map(VectorTileEncoderTest::string).toList())
+				.isEqualTo(List.of("type", "name"));
+		assertThat(layer.get(4).stream().map(value -> string(fields((byte[]) value).get(1).get(0))).toList())
+				.isEqualTo(List.of("CAFE", "A", "B"));
+		assertThat(varints((byte[]) features.get(0).get(2).get(0))).isEqualTo(List.of(0L, 0L, 1L, 1L));
+		assertThat(varints((byte[]) features.get(1).get(2).get(0))).isEqualTo(List.of(0L, 0L, 1L, 2L));
+	}
+
+	@Test
+	void encodesEachValueTypeInItsOwnField() {
+		VectorTileEncoder encoder = new VectorTileEncoder("pois", EXTENT);
+		Map<String, Object> attributes = new LinkedHashMap<>();
+		attributes.put("name", "Chez Léa");
+		attributes.put("popularity", 4.5f);
+		attributes.put("rating", 0.25d);
+		attributes.put("delta", -3);
+		attributes.put("open", true);
+		encoder.addPoint(0, 0, attributes);
+
+		List<Map<Integer, List<Object>>> values = layer(encoder.encode()).get(4).stream()
+				.map(value -> fields((byte[]) value))
+				.toList();
+
+		assertThat(string(values.get(0).get(1).get(0))).isEqualTo("Chez Léa");
+		assertThat(Float.intBitsToFloat((Integer) values.get(1).get(2).get(0))).isEqualTo(4.5f);
+		assertThat(Double.longBitsToDouble((Long) values.get(2).get(3).get(0))).isEqualTo(0.25d);
+		// sint64 en zigzag : -3 -> 5
+		assertThat(values.get(3).get(6)).isEqualTo(List.of(5L));
+		assertThat(values.get(4).get(7)).isEqualTo(List.of(1L));
+	}
+
+	@Test
+	void tileKeepsPointsInsideItsBufferAndDropsOthers() {
+		// Tuile 1/1/0 : longitudes 0..180, latitudes 0..85
+		List<PointOfInterest> pois = List.of(
+				poi(0.0, 90.0),
+				poi(0.0, -1.0),
+				// Exactement sur la marge gauche : -64 unités
+				poi(10.0, -2.8125),
+				poi(10.0, -2.9),
+				poi(-5.0, 90.0),
+				poi(null, 90.0));
+
+		List<Map<Integer, List<Object>>> features = features(PoiTileService.encode(pois, 1, 1, 0));
+
+		assertThat(features).hasSize(3);
+		assertThat(geometry(features.get(0))).isEqualTo(List.of(MOVE_TO_ONCE, zigZag(2048), zigZag(EXTENT)));
+		assertThat(geometry(features.get(1))).isEqualTo(List.of(MOVE_TO_ONCE, zigZag(-23), zigZag(EXTENT)));
+		assertThat(geometry(features.get(2)).get(1)).isEqualTo(zigZag(-PoiTileService.BUFFER));
+	}
+
+	@Test
+	void tileKeepsPointsOnTheFarBufferEdge() {
+		// Tuile 1/0/0 : longitudes -180..0 ; 2.8125° = 64 unités au-delà du bord droit
+		List<PointOfInterest> pois = List.of(poi(10.0, 2.8125), poi(10.0, 2.9));
+
+		List<Map<Integer, List<Object>>> features = features(PoiTileService.encode(pois, 1, 0, 0));
+
+		assertThat(features).hasSize(1);
+		assertThat(geometry(features.get(0)).get(1)).isEqualTo(zigZag(EXTENT + PoiTileService.BUFFER));
+	}
+
+	@Test
+	void tileWithoutPointsInsideItsBufferIsEmpty() {
+		List<PointOfInterest> pois = List.of(poi(45.0, -90.0));
+
+		assertThat(PoiTileService.encode(pois, 1, 1, 0).length).isEqualTo(0);
+	}
+
+	private static PointOfInterest poi(Double latitude, double longitude) {
+		return PointOfInterest.builder()
+				.poiId(UUID.randomUUID())
+				.poiName("POI")
+				.latitude(latitude != null ? BigDecimal.valueOf(latitude) : null)
+				.longitude(BigDecimal.valueOf(longitude))
+				.build();
+	}
+
+	private static long zigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	private static Map<Integer, List<Object>> layer(byte[] tile) {
+		List<Object> layers = fields(tile).get(3);
+		assertThat(layers).hasSize(1);
+		return fields((byte[]) layers.get(0));
+	}
+
+	private static List<Map<Integer, List<Object>>> features(byte[] tile) {
+		if (tile.length == 0) {
+			return List.of();
+		}
+		return layer(tile).getOrDefault(2, List.of()).stream()
+				.map(feature -> fields((byte[]) feature))
+				.toList();
+	}
+
+	private static List<Long> geometry(Map<Integer, List<Object>> feature) {
+		return varints((byte[]) feature.get(4).get(0));
+	}
+
+	private static String string(Object bytes) {
+		return new String((byte[]) bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Champs d'un message protobuf par numéro : Long (varint), Integer
+	 * (fixed32), Long (fixed64) ou byte[] (délimité)
+	 */
+	private static Map<Integer, List<Object>> fields(byte[] message) {
+		Map<Integer, List<Object>> fields = new TreeMap<>();
+		int[] position = { 0 };
+		while (position[0] < message.length) {
+			long tag = readVarint(message, position);
+			int field = (int) (tag >>> 3);
+			Object value = switch ((int) (tag & 0x7)) {
+				case 0 -> readVarint(message, position);
+				case 1 -> readFixed(message, position, 8);
+				case 2 -> {
+					int length = (int) readVarint(message, position);
+					byte[] bytes = Arrays.copyOfRange(message, position[0], position[0] + length);
+					position[0] += length;
+					yield bytes;
+				}
+				case 5 -> (int) readFixed(message, position, 4);
+				default -> throw new IllegalStateException("Unexpected wire type in tag " + tag);
+			};
+			fields.computeIfAbsent(field, unused -> new ArrayList<>()).add(value);
+		}
+		return fields;
+	}
+
+	/**
+	 * Entiers d'un champ packed
+	 */
+	private static List<Long> varints(byte[] packed) {
+		List<Long> values = new ArrayList<>();
+		int[] position = { 0 };
+		while (position[0] < packed.length) {
+			values.add(readVarint(packed, position));
+		}
+		return values;
+	}
+
+	private static long readVarint(byte[] bytes, int[] position) {
+		long value = 0;
+		for (int shift = 0;; shift += 7) {
+			byte b = bytes[position[0]++];
+			value |= (long) (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return value;
+			}
+		}
+	}
+
+	private static long readFixed(byte[] bytes, int[] position, int size) {
+		long value = 0;
+		for (int i = 0; i < size; i++) {
+			value |= (long) (bytes[position[0]++] & 0xFF) << (8 * i);
+		}
+		return value;
+	}
+}
@@ -0,0 +1,96 @@
+-- Benchmark : pagination des logs d'accès d'un POI, LIMIT/OFFSET (ancienne
+-- requête findByPoiIdWithPagination) vs pagination par clé
+-- (findFirstPageByPoiId / findPageByPoiIdAfter)
+--
+-- Exécution (base jetable, ne pas lancer en production) :
+--   psql -d <base_de_test> -f src/test/resources/benchmarks/access_log_pagination_benchmark.sql
+--
+-- Le script crée un schéma isolé "poi_bench" contenant 1 000 000 de logs
+-- répartis sur 20 POIs, dont un POI "chaud" qui en concentre 500 000, avec
+-- l'index idx_access_log_poi_datetime_id. Il compare ensuite les pages 1, 100
+-- et 10 000 (50 logs par page) : le coût de OFFSET croît avec le numéro de
+-- page, celui de la pagination par clé reste constant.
+
+\set ON_ERROR_STOP on
+\timing on
+
+DROP SCHEMA IF EXISTS poi_bench CASCADE;
+CREATE SCHEMA poi_bench;
+SET search_path TO poi_bench;
+
+CREATE TABLE poi_access_log (
+    access_id UUID PRIMARY KEY,
+    poi_id UUID NOT NULL,
+    organization_id UUID NOT NULL,
+    platform_type TEXT NOT NULL,
+    user_id UUID,
+    access_type TEXT,
+    access_datetime TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    metadata JSON
+);
+
+-- POI chaud : 00000000-0000-0000-0000-000000000001 ; dates sur un an, avec
+-- des doublons de date (une seconde de résolution) pour exercer le départage
+-- par access_id
+INSERT INTO poi_access_log (access_id, poi_id, organization_id, platform_type, access_type, access_datetime)
+SELECT md5(i::text)::uuid,
+       CASE WHEN i % 2 = 0 THEN '00000000-0000-0000-0000-000000000001'::uuid
+            ELSE ('00000000-0000-0000-0000-0000000000' || lpad((2 + i % 19)::text, 2, '0'))::uuid END,
+       '00000000-0000-0000-0000-0000000000aa'::uuid,
+       (ARRAY['ANDROID', 'IOS', 'WEB'])[1 + i % 3],
+       (ARRAY['view', 'click', 'share'])[1 + i % 3],
+       TIMESTAMPTZ '2024-01-01' + ((i / 3) * INTERVAL '1 second') * 90
+FROM generate_series(1, 1000000) AS i;
+
+CREATE INDEX idx_access_log_poi_datetime_id ON poi_access_log (poi_id, access_datetime DESC, access_id DESC);
+VACUUM ANALYZE poi_access_log;
+
+-- ---------------------------------------------------------------------------
+-- LIMIT/OFFSET : pages 1, 100 et 10 000
+-- ---------------------------------------------------------------------------
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM poi_access_log WHERE poi_id = '00000000-0000-0000-0000-000000000001'
+ORDER BY access_datetime DESC LIMIT 50 OFFSET 0;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM poi_access_log WHERE poi_id = '00000000-0000-0000-0000-000000000001'
+ORDER BY access_datetime DESC LIMIT 50 OFFSET 4950;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM poi_access_log WHERE poi_id = '00000000-0000-0000-0000-000000000001'
+ORDER BY access_datetime DESC LIMIT 50 OFFSET 499950;
+
+-- ---------------------------------------------------------------------------
+-- Pagination par clé : positions équivalentes (dernier log de la page
+-- précédente, tel qu'encodé dans next_cursor)
+-- ---------------------------------------------------------------------------
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM poi_access_log
+WHERE poi_id = '00000000-0000-0000-0000-000000000001' AND access_datetime IS NOT NULL
+ORDER BY access_datetime DESC, access_id DESC
+LIMIT 51;
+
+SELECT access_datetime AS after_datetime, access_id AS after_id
+FROM poi_access_log WHERE poi_id = '00000000-0000-0000-0000-000000000001'
+ORDER BY access_datetime DESC, access_id DESC LIMIT 1 OFFSET 4949 \gset page100_
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM poi_access_log
+WHERE poi_id = '00000000-0000-0000-0000-000000000001'
+AND (access_datetime, access_id) < (:'page100_after_datetime', :'page100_after_id')
+ORDER BY access_datetime DESC, access_id DESC
+LIMIT 51;
+
+SELECT access_datetime AS after_datetime, access_id AS after_id
+FROM poi_access_log WHERE poi_id = '00000000-0000-0000-0000-000000000001'
+ORDER BY access_datetime DESC, access_id DESC LIMIT 1 OFFSET 499949 \gset page10000_
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM poi_access_log
+WHERE poi_id = '00000000-0000-0000-0000-000000000001'
+AND (access_datetime, access_id) < (:'page10000_after_datetime', :'page10000_after_id')
+ORDER BY access_datetime DESC, access_id DESC
+LIMIT 51;
+
+RESET search_path;
+DROP SCHEMA poi_bench CASCADE;
@@ -0,0 +1,101 @@
+-- Benchmark : recherche avec filtres, terme en LIKE '%terme%' (mode CONTAINS)
+-- vs recherche plein texte sur search_vector (mode FULL_TEXT)
+--
+-- Exécution (base jetable, ne pas lancer en production) :
+--   cd src/test/resources/benchmarks
+--   psql -d <base_de_test> -f full_text_search_benchmark.sql
+--
+-- Le script crée un schéma isolé "poi_bench" contenant deux tables de POIs
+-- synthétiques (100 000 et 1 000 000 de lignes) avec la colonne générée
+-- search_vector et les index de PoiSchemaMigration, puis exécute les
+-- requêtes de full_text_search_queries.sql sur chacune : un terme fréquent
+-- (~10 % des POIs), un terme rare (~1 %), deux mots, avec et sans filtre.
+
+\set ON_ERROR_STOP on
+\timing on
+
+DROP SCHEMA IF EXISTS poi_bench CASCADE;
+CREATE SCHEMA poi_bench;
+SET search_path TO poi_bench;
+
+CREATE FUNCTION poi_keywords_text(keywords TEXT[]) RETURNS TEXT
+LANGUAGE sql IMMUTABLE PARALLEL SAFE
+AS 'SELECT array_to_string(keywords, '' '')';
+
+CREATE TABLE poi_1m (
+    poi_id UUID PRIMARY KEY,
+    poi_name TEXT NOT NULL,
+    poi_type TEXT,
+    poi_description TEXT,
+    address_city_normalized TEXT,
+    poi_keywords TEXT[],
+    popularity_score FLOAT DEFAULT 0,
+    is_active BOOLEAN DEFAULT TRUE,
+    search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('french', coalesce(poi_name, '')), 'A')
+        || setweight(to_tsvector('french', coalesce(poi_keywords_text(poi_keywords), '')), 'B')
+        || setweight(to_tsvector('french', coalesce(poi_description, '')), 'C')
+    ) STORED
+);
+
+-- Noms : 10 types x 10 quartiers ; descriptions : 3 mots parmi 20 services
+-- (dont "braisé" pour ~1 % des lignes) ; 5 % de POIs inactifs
+INSERT INTO poi_1m (poi_id, poi_name, poi_type, poi_description, address_city_normalized, poi_keywords,
+                    popularity_score, is_active)
+SELECT md5(i::text)::uuid,
+       (ARRAY['Restaurant', 'Hôtel', 'Pharmacie', 'Boulangerie', 'Banque', 'Café', 'Marché', 'École',
+              'Hôpital', 'Station'])[1 + i % 10]
+           || ' ' || (ARRAY['du Centre', 'de la Gare', 'Mvog-Ada', 'Bastos', 'Akwa', 'Bonapriso', 'Etoudi',
+                            'Biyem-Assi', 'Essos', 'Mokolo'])[1 + (i / 10) % 10]
+           || ' ' || i,
+       (ARRAY['restaurant', 'hotel', 'pharmacy', 'bakery', 'bank', 'cafe', 'market', 'school', 'hospital',
+              'fuel'])[1 + i % 10],
+       'Établissement proposant '
+           || (ARRAY['cuisine locale', 'chambres climatisées', 'médicaments', 'pains et viennoiseries',
+                     'retraits', 'boissons chaudes', 'produits frais', 'cours du soir', 'urgences',
+                     'carburant', 'livraison', 'parking gardé', 'terrasse', 'wifi gratuit', 'piscine',
+                     'salle de conférence', 'paiement mobile', 'ouverture tardive', 'climatisation',
+                     'grillades'])[1 + (i * 7) % 20]
+           || ', ' || (ARRAY['accueil chaleureux', 'prix abordables', 'service rapide', 'cadre familial',
+                             'personnel qualifié'])[1 + (i * 3) % 5]
+           || CASE WHEN i % 100 = 0 THEN ' et poisson braisé' ELSE '' END,
+       (ARRAY['yaounde', 'douala', 'bafoussam', 'garoua', 'kribi'])[1 + (i / 100) % 5],
+       ARRAY[(ARRAY['centre ville', 'gare', 'marché', 'université', 'aéroport'])[1 + i % 5],
+             (ARRAY['pas cher', 'famille', 'affaires', 'nuit'])[1 + i % 4]],
+       round((random() * 100)::numeric, 2),
+       random() > 0.05
+FROM generate_series(1, 1000000) AS i;
+
+CREATE TABLE poi_100k (LIKE poi_1m INCLUDING ALL);
+INSERT INTO poi_100k (poi_id, poi_name, poi_type, poi_description, address_city_normalized, poi_keywords,
+                      popularity_score, is_active)
+SELECT poi_id, poi_name, poi_type, poi_description, address_city_normalized, poi_keywords,
+       popularity_score, is_active
+FROM poi_1m
+ORDER BY poi_id
+LIMIT 100000;
+
+CREATE INDEX ON poi_1m USING GIN (search_vector);
+CREATE INDEX ON poi_1m (is_active);
+CREATE INDEX ON poi_1m (address_city_normalized);
+CREATE INDEX ON poi_100k USING GIN (search_vector);
+CREATE INDEX ON poi_100k (is_active);
+CREATE INDEX ON poi_100k (address_city_normalized);
+VACUUM ANALYZE poi_1m;
+VACUUM ANALYZE poi_100k;
+
+SELECT pg_size_pretty(pg_total_relation_size('poi_1m')) AS poi_1m_total_size,
+       pg_size_pretty(pg_relation_size(indexrelid)) AS search_vector_index_size
+FROM pg_index
+WHERE indrelid = 'poi_1m'::regclass AND indexrelid::regclass::text LIKE '%search_vector%';
+
+\echo '=== 100 000 lignes ==='
+\set tbl poi_100k
+\ir full_text_search_queries.sql
+
+\echo '=== 1 000 000 de lignes ==='
+\set tbl poi_1m
+\ir full_text_search_queries.sql
+
+RESET search_path;
+DROP SCHEMA poi_bench CASCADE;
@@ -0,0 +1,65 @@
+-- Requêtes comparées par full_text_search_benchmark.sql sur la table :tbl
+-- (mêmes formes que findWithFilters et findWithFullText)
+
+-- ---------------------------------------------------------------------------
+-- Terme fréquent (~10 % des lignes) : "restaurant"
+-- ---------------------------------------------------------------------------
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM :tbl
+WHERE is_active = true
+AND (LOWER(poi_name) LIKE LOWER(CONCAT('%', 'restaurant', '%')) OR
+     LOWER(poi_description) LIKE LOWER(CONCAT('%', 'restaurant', '%')))
+ORDER BY popularity_score DESC, poi_name;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM :tbl p, websearch_to_tsquery('french', 'restaurant') query
+WHERE p.is_active = true
+AND p.search_vector @@ query
+ORDER BY ts_rank_cd(p.search_vector, query) DESC, p.popularity_score DESC, p.poi_name;
+
+-- ---------------------------------------------------------------------------
+-- Terme rare (~1 % des lignes) : "braisé"
+-- ---------------------------------------------------------------------------
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM :tbl
+WHERE is_active = true
+AND (LOWER(poi_name) LIKE LOWER(CONCAT('%', 'braisé', '%')) OR
+     LOWER(poi_description) LIKE LOWER(CONCAT('%', 'braisé', '%')))
+ORDER BY popularity_score DESC, poi_name;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM :tbl p, websearch_to_tsquery('french', 'braisé') query
+WHERE p.is_active = true
+AND p.search_vector @@ query
+ORDER BY ts_rank_cd(p.search_vector, query) DESC, p.popularity_score DESC, p.poi_name;
+
+-- ---------------------------------------------------------------------------
+-- Deux mots, filtre ville : "hôtel piscine" à Douala
+-- (LIKE ne trouve que l'expression exacte ; le plein texte exige les deux mots)
+-- ---------------------------------------------------------------------------
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM :tbl
+WHERE is_active = true
+AND address_city_normalized = 'douala'
+AND (LOWER(poi_name) LIKE LOWER(CONCAT('%', 'hôtel piscine', '%')) OR
+     LOWER(poi_description) LIKE LOWER(CONCAT('%', 'hôtel piscine', '%')))
+ORDER BY popularity_score DESC, poi_name;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM :tbl p, websearch_to_tsquery('french', 'hôtel piscine') query
+WHERE p.is_active = true
+AND p.search_vector @@ query
+AND p.address_city_normalized = 'douala'
+ORDER BY ts_rank_cd(p.search_vector, query) DESC, p.popularity_score DESC, p.poi_name;
+
+-- ---------------------------------------------------------------------------
+-- Nombre de résultats par mode (les deux modes ne sont pas équivalents :
+-- le plein texte racinise, "restaurants" trouve "restaurant")
+-- ---------------------------------------------------------------------------
+SELECT
+    (SELECT count(*) FROM :tbl WHERE is_active = true
+        AND (LOWER(poi_name) LIKE '%braisé%' OR LOWER(poi_description) LIKE '%braisé%')) AS contains_braise,
+    (SELECT count(*) FROM :tbl WHERE is_active = true
+        AND search_vector @@ websearch_to_tsquery('french', 'braisé')) AS full_text_braise,
+    (SELECT count(*) FROM :tbl WHERE is_active = true
+        AND search_vector @@ websearch_to_tsquery('french', 'restaurants')) AS full_text_restaurants;
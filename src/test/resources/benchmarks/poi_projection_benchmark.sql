@@ -0,0 +1,176 @@
+-- Benchmark : colonnes lues par les listes de POIs, SELECT * (anciennes
+-- requêtes de PointOfInterestRepository) vs POI_COLUMNS vs vue allégée
+-- (PoiSummaryFields) vs champs choisis (fields=poi_id,poi_name,latitude,longitude)
+--
+-- Exécution (base jetable, ne pas lancer en production) :
+--   psql -d <base_de_test> -f src/test/resources/benchmarks/poi_projection_benchmark.sql
+--
+-- Le script crée un schéma isolé "poi_bench" contenant 20 000 POIs répartis
+-- sur 10 villes, chacun avec un logo de 5 Ko (poi_logo, non compressible donc
+-- stocké en TOAST), des horaires et des contacts JSON et un search_vector.
+-- Pour chaque projection, il mesure une page de 200 POIs d'une ville :
+-- plan et tampons lus (EXPLAIN), durée de la requête réelle avec sortie
+-- ignorée (\timing, inclut la décompression TOAST et le transfert) et
+-- volume de la réponse en texte (octets envoyés au client).
+
+\set ON_ERROR_STOP on
+\timing on
+
+DROP SCHEMA IF EXISTS poi_bench CASCADE;
+CREATE SCHEMA poi_bench;
+SET search_path TO poi_bench;
+
+CREATE TABLE point_of_interest (
+    poi_id UUID PRIMARY KEY,
+    created_by_user_id UUID,
+    organization_id UUID NOT NULL,
+    poi_name TEXT NOT NULL,
+    poi_type TEXT NOT NULL,
+    poi_category TEXT NOT NULL,
+    poi_long_name TEXT,
+    poi_short_name TEXT,
+    poi_friendly_name TEXT,
+    poi_description TEXT,
+    poi_logo BYTEA,
+    latitude NUMERIC(10, 7) NOT NULL,
+    longitude NUMERIC(10, 7) NOT NULL,
+    address_street_number TEXT,
+    address_street_name TEXT,
+    address_city TEXT,
+    address_postal_code TEXT,
+    address_country TEXT,
+    phone_number TEXT,
+    website_url TEXT,
+    operation_time_plan JSON,
+    poi_contacts JSON,
+    poi_images_urls TEXT,
+    poi_amenities TEXT[],
+    poi_keywords TEXT[],
+    poi_type_tags TEXT[],
+    poi_name_normalized TEXT,
+    address_city_normalized TEXT,
+    poi_keywords_normalized TEXT[],
+    popularity_score REAL DEFAULT 0,
+    is_active BOOLEAN DEFAULT TRUE,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT NOW(),
+    search_vector TSVECTOR
+);
+
+INSERT INTO point_of_interest (poi_id, organization_id, poi_name, poi_type, poi_category, poi_description,
+        poi_logo, latitude, longitude, address_street_name, address_city, address_country, phone_number,
+        website_url, operation_time_plan, poi_contacts, poi_images_urls, poi_amenities, poi_keywords,
+        address_city_normalized, popularity_score)
+SELECT md5(i::text)::uuid,
+       '00000000-0000-0000-0000-0000000000aa'::uuid,
+       'POI ' || lpad(i::text, 6, '0'),
+       (ARRAY['restaurant', 'hotel', 'pharmacie', 'banque'])[1 + i % 4],
+       (ARRAY['gastronomie', 'hebergement', 'sante', 'finance'])[1 + i % 4],
+       repeat('Description détaillée du point d''intérêt. ', 20),
+       (SELECT decode(string_agg(md5(i::text || '-' || g::text), ''), 'hex') FROM generate_series(1, 320) AS g),
+       3.8 + (i % 1000) / 10000.0,
+       11.5 + (i / 1000) / 10000.0,
+       'Rue ' || (i % 500),
+       'Ville ' || (i % 10),
+       'Cameroun',
+       '+237 6' || lpad((i % 100000000)::text, 8, '0'),
+       'https://poi-' || i || '.example.com',
+       json_build_object('lundi', '08:00-18:00', 'mardi', '08:00-18:00', 'mercredi', '08:00-18:00',
+               'jeudi', '08:00-18:00', 'vendredi', '08:00-18:00', 'samedi', '09:00-13:00', 'dimanche', 'fermé'),
+       json_build_object('email', 'contact-' || i || '@example.com', 'telephone', '+237 6' || i,
+               'responsable', 'Responsable ' || i),
+       'https://img.example.com/' || i || '/1.jpg,https://img.example.com/' || i || '/2.jpg',
+       ARRAY['Wi-Fi', 'Parking'],
+       ARRAY['centre ville', 'famille'],
+       'ville ' || (i % 10),
+       (i % 100) / 10.0
+FROM generate_series(1, 20000) AS i;
+
+UPDATE point_of_interest SET poi_name_normalized = lower(poi_name),
+        search_vector = to_tsvector('french', poi_name || ' ' || poi_description);
+
+CREATE INDEX idx_poi_city_name_id ON point_of_interest (address_city_normalized, poi_name, poi_id);
+VACUUM ANALYZE point_of_interest;
+
+SELECT pg_size_pretty(pg_total_relation_size('point_of_interest')) AS table_size,
+       pg_size_pretty(pg_total_relation_size(reltoastrelid)) AS toast_size
+FROM pg_class WHERE relname = 'point_of_interest';
+
+-- ---------------------------------------------------------------------------
+-- Volume de la réponse (format texte) pour une page de 200 POIs
+-- ---------------------------------------------------------------------------
+SELECT 'SELECT *' AS projection, sum(octet_length(t::text)) AS response_bytes
+FROM (SELECT * FROM point_of_interest
+      WHERE address_city_normalized = 'ville 3' AND is_active = true
+      ORDER BY poi_name, poi_id LIMIT 200) t
+UNION ALL
+SELECT 'POI_COLUMNS', sum(octet_length(t::text))
+FROM (SELECT poi_id, created_by_user_id, organization_id, poi_name, poi_type, poi_category, poi_description,
+             latitude, longitude, address_street_number, address_street_name, address_city, address_postal_code,
+             address_country, phone_number, website_url, operation_time_plan, poi_contacts, poi_images_urls,
+             poi_amenities, poi_keywords, poi_type_tags, poi_name_normalized, address_city_normalized,
+             poi_keywords_normalized, popularity_score, is_active, created_at, updated_at
+      FROM point_of_interest
+      WHERE address_city_normalized = 'ville 3' AND is_active = true
+      ORDER BY poi_name, poi_id LIMIT 200) t
+UNION ALL
+SELECT 'vue allégée', sum(octet_length(t::text))
+FROM (SELECT poi_id, organization_id, poi_name, poi_type, poi_category, latitude, longitude,
+             address_city, address_country, popularity_score, is_active, created_at
+      FROM point_of_interest
+      WHERE address_city_normalized = 'ville 3' AND is_active = true
+      ORDER BY poi_name, poi_id LIMIT 200) t
+UNION ALL
+SELECT 'fields=poi_id,poi_name,latitude,longitude', sum(octet_length(t::text))
+FROM (SELECT poi_id, poi_name, latitude, longitude
+      FROM point_of_interest
+      WHERE address_city_normalized = 'ville 3' AND is_active = true
+      ORDER BY poi_name, poi_id LIMIT 200) t;
+
+-- ---------------------------------------------------------------------------
+-- Plans et tampons lus
+-- ---------------------------------------------------------------------------
+EXPLAIN (ANALYZE, BUFFERS, VERBOSE)
+SELECT * FROM point_of_interest
+WHERE address_city_normalized = 'ville 3' AND is_active = true
+ORDER BY poi_name, poi_id LIMIT 200;
+
+EXPLAIN (ANALYZE, BUFFERS, VERBOSE)
+SELECT poi_id, organization_id, poi_name, poi_type, poi_category, latitude, longitude,
+       address_city, address_country, popularity_score, is_active, created_at
+FROM point_of_interest
+WHERE address_city_normalized = 'ville 3' AND is_active = true AND poi_name IS NOT NULL
+ORDER BY poi_name, poi_id LIMIT 200;
+
+-- ---------------------------------------------------------------------------
+-- Durée avec sortie réelle (EXPLAIN ANALYZE ne décompresse pas le TOAST des
+-- colonnes retournées) ; répéter pour comparer à cache chaud
+-- ---------------------------------------------------------------------------
+\o /dev/null
+SELECT * FROM point_of_interest
+WHERE address_city_normalized = 'ville 3' AND is_active = true
+ORDER BY poi_name, poi_id LIMIT 200;
+
+SELECT poi_id, created_by_user_id, organization_id, poi_name, poi_type, poi_category, poi_description,
+       latitude, longitude, address_street_number, address_street_name, address_city, address_postal_code,
+       address_country, phone_number, website_url, operation_time_plan, poi_contacts, poi_images_urls,
+       poi_amenities, poi_keywords, poi_type_tags, poi_name_normalized, address_city_normalized,
+       poi_keywords_normalized, popularity_score, is_active, created_at, updated_at
+FROM point_of_interest
+WHERE address_city_normalized = 'ville 3' AND is_active = true
+ORDER BY poi_name, poi_id LIMIT 200;
+
+SELECT poi_id, organization_id, poi_name, poi_type, poi_category, latitude, longitude,
+       address_city, address_country, popularity_score, is_active, created_at
+FROM point_of_interest
+WHERE address_city_normalized = 'ville 3' AND is_active = true AND poi_name IS NOT NULL
+ORDER BY poi_name, poi_id LIMIT 200;
+
+SELECT poi_id, poi_name, latitude, longitude
+FROM point_of_interest
+WHERE address_city_normalized = 'ville 3' AND is_active = true AND poi_name IS NOT NULL
+ORDER BY poi_name, poi_id LIMIT 200;
+\o
+
+RESET search_path;
+DROP SCHEMA poi_bench CASCADE;
@@ -0,0 +1,113 @@
+-- Benchmark : recherche par rayon, requête historique (acos) vs pré-filtre sur emprise
+--
+-- Exécution (base jetable, ne pas lancer en production) :
+--   psql -d <base_de_test> -f src/test/resources/benchmarks/radius_query_benchmark.sql
+--
+-- Le script crée un schéma isolé "poi_bench" contenant 1 000 000 de POIs
+-- synthétiques répartis sur l'emprise du Cameroun, avec l'index
+-- idx_poi_location de schema.sql, puis compare les plans et les temps
+-- d'exécution des deux requêtes pour plusieurs rayons autour de Yaoundé.
+
+\timing on
+
+DROP SCHEMA IF EXISTS poi_bench CASCADE;
+CREATE SCHEMA poi_bench;
+SET search_path TO poi_bench;
+
+CREATE TABLE point_of_interest (
+    poi_id UUID PRIMARY KEY,
+    poi_name TEXT NOT NULL,
+    latitude DECIMAL(10, 8),
+    longitude DECIMAL(11, 8),
+    is_active BOOLEAN DEFAULT TRUE
+);
+
+-- 1M lignes : latitude 2°..13°N, longitude 8.5°..16.2°E, 5 % de POIs inactifs
+INSERT INTO point_of_interest (poi_id, poi_name, latitude, longitude, is_active)
+SELECT md5(i::text)::uuid,
+       'POI ' || i,
+       round((2 + random() * 11)::numeric, 8),
+       round((8.5 + random() * 7.7)::numeric, 8),
+       random() > 0.05
+FROM generate_series(1, 1000000) AS i;
+
+CREATE INDEX idx_poi_location ON point_of_interest (latitude, longitude);
+CREATE INDEX idx_poi_is_active ON point_of_interest (is_active);
+VACUUM ANALYZE point_of_interest;
+
+-- Paramètres : centre de Yaoundé
+\set lat 3.8480
+\set lon 11.5021
+
+-- ---------------------------------------------------------------------------
+-- Requête historique (findByLocationWithinRadius) : rayon 10 km
+-- ---------------------------------------------------------------------------
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM point_of_interest
+WHERE is_active = true
+AND latitude IS NOT NULL
+AND longitude IS NOT NULL
+AND (6371 * acos(cos(radians(:lat)) * cos(radians(latitude)) * cos(radians(longitude) - radians(:lon))
+        + sin(radians(:lat)) * sin(radians(latitude)))) <= 10
+ORDER BY (6371 * acos(cos(radians(:lat)) * cos(radians(latitude)) * cos(radians(longitude) - radians(:lon))
+        + sin(radians(:lat)) * sin(radians(latitude))));
+
+-- ---------------------------------------------------------------------------
+-- Pré-filtre sur emprise (findByLocationWithinBoundingBox) : rayon 10 km
+-- Emprise : ±10/111.195 degrés en latitude, ±(10/111.195)/cos(lat) en longitude
+-- ---------------------------------------------------------------------------
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM (
+    SELECT p.*,
+        2 * 6371 * asin(sqrt(
+            power(sin(radians(p.latitude - :lat) / 2), 2) +
+            cos(radians(:lat)) * cos(radians(p.latitude)) *
+            power(sin(radians(p.longitude - :lon) / 2), 2)
+        )) AS distance_km
+    FROM point_of_interest p
+    WHERE p.is_active = true
+    AND p.latitude BETWEEN :lat - 0.08993 AND :lat + 0.08993
+    AND p.longitude BETWEEN :lon - 0.09014 AND :lon + 0.09014
+) candidates
+WHERE distance_km <= 10
+ORDER BY distance_km;
+
+-- ---------------------------------------------------------------------------
+-- Rayons 1 km et 50 km (mêmes requêtes, sans plan détaillé)
+-- ---------------------------------------------------------------------------
+SELECT count(*) AS great_circle_1km FROM point_of_interest
+WHERE is_active = true
+AND (6371 * acos(cos(radians(:lat)) * cos(radians(latitude)) * cos(radians(longitude) - radians(:lon))
+        + sin(radians(:lat)) * sin(radians(latitude)))) <= 1;
+
+SELECT count(*) AS bounding_box_1km FROM (
+    SELECT 2 * 6371 * asin(sqrt(
+            power(sin(radians(p.latitude - :lat) / 2), 2) +
+            cos(radians(:lat)) * cos(radians(p.latitude)) *
+            power(sin(radians(p.longitude - :lon) / 2), 2))) AS distance_km
+    FROM point_of_interest p
+    WHERE p.is_active = true
+    AND p.latitude BETWEEN :lat - 0.00899 AND :lat + 0.00899
+    AND p.longitude BETWEEN :lon - 0.00901 AND :lon + 0.00901
+) candidates
+WHERE distance_km <= 1;
+
+SELECT count(*) AS great_circle_50km FROM point_of_interest
+WHERE is_active = true
+AND (6371 * acos(cos(radians(:lat)) * cos(radians(latitude)) * cos(radians(longitude) - radians(:lon))
+        + sin(radians(:lat)) * sin(radians(latitude)))) <= 50;
+
+SELECT count(*) AS bounding_box_50km FROM (
+    SELECT 2 * 6371 * asin(sqrt(
+            power(sin(radians(p.latitude - :lat) / 2), 2) +
+            cos(radians(:lat)) * cos(radians(p.latitude)) *
+            power(sin(radians(p.longitude - :lon) / 2), 2))) AS distance_km
+    FROM point_of_interest p
+    WHERE p.is_active = true
+    AND p.latitude BETWEEN :lat - 0.44966 AND :lat + 0.44966
+    AND p.longitude BETWEEN :lon - 0.45093 AND :lon + 0.45093
+) candidates
+WHERE distance_km <= 50;
+
+RESET search_path;
+DROP SCHEMA poi_bench CASCADE;